@@ -0,0 +1,90 @@
+package com.github.sandrasi.geocoder.components;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static com.github.sandrasi.geocoder.components.AddressComponentType.*;
+
+/**
+ * Measures building a geocoded address with the address components of a typical street address, looking up its
+ * address components by type, and iterating on its address components. Run it with {@code -prof gc} to compare the
+ * allocation rates as well:
+ * <pre>
+ * java -jar geocoder-benchmarks/target/benchmarks.jar GeocodedAddressBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeocodedAddressBenchmark {
+
+    private AddressComponent[] addressComponents;
+    private GeocodedAddress geocodedAddress;
+
+    @Setup
+    public void setUp() {
+        addressComponents = new AddressComponent[] {
+            AddressComponent.newBuilder(STREET_NUMBER).setLongName("1600").setShortName("1600").build(),
+            AddressComponent.newBuilder(ROUTE).setLongName("Amphitheatre Parkway").setShortName("Amphitheatre Pkwy").build(),
+            AddressComponent.newBuilder(LOCALITY).addAddressComponentType(POLITICAL).setLongName("Mountain View").setShortName("Mountain View").build(),
+            AddressComponent.newBuilder(ADMINISTRATIVE_AREA_LEVEL_2).addAddressComponentType(POLITICAL).setLongName("Santa Clara County").setShortName("Santa Clara County").build(),
+            AddressComponent.newBuilder(ADMINISTRATIVE_AREA_LEVEL_1).addAddressComponentType(POLITICAL).setLongName("California").setShortName("CA").build(),
+            AddressComponent.newBuilder(COUNTRY).addAddressComponentType(POLITICAL).setLongName("United States").setShortName("US").build(),
+            AddressComponent.newBuilder(POSTAL_CODE).setLongName("94043").setShortName("94043").build()
+        };
+        geocodedAddress = build();
+    }
+
+    @Benchmark
+    public GeocodedAddress build() {
+        GeocodedAddress.Builder builder = GeocodedAddress.newBuilder("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA")
+                .addAddressType(STREET_ADDRESS);
+
+        for (AddressComponent addressComponent : addressComponents) {
+            builder.addAddressComponent(addressComponent);
+        }
+
+        return builder.build();
+    }
+
+    @Benchmark
+    public boolean hasAddressComponent() {
+        return geocodedAddress.hasAddressComponent(LOCALITY) && geocodedAddress.hasAddressComponent(COUNTRY) && !geocodedAddress.hasAddressComponent(NEIGHBORHOOD);
+    }
+
+    @Benchmark
+    public int addressComponentIteratorOfType() {
+        int count = 0;
+
+        for (Iterator<AddressComponent> i = geocodedAddress.addressComponentIterator(POLITICAL); i.hasNext(); i.next()) {
+            count++;
+        }
+
+        return count;
+    }
+
+    @Benchmark
+    public int addressComponentIterator() {
+        int count = 0;
+
+        for (Iterator<AddressComponent> i = geocodedAddress.addressComponentIterator(); i.hasNext(); i.next()) {
+            count++;
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.sandrasi.geocoder.components;
+
+import java.util.concurrent.TimeUnit;
+
+import com.github.sandrasi.geocoder.coordinate.GeographicCoordinate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of constructing the geographic locations and coordinates the parsers create for every result,
+ * and of reading the angle of a coordinate. The retained size of the locations is measured by
+ * {@link GeographicLocationFootprint}. Run it with {@code -prof gc} to compare the allocation rates as well:
+ * <pre>
+ * java -jar geocoder-benchmarks/target/benchmarks.jar GeographicLocationBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeographicLocationBenchmark {
+
+    private double latitude = 37.4227820;
+    private double longitude = -122.0850990;
+    private GeographicCoordinate coordinate = GeographicCoordinate.latitudeFromDouble(latitude);
+
+    @Benchmark
+    public GeographicLocation locationFromValues() {
+        return GeographicLocation.fromValues(latitude, longitude);
+    }
+
+    @Benchmark
+    public GeographicCoordinate coordinateFromDouble() {
+        return GeographicCoordinate.latitudeFromDouble(latitude);
+    }
+
+    /**
+     * Reads the components of the angle of a coordinate, which are computed from its value.
+     */
+    @Benchmark
+    public int coordinateAngle() {
+        return coordinate.getDegrees() + coordinate.getMinutes() + coordinate.getSeconds() + coordinate.getMillis();
+    }
+}
@@ -0,0 +1,29 @@
+package com.github.sandrasi.geocoder.components;
+
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Prints the retained heap of the geometry of a typical geocoded address, which has a location and a viewport and
+ * bounds of two corners each, by walking its object graph with JOL:
+ * <pre>
+ * java -cp geocoder-benchmarks/target/benchmarks.jar com.github.sandrasi.geocoder.components.GeographicLocationFootprint
+ * </pre>
+ */
+public final class GeographicLocationFootprint {
+
+    private GeographicLocationFootprint() {
+    }
+
+    public static void main(String[] args) {
+        GeographicLocation location = GeographicLocation.fromValues(37.4227820, -122.0850990);
+        Geometry geometry = Geometry.newBuilder(location)
+                .setLocationType(LocationType.ROOFTOP)
+                .setViewport(new GeographicArea(GeographicLocation.fromValues(37.4214330, -122.0864480), GeographicLocation.fromValues(37.4241310, -122.0837500)))
+                .setBounds(new GeographicArea(GeographicLocation.fromValues(37.4226000, -122.0853000), GeographicLocation.fromValues(37.4229000, -122.0849000)))
+                .build();
+
+        System.out.printf("Geographic location:   %,d bytes%n", GraphLayout.parseInstance(location).totalSize());
+        System.out.printf("Geometry:              %,d bytes%n", GraphLayout.parseInstance(geometry).totalSize());
+        System.out.println(GraphLayout.parseInstance(geometry).toFootprint());
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.github.sandrasi.geocoder.components.GeocodedAddress;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the hash-based collections of geocoded addresses and responses: deduplicating the geocoded addresses of
+ * {@code responseCount} responses parsed from the {@code validGeocodeResponse.json} fixture of the parser tests, and
+ * looking up the responses in a map keyed by equal, but distinct responses, like a cache of responses does:
+ * <pre>
+ * java -jar geocoder-benchmarks/target/benchmarks.jar GeocodedAddressDeduplicationBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeocodedAddressDeduplicationBenchmark {
+
+    private static final String QUERY_STRING = "1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA";
+
+    @Param({"100"})
+    private int responseCount;
+
+    private List<GeocodedAddress> geocodedAddresses;
+    private List<GoogleGeocodeResponse> responses;
+    private Map<GoogleGeocodeResponse, GoogleGeocodeResponse> cachedResponses;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] jsonGeocodeResponse;
+
+        try (InputStream in = GeocodedAddressDeduplicationBenchmark.class.getResourceAsStream("/json/valid/validGeocodeResponse.json")) {
+            jsonGeocodeResponse = in.readAllBytes();
+        }
+
+        geocodedAddresses = new ArrayList<>();
+        responses = new ArrayList<>();
+        cachedResponses = new HashMap<>();
+
+        for (int i = 0; i < responseCount; i++) {
+            GoogleGeocodeResponse response = JsonGeocodeResponseParser.parse(QUERY_STRING, new ByteArrayInputStream(jsonGeocodeResponse));
+
+            geocodedAddresses.addAll(response.getGeocodedAddresses());
+            responses.add(response);
+        }
+
+        GoogleGeocodeResponse cachedResponse = JsonGeocodeResponseParser.parse(QUERY_STRING, new ByteArrayInputStream(jsonGeocodeResponse));
+
+        cachedResponses.put(cachedResponse, cachedResponse);
+    }
+
+    @Benchmark
+    public Set<GeocodedAddress> deduplicateGeocodedAddresses() {
+        return new HashSet<>(geocodedAddresses);
+    }
+
+    @Benchmark
+    public int lookUpResponses() {
+        int hits = 0;
+
+        for (GoogleGeocodeResponse response : responses) {
+            if (cachedResponses.containsKey(response)) {
+                hits++;
+            }
+        }
+
+        return hits;
+    }
+}
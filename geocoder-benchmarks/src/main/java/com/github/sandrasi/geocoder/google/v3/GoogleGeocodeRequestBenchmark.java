@@ -0,0 +1,98 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import com.github.sandrasi.geocoder.components.GeographicLocation;
+import org.apache.http.client.HttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building address and reverse geocode requests, with the region and language parameters shared by the
+ * requests of a service, and with the client and signature parameters of the premier Google Maps API Web Services.
+ * The requests are built by a request builder and created from a {@link GoogleGeocodeRequestTemplate} holding the
+ * shared parameters.
+ * Run it with {@code -prof gc} to compare the allocation rates as well:
+ * <pre>
+ * java -jar geocoder-benchmarks/target/benchmarks.jar GoogleGeocodeRequestBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GoogleGeocodeRequestBenchmark {
+
+    private static final String ADDRESS = "1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA";
+    private static final GeographicLocation LOCATION = GeographicLocation.fromValues(37.4227820, -122.0850990);
+
+    private HttpClient httpClient;
+    private GoogleMapsApiPremierCredentials credentials;
+    private GoogleGeocodeRequestTemplate template;
+    private GoogleGeocodeRequestTemplate premierTemplate;
+
+    @Setup
+    public void setUp() {
+        httpClient = HttpClients.createMinimal();
+        credentials = new GoogleMapsApiPremierCredentials("gme-johndoe", "vNIXE0xscrmjlyV-12Nj_BvUPaw=");
+        template = GoogleGeocodeRequestTemplate.newBuilder(httpClient, null, ForkJoinPool.commonPool(), null)
+                .withRegionBiasing("us")
+                .inLanguage("en")
+                .build();
+        premierTemplate = GoogleGeocodeRequestTemplate.newBuilder(httpClient, null, ForkJoinPool.commonPool(), credentials)
+                .withRegionBiasing("us")
+                .inLanguage("en")
+                .build();
+    }
+
+    @Benchmark
+    public GoogleGeocodeRequest addressRequest() {
+        return GoogleGeocodeRequest.newBuilder(ADDRESS, httpClient, null, ForkJoinPool.commonPool(), null)
+                .withRegionBiasing("us")
+                .inLanguage("en")
+                .build();
+    }
+
+    @Benchmark
+    public GoogleGeocodeRequest latlngRequest() {
+        return GoogleGeocodeRequest.newBuilder(LOCATION, httpClient, null, ForkJoinPool.commonPool(), null)
+                .withRegionBiasing("us")
+                .inLanguage("en")
+                .build();
+    }
+
+    @Benchmark
+    public GoogleGeocodeRequest premierAddressRequest() {
+        return GoogleGeocodeRequest.newBuilder(ADDRESS, httpClient, null, ForkJoinPool.commonPool(), credentials)
+                .withRegionBiasing("us")
+                .inLanguage("en")
+                .build();
+    }
+
+    @Benchmark
+    public GoogleGeocodeRequest templateAddressRequest() {
+        return template.newGeocodeRequest(ADDRESS);
+    }
+
+    @Benchmark
+    public GoogleGeocodeRequest templateLatlngRequest() {
+        return template.newGeocodeRequest(LOCATION.getLatitude(), LOCATION.getLongitude());
+    }
+
+    @Benchmark
+    public GoogleGeocodeRequest templatePremierAddressRequest() {
+        return premierTemplate.newGeocodeRequest(ADDRESS);
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.codehaus.jackson.JsonFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of creating the JSON factory for every response under concurrent parsing: the
+ * {@link JsonGeocodeResponseParser} with its shared factory, the same parser with a new factory for every response,
+ * and the {@link TreeGeocodeResponseParser} with a new {@code ObjectMapper} for every response. Run it with
+ * {@code -prof gc} to compare the allocation rates as well:
+ * <pre>
+ * java -jar geocoder-benchmarks/target/benchmarks.jar JsonFactorySharingBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class JsonFactorySharingBenchmark {
+
+    private static final String QUERY_STRING = "1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA";
+
+    private byte[] jsonGeocodeResponse;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream in = JsonFactorySharingBenchmark.class.getResourceAsStream("/json/valid/validGeocodeResponse.json")) {
+            jsonGeocodeResponse = in.readAllBytes();
+        }
+    }
+
+    @Benchmark
+    public GoogleGeocodeResponse sharedJsonFactory() {
+        return JsonGeocodeResponseParser.parse(QUERY_STRING, new ByteArrayInputStream(jsonGeocodeResponse));
+    }
+
+    @Benchmark
+    public GoogleGeocodeResponse newJsonFactoryPerResponse() {
+        return JsonGeocodeResponseParser.parse(QUERY_STRING, new ByteArrayInputStream(jsonGeocodeResponse), new JsonFactory());
+    }
+
+    @Benchmark
+    public GoogleGeocodeResponse newObjectMapperPerResponse() {
+        return TreeGeocodeResponseParser.parse(QUERY_STRING, new ByteArrayInputStream(jsonGeocodeResponse));
+    }
+}
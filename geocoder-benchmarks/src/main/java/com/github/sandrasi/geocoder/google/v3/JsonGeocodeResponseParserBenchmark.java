@@ -0,0 +1,102 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import com.github.sandrasi.geocoder.components.GeographicLocation;
+import org.codehaus.jackson.JsonNode;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.node.ArrayNode;
+import org.codehaus.jackson.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the streaming {@link JsonGeocodeResponseParser} with the tree-based {@link TreeGeocodeResponseParser} on
+ * the {@code validGeocodeResponse.json} fixture of the parser tests. The results of the fixture are repeated
+ * {@code resultCount} times to measure the responses with multiple results too. The lazy parser is measured reading
+ * the location of the first result only, and the streaming parser with the {@link ResponseProjection#LOCATION_ONLY}
+ * projection too. The {@link ByteGeocodeResponseDecoder} is measured decoding the same bytes. Run it with {@code -prof gc} to compare the allocation rates as well:
+ * <pre>
+ * java -jar geocoder-benchmarks/target/benchmarks.jar JsonGeocodeResponseParserBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonGeocodeResponseParserBenchmark {
+
+    private static final String QUERY_STRING = "1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA";
+
+    @Param({"1", "10"})
+    private int resultCount;
+
+    private byte[] jsonGeocodeResponse;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode fixture;
+
+        try (InputStream in = JsonGeocodeResponseParserBenchmark.class.getResourceAsStream("/json/valid/validGeocodeResponse.json")) {
+            fixture = objectMapper.readTree(in);
+        }
+
+        ArrayNode results = objectMapper.createArrayNode();
+
+        for (int i = 0; i < resultCount; i++) {
+            results.addAll((ArrayNode) fixture.path("results"));
+        }
+
+        ((ObjectNode) fixture).put("results", results);
+        jsonGeocodeResponse = objectMapper.writeValueAsBytes(fixture);
+    }
+
+    @Benchmark
+    public GoogleGeocodeResponse streamingParser() {
+        return JsonGeocodeResponseParser.parse(QUERY_STRING, new ByteArrayInputStream(jsonGeocodeResponse));
+    }
+
+    /**
+     * Parses the formatted addresses and the locations only, skipping the address components and the viewports.
+     */
+    @Benchmark
+    public GoogleGeocodeResponse locationOnlyParser() {
+        return JsonGeocodeResponseParser.parse(QUERY_STRING, new ByteArrayInputStream(jsonGeocodeResponse), ResponseProjection.LOCATION_ONLY, null);
+    }
+
+    /**
+     * Parses the response lazily and reads the location of the first result only, like most of the callers do.
+     */
+    @Benchmark
+    public GeographicLocation lazyParserFirstLocation() {
+        return JsonGeocodeResponseParser.parseLazily(QUERY_STRING, jsonGeocodeResponse, ResponseProjection.FULL, null).getGeocodedAddresses().get(0).getGeometry().getLocation();
+    }
+
+    /**
+     * Decodes the bytes of the response directly, without the tokenizer of Jackson.
+     */
+    @Benchmark
+    public GoogleGeocodeResponse byteLevelDecoder() {
+        return JsonGeocodeResponseParser.decode(QUERY_STRING, jsonGeocodeResponse, ResponseProjection.FULL, null);
+    }
+
+    @Benchmark
+    public GoogleGeocodeResponse treeParser() {
+        return TreeGeocodeResponseParser.parse(QUERY_STRING, new ByteArrayInputStream(jsonGeocodeResponse));
+    }
+}
@@ -0,0 +1,58 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.commons.codec.binary.Base64;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures signing the path and query of a premier geocode request with the pooled signers of
+ * {@link GoogleMapsApiPremierCredentials}, and with a new {@link Mac} looked up and initialized for every request,
+ * encoded by commons-codec and made URL-safe by replacing characters. Run it with {@code -prof gc} to compare the
+ * allocation rates as well:
+ * <pre>
+ * java -jar geocoder-benchmarks/target/benchmarks.jar PremierSignatureBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PremierSignatureBenchmark {
+
+    private static final String KEY = "vNIXE0xscrmjlyV-12Nj_BvUPaw=";
+    private static final String PATH_AND_QUERY = "/maps/api/geocode/json?address=1600+Amphitheatre+Pkwy%2C+Mountain+View%2C+CA+94043%2C+USA&sensor=false&client=gme-johndoe";
+
+    private final GoogleMapsApiPremierCredentials credentials = new GoogleMapsApiPremierCredentials("gme-johndoe", KEY);
+    private final byte[] key = Base64.decodeBase64(KEY.replace('-', '+').replace('_', '/'));
+
+    @Benchmark
+    public String pooledSigner() {
+        return credentials.getSignatureFor(PATH_AND_QUERY);
+    }
+
+    @Benchmark
+    public String newMacPerSignature() throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA1");
+
+        mac.init(new SecretKeySpec(key, "HmacSHA1"));
+
+        byte[] signature = mac.doFinal(PATH_AND_QUERY.getBytes(StandardCharsets.UTF_8));
+
+        return new String(Base64.encodeBase64(signature), StandardCharsets.UTF_8).replace('+', '-').replace('/', '_');
+    }
+}
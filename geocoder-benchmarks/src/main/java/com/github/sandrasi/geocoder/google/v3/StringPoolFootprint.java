@@ -0,0 +1,88 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.github.sandrasi.geocoder.util.StringPool;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Measures the retained heap of a cache of parsed geocode responses with and without a shared {@link StringPool}
+ * by walking the object graph of the responses with JOL. Every response is a distinct street address, but the
+ * addresses are spread over a limited number of streets, cities, counties, states and postal codes of a single
+ * country, like the responses cached by a geocoding pipeline of a region. Shared objects are counted once, so the
+ * difference of the footprints is the heap saved by the pool.
+ * <p>
+ * The number of responses and the size of the pool can be given as arguments. The default million responses
+ * take more than 4 GB of heap, and walking their object graph takes a while:
+ * <pre>
+ * java -Xmx10g -cp geocoder-benchmarks/target/benchmarks.jar com.github.sandrasi.geocoder.google.v3.StringPoolFootprint 1000000 65536
+ * </pre>
+ */
+public final class StringPoolFootprint {
+
+    private static final int STREET_NUMBERS = 2000;
+    private static final int STREETS = 5000;
+    private static final int CITIES = 500;
+    private static final int COUNTIES = 200;
+    private static final int STATES = 50;
+    private static final int POSTAL_CODES = 2000;
+
+    private static final String RESPONSE_TEMPLATE = "{\"status\":\"OK\",\"results\":[{"
+            + "\"types\":[\"street_address\"],"
+            + "\"formatted_address\":\"%1$d %2$s, %3$s, %5$s %6$s, United States\","
+            + "\"address_components\":["
+            + "{\"long_name\":\"%1$d\",\"short_name\":\"%1$d\",\"types\":[\"street_number\"]},"
+            + "{\"long_name\":\"%2$s\",\"short_name\":\"%2$s\",\"types\":[\"route\"]},"
+            + "{\"long_name\":\"%3$s\",\"short_name\":\"%3$s\",\"types\":[\"locality\",\"political\"]},"
+            + "{\"long_name\":\"%4$s\",\"short_name\":\"%4$s\",\"types\":[\"administrative_area_level_2\",\"political\"]},"
+            + "{\"long_name\":\"%5$s State\",\"short_name\":\"%5$s\",\"types\":[\"administrative_area_level_1\",\"political\"]},"
+            + "{\"long_name\":\"United States\",\"short_name\":\"US\",\"types\":[\"country\",\"political\"]},"
+            + "{\"long_name\":\"%6$s\",\"short_name\":\"%6$s\",\"types\":[\"postal_code\"]}],"
+            + "\"geometry\":{\"location\":{\"lat\":%7$.7f,\"lng\":%8$.7f},\"location_type\":\"ROOFTOP\","
+            + "\"viewport\":{\"southwest\":{\"lat\":%9$.7f,\"lng\":%10$.7f},\"northeast\":{\"lat\":%11$.7f,\"lng\":%12$.7f}}}}]}";
+
+    private StringPoolFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int responseCount = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+        int poolSize = (args.length > 1) ? Integer.parseInt(args[1]) : 65536;
+
+        long withoutPool = footprintOf(responseCount, null);
+        long withPool = footprintOf(responseCount, new StringPool(poolSize));
+
+        System.out.printf("Responses:             %,d%n", responseCount);
+        System.out.printf("Without string pool:   %,d bytes (%,d bytes per response)%n", withoutPool, withoutPool / responseCount);
+        System.out.printf("With string pool:      %,d bytes (%,d bytes per response)%n", withPool, withPool / responseCount);
+        System.out.printf("Saved:                 %,d bytes (%.1f%%)%n", withoutPool - withPool, 100.0 * (withoutPool - withPool) / withoutPool);
+    }
+
+    private static long footprintOf(int responseCount, StringPool stringPool) {
+        List<GoogleGeocodeResponse> responses = new ArrayList<>(responseCount);
+
+        for (int i = 0; i < responseCount; i++) {
+            responses.add(JsonGeocodeResponseParser.parse("query", new ByteArrayInputStream(responseOf(i)), ResponseProjection.FULL, stringPool));
+        }
+
+        return GraphLayout.parseInstance(responses).totalSize();
+    }
+
+    private static byte[] responseOf(int i) {
+        int street = (i / STREET_NUMBERS) % STREETS;
+        int city = street % CITIES;
+        int county = city % COUNTIES;
+        int state = county % STATES;
+        double latitude = 25 + (i % 2500) * 0.01;
+        double longitude = -120 + (i / 2500 % 5000) * 0.01;
+
+        return String.format(Locale.ROOT, RESPONSE_TEMPLATE,
+                i % STREET_NUMBERS + 1, "Street " + street, "City " + city, "County " + county, "S" + state,
+                String.format(Locale.ROOT, "%05d", i % POSTAL_CODES),
+                latitude, longitude, latitude - 0.001, longitude - 0.001, latitude + 0.001, longitude + 0.001)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -1,5 +1,7 @@
 package com.github.sandrasi.geocoder;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * {@code GeocodeRequest} represents a geocodable address or geographic coordinates to lookup an address.
  */
@@ -12,6 +14,14 @@ public interface GeocodeRequest {
      */
     GeocodeResponse execute();
 
+    /**
+     * Performs this geocoding request asynchronously. The returned future is completed with the result of the
+     * geocoding or, if the geocoding can not be performed, exceptionally with a {@link GeocodeException}.
+     *
+     * @return a future result of the geocoding
+     */
+    CompletableFuture<GeocodeResponse> executeAsync();
+
     /**
      * {@code Builder} is common interface to build different geocoding request.
      *
@@ -0,0 +1,97 @@
+package com.github.sandrasi.geocoder;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * {@code GeocodeResult} represents the outcome of geocoding a single item of a batch. The result is either
+ * successful and holds the {@link GeocodeResponse} of the geocoding query, or it is failed and holds the
+ * {@link GeocodeException} that prevented the geocoding. A failed item does not abort the rest of the batch.
+ */
+public final class GeocodeResult {
+
+    private final String queryString;
+    private final GeocodeResponse geocodeResponse;
+    private final GeocodeException geocodeException;
+
+    private GeocodeResult(String queryString, GeocodeResponse geocodeResponse, GeocodeException geocodeException) {
+        this.queryString = queryString;
+        this.geocodeResponse = geocodeResponse;
+        this.geocodeException = geocodeException;
+    }
+
+    /**
+     * Creates a new successful {@code GeocodeResult}.
+     *
+     * @param geocodeResponse the result of the geocoding query
+     * @throws NullPointerException if {@code geocodeResponse} is {@code null}
+     * @return a new instance of a successful {@code GeocodeResult}
+     */
+    public static GeocodeResult success(GeocodeResponse geocodeResponse) {
+        Validate.notNull(geocodeResponse, "geocodeResponse is required");
+
+        return new GeocodeResult(geocodeResponse.getQueryString(), geocodeResponse, null);
+    }
+
+    /**
+     * Creates a new failed {@code GeocodeResult}.
+     *
+     * @param queryString the textual format of the address or the geographic coordinates that could not be geocoded
+     * @param geocodeException the exception that prevented the geocoding
+     * @throws NullPointerException if {@code geocodeException} is {@code null}
+     * @return a new instance of a failed {@code GeocodeResult}
+     */
+    public static GeocodeResult failure(String queryString, GeocodeException geocodeException) {
+        Validate.notNull(geocodeException, "geocodeException is required");
+
+        return new GeocodeResult(queryString, null, geocodeException);
+    }
+
+    /**
+     * Returns the original query string of the item that was geocoded.
+     *
+     * @return the textual format of the address or the geographic coordinates, or {@code null} if the item was
+     * {@code null}
+     */
+    public String getQueryString() {
+        return queryString;
+    }
+
+    /**
+     * Tells whether the item was geocoded successfully.
+     *
+     * @return {@code true} if the item was geocoded, {@code false} otherwise
+     */
+    public boolean isSuccessful() {
+        return geocodeException == null;
+    }
+
+    /**
+     * Returns the result of the geocoding query.
+     *
+     * @return the response of the geocoding query, or {@code null} if the geocoding failed
+     */
+    public GeocodeResponse getGeocodeResponse() {
+        return geocodeResponse;
+    }
+
+    /**
+     * Returns the exception that prevented the geocoding.
+     *
+     * @return the cause of the failure, or {@code null} if the geocoding was successful
+     */
+    public GeocodeException getGeocodeException() {
+        return geocodeException;
+    }
+
+    /**
+     * Returns the textual representation of this {@code GeocodeResult}.
+     *
+     * @return this {@code GeocodeResult} in string format
+     */
+    @Override
+    public String toString() {
+        return isSuccessful()
+                ? String.format("queryString: \"%s\", geocodeResponse: \"%s\"", queryString, geocodeResponse)
+                : String.format("queryString: \"%s\", geocodeException: \"%s\"", queryString, geocodeException);
+    }
+}
@@ -1,5 +1,8 @@
 package com.github.sandrasi.geocoder;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * An address geocoder that turns addresses into geographic coordinates or geographic coordinates into addresses.
  *
@@ -58,6 +61,90 @@ public interface Geocoder<T extends GeocodeRequest, S extends GeocodeRequest.Bui
      */
     GeocodeResponse geocode(T geocodeRequest);
 
+    /**
+     * Asynchronously translates a human-readable address into geographic location on a map. The calling thread
+     * is not blocked while the geocoding is in progress. The returned future is completed with the same result
+     * as that of returned by {@link #geocodeAddress(String)} or exceptionally with a {@link GeocodeException}.
+     *
+     * @param address the address to be geocoded
+     * @return a future result of the address geocoding
+     */
+    CompletableFuture<GeocodeResponse> geocodeAddressAsync(String address);
+
+    /**
+     * Asynchronously reverse geocodes the coordinates. The calling thread is not blocked while the address lookup
+     * is in progress. The returned future is completed with the same result as that of returned by
+     * {@link #lookupAddress(double, double)} or exceptionally with a {@link GeocodeException}.
+     *
+     * @param latitude the latitude coordinate of the location
+     * @param longitude the longitude coordinate of the location
+     * @return a future result of the address lookup
+     */
+    CompletableFuture<GeocodeResponse> lookupAddressAsync(double latitude, double longitude);
+
+    /**
+     * Asynchronously geocodes an arbitrary address or looks up an arbitrary geographic location described as a
+     * {@code GeocodeRequest}. The calling thread is not blocked while the geocoding is in progress. The returned
+     * future is completed with the same result as that of returned by {@link #geocode(GeocodeRequest)} or
+     * exceptionally with a {@link GeocodeException}.
+     *
+     * @param geocodeRequest a request representing a geocodable address or geographic location
+     * @return a future result of the geocoding
+     */
+    CompletableFuture<GeocodeResponse> geocodeAsync(T geocodeRequest);
+
+    /**
+     * Geocodes a batch of addresses. The addresses are geocoded concurrently with the default degree of
+     * parallelism of the implementing class, respecting the request rate limit of the geocoder.
+     *
+     * @param addresses the addresses to be geocoded
+     * @return the results of the geocoding in the order of {@code addresses}
+     * @see #geocodeAll(Iterable, int)
+     */
+    List<GeocodeResult> geocodeAll(Iterable<String> addresses);
+
+    /**
+     * Geocodes a batch of addresses. At most {@code parallelism} addresses are geocoded at the same time,
+     * respecting the request rate limit of the geocoder. The calling thread is blocked until every address is
+     * geocoded. If an address can not be geocoded the corresponding result holds the cause of the failure and the
+     * rest of the batch is geocoded nevertheless.
+     *
+     * @param addresses the addresses to be geocoded
+     * @param parallelism the maximum number of concurrent geocoding requests
+     * @throws NullPointerException if {@code addresses} is {@code null}
+     * @throws IllegalArgumentException if {@code parallelism} is not a positive number
+     * @return the results of the geocoding in the order of {@code addresses}
+     */
+    List<GeocodeResult> geocodeAll(Iterable<String> addresses, int parallelism);
+
+    /**
+     * Reverse geocodes a batch of coordinates. The locations are looked up concurrently with the default degree
+     * of parallelism of the implementing class, respecting the request rate limit of the geocoder.
+     *
+     * @param latitudes the latitude coordinates of the locations
+     * @param longitudes the longitude coordinates of the locations
+     * @return the results of the address lookups in the order of the coordinates
+     * @see #lookupAll(double[], double[], int)
+     */
+    List<GeocodeResult> lookupAll(double[] latitudes, double[] longitudes);
+
+    /**
+     * Reverse geocodes a batch of coordinates. The location at index {@code i} is described by
+     * {@code latitudes[i]} and {@code longitudes[i]}. At most {@code parallelism} locations are looked up at the
+     * same time, respecting the request rate limit of the geocoder. The calling thread is blocked until every
+     * location is looked up. If a location can not be looked up the corresponding result holds the cause of the
+     * failure and the rest of the batch is looked up nevertheless.
+     *
+     * @param latitudes the latitude coordinates of the locations
+     * @param longitudes the longitude coordinates of the locations
+     * @param parallelism the maximum number of concurrent geocoding requests
+     * @throws NullPointerException if either {@code latitudes} or {@code longitudes} is {@code null}
+     * @throws IllegalArgumentException if the length of {@code latitudes} and {@code longitudes} differ, or
+     * {@code parallelism} is not a positive number
+     * @return the results of the address lookups in the order of the coordinates
+     */
+    List<GeocodeResult> lookupAll(double[] latitudes, double[] longitudes, int parallelism);
+
     /**
      * Closes this geocoder and releases the allocated resources.
      */
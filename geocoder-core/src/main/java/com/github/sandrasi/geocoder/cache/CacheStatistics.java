@@ -0,0 +1,99 @@
+package com.github.sandrasi.geocoder.cache;
+
+/**
+ * {@code CacheStatistics} is an immutable snapshot of the hit, miss and eviction counters of a
+ * {@link CachingGeocoder}.
+ */
+public final class CacheStatistics {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long secondTierHitCount;
+    private final long evictionCount;
+    private final long size;
+
+    CacheStatistics(long hitCount, long missCount, long secondTierHitCount, long evictionCount, long size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.secondTierHitCount = secondTierHitCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    /**
+     * Returns the number of requests answered from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of requests not found in the in-memory cache.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of in-memory cache misses answered by the second-tier store.
+     *
+     * @return the number of second-tier hits
+     */
+    public long getSecondTierHitCount() {
+        return secondTierHitCount;
+    }
+
+    /**
+     * Returns the number of requests looked up in the cache.
+     *
+     * @return the sum of the cache hits and misses
+     */
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * Returns the ratio of the requests answered from the cache.
+     *
+     * @return the number of cache hits divided by the number of requests, or {@code 1.0} if there has not been
+     * any request
+     */
+    public double getHitRate() {
+        long requestCount = getRequestCount();
+
+        return (requestCount == 0) ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * Returns the number of responses evicted from the cache because the cache was full or they expired.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the approximate number of responses in the cache.
+     *
+     * @return the number of cached responses
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the textual representation of this {@code CacheStatistics}.
+     *
+     * @return this {@code CacheStatistics} in string format
+     */
+    @Override
+    public String toString() {
+        return String.format("hits: \"%d\", misses: \"%d\", hitRate: \"%.3f\", secondTierHits: \"%d\", evictions: \"%d\", size: \"%d\"",
+                hitCount, missCount, getHitRate(), secondTierHitCount, evictionCount, size);
+    }
+}
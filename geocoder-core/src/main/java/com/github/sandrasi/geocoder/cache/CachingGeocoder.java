@@ -0,0 +1,619 @@
+package com.github.sandrasi.geocoder.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.sandrasi.geocoder.GeocodeRequest;
+import com.github.sandrasi.geocoder.GeocodeResponse;
+import com.github.sandrasi.geocoder.GeocodeResult;
+import com.github.sandrasi.geocoder.Geocoder;
+import com.github.sandrasi.geocoder.components.GeocodeStatus;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * {@code CachingGeocoder} is a {@link Geocoder} decorator that keeps the responses of the underlying geocoder in
+ * memory, so repeated requests are answered without sending a request to the geocoding service and without
+ * spending the request quota. The responses are keyed by the geocode request, therefore the requests of the
+ * underlying geocoder must be equal if and only if they have the same address or coordinates, language, region
+ * and viewport bias.
+ * <p>
+ * The cache holds at most a configured number of responses. When it is full, the responses are evicted by the
+ * W-TinyLFU policy, which keeps the frequently requested responses and lets the one-off requests pass through
+ * without flushing them out. Only the {@link GeocodeStatus#OK} and {@link GeocodeStatus#ZERO_RESULTS} responses
+ * are cached, each with its own time to live; the failed requests and the other statuses are always forwarded to
+ * the underlying geocoder.
+ * <p>
+ * A {@link GeocodeResponseStore} can be set as a second tier behind the in-memory cache. A miss of the in-memory
+ * cache is looked up in the second tier before forwarding the request to the underlying geocoder, and the
+ * responses found there are promoted to the in-memory cache for the rest of their time to live, counted from the
+ * time they were written to the second tier. The cacheable responses of the underlying geocoder are written to
+ * both tiers.
+ * <p>
+ * Concurrent misses of the same request are not coalesced: each of them is forwarded to the underlying geocoder.
+ * The cache maintenance runs on the calling threads, so it does not compete with the geocoding tasks for the
+ * threads of the common pool.
+ *
+ * @param <T> the type of the geocode request of the underlying geocoder
+ * @param <S> the type of the geocode request builder of the underlying geocoder
+ */
+public final class CachingGeocoder<T extends GeocodeRequest, S extends GeocodeRequest.Builder<T>> implements Geocoder<T, S> {
+
+    /**
+     * The default maximum number of cached responses.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 10000;
+
+    /**
+     * The default time to live of the {@link GeocodeStatus#OK} responses in milliseconds.
+     */
+    public static final long DEFAULT_TIME_TO_LIVE_IN_MILLISECONDS = TimeUnit.DAYS.toMillis(1);
+
+    /**
+     * The default time to live of the {@link GeocodeStatus#ZERO_RESULTS} responses in milliseconds.
+     */
+    public static final long DEFAULT_ZERO_RESULTS_TIME_TO_LIVE_IN_MILLISECONDS = TimeUnit.HOURS.toMillis(1);
+
+    private final Geocoder<T, S> geocoder;
+    private final Cache<T, GeocodeResponse> cache;
+    private final StatusDependentExpiry<T> expiry;
+    private final GeocodeResponseStore<T> secondTier;
+    private final LongAdder secondTierHitCount = new LongAdder();
+
+    private CachingGeocoder(Builder<T, S> builder) {
+        geocoder = builder.geocoder;
+        secondTier = builder.secondTier;
+        expiry = new StatusDependentExpiry<>(builder.timeToLiveInNanoseconds, builder.zeroResultsTimeToLiveInNanoseconds);
+        cache = Caffeine.newBuilder()
+                .maximumSize(builder.maximumSize)
+                .expireAfter(expiry)
+                .executor(Runnable::run)
+                .ticker(builder.ticker)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Creates a new builder to construct a {@code CachingGeocoder} that caches the responses of {@code geocoder}.
+     *
+     * @param geocoder the geocoder whose responses are cached
+     * @param <T> the type of the geocode request of {@code geocoder}
+     * @param <S> the type of the geocode request builder of {@code geocoder}
+     * @throws NullPointerException if {@code geocoder} is {@code null}
+     * @return a new instance of {@link Builder}
+     */
+    public static <T extends GeocodeRequest, S extends GeocodeRequest.Builder<T>> Builder<T, S> newBuilder(Geocoder<T, S> geocoder) {
+        return new Builder<>(geocoder);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public S newGeocodeRequestBuilder(String address) {
+        return geocoder.newGeocodeRequestBuilder(address);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public S newGeocodeRequestBuilder(double latitude, double longitude) {
+        return geocoder.newGeocodeRequestBuilder(latitude, longitude);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GeocodeResponse geocodeAddress(String address) {
+        return geocode(newGeocodeRequestBuilder(address).build());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GeocodeResponse lookupAddress(double latitude, double longitude) {
+        return geocode(newGeocodeRequestBuilder(latitude, longitude).build());
+    }
+
+    /**
+     * Returns the cached response of {@code geocodeRequest}, or geocodes it by the underlying geocoder if it is
+     * not cached.
+     *
+     * @param geocodeRequest a request representing a geocodable address or geographic location
+     * @throws NullPointerException if {@code geocodeRequest} is {@code null}
+     * @return the result of the geocoding
+     */
+    @Override
+    public GeocodeResponse geocode(T geocodeRequest) {
+        Validate.notNull(geocodeRequest, "geocodeRequest is required");
+
+        GeocodeResponse cachedGeocodeResponse = getCached(geocodeRequest);
+
+        return (cachedGeocodeResponse != null) ? cachedGeocodeResponse : cache(geocodeRequest, geocoder.geocode(geocodeRequest));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<GeocodeResponse> geocodeAddressAsync(String address) {
+        return geocodeAsync(newGeocodeRequestBuilder(address).build());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<GeocodeResponse> lookupAddressAsync(double latitude, double longitude) {
+        return geocodeAsync(newGeocodeRequestBuilder(latitude, longitude).build());
+    }
+
+    /**
+     * Returns an already completed future with the cached response of {@code geocodeRequest}, or geocodes it
+     * asynchronously by the underlying geocoder if it is not cached.
+     *
+     * @param geocodeRequest a request representing a geocodable address or geographic location
+     * @throws NullPointerException if {@code geocodeRequest} is {@code null}
+     * @return a future result of the geocoding
+     */
+    @Override
+    public CompletableFuture<GeocodeResponse> geocodeAsync(final T geocodeRequest) {
+        Validate.notNull(geocodeRequest, "geocodeRequest is required");
+
+        GeocodeResponse cachedGeocodeResponse = getCached(geocodeRequest);
+
+        if (cachedGeocodeResponse != null) {
+            return CompletableFuture.completedFuture(cachedGeocodeResponse);
+        }
+
+        return geocoder.geocodeAsync(geocodeRequest).thenApply(geocodeResponse -> cache(geocodeRequest, geocodeResponse));
+    }
+
+    /**
+     * Geocodes a batch of addresses. The cached addresses are answered from the cache and the rest of the batch
+     * is geocoded by the underlying geocoder with its default degree of parallelism.
+     *
+     * @param addresses the addresses to be geocoded
+     * @throws NullPointerException if {@code addresses} is {@code null}
+     * @return the results of the geocoding in the order of {@code addresses}
+     */
+    @Override
+    public List<GeocodeResult> geocodeAll(Iterable<String> addresses) {
+        Validate.notNull(addresses, "addresses is required");
+
+        Batch batch = new Batch();
+
+        for (String address : addresses) {
+            batch.add(address, toGeocodeRequest(address));
+        }
+
+        return batch.complete(geocoder.geocodeAll(batch.getMissedAddresses()));
+    }
+
+    /**
+     * Geocodes a batch of addresses. The cached addresses are answered from the cache and the rest of the batch
+     * is geocoded by the underlying geocoder with at most {@code parallelism} concurrent requests.
+     *
+     * @param addresses the addresses to be geocoded
+     * @param parallelism the maximum number of concurrent geocoding requests
+     * @throws NullPointerException if {@code addresses} is {@code null}
+     * @throws IllegalArgumentException if {@code parallelism} is not a positive number
+     * @return the results of the geocoding in the order of {@code addresses}
+     */
+    @Override
+    public List<GeocodeResult> geocodeAll(Iterable<String> addresses, int parallelism) {
+        Validate.notNull(addresses, "addresses is required");
+        Validate.isTrue(parallelism > 0, "parallelism must be a positive number");
+
+        Batch batch = new Batch();
+
+        for (String address : addresses) {
+            batch.add(address, toGeocodeRequest(address));
+        }
+
+        return batch.complete(geocoder.geocodeAll(batch.getMissedAddresses(), parallelism));
+    }
+
+    /**
+     * Reverse geocodes a batch of coordinates. The cached locations are answered from the cache and the rest of
+     * the batch is looked up by the underlying geocoder with its default degree of parallelism.
+     *
+     * @param latitudes the latitude coordinates of the locations
+     * @param longitudes the longitude coordinates of the locations
+     * @throws NullPointerException if either {@code latitudes} or {@code longitudes} is {@code null}
+     * @throws IllegalArgumentException if the length of {@code latitudes} and {@code longitudes} differ
+     * @return the results of the address lookups in the order of the coordinates
+     */
+    @Override
+    public List<GeocodeResult> lookupAll(double[] latitudes, double[] longitudes) {
+        Batch batch = newLookupBatch(latitudes, longitudes);
+
+        return batch.complete(geocoder.lookupAll(batch.getMissedLatitudes(), batch.getMissedLongitudes()));
+    }
+
+    /**
+     * Reverse geocodes a batch of coordinates. The cached locations are answered from the cache and the rest of
+     * the batch is looked up by the underlying geocoder with at most {@code parallelism} concurrent requests.
+     *
+     * @param latitudes the latitude coordinates of the locations
+     * @param longitudes the longitude coordinates of the locations
+     * @param parallelism the maximum number of concurrent geocoding requests
+     * @throws NullPointerException if either {@code latitudes} or {@code longitudes} is {@code null}
+     * @throws IllegalArgumentException if the length of {@code latitudes} and {@code longitudes} differ, or
+     * {@code parallelism} is not a positive number
+     * @return the results of the address lookups in the order of the coordinates
+     */
+    @Override
+    public List<GeocodeResult> lookupAll(double[] latitudes, double[] longitudes, int parallelism) {
+        Validate.isTrue(parallelism > 0, "parallelism must be a positive number");
+
+        Batch batch = newLookupBatch(latitudes, longitudes);
+
+        return batch.complete(geocoder.lookupAll(batch.getMissedLatitudes(), batch.getMissedLongitudes(), parallelism));
+    }
+
+    /**
+     * Discards the cached responses and closes the underlying geocoder.
+     */
+    @Override
+    public void close() {
+        cache.invalidateAll();
+        geocoder.close();
+    }
+
+    /**
+     * Returns the geocoder whose responses are cached.
+     *
+     * @return the underlying geocoder
+     */
+    public Geocoder<T, S> getGeocoder() {
+        return geocoder;
+    }
+
+    /**
+     * Returns the second-tier store behind the in-memory cache.
+     *
+     * @return the second tier, or {@code null} if the cache does not have one
+     */
+    public GeocodeResponseStore<T> getSecondTier() {
+        return secondTier;
+    }
+
+    /**
+     * Returns a snapshot of the hit, miss and eviction counters of the cache. The hits and misses are those of the
+     * in-memory cache; the misses answered by the second tier are counted separately.
+     *
+     * @return the statistics of the cache
+     */
+    public CacheStatistics getStatistics() {
+        CacheStats cacheStats = cache.stats();
+
+        return new CacheStatistics(cacheStats.hitCount(), cacheStats.missCount(), secondTierHitCount.sum(),
+                cacheStats.evictionCount(), cache.estimatedSize());
+    }
+
+    /**
+     * Discards the cached response of {@code geocodeRequest} from the in-memory cache, if any.
+     *
+     * @param geocodeRequest the request whose response is discarded
+     * @throws NullPointerException if {@code geocodeRequest} is {@code null}
+     */
+    public void invalidate(T geocodeRequest) {
+        Validate.notNull(geocodeRequest, "geocodeRequest is required");
+
+        cache.invalidate(geocodeRequest);
+    }
+
+    /**
+     * Discards every cached response from the in-memory cache.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private GeocodeResponse getCached(T geocodeRequest) {
+        GeocodeResponse cachedGeocodeResponse = cache.getIfPresent(geocodeRequest);
+
+        if ((cachedGeocodeResponse == null) && (secondTier != null)) {
+            StoredGeocodeResponse storedGeocodeResponse = secondTier.getStored(geocodeRequest);
+
+            if ((storedGeocodeResponse != null) && isCacheable(storedGeocodeResponse.getGeocodeResponse())) {
+                cachedGeocodeResponse = storedGeocodeResponse.getGeocodeResponse();
+                secondTierHitCount.increment();
+                promote(geocodeRequest, storedGeocodeResponse);
+            }
+        }
+
+        return cachedGeocodeResponse;
+    }
+
+    private void promote(T geocodeRequest, StoredGeocodeResponse storedGeocodeResponse) {
+        GeocodeResponse geocodeResponse = storedGeocodeResponse.getGeocodeResponse();
+        long ageInNanoseconds = TimeUnit.MILLISECONDS.toNanos(Math.max(0, System.currentTimeMillis() - storedGeocodeResponse.getWriteTimeInMilliseconds()));
+        long remainingTimeToLiveInNanoseconds = expiry.timeToLiveOf(geocodeResponse) - ageInNanoseconds;
+
+        if (remainingTimeToLiveInNanoseconds > 0) {
+            cache.policy().expireVariably().orElseThrow(IllegalStateException::new)
+                    .put(geocodeRequest, geocodeResponse, remainingTimeToLiveInNanoseconds, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private GeocodeResponse cache(T geocodeRequest, GeocodeResponse geocodeResponse) {
+        if (isCacheable(geocodeResponse)) {
+            cache.put(geocodeRequest, geocodeResponse);
+
+            if (secondTier != null) {
+                secondTier.put(geocodeRequest, geocodeResponse);
+            }
+        }
+
+        return geocodeResponse;
+    }
+
+    private static boolean isCacheable(GeocodeResponse geocodeResponse) {
+        return (geocodeResponse != null)
+                && ((geocodeResponse.getGeocodeStatus() == GeocodeStatus.OK) || (geocodeResponse.getGeocodeStatus() == GeocodeStatus.ZERO_RESULTS));
+    }
+
+    private T toGeocodeRequest(String address) {
+        try {
+            return newGeocodeRequestBuilder(address).build();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private Batch newLookupBatch(double[] latitudes, double[] longitudes) {
+        Validate.notNull(latitudes, "latitudes is required");
+        Validate.notNull(longitudes, "longitudes is required");
+        Validate.isTrue(latitudes.length == longitudes.length, "latitudes and longitudes must have the same length");
+
+        Batch batch = new Batch();
+
+        for (int i = 0; i < latitudes.length; i++) {
+            batch.add(latitudes[i], longitudes[i], toGeocodeRequest(latitudes[i], longitudes[i]));
+        }
+
+        return batch;
+    }
+
+    private T toGeocodeRequest(double latitude, double longitude) {
+        try {
+            return newGeocodeRequestBuilder(latitude, longitude).build();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A batch split into the items answered from the cache and the items to be geocoded by the underlying
+     * geocoder. The items that can not be turned into a request are passed to the underlying geocoder as they
+     * are, so it reports their failure the same way as without the cache.
+     */
+    private final class Batch {
+
+        private final List<GeocodeResult> results = new ArrayList<>();
+        private final List<Integer> missedIndices = new ArrayList<>();
+        private final List<T> missedGeocodeRequests = new ArrayList<>();
+        private final List<String> missedAddresses = new ArrayList<>();
+        private final List<Double> missedLatitudes = new ArrayList<>();
+        private final List<Double> missedLongitudes = new ArrayList<>();
+
+        private void add(String address, T geocodeRequest) {
+            if (!addCached(geocodeRequest)) {
+                missedAddresses.add(address);
+            }
+        }
+
+        private void add(double latitude, double longitude, T geocodeRequest) {
+            if (!addCached(geocodeRequest)) {
+                missedLatitudes.add(latitude);
+                missedLongitudes.add(longitude);
+            }
+        }
+
+        private boolean addCached(T geocodeRequest) {
+            GeocodeResponse cachedGeocodeResponse = (geocodeRequest != null) ? getCached(geocodeRequest) : null;
+
+            if (cachedGeocodeResponse != null) {
+                results.add(GeocodeResult.success(cachedGeocodeResponse));
+
+                return true;
+            }
+
+            missedIndices.add(results.size());
+            missedGeocodeRequests.add(geocodeRequest);
+            results.add(null);
+
+            return false;
+        }
+
+        private List<String> getMissedAddresses() {
+            return missedAddresses;
+        }
+
+        private double[] getMissedLatitudes() {
+            return toArray(missedLatitudes);
+        }
+
+        private double[] getMissedLongitudes() {
+            return toArray(missedLongitudes);
+        }
+
+        private List<GeocodeResult> complete(List<GeocodeResult> missedResults) {
+            for (int i = 0; i < missedResults.size(); i++) {
+                GeocodeResult result = missedResults.get(i);
+                T geocodeRequest = missedGeocodeRequests.get(i);
+
+                if (result.isSuccessful() && geocodeRequest != null) {
+                    cache(geocodeRequest, result.getGeocodeResponse());
+                }
+
+                results.set(missedIndices.get(i), result);
+            }
+
+            return results;
+        }
+
+        private double[] toArray(List<Double> values) {
+            double[] array = new double[values.size()];
+
+            for (int i = 0; i < array.length; i++) {
+                array[i] = values.get(i);
+            }
+
+            return array;
+        }
+    }
+
+    /**
+     * Expires the {@link GeocodeStatus#OK} and the {@link GeocodeStatus#ZERO_RESULTS} responses after their own
+     * time to live counted from the time they were cached.
+     */
+    private static final class StatusDependentExpiry<T> implements Expiry<T, GeocodeResponse> {
+
+        private final long timeToLiveInNanoseconds;
+        private final long zeroResultsTimeToLiveInNanoseconds;
+
+        private StatusDependentExpiry(long timeToLiveInNanoseconds, long zeroResultsTimeToLiveInNanoseconds) {
+            this.timeToLiveInNanoseconds = timeToLiveInNanoseconds;
+            this.zeroResultsTimeToLiveInNanoseconds = zeroResultsTimeToLiveInNanoseconds;
+        }
+
+        @Override
+        public long expireAfterCreate(T geocodeRequest, GeocodeResponse geocodeResponse, long currentTime) {
+            return timeToLiveOf(geocodeResponse);
+        }
+
+        @Override
+        public long expireAfterUpdate(T geocodeRequest, GeocodeResponse geocodeResponse, long currentTime, long currentDuration) {
+            return expireAfterCreate(geocodeRequest, geocodeResponse, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(T geocodeRequest, GeocodeResponse geocodeResponse, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private long timeToLiveOf(GeocodeResponse geocodeResponse) {
+            return (geocodeResponse.getGeocodeStatus() == GeocodeStatus.ZERO_RESULTS) ? zeroResultsTimeToLiveInNanoseconds : timeToLiveInNanoseconds;
+        }
+    }
+
+    /**
+     * A factory class to construct a new {@link CachingGeocoder}. The method calls to define the settings can be
+     * chained.
+     *
+     * @param <T> the type of the geocode request of the underlying geocoder
+     * @param <S> the type of the geocode request builder of the underlying geocoder
+     */
+    public static final class Builder<T extends GeocodeRequest, S extends GeocodeRequest.Builder<T>> {
+
+        private final Geocoder<T, S> geocoder;
+        private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+        private long timeToLiveInNanoseconds = TimeUnit.MILLISECONDS.toNanos(DEFAULT_TIME_TO_LIVE_IN_MILLISECONDS);
+        private long zeroResultsTimeToLiveInNanoseconds = TimeUnit.MILLISECONDS.toNanos(DEFAULT_ZERO_RESULTS_TIME_TO_LIVE_IN_MILLISECONDS);
+        private Ticker ticker = Ticker.systemTicker();
+        private GeocodeResponseStore<T> secondTier;
+
+        private Builder(Geocoder<T, S> geocoder) {
+            Validate.notNull(geocoder, "geocoder is required");
+
+            this.geocoder = geocoder;
+        }
+
+        /**
+         * Instantiates a new {@link CachingGeocoder} with the settings defined in this builder.
+         *
+         * @return a new instance of {@link CachingGeocoder}
+         */
+        public CachingGeocoder<T, S> build() {
+            return new CachingGeocoder<>(this);
+        }
+
+        /**
+         * Sets the maximum number of cached responses.
+         *
+         * @param maximumSize the maximum number of cached responses
+         * @throws IllegalArgumentException if {@code maximumSize} is a negative number
+         * @return a reference to this {@code Builder}
+         */
+        public Builder<T, S> setMaximumSize(long maximumSize) {
+            Validate.isTrue(maximumSize >= 0, "maximumSize must be a non-negative number");
+
+            this.maximumSize = maximumSize;
+
+            return this;
+        }
+
+        /**
+         * Sets the time after which a cached {@link GeocodeStatus#OK} response expires.
+         *
+         * @param timeToLive the time to live of the successful responses
+         * @param unit the time unit of {@code timeToLive}
+         * @throws NullPointerException if {@code unit} is {@code null}
+         * @throws IllegalArgumentException if {@code timeToLive} is not a positive number
+         * @return a reference to this {@code Builder}
+         */
+        public Builder<T, S> setTimeToLive(long timeToLive, TimeUnit unit) {
+            Validate.isTrue(timeToLive > 0, "timeToLive must be a positive number");
+            Validate.notNull(unit, "unit is required");
+
+            this.timeToLiveInNanoseconds = unit.toNanos(timeToLive);
+
+            return this;
+        }
+
+        /**
+         * Sets the time after which a cached {@link GeocodeStatus#ZERO_RESULTS} response expires. The negative
+         * responses usually live shorter, so that a newly mapped address is found soon.
+         *
+         * @param zeroResultsTimeToLive the time to live of the responses without any result
+         * @param unit the time unit of {@code zeroResultsTimeToLive}
+         * @throws NullPointerException if {@code unit} is {@code null}
+         * @throws IllegalArgumentException if {@code zeroResultsTimeToLive} is not a positive number
+         * @return a reference to this {@code Builder}
+         */
+        public Builder<T, S> setZeroResultsTimeToLive(long zeroResultsTimeToLive, TimeUnit unit) {
+            Validate.isTrue(zeroResultsTimeToLive > 0, "zeroResultsTimeToLive must be a positive number");
+            Validate.notNull(unit, "unit is required");
+
+            this.zeroResultsTimeToLiveInNanoseconds = unit.toNanos(zeroResultsTimeToLive);
+
+            return this;
+        }
+
+        /**
+         * Sets the second-tier store consulted on the misses of the in-memory cache.
+         *
+         * @param secondTier the store behind the in-memory cache
+         * @throws NullPointerException if {@code secondTier} is {@code null}
+         * @return a reference to this {@code Builder}
+         */
+        public Builder<T, S> setSecondTier(GeocodeResponseStore<T> secondTier) {
+            Validate.notNull(secondTier, "secondTier is required");
+
+            this.secondTier = secondTier;
+
+            return this;
+        }
+
+        Builder<T, S> setTicker(Ticker ticker) {
+            Validate.notNull(ticker, "ticker is required");
+
+            this.ticker = ticker;
+
+            return this;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.sandrasi.geocoder.cache;
+
+import com.github.sandrasi.geocoder.GeocodeRequest;
+import com.github.sandrasi.geocoder.GeocodeResponse;
+
+/**
+ * {@code GeocodeResponseStore} is a second-tier store of geocode responses behind the in-memory cache of a
+ * {@link CachingGeocoder}, like a persistent store that survives restarts. The responses are keyed by the geocode
+ * request the same way as in the in-memory cache.
+ * <p>
+ * A store is consulted on every miss of the in-memory cache, so the implementations should answer quickly and
+ * must be safe for concurrent use. A store that can not read or write its responses should treat the failure
+ * as a miss instead of throwing an exception, so a broken store never prevents the geocoding.
+ *
+ * @param <T> the type of the geocode request the responses are keyed by
+ */
+public interface GeocodeResponseStore<T extends GeocodeRequest> {
+
+    /**
+     * Returns the stored response of {@code geocodeRequest}.
+     *
+     * @param geocodeRequest the request whose response is looked up
+     * @return the stored response, or {@code null} if the response of {@code geocodeRequest} is not stored
+     */
+    GeocodeResponse get(T geocodeRequest);
+
+    /**
+     * Returns the stored response of {@code geocodeRequest} together with the time it was written to the store.
+     * The {@link CachingGeocoder} promotes the responses found in the store to its in-memory cache only for the
+     * rest of their time to live, counted from this write time. The default implementation does not know the
+     * write time, so it reports the response as written now.
+     *
+     * @param geocodeRequest the request whose response is looked up
+     * @return the stored response, or {@code null} if the response of {@code geocodeRequest} is not stored
+     */
+    default StoredGeocodeResponse getStored(T geocodeRequest) {
+        GeocodeResponse geocodeResponse = get(geocodeRequest);
+
+        return (geocodeResponse != null) ? new StoredGeocodeResponse(geocodeResponse, System.currentTimeMillis()) : null;
+    }
+
+    /**
+     * Stores the response of {@code geocodeRequest}, replacing the previously stored response, if any.
+     *
+     * @param geocodeRequest the request the response belongs to
+     * @param geocodeResponse the response to be stored
+     */
+    void put(T geocodeRequest, GeocodeResponse geocodeResponse);
+}
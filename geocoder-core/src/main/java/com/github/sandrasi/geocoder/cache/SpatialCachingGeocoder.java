@@ -0,0 +1,607 @@
+package com.github.sandrasi.geocoder.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.sandrasi.geocoder.GeocodeRequest;
+import com.github.sandrasi.geocoder.GeocodeResponse;
+import com.github.sandrasi.geocoder.GeocodeResult;
+import com.github.sandrasi.geocoder.Geocoder;
+import com.github.sandrasi.geocoder.components.GeocodeStatus;
+import com.github.sandrasi.geocoder.components.GeocodedAddress;
+import com.github.sandrasi.geocoder.components.LocationType;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * {@code SpatialCachingGeocoder} is a {@link Geocoder} decorator that answers the address lookups from the
+ * responses of nearby lookups. The coordinates reported by GPS devices hardly ever repeat exactly, so a cache keyed
+ * by the exact coordinates is rarely hit by them; this cache answers a lookup with the response of the closest
+ * earlier lookup within a configured radius instead.
+ * <p>
+ * The looked up locations are quantized to the cells of a latitude-longitude grid whose cells are as high as the
+ * radius, and a lookup searches its own cell and the neighbouring cells that may hold a location within the
+ * radius. The distances are measured along the great circle by the haversine formula. Near the poles, where the
+ * cells become too narrow to be searched efficiently, the lookups are always forwarded to the underlying geocoder.
+ * <p>
+ * Only the {@link GeocodeStatus#OK} responses are cached, and optionally only those whose most accurate address
+ * is located with at least the configured precision. The cache holds at most a configured number of responses
+ * and each of them expires after the configured time to live. The address geocoding and the arbitrary geocode
+ * requests are forwarded to the underlying geocoder as they are, so a {@link CachingGeocoder} may be used as the
+ * underlying geocoder to cache them.
+ * <p>
+ * <i>Note that a cached response is returned as it is, therefore its query string holds the coordinates of the
+ * lookup it was cached by.</i>
+ *
+ * @param <T> the type of the geocode request of the underlying geocoder
+ * @param <S> the type of the geocode request builder of the underlying geocoder
+ */
+public final class SpatialCachingGeocoder<T extends GeocodeRequest, S extends GeocodeRequest.Builder<T>> implements Geocoder<T, S> {
+
+    /**
+     * The default maximum number of cached responses.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 10000;
+
+    /**
+     * The default radius in meters within which a cached response answers a lookup.
+     */
+    public static final double DEFAULT_RADIUS_IN_METERS = 25;
+
+    /**
+     * The default time to live of the cached responses in milliseconds.
+     */
+    public static final long DEFAULT_TIME_TO_LIVE_IN_MILLISECONDS = TimeUnit.DAYS.toMillis(1);
+
+    private static final double MEAN_EARTH_RADIUS_IN_METERS = 6371008.8;
+    private static final double METERS_PER_DEGREE = MEAN_EARTH_RADIUS_IN_METERS * Math.PI / 180;
+    private static final int MAX_SEARCHED_LONGITUDE_CELLS = 32;
+
+    private final Geocoder<T, S> geocoder;
+    private final Cache<Long, List<Entry>> cells;
+    private final Ticker ticker;
+    private final double radiusInMeters;
+    private final double cellSizeInDegrees;
+    private final int longitudeCellCount;
+    private final long timeToLiveInNanoseconds;
+    private final LocationType minimumPrecision;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    private SpatialCachingGeocoder(Builder<T, S> builder) {
+        geocoder = builder.geocoder;
+        ticker = builder.ticker;
+        radiusInMeters = builder.radiusInMeters;
+        cellSizeInDegrees = radiusInMeters / METERS_PER_DEGREE;
+        longitudeCellCount = (int) Math.ceil(360 / cellSizeInDegrees);
+        timeToLiveInNanoseconds = builder.timeToLiveInNanoseconds;
+        minimumPrecision = builder.minimumPrecision;
+        cells = Caffeine.newBuilder()
+                .maximumWeight(builder.maximumSize)
+                .weigher((Long cell, List<Entry> entries) -> entries.size())
+                .expireAfterWrite(timeToLiveInNanoseconds, TimeUnit.NANOSECONDS)
+                .executor(Runnable::run)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Creates a new builder to construct a {@code SpatialCachingGeocoder} that caches the address lookups of
+     * {@code geocoder}.
+     *
+     * @param geocoder the geocoder whose address lookups are cached
+     * @param <T> the type of the geocode request of {@code geocoder}
+     * @param <S> the type of the geocode request builder of {@code geocoder}
+     * @throws NullPointerException if {@code geocoder} is {@code null}
+     * @return a new instance of {@link Builder}
+     */
+    public static <T extends GeocodeRequest, S extends GeocodeRequest.Builder<T>> Builder<T, S> newBuilder(Geocoder<T, S> geocoder) {
+        return new Builder<>(geocoder);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public S newGeocodeRequestBuilder(String address) {
+        return geocoder.newGeocodeRequestBuilder(address);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public S newGeocodeRequestBuilder(double latitude, double longitude) {
+        return geocoder.newGeocodeRequestBuilder(latitude, longitude);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GeocodeResponse geocodeAddress(String address) {
+        return geocoder.geocodeAddress(address);
+    }
+
+    /**
+     * Returns the cached response of the closest lookup within the radius of the location, or looks up the
+     * address by the underlying geocoder if there is no such response.
+     *
+     * @param latitude the latitude coordinate of the location
+     * @param longitude the longitude coordinate of the location
+     * @return the result of the address lookup
+     */
+    @Override
+    public GeocodeResponse lookupAddress(double latitude, double longitude) {
+        GeocodeResponse cachedGeocodeResponse = getNearby(latitude, longitude);
+
+        return (cachedGeocodeResponse != null) ? cachedGeocodeResponse : cache(latitude, longitude, geocoder.lookupAddress(latitude, longitude));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GeocodeResponse geocode(T geocodeRequest) {
+        return geocoder.geocode(geocodeRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<GeocodeResponse> geocodeAddressAsync(String address) {
+        return geocoder.geocodeAddressAsync(address);
+    }
+
+    /**
+     * Returns an already completed future with the cached response of the closest lookup within the radius of the
+     * location, or looks up the address asynchronously by the underlying geocoder if there is no such response.
+     *
+     * @param latitude the latitude coordinate of the location
+     * @param longitude the longitude coordinate of the location
+     * @return a future result of the address lookup
+     */
+    @Override
+    public CompletableFuture<GeocodeResponse> lookupAddressAsync(final double latitude, final double longitude) {
+        GeocodeResponse cachedGeocodeResponse = getNearby(latitude, longitude);
+
+        if (cachedGeocodeResponse != null) {
+            return CompletableFuture.completedFuture(cachedGeocodeResponse);
+        }
+
+        return geocoder.lookupAddressAsync(latitude, longitude).thenApply(geocodeResponse -> cache(latitude, longitude, geocodeResponse));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<GeocodeResponse> geocodeAsync(T geocodeRequest) {
+        return geocoder.geocodeAsync(geocodeRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<GeocodeResult> geocodeAll(Iterable<String> addresses) {
+        return geocoder.geocodeAll(addresses);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<GeocodeResult> geocodeAll(Iterable<String> addresses, int parallelism) {
+        return geocoder.geocodeAll(addresses, parallelism);
+    }
+
+    /**
+     * Reverse geocodes a batch of coordinates. The locations near a cached lookup are answered from the cache and
+     * the rest of the batch is looked up by the underlying geocoder with its default degree of parallelism.
+     *
+     * @param latitudes the latitude coordinates of the locations
+     * @param longitudes the longitude coordinates of the locations
+     * @throws NullPointerException if either {@code latitudes} or {@code longitudes} is {@code null}
+     * @throws IllegalArgumentException if the length of {@code latitudes} and {@code longitudes} differ
+     * @return the results of the address lookups in the order of the coordinates
+     */
+    @Override
+    public List<GeocodeResult> lookupAll(double[] latitudes, double[] longitudes) {
+        Batch batch = new Batch(latitudes, longitudes);
+
+        return batch.complete(geocoder.lookupAll(batch.getMissedLatitudes(), batch.getMissedLongitudes()));
+    }
+
+    /**
+     * Reverse geocodes a batch of coordinates. The locations near a cached lookup are answered from the cache and
+     * the rest of the batch is looked up by the underlying geocoder with at most {@code parallelism} concurrent
+     * requests.
+     *
+     * @param latitudes the latitude coordinates of the locations
+     * @param longitudes the longitude coordinates of the locations
+     * @param parallelism the maximum number of concurrent geocoding requests
+     * @throws NullPointerException if either {@code latitudes} or {@code longitudes} is {@code null}
+     * @throws IllegalArgumentException if the length of {@code latitudes} and {@code longitudes} differ, or
+     * {@code parallelism} is not a positive number
+     * @return the results of the address lookups in the order of the coordinates
+     */
+    @Override
+    public List<GeocodeResult> lookupAll(double[] latitudes, double[] longitudes, int parallelism) {
+        Validate.isTrue(parallelism > 0, "parallelism must be a positive number");
+
+        Batch batch = new Batch(latitudes, longitudes);
+
+        return batch.complete(geocoder.lookupAll(batch.getMissedLatitudes(), batch.getMissedLongitudes(), parallelism));
+    }
+
+    /**
+     * Discards the cached responses and closes the underlying geocoder.
+     */
+    @Override
+    public void close() {
+        cells.invalidateAll();
+        geocoder.close();
+    }
+
+    /**
+     * Returns the geocoder whose address lookups are cached.
+     *
+     * @return the underlying geocoder
+     */
+    public Geocoder<T, S> getGeocoder() {
+        return geocoder;
+    }
+
+    /**
+     * Returns the radius within which a cached response answers a lookup.
+     *
+     * @return the radius in meters
+     */
+    public double getRadiusInMeters() {
+        return radiusInMeters;
+    }
+
+    /**
+     * Returns a snapshot of the hit, miss and eviction counters of the cache. A hit is a lookup answered by a
+     * cached response and an eviction is the discarding of a grid cell with every response in it.
+     *
+     * @return the statistics of the cache
+     */
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(hitCount.sum(), missCount.sum(), 0, cells.stats().evictionCount(), getSize());
+    }
+
+    /**
+     * Discards every cached response.
+     */
+    public void invalidateAll() {
+        cells.invalidateAll();
+    }
+
+    private long getSize() {
+        long size = 0;
+
+        for (List<Entry> entries : cells.asMap().values()) {
+            size += entries.size();
+        }
+
+        return size;
+    }
+
+    private GeocodeResponse getNearby(double latitude, double longitude) {
+        int longitudeCellRadius = longitudeCellRadiusOf(latitude);
+
+        if (longitudeCellRadius < 0) {
+            missCount.increment();
+
+            return null;
+        }
+
+        long now = ticker.read();
+        int latitudeIndex = latitudeIndexOf(latitude);
+        int longitudeIndex = longitudeIndexOf(longitude);
+        Entry closestEntry = null;
+        double closestDistance = radiusInMeters;
+
+        for (int i = latitudeIndex - 1; i <= latitudeIndex + 1; i++) {
+            for (int j = longitudeIndex - longitudeCellRadius; j <= longitudeIndex + longitudeCellRadius; j++) {
+                List<Entry> entries = cells.getIfPresent(cellOf(i, j));
+
+                if (entries == null) {
+                    continue;
+                }
+
+                for (Entry entry : entries) {
+                    double distance = distanceInMeters(latitude, longitude, entry.latitude, entry.longitude);
+
+                    if ((distance <= closestDistance) && !entry.isExpired(now)) {
+                        closestEntry = entry;
+                        closestDistance = distance;
+                    }
+                }
+            }
+        }
+
+        if (closestEntry == null) {
+            missCount.increment();
+
+            return null;
+        }
+
+        hitCount.increment();
+
+        return closestEntry.geocodeResponse;
+    }
+
+    private GeocodeResponse cache(double latitude, double longitude, GeocodeResponse geocodeResponse) {
+        if (isCacheable(geocodeResponse) && (longitudeCellRadiusOf(latitude) >= 0)) {
+            final Entry newEntry = new Entry(latitude, longitude, ticker.read(), geocodeResponse);
+
+            cells.asMap().compute(cellOf(latitudeIndexOf(latitude), longitudeIndexOf(longitude)), (cell, entries) -> {
+                List<Entry> newEntries = new ArrayList<>();
+
+                if (entries != null) {
+                    for (Entry entry : entries) {
+                        if (!entry.isExpired(newEntry.cachedAt)) {
+                            newEntries.add(entry);
+                        }
+                    }
+                }
+
+                newEntries.add(newEntry);
+
+                return Collections.unmodifiableList(newEntries);
+            });
+        }
+
+        return geocodeResponse;
+    }
+
+    private boolean isCacheable(GeocodeResponse geocodeResponse) {
+        if ((geocodeResponse == null) || (geocodeResponse.getGeocodeStatus() != GeocodeStatus.OK)) {
+            return false;
+        } else if (minimumPrecision == null) {
+            return true;
+        }
+
+        List<GeocodedAddress> geocodedAddresses = geocodeResponse.getGeocodedAddresses();
+
+        if ((geocodedAddresses == null) || geocodedAddresses.isEmpty()) {
+            return false;
+        }
+
+        LocationType locationType = geocodedAddresses.get(0).getGeometry().getLocationType();
+
+        return (locationType != null) && (locationType.compareTo(minimumPrecision) <= 0);
+    }
+
+    /**
+     * Returns the number of the longitude cells to be searched on both sides of the cell of a location at the
+     * given latitude, or a negative number if the location is too close to the poles to be cached.
+     */
+    private int longitudeCellRadiusOf(double latitude) {
+        double farthestLatitude = Math.min(90, Math.abs(latitude) + cellSizeInDegrees);
+        double cellRadius = Math.ceil(1 / Math.cos(Math.toRadians(farthestLatitude)));
+
+        return (cellRadius <= MAX_SEARCHED_LONGITUDE_CELLS) ? (int) cellRadius : -1;
+    }
+
+    private int latitudeIndexOf(double latitude) {
+        return (int) Math.floor(latitude / cellSizeInDegrees);
+    }
+
+    private int longitudeIndexOf(double longitude) {
+        return (int) Math.floor((longitude + 180) / cellSizeInDegrees);
+    }
+
+    private Long cellOf(int latitudeIndex, int longitudeIndex) {
+        return ((long) latitudeIndex << 32) | (Math.floorMod(longitudeIndex, longitudeCellCount) & 0xFFFFFFFFL);
+    }
+
+    private static double distanceInMeters(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double sinHalfLatitudeDifference = Math.sin(Math.toRadians(latitude2 - latitude1) / 2);
+        double sinHalfLongitudeDifference = Math.sin(Math.toRadians(longitude2 - longitude1) / 2);
+        double a = sinHalfLatitudeDifference * sinHalfLatitudeDifference
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2)) * sinHalfLongitudeDifference * sinHalfLongitudeDifference;
+
+        return 2 * MEAN_EARTH_RADIUS_IN_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * A cached response with the coordinates of the lookup it was cached by.
+     */
+    private final class Entry {
+
+        private final double latitude;
+        private final double longitude;
+        private final long cachedAt;
+        private final GeocodeResponse geocodeResponse;
+
+        private Entry(double latitude, double longitude, long cachedAt, GeocodeResponse geocodeResponse) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.cachedAt = cachedAt;
+            this.geocodeResponse = geocodeResponse;
+        }
+
+        private boolean isExpired(long now) {
+            return now - cachedAt >= timeToLiveInNanoseconds;
+        }
+    }
+
+    /**
+     * A batch of locations split into the locations answered from the cache and the locations to be looked up by
+     * the underlying geocoder.
+     */
+    private final class Batch {
+
+        private final List<GeocodeResult> results = new ArrayList<>();
+        private final List<Integer> missedIndices = new ArrayList<>();
+        private final double[] missedLatitudes;
+        private final double[] missedLongitudes;
+
+        private Batch(double[] latitudes, double[] longitudes) {
+            Validate.notNull(latitudes, "latitudes is required");
+            Validate.notNull(longitudes, "longitudes is required");
+            Validate.isTrue(latitudes.length == longitudes.length, "latitudes and longitudes must have the same length");
+
+            for (int i = 0; i < latitudes.length; i++) {
+                GeocodeResponse cachedGeocodeResponse = getNearby(latitudes[i], longitudes[i]);
+
+                if (cachedGeocodeResponse != null) {
+                    results.add(GeocodeResult.success(cachedGeocodeResponse));
+                } else {
+                    missedIndices.add(i);
+                    results.add(null);
+                }
+            }
+
+            missedLatitudes = new double[missedIndices.size()];
+            missedLongitudes = new double[missedIndices.size()];
+
+            for (int i = 0; i < missedIndices.size(); i++) {
+                missedLatitudes[i] = latitudes[missedIndices.get(i)];
+                missedLongitudes[i] = longitudes[missedIndices.get(i)];
+            }
+        }
+
+        private double[] getMissedLatitudes() {
+            return missedLatitudes;
+        }
+
+        private double[] getMissedLongitudes() {
+            return missedLongitudes;
+        }
+
+        private List<GeocodeResult> complete(List<GeocodeResult> missedResults) {
+            for (int i = 0; i < missedResults.size(); i++) {
+                GeocodeResult result = missedResults.get(i);
+
+                if (result.isSuccessful()) {
+                    cache(missedLatitudes[i], missedLongitudes[i], result.getGeocodeResponse());
+                }
+
+                results.set(missedIndices.get(i), result);
+            }
+
+            return results;
+        }
+    }
+
+    /**
+     * A factory class to construct a new {@link SpatialCachingGeocoder}. The method calls to define the settings
+     * can be chained.
+     *
+     * @param <T> the type of the geocode request of the underlying geocoder
+     * @param <S> the type of the geocode request builder of the underlying geocoder
+     */
+    public static final class Builder<T extends GeocodeRequest, S extends GeocodeRequest.Builder<T>> {
+
+        private final Geocoder<T, S> geocoder;
+        private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+        private double radiusInMeters = DEFAULT_RADIUS_IN_METERS;
+        private long timeToLiveInNanoseconds = TimeUnit.MILLISECONDS.toNanos(DEFAULT_TIME_TO_LIVE_IN_MILLISECONDS);
+        private LocationType minimumPrecision;
+        private Ticker ticker = Ticker.systemTicker();
+
+        private Builder(Geocoder<T, S> geocoder) {
+            Validate.notNull(geocoder, "geocoder is required");
+
+            this.geocoder = geocoder;
+        }
+
+        /**
+         * Instantiates a new {@link SpatialCachingGeocoder} with the settings defined in this builder.
+         *
+         * @return a new instance of {@link SpatialCachingGeocoder}
+         */
+        public SpatialCachingGeocoder<T, S> build() {
+            return new SpatialCachingGeocoder<>(this);
+        }
+
+        /**
+         * Sets the maximum number of cached responses.
+         *
+         * @param maximumSize the maximum number of cached responses
+         * @throws IllegalArgumentException if {@code maximumSize} is a negative number
+         * @return a reference to this {@code Builder}
+         */
+        public Builder<T, S> setMaximumSize(long maximumSize) {
+            Validate.isTrue(maximumSize >= 0, "maximumSize must be a non-negative number");
+
+            this.maximumSize = maximumSize;
+
+            return this;
+        }
+
+        /**
+         * Sets the radius within which a cached response answers a lookup. The radius also determines the size of
+         * the grid cells the locations are quantized to.
+         *
+         * @param radiusInMeters the radius in meters
+         * @throws IllegalArgumentException if {@code radiusInMeters} is not a positive number
+         * @return a reference to this {@code Builder}
+         */
+        public Builder<T, S> setRadius(double radiusInMeters) {
+            Validate.isTrue(radiusInMeters > 0, "radiusInMeters must be a positive number");
+
+            this.radiusInMeters = radiusInMeters;
+
+            return this;
+        }
+
+        /**
+         * Sets the time after which a cached response expires.
+         *
+         * @param timeToLive the time to live of the responses
+         * @param unit the time unit of {@code timeToLive}
+         * @throws NullPointerException if {@code unit} is {@code null}
+         * @throws IllegalArgumentException if {@code timeToLive} is not a positive number
+         * @return a reference to this {@code Builder}
+         */
+        public Builder<T, S> setTimeToLive(long timeToLive, TimeUnit unit) {
+            Validate.isTrue(timeToLive > 0, "timeToLive must be a positive number");
+            Validate.notNull(unit, "unit is required");
+
+            this.timeToLiveInNanoseconds = unit.toNanos(timeToLive);
+
+            return this;
+        }
+
+        /**
+         * Sets the least precise location type of the cached responses. A response is cached only if the location
+         * of its most accurate address is of the given type or a more precise one, in the order the
+         * {@link LocationType} constants are declared. For example {@link LocationType#RANGE_INTERPOLATED} lets
+         * the {@link LocationType#ROOFTOP} and the {@link LocationType#RANGE_INTERPOLATED} responses be cached.
+         * By default the responses are cached regardless of their precision.
+         *
+         * @param minimumPrecision the least precise location type of the cached responses
+         * @throws NullPointerException if {@code minimumPrecision} is {@code null}
+         * @return a reference to this {@code Builder}
+         */
+        public Builder<T, S> setMinimumPrecision(LocationType minimumPrecision) {
+            Validate.notNull(minimumPrecision, "minimumPrecision is required");
+
+            this.minimumPrecision = minimumPrecision;
+
+            return this;
+        }
+
+        Builder<T, S> setTicker(Ticker ticker) {
+            Validate.notNull(ticker, "ticker is required");
+
+            this.ticker = ticker;
+
+            return this;
+        }
+    }
+}
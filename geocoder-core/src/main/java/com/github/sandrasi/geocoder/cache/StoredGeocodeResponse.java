@@ -0,0 +1,46 @@
+package com.github.sandrasi.geocoder.cache;
+
+import com.github.sandrasi.geocoder.GeocodeResponse;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * {@code StoredGeocodeResponse} is a geocode response read from a {@link GeocodeResponseStore} together with the
+ * time it was written to the store.
+ */
+public final class StoredGeocodeResponse {
+
+    private final GeocodeResponse geocodeResponse;
+    private final long writeTimeInMilliseconds;
+
+    /**
+     * Constructs a new {@code StoredGeocodeResponse}.
+     *
+     * @param geocodeResponse the stored response
+     * @param writeTimeInMilliseconds the time the response was written to the store, in milliseconds since the epoch
+     * @throws NullPointerException if {@code geocodeResponse} is {@code null}
+     */
+    public StoredGeocodeResponse(GeocodeResponse geocodeResponse, long writeTimeInMilliseconds) {
+        Validate.notNull(geocodeResponse, "geocodeResponse is required");
+
+        this.geocodeResponse = geocodeResponse;
+        this.writeTimeInMilliseconds = writeTimeInMilliseconds;
+    }
+
+    /**
+     * Returns the stored response.
+     *
+     * @return the stored response
+     */
+    public GeocodeResponse getGeocodeResponse() {
+        return geocodeResponse;
+    }
+
+    /**
+     * Returns the time the response was written to the store.
+     *
+     * @return the write time in milliseconds since the epoch
+     */
+    public long getWriteTimeInMilliseconds() {
+        return writeTimeInMilliseconds;
+    }
+}
@@ -3,13 +3,11 @@ package com.github.sandrasi.geocoder.components;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Set;
-import java.util.TreeSet;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 /**
  * An {@code AddressComponent} represents a small part of a complete address.
@@ -23,6 +21,8 @@ public final class AddressComponent implements Serializable {
     private final String shortName;
     private final Set<AddressComponentType> addressComponentTypes;
 
+    private transient int hashCode;
+
     private AddressComponent(Builder builder) {
         this.addressComponentTypes = Collections.unmodifiableSet(builder.addressComponentTypes);
         this.longName = builder.longName;
@@ -82,7 +82,24 @@ public final class AddressComponent implements Serializable {
      */
     @Override
     public boolean equals(Object o) {
-        return EqualsBuilder.reflectionEquals(this, o);
+        if (this != o) {
+            if (o == null) {
+                return false;
+            }
+
+            if (getClass() != o.getClass()) {
+                return false;
+            }
+
+            AddressComponent other = (AddressComponent) o;
+
+            if (!longName.equals(other.longName) || !shortName.equals(other.shortName)
+                    || !addressComponentTypes.equals(other.addressComponentTypes)) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     /**
@@ -93,7 +110,16 @@ public final class AddressComponent implements Serializable {
      */
     @Override
     public int hashCode() {
-        return HashCodeBuilder.reflectionHashCode(this);
+        int hashCode = this.hashCode;
+
+        if (hashCode == 0) {
+            hashCode = longName.hashCode();
+            hashCode = 31 * hashCode + shortName.hashCode();
+            hashCode = 31 * hashCode + addressComponentTypes.hashCode();
+            this.hashCode = hashCode;
+        }
+
+        return hashCode;
     }
 
     /**
@@ -113,7 +139,7 @@ public final class AddressComponent implements Serializable {
      */
     public static final class Builder {
 
-        private final Set<AddressComponentType> addressComponentTypes = new TreeSet<>();
+        private final Set<AddressComponentType> addressComponentTypes = EnumSet.noneOf(AddressComponentType.class);
         private String longName = "";
         private String shortName = "";
 
@@ -4,35 +4,38 @@ import static com.github.sandrasi.geocoder.coordinate.GeographicCoordinate.*;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeMap;
-import java.util.TreeSet;
 import com.github.sandrasi.geocoder.util.Iterators;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 /**
  * {@code GeocodedAddress} is the result of an address geocoding or location lookup.
  */
 public final class GeocodedAddress implements Serializable {
 
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
 
     private final String formattedAddress;
     private final Set<AddressComponentType> addressTypes;
     private final Map<AddressComponentType, List<AddressComponent>> addressComponents;
+    private final Set<AddressComponent> uniqueAddressComponents;
     private final Geometry geometry;
     private final boolean partialMatch;
 
+    private transient int hashCode;
+
     private GeocodedAddress(Builder builder) {
         this.formattedAddress = builder.formattedAddress;
         this.addressTypes = Collections.unmodifiableSet(builder.addressTypes);
         this.addressComponents = Collections.unmodifiableMap(builder.addressComponents);
+        this.uniqueAddressComponents = Collections.unmodifiableSet(builder.uniqueAddressComponents);
         this.geometry = (builder.geometry != null) ? builder.geometry : Geometry.newBuilder(GeographicLocation.fromCoordinates(EQUATOR, PRIME_MERIDIAN)).build();
         this.partialMatch = builder.partialMatch;
     }
@@ -92,8 +95,10 @@ public final class GeocodedAddress implements Serializable {
      * @return an address component iterator
      */
     public Iterator<AddressComponent> addressComponentIterator(AddressComponentType addressComponentType) {
-        if (addressComponents.containsKey(addressComponentType)) {
-            return Iterators.unmodifiable(addressComponents.get(addressComponentType).iterator());
+        List<AddressComponent> addressComponentsOfType = addressComponents.get(addressComponentType);
+
+        if (addressComponentsOfType != null) {
+            return Iterators.unmodifiable(addressComponentsOfType.iterator());
         } else {
             return Iterators.empty();
         }
@@ -101,7 +106,8 @@ public final class GeocodedAddress implements Serializable {
 
     /**
      * Returns an iterator that iterates on all the address components contained in this
-     * geocoded address.
+     * geocoded address in the order they were added to its builder. Every address component
+     * is returned once, even if it has multiple types or it was added more than once.
      * <p>
      * <i>Note that the iterator is unmodifiable so any attempt trying to remove the
      * last retrieved address component will throw an exception.</i>
@@ -109,7 +115,7 @@ public final class GeocodedAddress implements Serializable {
      * @return an address component iterator
      */
     public Iterator<AddressComponent> addressComponentIterator() {
-        return Iterators.unmodifiable(getUniqueAddressComponents().iterator());
+        return Iterators.unmodifiable(uniqueAddressComponents.iterator());
     }
 
     /**
@@ -142,7 +148,24 @@ public final class GeocodedAddress implements Serializable {
      */
     @Override
     public boolean equals(Object o) {
-        return EqualsBuilder.reflectionEquals(this, o);
+        if (this != o) {
+            if (o == null) {
+                return false;
+            }
+
+            if (getClass() != o.getClass()) {
+                return false;
+            }
+
+            GeocodedAddress other = (GeocodedAddress) o;
+
+            if ((partialMatch != other.partialMatch) || !formattedAddress.equals(other.formattedAddress) || !geometry.equals(other.geometry)
+                    || !addressTypes.equals(other.addressTypes) || !addressComponents.equals(other.addressComponents)) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     /**
@@ -154,7 +177,18 @@ public final class GeocodedAddress implements Serializable {
      */
     @Override
     public int hashCode() {
-        return HashCodeBuilder.reflectionHashCode(this);
+        int hashCode = this.hashCode;
+
+        if (hashCode == 0) {
+            hashCode = formattedAddress.hashCode();
+            hashCode = 31 * hashCode + addressTypes.hashCode();
+            hashCode = 31 * hashCode + addressComponents.hashCode();
+            hashCode = 31 * hashCode + geometry.hashCode();
+            hashCode = 31 * hashCode + Boolean.hashCode(partialMatch);
+            this.hashCode = hashCode;
+        }
+
+        return hashCode;
     }
 
     /**
@@ -165,26 +199,12 @@ public final class GeocodedAddress implements Serializable {
     @Override
     public String toString() {
         String addressTypesString = (!addressTypes.isEmpty() ? ("\"" + StringUtils.join(addressTypes, "\", \"") + "\"") : "");
-        String addressComponentsString = (!addressComponents.isEmpty() ? ("{" + StringUtils.join(getUniqueAddressComponents(), "}, {") + "}") : "");
+        String addressComponentsString = (!addressComponents.isEmpty() ? ("{" + StringUtils.join(uniqueAddressComponents, "}, {") + "}") : "");
 
         return String.format("formattedAddress: \"%s\", addressTypes: [%s], addressComponents: [%s], geometry: {%s}, partialMatch: \"%b\"",
                 formattedAddress, addressTypesString, addressComponentsString, geometry, partialMatch);
     }
 
-    private List<AddressComponent> getUniqueAddressComponents() {
-        List<AddressComponent> uniqueAddressComponents = new ArrayList<>();
-
-        for (List<AddressComponent> addressComponentList : addressComponents.values()) {
-            for (AddressComponent addressComponent : addressComponentList) {
-                if (!uniqueAddressComponents.contains(addressComponent)) {
-                    uniqueAddressComponents.addAll(addressComponentList);
-                }
-            }
-        }
-
-        return uniqueAddressComponents;
-    }
-
     /**
      * A factory class to construct a new {@link GeocodedAddress} with or without specifying address
      * types, the address components or the geometry information. The method calls used to build the
@@ -193,8 +213,9 @@ public final class GeocodedAddress implements Serializable {
     public static final class Builder {
 
         private final String formattedAddress;
-        private final Set<AddressComponentType> addressTypes = new TreeSet<>();
-        private final Map<AddressComponentType, List<AddressComponent>> addressComponents = new TreeMap<>();
+        private final Set<AddressComponentType> addressTypes = EnumSet.noneOf(AddressComponentType.class);
+        private final Map<AddressComponentType, List<AddressComponent>> addressComponents = new EnumMap<>(AddressComponentType.class);
+        private final Set<AddressComponent> uniqueAddressComponents = new LinkedHashSet<>();
         private Geometry geometry;
         private boolean partialMatch = false;
 
@@ -214,8 +235,8 @@ public final class GeocodedAddress implements Serializable {
          * @return a new instance of {@link GeocodedAddress}
          */
         public GeocodedAddress build() {
-            for (AddressComponentType  addressComponentType : addressComponents.keySet()) {
-                addressComponents.put(addressComponentType, Collections.unmodifiableList(addressComponents.get(addressComponentType)));
+            for (Map.Entry<AddressComponentType, List<AddressComponent>> addressComponentsOfType : addressComponents.entrySet()) {
+                addressComponentsOfType.setValue(Collections.unmodifiableList(addressComponentsOfType.getValue()));
             }
 
             return new GeocodedAddress(this);
@@ -266,19 +287,19 @@ public final class GeocodedAddress implements Serializable {
             Validate.notNull(addressComponent, "addressComponent is required");
 
             for (AddressComponentType addressComponentType : addressComponent.getAddressComponentTypes()) {
-                List<AddressComponent> addressComponentsForASpecificType;
+                List<AddressComponent> addressComponentsForASpecificType = addressComponents.get(addressComponentType);
 
-                if (!addressComponents.containsKey(addressComponentType)) {
+                if (addressComponentsForASpecificType == null) {
                     addressComponentsForASpecificType = new ArrayList<>();
 
                     addressComponents.put(addressComponentType, addressComponentsForASpecificType);
-                } else {
-                    addressComponentsForASpecificType = addressComponents.get(addressComponentType);
                 }
 
                 addressComponentsForASpecificType.add(addressComponent);
             }
 
+            uniqueAddressComponents.add(addressComponent);
+
             return this;
         }
 
@@ -3,8 +3,6 @@ package com.github.sandrasi.geocoder.components;
 import java.io.Serializable;
 
 import org.apache.commons.lang3.Validate;
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 /**
  * {@code GeographicArea} represents a rectangular area on a map described with its south west and
@@ -17,6 +15,8 @@ public class GeographicArea implements Serializable {
     private final GeographicLocation southWestCorner;
     private final GeographicLocation northEastCorner;
 
+    private transient int hashCode;
+
     /**
      * Constructs a new {@code GeographicArea} with the given coordinates.
      *
@@ -60,7 +60,23 @@ public class GeographicArea implements Serializable {
      */
     @Override
     public boolean equals(Object o) {
-        return EqualsBuilder.reflectionEquals(this, o);
+        if (this != o) {
+            if (o == null) {
+                return false;
+            }
+
+            if (getClass() != o.getClass()) {
+                return false;
+            }
+
+            GeographicArea other = (GeographicArea) o;
+
+            if (!southWestCorner.equals(other.southWestCorner) || !northEastCorner.equals(other.northEastCorner)) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     /**
@@ -71,7 +87,14 @@ public class GeographicArea implements Serializable {
      */
     @Override
     public int hashCode() {
-        return HashCodeBuilder.reflectionHashCode(this);
+        int hashCode = this.hashCode;
+
+        if (hashCode == 0) {
+            hashCode = 31 * southWestCorner.hashCode() + northEastCorner.hashCode();
+            this.hashCode = hashCode;
+        }
+
+        return hashCode;
     }
 
     /**
@@ -4,31 +4,28 @@ import java.io.Serializable;
 import java.math.BigDecimal;
 
 import com.github.sandrasi.geocoder.coordinate.GeographicCoordinate;
+import com.github.sandrasi.geocoder.coordinate.GeographicCoordinateType;
 import org.apache.commons.lang3.Validate;
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 /**
  * {@code GeographicLocation} represents a point on the map with latitude and longitude coordinates and elevation.
+ * The coordinates and the elevation are held as {@code double} values; the {@link GeographicCoordinate} of a
+ * coordinate is created only for its textual representation.
  */
 public final class GeographicLocation implements Serializable {
 
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
 
-    private static final int PRECISION = 16;
+    private final double latitude;
+    private final double longitude;
+    private final double elevation;
 
-    private final GeographicCoordinate latitude;
-    private final GeographicCoordinate longitude;
-    private final BigDecimal elevation;
-
-    private GeographicLocation(GeographicCoordinate latitude, GeographicCoordinate longitude, BigDecimal elevation) {
-        Validate.notNull(latitude, "latitude is required");
-        Validate.notNull(longitude, "longitude is required");
-        Validate.notNull(elevation, "elevation is required");
+    private transient int hashCode;
 
+    private GeographicLocation(double latitude, double longitude, double elevation) {
         this.latitude = latitude;
         this.longitude = longitude;
-        this.elevation = elevation;
+        this.elevation = elevation + 0.0;
     }
 
     /**
@@ -51,10 +48,10 @@ public final class GeographicLocation implements Serializable {
      * @throws IllegalArgumentException if {@code latitude} or {@code longitude} is an invalid geographic coordinate
      */
     public static GeographicLocation fromValues(double latitude, double longitude, double elevation) {
-        GeographicCoordinate lat = GeographicCoordinate.latitudeFromDouble(latitude);
-        GeographicCoordinate lng = GeographicCoordinate.longitudeFromDouble(longitude);
+        Validate.isTrue(GeographicCoordinateType.LATITUDE.isValidValue(latitude), "Invalid coordinate");
+        Validate.isTrue(GeographicCoordinateType.LONGITUDE.isValidValue(longitude), "Invalid coordinate");
 
-        return fromCoordinates(lat, lng, new BigDecimal(elevation));
+        return new GeographicLocation(latitude + 0.0, longitude + 0.0, elevation);
     }
 
     /**
@@ -81,7 +78,7 @@ public final class GeographicLocation implements Serializable {
         Validate.notNull(longitude, "longitude is required");
         Validate.notNull(elevation, "elevation is required");
 
-        return new GeographicLocation(latitude, longitude, elevation.setScale(PRECISION, BigDecimal.ROUND_HALF_EVEN));
+        return new GeographicLocation(latitude.getDoubleValue(), longitude.getDoubleValue(), elevation.doubleValue());
     }
 
     /**
@@ -90,7 +87,7 @@ public final class GeographicLocation implements Serializable {
      * @return the value of the geographic latitude of this location
      */
     public double getLatitude() {
-        return latitude.getDoubleValue();
+        return latitude;
     }
 
     /**
@@ -99,7 +96,7 @@ public final class GeographicLocation implements Serializable {
      * @return the value of the geographic longitude of this location
      */
     public double getLongitude() {
-        return longitude.getDoubleValue();
+        return longitude;
     }
 
     /**
@@ -108,7 +105,7 @@ public final class GeographicLocation implements Serializable {
      * @return the elevation of this location
      */
     public double getElevation() {
-        return elevation.doubleValue();
+        return elevation;
     }
 
     /**
@@ -121,7 +118,24 @@ public final class GeographicLocation implements Serializable {
      */
     @Override
     public boolean equals(Object o) {
-        return EqualsBuilder.reflectionEquals(this, o);
+        if (this != o) {
+            if (o == null) {
+                return false;
+            }
+
+            if (getClass() != o.getClass()) {
+                return false;
+            }
+
+            GeographicLocation other = (GeographicLocation) o;
+
+            if ((Double.compare(latitude, other.latitude) != 0) || (Double.compare(longitude, other.longitude) != 0)
+                    || (Double.compare(elevation, other.elevation) != 0)) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     /**
@@ -132,7 +146,16 @@ public final class GeographicLocation implements Serializable {
      */
     @Override
     public int hashCode() {
-        return HashCodeBuilder.reflectionHashCode(this);
+        int hashCode = this.hashCode;
+
+        if (hashCode == 0) {
+            hashCode = Double.hashCode(latitude);
+            hashCode = 31 * hashCode + Double.hashCode(longitude);
+            hashCode = 31 * hashCode + Double.hashCode(elevation);
+            this.hashCode = hashCode;
+        }
+
+        return hashCode;
     }
 
     /**
@@ -142,9 +165,9 @@ public final class GeographicLocation implements Serializable {
      */
     @Override
     public String toString() {
-        String elevationString =  (elevation.compareTo(BigDecimal.ZERO) != 0) ? elevation.stripTrailingZeros().toPlainString() : "0";
+        String elevationString =  (elevation != 0) ? BigDecimal.valueOf(elevation).stripTrailingZeros().toPlainString() : "0";
 
         return String.format("latitude: {%s}, longitude: {%s}, elevation: \"%s\"",
-                latitude, longitude, elevationString);
+                GeographicCoordinate.latitudeFromDouble(latitude), GeographicCoordinate.longitudeFromDouble(longitude), elevationString);
     }
 }
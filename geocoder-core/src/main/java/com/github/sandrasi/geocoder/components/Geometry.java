@@ -4,8 +4,6 @@ import static com.github.sandrasi.geocoder.components.LocationType.*;
 import java.io.Serializable;
 import com.github.sandrasi.geocoder.coordinate.GeographicCoordinateType.CoordinateConstants;
 import org.apache.commons.lang3.Validate;
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 /**
  * {@code Geometry} represents geographic information about an address such as the location or
@@ -20,6 +18,8 @@ public final class Geometry implements Serializable {
     private final GeographicArea viewport;
     private final GeographicArea bounds;
 
+    private transient int hashCode;
+
     private Geometry(Builder builder) {
         this.location = builder.location;
         this.locationType = (builder.locationType != null) ? builder.locationType : APPROXIMATE;
@@ -88,7 +88,24 @@ public final class Geometry implements Serializable {
      */
     @Override
     public boolean equals(Object o) {
-        return EqualsBuilder.reflectionEquals(this, o);
+        if (this != o) {
+            if (o == null) {
+                return false;
+            }
+
+            if (getClass() != o.getClass()) {
+                return false;
+            }
+
+            Geometry other = (Geometry) o;
+
+            if ((locationType != other.locationType) || !location.equals(other.location) || !viewport.equals(other.viewport)
+                    || !bounds.equals(other.bounds)) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     /**
@@ -100,7 +117,17 @@ public final class Geometry implements Serializable {
      */
     @Override
     public int hashCode() {
-        return HashCodeBuilder.reflectionHashCode(this);
+        int hashCode = this.hashCode;
+
+        if (hashCode == 0) {
+            hashCode = location.hashCode();
+            hashCode = 31 * hashCode + locationType.hashCode();
+            hashCode = 31 * hashCode + viewport.hashCode();
+            hashCode = 31 * hashCode + bounds.hashCode();
+            this.hashCode = hashCode;
+        }
+
+        return hashCode;
     }
 
     /**
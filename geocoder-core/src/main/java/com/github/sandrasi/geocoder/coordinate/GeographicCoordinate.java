@@ -6,21 +6,29 @@ import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import org.apache.commons.lang3.Validate;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 /**
  * {@code GeographicCoordinate} represents a horizontal or vertical coordinate in
  * the geographic coordinate system.
+ * <p>
+ * The value of the coordinate is held as a {@code double}, and the degrees, minutes,
+ * seconds and millis of its angle are computed from the value when they are first
+ * requested. The coordinates created from strings or {@code BigDecimal}s are rounded
+ * to the nearest {@code double} as well, so {@link #getValue()} keeps only the digits
+ * a {@code double} can represent, not all the 16 decimal places of the input.
  */
 public final class GeographicCoordinate implements Serializable {
 
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
 
     private static final int NUMBER_OF_MINUTES_IN_AN_HOUR = 60;
     private static final int NUMBER_OF_SECONDS_IN_A_MINUTE = 60;
     private static final int NUMBER_OF_MILLIS_IN_A_SECOND = 1000;
+    private static final int ONE_MINUTE_AS_MILLIS = 60000;
     private static final int ONE_HOUR_AS_MILLIS = 3600000;
 
+    private static final int UNKNOWN_ANGLE = -1;
+
     /**
      * The horizontal coordinate representing the Equator
      */
@@ -33,32 +41,26 @@ public final class GeographicCoordinate implements Serializable {
 
     private static final int PRECISION = 16;
 
-    private final BigDecimal value;
-
-    private final int degrees;
-    private final int minutes;
-    private final int seconds;
-    private final int millis;
+    private final double value;
     private final CardinalDirection cardinalDirection;
 
-    private GeographicCoordinate(BigDecimal value, GeographicCoordinateType geographicCoordinateType) {
-        Validate.notNull(value, "value is required");
+    /**
+     * The absolute value of the angle in millis, computed on demand from the shortest decimal representation of
+     * the value. The computation is idempotent, so racing threads store the same result.
+     */
+    private int angle;
+
+    private GeographicCoordinate(double value, GeographicCoordinateType geographicCoordinateType) {
         Validate.notNull(geographicCoordinateType, "geographicCoordinateType is required");
         Validate.isTrue(geographicCoordinateType.isValidValue(value), "Invalid coordinate");
 
-        this.value = value.setScale(PRECISION, RoundingMode.HALF_EVEN);
-        this.degrees = value.abs().intValue();
-        BigDecimal min = value.abs().subtract(BigDecimal.valueOf(degrees)).multiply(BigDecimal.valueOf(NUMBER_OF_MINUTES_IN_AN_HOUR));
-        this.minutes = min.intValue();
-        BigDecimal sec = min.subtract(BigDecimal.valueOf(minutes)).multiply(BigDecimal.valueOf(NUMBER_OF_SECONDS_IN_A_MINUTE));
-        this.seconds = sec.intValue();
-        BigDecimal ms = sec.subtract(BigDecimal.valueOf(seconds)).multiply(BigDecimal.valueOf(NUMBER_OF_MILLIS_IN_A_SECOND));
-        this.millis = ms.intValue();
+        this.value = value + 0.0;
+        this.angle = UNKNOWN_ANGLE;
 
         if (geographicCoordinateType == LATITUDE) {
-            cardinalDirection = (value.compareTo(BigDecimal.ZERO) == 0) ? ZERO_LATITUDE_DEGREE : (value.compareTo(BigDecimal.ZERO) > 0) ? NORTH : SOUTH;
+            cardinalDirection = (value == 0) ? ZERO_LATITUDE_DEGREE : (value > 0) ? NORTH : SOUTH;
         } else {
-            cardinalDirection = (value.compareTo(BigDecimal.ZERO) == 0) ? ZERO_LONGITUDE_DEGREE : (value.compareTo(BigDecimal.ZERO) > 0) ? EAST : WEST;
+            cardinalDirection = (value == 0) ? ZERO_LONGITUDE_DEGREE : (value > 0) ? EAST : WEST;
         }
     }
 
@@ -66,15 +68,13 @@ public final class GeographicCoordinate implements Serializable {
         Validate.notNull(cardinalDirection, "cardinalDirection is required");
         Validate.isTrue(cardinalDirection.getCoordinateType().isValidAngle(degrees, minutes, seconds, millis, cardinalDirection), "invalid geographic coordinate");
 
-        this.degrees = degrees;
-        this.minutes = minutes;
-        this.seconds = seconds;
-        this.millis = millis;
+        this.angle = degrees * ONE_HOUR_AS_MILLIS + (minutes * NUMBER_OF_SECONDS_IN_A_MINUTE + seconds) * NUMBER_OF_MILLIS_IN_A_SECOND + millis;
         this.cardinalDirection = cardinalDirection;
         this.value = BigDecimal.valueOf(degrees)
                 .add(BigDecimal.valueOf((minutes * NUMBER_OF_SECONDS_IN_A_MINUTE + seconds) * NUMBER_OF_MILLIS_IN_A_SECOND + millis)
                 .divide(BigDecimal.valueOf(ONE_HOUR_AS_MILLIS), PRECISION, RoundingMode.HALF_EVEN))
-                .multiply(BigDecimal.valueOf(((cardinalDirection == ZERO_LATITUDE_DEGREE) || (cardinalDirection == ZERO_LONGITUDE_DEGREE) || (cardinalDirection == NORTH) || (cardinalDirection == EAST)) ? 1 : -1));
+                .multiply(BigDecimal.valueOf(((cardinalDirection == ZERO_LATITUDE_DEGREE) || (cardinalDirection == ZERO_LONGITUDE_DEGREE) || (cardinalDirection == NORTH) || (cardinalDirection == EAST)) ? 1 : -1))
+                .doubleValue() + 0.0;
     }
 
     /**
@@ -86,7 +86,7 @@ public final class GeographicCoordinate implements Serializable {
      * @return a new instance of {@code GeographicCoordinate}
      */
     public static GeographicCoordinate latitudeFromBigDecimal(BigDecimal value) {
-        return new GeographicCoordinate(value, GeographicCoordinateType.LATITUDE);
+        return fromBigDecimal(value, GeographicCoordinateType.LATITUDE);
     }
 
     /**
@@ -98,7 +98,7 @@ public final class GeographicCoordinate implements Serializable {
      * @return a new instance of {@code GeographicCoordinate}
      */
     public static GeographicCoordinate longitudeFromBigDecimal(BigDecimal value) {
-        return new GeographicCoordinate(value, GeographicCoordinateType.LONGITUDE);
+        return fromBigDecimal(value, GeographicCoordinateType.LONGITUDE);
     }
 
     /**
@@ -109,7 +109,7 @@ public final class GeographicCoordinate implements Serializable {
      * @return a new instance of {@code GeographicCoordinate}
      */
     public static GeographicCoordinate latitudeFromDouble(double value) {
-        return new GeographicCoordinate(BigDecimal.valueOf(value), GeographicCoordinateType.LATITUDE);
+        return new GeographicCoordinate(value, GeographicCoordinateType.LATITUDE);
     }
 
     /**
@@ -120,7 +120,7 @@ public final class GeographicCoordinate implements Serializable {
      * @return a new instance of {@code GeographicCoordinate}
      */
     public static GeographicCoordinate longitudeFromDouble(double value) {
-        return new GeographicCoordinate(BigDecimal.valueOf(value), GeographicCoordinateType.LONGITUDE);
+        return new GeographicCoordinate(value, GeographicCoordinateType.LONGITUDE);
     }
 
     /**
@@ -132,7 +132,7 @@ public final class GeographicCoordinate implements Serializable {
      * @return a new instance of {@code GeographicCoordinate}
      */
     public static GeographicCoordinate latitudeFromString(String value) {
-        return new GeographicCoordinate(new BigDecimal(value), GeographicCoordinateType.LATITUDE);
+        return fromBigDecimal(new BigDecimal(value), GeographicCoordinateType.LATITUDE);
     }
 
     /**
@@ -144,7 +144,7 @@ public final class GeographicCoordinate implements Serializable {
      * @return a new instance of {@code GeographicCoordinate}
      */
     public static GeographicCoordinate longitudeFromString(String value) {
-        return new GeographicCoordinate(new BigDecimal(value), GeographicCoordinateType.LONGITUDE);
+        return fromBigDecimal(new BigDecimal(value), GeographicCoordinateType.LONGITUDE);
     }
 
     /**
@@ -166,13 +166,20 @@ public final class GeographicCoordinate implements Serializable {
         return new GeographicCoordinate(degrees, minutes, seconds, millis, cardinalDirection);
     }
 
+    private static GeographicCoordinate fromBigDecimal(BigDecimal value, GeographicCoordinateType geographicCoordinateType) {
+        Validate.notNull(value, "value is required");
+        Validate.isTrue(geographicCoordinateType.isValidValue(value), "Invalid coordinate");
+
+        return new GeographicCoordinate(value.doubleValue(), geographicCoordinateType);
+    }
+
     /**
      * Returns the value of this geographic coordinate.
      *
      * @return a floating point value as {@code BigDecimal}
      */
     public BigDecimal getValue() {
-        return value;
+        return BigDecimal.valueOf(value).setScale(PRECISION, RoundingMode.HALF_EVEN);
     }
 
     /**
@@ -181,7 +188,7 @@ public final class GeographicCoordinate implements Serializable {
      * @return a floating point value
      */
     public double getDoubleValue() {
-        return value.doubleValue();
+        return value;
     }
 
     /**
@@ -192,7 +199,7 @@ public final class GeographicCoordinate implements Serializable {
      * coordinate is a vertical coordinate
      */
     public int getDegrees() {
-        return degrees;
+        return getAngle() / ONE_HOUR_AS_MILLIS;
     }
 
     /**
@@ -201,7 +208,7 @@ public final class GeographicCoordinate implements Serializable {
      * @return an integer value between 0 and 59
      */
     public int getMinutes() {
-        return minutes;
+        return getAngle() / ONE_MINUTE_AS_MILLIS % NUMBER_OF_MINUTES_IN_AN_HOUR;
     }
 
     /**
@@ -210,7 +217,7 @@ public final class GeographicCoordinate implements Serializable {
      * @return an integer value between 0 and 59
      */
     public int getSeconds() {
-        return seconds;
+        return getAngle() / NUMBER_OF_MILLIS_IN_A_SECOND % NUMBER_OF_SECONDS_IN_A_MINUTE;
     }
 
     /**
@@ -219,7 +226,19 @@ public final class GeographicCoordinate implements Serializable {
      * @return an integer value between 0 and 999
      */
     public int getMillis() {
-        return millis;
+        return getAngle() % NUMBER_OF_MILLIS_IN_A_SECOND;
+    }
+
+    private int getAngle() {
+        int angle = this.angle;
+
+        if (angle == UNKNOWN_ANGLE) {
+            // truncating the exact decimal value gives the same components as truncating them one by one
+            angle = BigDecimal.valueOf(Math.abs(value)).multiply(BigDecimal.valueOf(ONE_HOUR_AS_MILLIS)).intValue();
+            this.angle = angle;
+        }
+
+        return angle;
     }
 
     /**
@@ -266,7 +285,7 @@ public final class GeographicCoordinate implements Serializable {
 
             final GeographicCoordinate other = (GeographicCoordinate) o;
 
-            if (!value.equals(other.value)) {
+            if (Double.compare(value, other.value) != 0) {
                 return false;
             }
         }
@@ -282,7 +301,7 @@ public final class GeographicCoordinate implements Serializable {
      */
     @Override
     public int hashCode() {
-        return new HashCodeBuilder().append(value).hashCode();
+        return Double.hashCode(value);
     }
 
     /**
@@ -292,9 +311,9 @@ public final class GeographicCoordinate implements Serializable {
      */
     @Override
     public String toString() {
-        String valueString = (value.compareTo(BigDecimal.ZERO) != 0) ? value.stripTrailingZeros().toPlainString() : "0";
+        String valueString = (value != 0) ? getValue().stripTrailingZeros().toPlainString() : "0";
 
         return String.format("value: \"%s\", degrees: \"%d\", minutes: \"%d\", seconds: \"%d\", millis: \"%d\", cardinalDirection: \"%s\"",
-                valueString, degrees, minutes, seconds, millis, cardinalDirection);
+                valueString, getDegrees(), getMinutes(), getSeconds(), getMillis(), cardinalDirection);
     }
 }
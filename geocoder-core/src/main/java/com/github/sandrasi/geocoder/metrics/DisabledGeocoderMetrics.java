@@ -0,0 +1,31 @@
+package com.github.sandrasi.geocoder.metrics;
+
+import com.github.sandrasi.geocoder.components.GeocodeStatus;
+
+/**
+ * The {@link GeocoderMetrics#DISABLED} metrics.
+ */
+final class DisabledGeocoderMetrics implements GeocoderMetrics {
+
+    static final DisabledGeocoderMetrics INSTANCE = new DisabledGeocoderMetrics();
+
+    private DisabledGeocoderMetrics() {
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void recordLatency(GeocodePhase phase, long latencyInNanoseconds) {
+    }
+
+    @Override
+    public void recordGeocodeStatus(GeocodeStatus geocodeStatus) {
+    }
+
+    @Override
+    public void recordHttpStatus(int httpStatusCode) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.sandrasi.geocoder.metrics;
+
+/**
+ * {@code GeocodePhase} contains enumerated values to describe the phases of a geocoding request whose latencies
+ * are recorded by the {@link GeocoderMetrics}.
+ */
+public enum GeocodePhase {
+
+    /**
+     * The time the request waits for a permit of the rate limiter of the geocoder.
+     */
+    RATE_LIMIT_WAIT,
+
+    /**
+     * The time from sending the request until the HTTP client leases a connection from its pool, including
+     * opening a new connection if there is no idle one. Only the HTTP clients created by the geocoder factories
+     * report when the connection is leased.
+     */
+    CONNECTION_LEASE,
+
+    /**
+     * The time from leasing the connection, or from sending the request if the lease is not reported, until the
+     * status line and the headers of the response are received.
+     */
+    TIME_TO_FIRST_BYTE,
+
+    /**
+     * The time of reading the body of the response.
+     */
+    BODY_READ,
+
+    /**
+     * The time of parsing the body of the response into a geocode response.
+     */
+    PARSE,
+
+    /**
+     * The time from sending the request until the response is parsed. The time waited for the rate limiter is
+     * not included.
+     */
+    TOTAL
+}
@@ -0,0 +1,49 @@
+package com.github.sandrasi.geocoder.metrics;
+
+import com.github.sandrasi.geocoder.components.GeocodeStatus;
+
+/**
+ * {@code GeocoderMetrics} is the service provider interface the geocoders report their latencies and the statuses
+ * of their responses to. The implementations are called concurrently by the threads sending the requests and by
+ * the threads parsing the responses, so they must be thread-safe, and they should record the values without
+ * taking any locks.
+ * <p>
+ * The geocoders do not even measure the latencies if the metrics are not enabled, so the {@link #DISABLED} metrics
+ * used by default add no overhead besides checking {@link #isEnabled()}.
+ */
+public interface GeocoderMetrics {
+
+    /**
+     * The metrics ignoring every recorded value.
+     */
+    GeocoderMetrics DISABLED = DisabledGeocoderMetrics.INSTANCE;
+
+    /**
+     * Returns whether the latencies and the statuses should be measured and recorded at all.
+     *
+     * @return {@code true} if these metrics record the values, {@code false} otherwise
+     */
+    boolean isEnabled();
+
+    /**
+     * Records the latency of a phase of a geocoding request.
+     *
+     * @param phase the phase of the geocoding request
+     * @param latencyInNanoseconds the time the phase took
+     */
+    void recordLatency(GeocodePhase phase, long latencyInNanoseconds);
+
+    /**
+     * Records the status of a parsed geocode response.
+     *
+     * @param geocodeStatus the status of the response
+     */
+    void recordGeocodeStatus(GeocodeStatus geocodeStatus);
+
+    /**
+     * Records the HTTP status code of a response of the geocoding service.
+     *
+     * @param httpStatusCode the HTTP status code of the response
+     */
+    void recordHttpStatus(int httpStatusCode);
+}
@@ -0,0 +1,144 @@
+package com.github.sandrasi.geocoder.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.sandrasi.geocoder.components.GeocodeStatus;
+import com.github.sandrasi.geocoder.util.Histogram;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * {@code HistogramGeocoderMetrics} records the latencies of every {@link GeocodePhase} into a separate
+ * {@link Histogram} and counts the responses by their geocode statuses and HTTP status codes. Nothing is locked
+ * while recording the values, so the metrics can be shared by every request of a geocoder.
+ * <p>
+ * The HTTP status codes are counted from {@code 100} to {@code 599}; the codes out of this range are counted
+ * together as status code {@code 0}.
+ */
+public class HistogramGeocoderMetrics implements GeocoderMetrics {
+
+    private static final int MIN_HTTP_STATUS_CODE = 100;
+    private static final int MAX_HTTP_STATUS_CODE = 599;
+
+    private final Histogram[] latencyHistograms = new Histogram[GeocodePhase.values().length];
+    private final LongAdder[] geocodeStatusCounts = new LongAdder[GeocodeStatus.values().length];
+    private final AtomicLongArray httpStatusCounts = new AtomicLongArray(MAX_HTTP_STATUS_CODE + 1);
+
+    /**
+     * Constructs a new {@code HistogramGeocoderMetrics} with empty histograms and counters.
+     */
+    public HistogramGeocoderMetrics() {
+        for (int i = 0; i < latencyHistograms.length; i++) {
+            latencyHistograms[i] = new Histogram();
+        }
+
+        for (int i = 0; i < geocodeStatusCounts.length; i++) {
+            geocodeStatusCounts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Returns {@code true}, these metrics always record the values.
+     *
+     * @return {@code true}
+     */
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recordLatency(GeocodePhase phase, long latencyInNanoseconds) {
+        latencyHistograms[phase.ordinal()].record(latencyInNanoseconds);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recordGeocodeStatus(GeocodeStatus geocodeStatus) {
+        geocodeStatusCounts[geocodeStatus.ordinal()].increment();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recordHttpStatus(int httpStatusCode) {
+        httpStatusCounts.incrementAndGet(slotOf(httpStatusCode));
+    }
+
+    /**
+     * Returns the distribution of the latencies in nanoseconds of the given phase of the geocoding requests.
+     *
+     * @param phase the phase of the geocoding requests
+     * @throws NullPointerException if {@code phase} is {@code null}
+     * @return the histogram of the latencies of the phase
+     */
+    public Histogram getLatencyHistogram(GeocodePhase phase) {
+        Validate.notNull(phase, "phase is required");
+
+        return latencyHistograms[phase.ordinal()];
+    }
+
+    /**
+     * Returns the number of the parsed responses with the given geocode status.
+     *
+     * @param geocodeStatus the status of the responses
+     * @throws NullPointerException if {@code geocodeStatus} is {@code null}
+     * @return the number of the responses with the status
+     */
+    public long getGeocodeStatusCount(GeocodeStatus geocodeStatus) {
+        Validate.notNull(geocodeStatus, "geocodeStatus is required");
+
+        return geocodeStatusCounts[geocodeStatus.ordinal()].sum();
+    }
+
+    /**
+     * Returns the number of the responses with the given HTTP status code.
+     *
+     * @param httpStatusCode the HTTP status code of the responses
+     * @return the number of the responses with the status code
+     */
+    public long getHttpStatusCount(int httpStatusCode) {
+        return httpStatusCounts.get(slotOf(httpStatusCode));
+    }
+
+    /**
+     * Returns the textual representation of this {@code HistogramGeocoderMetrics}.
+     *
+     * @return this {@code HistogramGeocoderMetrics} in string format
+     */
+    @Override
+    public String toString() {
+        StringBuilder string = new StringBuilder();
+
+        for (GeocodePhase phase : GeocodePhase.values()) {
+            string.append(phase).append(": {").append(getLatencyHistogram(phase)).append("}, ");
+        }
+
+        for (GeocodeStatus geocodeStatus : GeocodeStatus.values()) {
+            string.append(geocodeStatus).append(": \"").append(getGeocodeStatusCount(geocodeStatus)).append("\", ");
+        }
+
+        string.append("HTTP: {");
+
+        for (int httpStatusCode = 0; httpStatusCode <= MAX_HTTP_STATUS_CODE; httpStatusCode++) {
+            long httpStatusCount = httpStatusCounts.get(httpStatusCode);
+
+            if (httpStatusCount > 0) {
+                string.append((string.charAt(string.length() - 1) == '{') ? "" : ", ")
+                        .append(httpStatusCode).append(": \"").append(httpStatusCount).append('"');
+            }
+        }
+
+        return string.append('}').toString();
+    }
+
+    private static int slotOf(int httpStatusCode) {
+        return (httpStatusCode >= MIN_HTTP_STATUS_CODE && httpStatusCode <= MAX_HTTP_STATUS_CODE) ? httpStatusCode : 0;
+    }
+}
@@ -0,0 +1,128 @@
+package com.github.sandrasi.geocoder.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * {@code AsyncRateLimiter} hands out the permits of a {@link RateLimiter} to asynchronous callers without blocking
+ * any thread. A permit is reserved at the time of the request and the returned future is completed by a scheduler
+ * when the reserved permit becomes available. The pending requests wait in the delay queue of the scheduler in the
+ * order of their deadlines, so no thread is held while they wait.
+ * <p>
+ * The futures are completed on the scheduler thread, therefore the callers should continue with the asynchronous
+ * variants of the {@link CompletableFuture} methods if their work takes longer than a few microseconds.
+ */
+public class AsyncRateLimiter {
+
+    private static final ScheduledExecutorService DEFAULT_SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "geocoder-async-rate-limiter");
+
+        thread.setDaemon(true);
+
+        return thread;
+    });
+
+    private final RateLimiter rateLimiter;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final Histogram waitTimeHistogram = new Histogram();
+
+    /**
+     * Constructs a new {@code AsyncRateLimiter} that completes the futures of the pending requests on a shared
+     * daemon scheduler thread.
+     *
+     * @param rateLimiter the rate limiter handing out the permits
+     * @throws NullPointerException if {@code rateLimiter} is {@code null}
+     */
+    public AsyncRateLimiter(RateLimiter rateLimiter) {
+        this(rateLimiter, DEFAULT_SCHEDULER);
+    }
+
+    /**
+     * Constructs a new {@code AsyncRateLimiter} that completes the futures of the pending requests by the given
+     * scheduler.
+     *
+     * @param rateLimiter the rate limiter handing out the permits
+     * @param scheduler the scheduler completing the futures when the permits become available
+     * @throws NullPointerException if either {@code rateLimiter} or {@code scheduler} is {@code null}
+     */
+    public AsyncRateLimiter(RateLimiter rateLimiter, ScheduledExecutorService scheduler) {
+        Validate.notNull(rateLimiter, "rateLimiter is required");
+        Validate.notNull(scheduler, "scheduler is required");
+
+        this.rateLimiter = rateLimiter;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Returns the rate limiter handing out the permits.
+     *
+     * @return the underlying rate limiter
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Acquires a permit without blocking the calling thread. The returned future is already completed if the
+     * permit is available immediately. The permits acquired by this method and by the blocking methods of the
+     * underlying {@link RateLimiter} are accounted together.
+     * <p>
+     * The returned future is completed exceptionally with a {@link RateLimiterException} if the scheduler rejects
+     * the request.
+     *
+     * @return a future completed when the permit becomes available
+     */
+    public CompletableFuture<Void> acquireAsync() {
+        final long requestTime = System.nanoTime();
+        long waitTime = rateLimiter.reserve() - System.nanoTime();
+
+        if (waitTime <= 0) {
+            waitTimeHistogram.record(0);
+
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final CompletableFuture<Void> permit = new CompletableFuture<>();
+
+        queueDepth.incrementAndGet();
+
+        try {
+            scheduler.schedule(() -> {
+                queueDepth.decrementAndGet();
+                waitTimeHistogram.record(System.nanoTime() - requestTime);
+                permit.complete(null);
+            }, waitTime, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            queueDepth.decrementAndGet();
+            permit.completeExceptionally(new RateLimiterException("The request for a permit has been rejected by the scheduler", e));
+        }
+
+        return permit;
+    }
+
+    /**
+     * Returns the number of requests waiting for their permits.
+     *
+     * @return the number of pending requests
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * Returns the distribution of the times in nanoseconds the requests have waited for their permits. The requests
+     * that got their permits immediately are recorded with zero wait time.
+     *
+     * @return the histogram of the wait times
+     */
+    public Histogram getWaitTimeHistogram() {
+        return waitTimeHistogram;
+    }
+}
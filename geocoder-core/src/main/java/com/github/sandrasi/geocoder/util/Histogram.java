@@ -0,0 +1,135 @@
+package com.github.sandrasi.geocoder.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * {@code Histogram} records the distribution of non-negative values, like latencies in nanoseconds, without
+ * taking any locks. The values below 128 are counted exactly, and every larger power-of-two range
+ * [2<sup>k</sup>, 2<sup>k+1</sup>) is split into 64 buckets of equal width, the way HdrHistogram does with two
+ * significant digits. The percentiles are reported as the upper bound of the bucket the percentile falls into,
+ * which is less than 1/64 (about 1.6%) above the recorded value.
+ */
+public class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records a value. Negative values are recorded as {@code 0}.
+     *
+     * @param value the value to be recorded
+     */
+    public void record(long value) {
+        long recordedValue = Math.max(0, value);
+
+        buckets.incrementAndGet(bucketOf(recordedValue));
+        count.increment();
+        sum.add(recordedValue);
+        max.accumulate(recordedValue);
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return the number of values
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the sum of the recorded values.
+     *
+     * @return the sum of the values
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Returns the largest recorded value.
+     *
+     * @return the largest value, or {@code 0} if no value has been recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the arithmetic mean of the recorded values.
+     *
+     * @return the mean of the values, or {@code 0} if no value has been recorded
+     */
+    public double getMean() {
+        long valueCount = getCount();
+
+        return (valueCount == 0) ? 0 : (double) getSum() / valueCount;
+    }
+
+    /**
+     * Returns the approximate value below which the given percentage of the recorded values fall.
+     *
+     * @param percentile the percentage, between {@code 0} and {@code 100}
+     * @throws IllegalArgumentException if {@code percentile} is not between {@code 0} and {@code 100}
+     * @return the upper bound of the bucket containing the percentile, capped at the largest recorded value,
+     * or {@code 0} if no value has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        Validate.isTrue(percentile >= 0 && percentile <= 100, "percentile must be between 0 and 100");
+
+        long[] bucketCounts = new long[BUCKET_COUNT];
+        long valueCount = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            bucketCounts[i] = buckets.get(i);
+            valueCount += bucketCounts[i];
+        }
+
+        long rank = (long) Math.ceil(valueCount * percentile / 100);
+        long countedValues = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            countedValues += bucketCounts[i];
+
+            if (countedValues >= rank && countedValues > 0) {
+                return Math.min(upperBoundOf(i), getMax());
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Returns the textual representation of this {@code Histogram}.
+     *
+     * @return this {@code Histogram} in string format
+     */
+    @Override
+    public String toString() {
+        return String.format("count: \"%d\", mean: \"%.1f\", p50: \"%d\", p99: \"%d\", max: \"%d\"",
+                getCount(), getMean(), getValueAtPercentile(50), getValueAtPercentile(99), getMax());
+    }
+
+    private static int bucketOf(long value) {
+        int shift = Math.max(0, Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+
+        return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+    }
+
+    private static long upperBoundOf(int bucket) {
+        int shift = Math.max(0, bucket / SUB_BUCKET_COUNT - 1);
+        long subBucket = bucket - shift * SUB_BUCKET_COUNT;
+
+        return (subBucket << shift) + ((1L << shift) - 1);
+    }
+}
@@ -0,0 +1,211 @@
+package com.github.sandrasi.geocoder.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * {@code RateLimiter} is a token bucket that hands out permits at a fixed rate. One permit is added to the bucket
+ * every permit interval, and the bucket holds at most {@code burstCapacity} permits, so after an idle period up to
+ * {@code burstCapacity} permits can be acquired without waiting.
+ * <p>
+ * The bucket is accounted as a single theoretical arrival time updated by compare-and-set, therefore acquiring a
+ * permit never takes a lock. A thread waiting for a permit reserves it first and then parks until the permit
+ * becomes available, so the waiting threads do not queue on each other. The time is measured by
+ * {@link System#nanoTime()}, which is not affected by changes of the wall-clock time.
+ * <p>
+ * The permit interval can be changed while the rate limiter is in use, so the request rate of a running
+ * application can be tuned without replacing its rate limiter.
+ */
+public class RateLimiter {
+
+    private final int burstCapacity;
+    private final AtomicLong theoreticalArrivalTime;
+    private volatile Rate rate;
+
+    /**
+     * Constructs a new {@code RateLimiter} that hands out one permit every {@code permitIntervalInMilliseconds}
+     * and does not allow bursts. This is the same rate limitation as that of the {@link Timer}. If the
+     * interval is {@code 0} the permits are handed out without any limitation.
+     *
+     * @param permitIntervalInMilliseconds the minimum number of milliseconds between two consecutive permits
+     * @throws IllegalArgumentException if {@code permitIntervalInMilliseconds} is a negative number
+     */
+    public RateLimiter(long permitIntervalInMilliseconds) {
+        this(permitIntervalInMilliseconds, TimeUnit.MILLISECONDS, 1);
+    }
+
+    /**
+     * Constructs a new {@code RateLimiter} that hands out one permit every {@code permitInterval} and allows bursts
+     * of at most {@code burstCapacity} permits. If the interval is {@code 0} the permits are handed out without
+     * any limitation. The bucket is full when the rate limiter is constructed.
+     *
+     * @param permitInterval the time between two consecutive permits in the long run
+     * @param unit the time unit of {@code permitInterval}
+     * @param burstCapacity the maximum number of permits that can be acquired without waiting
+     * @throws NullPointerException if {@code unit} is {@code null}
+     * @throws IllegalArgumentException if {@code permitInterval} is a negative number or {@code burstCapacity}
+     * is not a positive number
+     */
+    public RateLimiter(long permitInterval, TimeUnit unit, int burstCapacity) {
+        Validate.isTrue(permitInterval >= 0, "permitInterval must be a non-negative number");
+        Validate.notNull(unit, "unit is required");
+        Validate.isTrue(burstCapacity > 0, "burstCapacity must be a positive number");
+
+        this.burstCapacity = burstCapacity;
+        this.rate = new Rate(unit.toNanos(permitInterval), burstCapacity);
+        this.theoreticalArrivalTime = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Constructs a new {@code RateLimiter} that hands out {@code permitsPerSecond} permits per second and allows
+     * bursts of at most {@code burstCapacity} permits.
+     *
+     * @param permitsPerSecond the number of permits handed out per second in the long run
+     * @param burstCapacity the maximum number of permits that can be acquired without waiting
+     * @throws IllegalArgumentException if {@code permitsPerSecond} or {@code burstCapacity} is not a positive number
+     * @return a new instance of {@code RateLimiter}
+     */
+    public static RateLimiter withRate(double permitsPerSecond, int burstCapacity) {
+        Validate.isTrue(permitsPerSecond > 0, "permitsPerSecond must be a positive number");
+
+        return new RateLimiter(Math.round(TimeUnit.SECONDS.toNanos(1) / permitsPerSecond), TimeUnit.NANOSECONDS, burstCapacity);
+    }
+
+    /**
+     * Returns the time between two consecutive permits in the long run.
+     *
+     * @return the permit interval in nanoseconds
+     */
+    public long getPermitIntervalInNanoseconds() {
+        return rate.permitIntervalInNanoseconds;
+    }
+
+    /**
+     * Changes the time between two consecutive permits. The permits already reserved by the waiting threads are
+     * handed out at their reserved times, the later permits are handed out at the new rate. The burst capacity is
+     * not changed. If the interval is {@code 0} the permits are handed out without any limitation.
+     *
+     * @param permitInterval the time between two consecutive permits in the long run
+     * @param unit the time unit of {@code permitInterval}
+     * @throws NullPointerException if {@code unit} is {@code null}
+     * @throws IllegalArgumentException if {@code permitInterval} is a negative number
+     */
+    public void setPermitInterval(long permitInterval, TimeUnit unit) {
+        Validate.isTrue(permitInterval >= 0, "permitInterval must be a non-negative number");
+        Validate.notNull(unit, "unit is required");
+
+        this.rate = new Rate(unit.toNanos(permitInterval), burstCapacity);
+    }
+
+    /**
+     * Returns the maximum number of permits that can be acquired without waiting.
+     *
+     * @return the burst capacity
+     */
+    public int getBurstCapacity() {
+        return burstCapacity;
+    }
+
+    /**
+     * Acquires a permit, waiting as long as necessary until it becomes available.
+     *
+     * @throws RateLimiterException if the current thread is interrupted while waiting for the permit
+     */
+    public void acquire() {
+        waitUntil(reserve());
+    }
+
+    /**
+     * Acquires a permit if it is available immediately.
+     *
+     * @return {@code true} if the permit was acquired, {@code false} otherwise
+     */
+    public boolean tryAcquire() {
+        return tryReserve(0) != Long.MIN_VALUE;
+    }
+
+    /**
+     * Acquires a permit if it becomes available within the given waiting time. If the permit can not be acquired
+     * within the waiting time this method returns immediately without waiting.
+     *
+     * @param timeout the maximum time to wait for the permit
+     * @param unit the time unit of {@code timeout}
+     * @throws NullPointerException if {@code unit} is {@code null}
+     * @throws RateLimiterException if the current thread is interrupted while waiting for the permit
+     * @return {@code true} if the permit was acquired, {@code false} otherwise
+     */
+    public boolean tryAcquire(long timeout, TimeUnit unit) {
+        Validate.notNull(unit, "unit is required");
+
+        long permitTime = tryReserve(Math.max(0, unit.toNanos(timeout)));
+
+        if (permitTime == Long.MIN_VALUE) {
+            return false;
+        }
+
+        waitUntil(permitTime);
+
+        return true;
+    }
+
+    /**
+     * Reserves the next permit without waiting for it.
+     *
+     * @return the {@link System#nanoTime()} value from which on the reserved permit can be used
+     */
+    long reserve() {
+        return tryReserve(Long.MAX_VALUE);
+    }
+
+    private long tryReserve(long timeoutInNanoseconds) {
+        Rate rate = this.rate;
+
+        if (rate.permitIntervalInNanoseconds == 0) {
+            return System.nanoTime();
+        }
+
+        while (true) {
+            long now = System.nanoTime();
+            long arrivalTime = theoreticalArrivalTime.get();
+            long permitTime = Math.max(now, arrivalTime - rate.burstToleranceInNanoseconds);
+
+            if (permitTime - now > timeoutInNanoseconds) {
+                return Long.MIN_VALUE;
+            }
+
+            if (theoreticalArrivalTime.compareAndSet(arrivalTime, Math.max(arrivalTime, permitTime) + rate.permitIntervalInNanoseconds)) {
+                return permitTime;
+            }
+        }
+    }
+
+    private static void waitUntil(long permitTime) {
+        long waitTime;
+
+        while ((waitTime = permitTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(waitTime);
+
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new RateLimiterException("The thread " + Thread.currentThread() + " waiting " + waitTime + " nanoseconds for a permit has been interrupted");
+            }
+        }
+    }
+
+    /**
+     * The permit interval and the burst tolerance read together by the threads reserving the permits.
+     */
+    private static final class Rate {
+
+        private final long permitIntervalInNanoseconds;
+        private final long burstToleranceInNanoseconds;
+
+        private Rate(long permitIntervalInNanoseconds, int burstCapacity) {
+            this.permitIntervalInNanoseconds = permitIntervalInNanoseconds;
+            this.burstToleranceInNanoseconds = permitIntervalInNanoseconds * (burstCapacity - 1);
+        }
+    }
+}
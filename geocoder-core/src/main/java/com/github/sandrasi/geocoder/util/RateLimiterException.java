@@ -0,0 +1,50 @@
+package com.github.sandrasi.geocoder.util;
+
+/**
+ * {@code RateLimiterException} is thrown to indicate that an exception happened when the
+ * {@link RateLimiter} waited for a permit on behalf of the current thread.
+ */
+public class RateLimiterException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new {@code RateLimiterException} with {@code null} as its detail message.
+     * The cause is not initialized, and may subsequently be initialized by a call to
+     * {@link Throwable#initCause(Throwable) initCause(Throwable)}.
+     */
+    public RateLimiterException() {
+        super();
+    }
+
+    /**
+     * Constructs a new {@code RateLimiterException} with the specified detail message.
+     * The cause is not initialized, and may subsequently be initialized by a call to
+     * {@link Throwable#initCause(Throwable) initCause(Throwable)}.
+     *
+     * @param message the detail message
+     */
+    public RateLimiterException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new {@code RateLimiterException} with the specified cause and a detail message of
+     * {@code (cause == null) ? null : cause.toString()}.
+     *
+     * @param cause the original cause of this exception
+     */
+    public RateLimiterException(Throwable cause) {
+        super(cause);
+    }
+
+    /**
+     * Constructs a new {@code RateLimiterException} with the specified detail message and cause.
+     *
+     * @param message the detail message
+     * @param cause the original cause of this exception
+     */
+    public RateLimiterException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
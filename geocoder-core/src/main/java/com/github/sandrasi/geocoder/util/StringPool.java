@@ -0,0 +1,120 @@
+package com.github.sandrasi.geocoder.util;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * {@code StringPool} deduplicates equal strings, like the names of the countries and cities repeated in many
+ * geocode responses, so the retained responses share a single instance of them. Unlike {@link String#intern()} the
+ * pool is bounded: it is a direct-mapped table where every string has exactly one slot determined by its hash code,
+ * and a string replaces the one in its slot if they are different. The last interned string wins its slot without
+ * any bookkeeping, regardless of how frequent the strings are, so a rare string evicts a frequent one sharing its
+ * slot until the frequent string is interned again.
+ * <p>
+ * The pool is thread-safe without taking any locks. The slots are read and written racily, but strings are
+ * immutable, so a thread either finds an equal, fully constructed string in a slot or it does not find one and
+ * returns its own string. The pool is an optimization only: there is no guarantee that two equal strings interned
+ * by the pool are the same instance.
+ */
+public class StringPool {
+
+    private final String[] strings;
+    private final int mask;
+
+    /**
+     * Constructs a new {@code StringPool} that holds at most {@code maximumSize} strings. The size is rounded up to
+     * the next power of two.
+     *
+     * @param maximumSize the maximum number of pooled strings
+     * @throws IllegalArgumentException if {@code maximumSize} is not a positive number or it is greater than
+     * 2<sup>30</sup>
+     */
+    public StringPool(int maximumSize) {
+        Validate.isTrue((maximumSize > 0) && (maximumSize <= (1 << 30)), "maximumSize must be a positive number not greater than 2^30");
+
+        int capacity = (maximumSize == 1) ? 1 : Integer.highestOneBit(maximumSize - 1) << 1;
+
+        this.strings = new String[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Returns the pooled string equal to {@code string}, or pools and returns {@code string} if there is no such
+     * string in the pool.
+     *
+     * @param string the string to be interned
+     * @throws NullPointerException if {@code string} is {@code null}
+     * @return a string equal to {@code string}
+     */
+    public String intern(String string) {
+        int slot = spread(string.hashCode()) & mask;
+        String pooledString = strings[slot];
+
+        if (string.equals(pooledString)) {
+            return pooledString;
+        }
+
+        strings[slot] = string;
+
+        return string;
+    }
+
+    /**
+     * Returns the pooled string consisting of the {@code length} characters of {@code chars} starting at
+     * {@code offset}, or pools and returns a new string of those characters if there is no such string in the
+     * pool. A new string is created only if the characters are not pooled.
+     *
+     * @param chars the buffer holding the characters of the string
+     * @param offset the offset of the first character of the string
+     * @param length the number of characters of the string
+     * @throws NullPointerException if {@code chars} is {@code null}
+     * @throws IndexOutOfBoundsException if {@code offset} and {@code length} are out of the bounds of {@code chars}
+     * @return a string of the characters
+     */
+    public String intern(char[] chars, int offset, int length) {
+        int hash = 0;
+
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+
+        int slot = spread(hash) & mask;
+        String pooledString = strings[slot];
+
+        if ((pooledString != null) && contentEquals(pooledString, chars, offset, length)) {
+            return pooledString;
+        }
+
+        String string = new String(chars, offset, length);
+
+        strings[slot] = string;
+
+        return string;
+    }
+
+    /**
+     * Returns the maximum number of strings this pool holds.
+     *
+     * @return the capacity of this pool
+     */
+    public int getCapacity() {
+        return strings.length;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean contentEquals(String string, char[] chars, int offset, int length) {
+        if (string.length() != length) {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (string.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -1,15 +1,26 @@
 package com.github.sandrasi.geocoder.util;
 
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
 import org.apache.commons.lang3.Validate;
 
 /**
  * {@code Timer} can be used to put the current thread to a sleeping state. The length of the sleeping
  * period depends on the last time when the thread was put to sleeping state via the {@code Timer}
  * class and the maximum sleep time specified as a constructor argument.
+ * <p>
+ * The sleeping threads are serialized by a {@link ReentrantLock} rather than by a monitor, so a virtual thread
+ * waiting for its turn or sleeping does not pin its carrier thread.
+ *
+ * @deprecated the waiting threads queue up on a single lock and bursts are not supported; use {@link RateLimiter}
+ * instead
  */
+@Deprecated
 public class Timer {
 
     private final long maximumSleepTime;
+    private final Lock lock = new ReentrantLock();
 
     private long lastSleepTimestamp;
 
@@ -32,22 +43,28 @@ public class Timer {
      * is not put to a sleeping state. If the maximum sleep time is {@code 0} this method returns
      * immediately.
      */
-    public synchronized void sleep() {
+    public void sleep() {
         if (maximumSleepTime == 0) {
             return;
         }
 
-        long elapsedTime = System.currentTimeMillis() - lastSleepTimestamp;
-        long sleepTime = maximumSleepTime - elapsedTime;
+        lock.lock();
+
+        try {
+            long elapsedTime = System.currentTimeMillis() - lastSleepTimestamp;
+            long sleepTime = maximumSleepTime - elapsedTime;
 
-        if (sleepTime > 0) {
-            try {
-                Thread.sleep(sleepTime);
-            } catch (InterruptedException e) {
-                throw new TimerException("The thread " + Thread.currentThread() + " waiting for " + sleepTime + " milliseconds to elapse has been interrupted", e);
+            if (sleepTime > 0) {
+                try {
+                    Thread.sleep(sleepTime);
+                } catch (InterruptedException e) {
+                    throw new TimerException("The thread " + Thread.currentThread() + " waiting for " + sleepTime + " milliseconds to elapse has been interrupted", e);
+                }
             }
-        }
 
-        lastSleepTimestamp = System.currentTimeMillis();
+            lastSleepTimestamp = System.currentTimeMillis();
+        } finally {
+            lock.unlock();
+        }
     }
 }
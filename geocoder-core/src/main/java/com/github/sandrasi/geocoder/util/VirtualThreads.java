@@ -0,0 +1,122 @@
+package com.github.sandrasi.geocoder.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * {@code VirtualThreads} creates executors that run every task on a new virtual thread. Virtual threads are
+ * cheap enough to have tens of thousands of them blocked on a socket or in a {@link Timer} at the same time,
+ * while only a handful of carrier threads do the actual work.
+ * <p>
+ * Virtual threads are looked up reflectively, so the library still runs on Java runtimes without them. On such
+ * runtimes the tasks are run on a bounded pool of daemon platform threads instead, so submitting a large number of
+ * tasks does not create a platform thread for each of them.
+ */
+public final class VirtualThreads {
+
+    private static final ThreadFactoryProvider THREAD_FACTORY_PROVIDER = lookupVirtualThreadFactoryProvider();
+    private static final long PLATFORM_THREAD_KEEP_ALIVE_IN_SECONDS = 60;
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Tells whether the Java runtime supports virtual threads.
+     *
+     * @return {@code true} if the tasks of the executors created by this class run on virtual threads,
+     * {@code false} if they run on platform threads
+     */
+    public static boolean isSupported() {
+        return THREAD_FACTORY_PROVIDER != null;
+    }
+
+    /**
+     * Creates a new executor that runs every task on a new virtual thread. If the Java runtime does not support
+     * virtual threads the tasks are run on a pool of at most {@code maxPlatformThreads} daemon platform threads,
+     * and the tasks submitted while every thread is busy wait in an unbounded queue. The idle platform threads are
+     * terminated after a minute. The names of the threads are made of {@code threadNamePrefix} and a sequence
+     * number.
+     *
+     * @param threadNamePrefix the prefix of the names of the threads
+     * @param maxPlatformThreads the maximum number of platform threads if virtual threads are not supported
+     * @throws NullPointerException if {@code threadNamePrefix} is {@code null}
+     * @throws IllegalArgumentException if {@code maxPlatformThreads} is not a positive number
+     * @return a new executor
+     */
+    public static Executor newThreadPerTaskExecutor(String threadNamePrefix, int maxPlatformThreads) {
+        Validate.isTrue(maxPlatformThreads > 0, "maxPlatformThreads must be a positive number");
+
+        ThreadFactory threadFactory = newThreadFactory(threadNamePrefix);
+
+        if (isSupported()) {
+            return command -> threadFactory.newThread(command).start();
+        }
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxPlatformThreads, maxPlatformThreads,
+                PLATFORM_THREAD_KEEP_ALIVE_IN_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
+    }
+
+    /**
+     * Creates a new factory of virtual threads, or of daemon platform threads if the Java runtime does not
+     * support virtual threads. The names of the threads are made of {@code threadNamePrefix} and a sequence number.
+     *
+     * @param threadNamePrefix the prefix of the names of the threads
+     * @throws NullPointerException if {@code threadNamePrefix} is {@code null}
+     * @return a new thread factory
+     */
+    public static ThreadFactory newThreadFactory(String threadNamePrefix) {
+        Validate.notNull(threadNamePrefix, "threadNamePrefix is required");
+
+        return isSupported() ? THREAD_FACTORY_PROVIDER.newThreadFactory(threadNamePrefix) : newPlatformThreadFactory(threadNamePrefix);
+    }
+
+    private static ThreadFactory newPlatformThreadFactory(final String threadNamePrefix) {
+        final AtomicLong threadCount = new AtomicLong();
+
+        return runnable -> {
+            Thread thread = new Thread(runnable, threadNamePrefix + threadCount.getAndIncrement());
+
+            thread.setDaemon(true);
+
+            return thread;
+        };
+    }
+
+    private static ThreadFactoryProvider lookupVirtualThreadFactoryProvider() {
+        try {
+            final Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            final Method name = builderClass.getMethod("name", String.class, long.class);
+            final Method factory = builderClass.getMethod("factory");
+
+            ThreadFactoryProvider threadFactoryProvider = threadNamePrefix -> {
+                try {
+                    return (ThreadFactory) factory.invoke(name.invoke(ofVirtual.invoke(null), threadNamePrefix, 0L));
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("The virtual thread factory can not be created", e);
+                }
+            };
+            threadFactoryProvider.newThreadFactory("");
+
+            return threadFactoryProvider;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private interface ThreadFactoryProvider {
+
+        ThreadFactory newThreadFactory(String threadNamePrefix);
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.sandrasi.geocoder;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class GeocodeResultTest {
+
+    @Test
+    public void shouldCreateSuccessfulGeocodeResult() {
+        GeocodeResponse geocodeResponse = mock(GeocodeResponse.class);
+
+        when(geocodeResponse.getQueryString()).thenReturn("foo");
+
+        GeocodeResult geocodeResult = GeocodeResult.success(geocodeResponse);
+
+        assertTrue(geocodeResult.isSuccessful());
+        assertThat(geocodeResult.getQueryString(), is("foo"));
+        assertThat(geocodeResult.getGeocodeResponse(), is(sameInstance(geocodeResponse)));
+        assertNull(geocodeResult.getGeocodeException());
+    }
+
+    @Test
+    public void shouldCreateFailedGeocodeResult() {
+        GeocodeException geocodeException = new GeocodeException("test");
+
+        GeocodeResult geocodeResult = GeocodeResult.failure("foo", geocodeException);
+
+        assertFalse(geocodeResult.isSuccessful());
+        assertThat(geocodeResult.getQueryString(), is("foo"));
+        assertNull(geocodeResult.getGeocodeResponse());
+        assertThat(geocodeResult.getGeocodeException(), is(sameInstance(geocodeException)));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldNotCreateSuccessfulGeocodeResultWithoutGeocodeResponse() {
+        GeocodeResult.success(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldNotCreateFailedGeocodeResultWithoutGeocodeException() {
+        GeocodeResult.failure("foo", null);
+    }
+}
@@ -0,0 +1,356 @@
+package com.github.sandrasi.geocoder.cache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.sandrasi.geocoder.GeocodeException;
+import com.github.sandrasi.geocoder.GeocodeRequest;
+import com.github.sandrasi.geocoder.GeocodeResponse;
+import com.github.sandrasi.geocoder.GeocodeResult;
+import com.github.sandrasi.geocoder.Geocoder;
+import com.github.sandrasi.geocoder.components.GeocodeStatus;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.github.sandrasi.geocoder.components.GeocodeStatus.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.*;
+
+public class CachingGeocoderTest {
+
+    private Geocoder<TestGeocodeRequest, GeocodeRequest.Builder<TestGeocodeRequest>> geocoder;
+    private AtomicLong time;
+    private CachingGeocoder<TestGeocodeRequest, GeocodeRequest.Builder<TestGeocodeRequest>> subject;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        geocoder = mock(Geocoder.class);
+        time = new AtomicLong();
+        subject = CachingGeocoder.newBuilder(geocoder)
+                .setTimeToLive(10, TimeUnit.MINUTES)
+                .setZeroResultsTimeToLive(1, TimeUnit.MINUTES)
+                .setTicker(time::get)
+                .build();
+
+        given(geocoder.newGeocodeRequestBuilder(anyString())).willAnswer(invocation -> {
+            String address = invocation.getArgument(0);
+
+            return (GeocodeRequest.Builder<TestGeocodeRequest>) () -> new TestGeocodeRequest(address);
+        });
+        given(geocoder.newGeocodeRequestBuilder(anyDouble(), anyDouble())).willAnswer(invocation -> {
+            String location = invocation.getArgument(0) + ", " + invocation.getArgument(1);
+
+            return (GeocodeRequest.Builder<TestGeocodeRequest>) () -> new TestGeocodeRequest(location);
+        });
+    }
+
+    @Test
+    public void shouldAnswerRepeatedRequestFromTheCache() {
+        GeocodeResponse geocodeResponse = newGeocodeResponse("foo", OK);
+
+        given(geocoder.geocode(new TestGeocodeRequest("foo"))).willReturn(geocodeResponse);
+
+        assertThat(subject.geocodeAddress("foo"), is(sameInstance(geocodeResponse)));
+        assertThat(subject.geocodeAddress("foo"), is(sameInstance(geocodeResponse)));
+        verify(geocoder, times(1)).geocode(any(TestGeocodeRequest.class));
+
+        CacheStatistics statistics = subject.getStatistics();
+
+        assertThat(statistics.getHitCount(), is(1L));
+        assertThat(statistics.getMissCount(), is(1L));
+        assertThat(statistics.getHitRate(), is(0.5));
+        assertThat(statistics.getSize(), is(1L));
+    }
+
+    @Test
+    public void shouldKeyTheCacheByTheWholeRequest() {
+        given(geocoder.geocode(any(TestGeocodeRequest.class))).willAnswer(invocation -> newGeocodeResponse("foo", OK));
+
+        subject.geocode(new TestGeocodeRequest("foo&language=en"));
+        subject.geocode(new TestGeocodeRequest("foo&language=hu"));
+        subject.geocode(new TestGeocodeRequest("foo&language=en"));
+
+        verify(geocoder, times(2)).geocode(any(TestGeocodeRequest.class));
+    }
+
+    @Test
+    public void shouldNotCacheFailedStatuses() {
+        GeocodeResponse geocodeResponse = newGeocodeResponse("foo", OVER_QUERY_LIMIT);
+
+        given(geocoder.geocode(new TestGeocodeRequest("foo"))).willReturn(geocodeResponse);
+
+        subject.geocodeAddress("foo");
+        subject.geocodeAddress("foo");
+
+        verify(geocoder, times(2)).geocode(new TestGeocodeRequest("foo"));
+    }
+
+    @Test
+    public void shouldNotCacheExceptions() {
+        GeocodeResponse geocodeResponse = newGeocodeResponse("foo", OK);
+
+        given(geocoder.geocode(new TestGeocodeRequest("foo"))).willThrow(new GeocodeException("test")).willReturn(geocodeResponse);
+
+        try {
+            subject.geocodeAddress("foo");
+            fail();
+        } catch (GeocodeException e) {
+            assertThat(e.getMessage(), is("test"));
+        }
+
+        assertThat(subject.geocodeAddress("foo").getGeocodeStatus(), is(OK));
+    }
+
+    @Test
+    public void shouldExpireResponsesAfterTheirTimeToLive() {
+        GeocodeResponse foo = newGeocodeResponse("foo", OK);
+        GeocodeResponse bar = newGeocodeResponse("bar", ZERO_RESULTS);
+
+        given(geocoder.geocode(new TestGeocodeRequest("foo"))).willReturn(foo);
+        given(geocoder.geocode(new TestGeocodeRequest("bar"))).willReturn(bar);
+
+        subject.geocodeAddress("foo");
+        subject.geocodeAddress("bar");
+        time.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        subject.geocodeAddress("foo");
+        subject.geocodeAddress("bar");
+
+        verify(geocoder, times(1)).geocode(new TestGeocodeRequest("foo"));
+        verify(geocoder, times(2)).geocode(new TestGeocodeRequest("bar"));
+
+        time.addAndGet(TimeUnit.MINUTES.toNanos(10));
+        subject.geocodeAddress("foo");
+
+        verify(geocoder, times(2)).geocode(new TestGeocodeRequest("foo"));
+    }
+
+    @Test
+    public void shouldNotExceedTheMaximumSize() {
+        CachingGeocoder<TestGeocodeRequest, GeocodeRequest.Builder<TestGeocodeRequest>> cachingGeocoder = CachingGeocoder.newBuilder(geocoder)
+                .setMaximumSize(10)
+                .build();
+
+        given(geocoder.geocode(any(TestGeocodeRequest.class))).willAnswer(invocation -> newGeocodeResponse("foo", OK));
+
+        for (int i = 0; i < 100; i++) {
+            cachingGeocoder.geocodeAddress("foo" + i);
+        }
+
+        assertThat(cachingGeocoder.getStatistics().getSize() <= 10, is(true));
+        assertThat(cachingGeocoder.getStatistics().getEvictionCount() >= 90, is(true));
+    }
+
+    @Test
+    public void shouldAnswerRepeatedAsynchronousRequestFromTheCache() throws Exception {
+        GeocodeResponse geocodeResponse = newGeocodeResponse("foo", OK);
+
+        given(geocoder.geocodeAsync(new TestGeocodeRequest("foo"))).willReturn(CompletableFuture.completedFuture(geocodeResponse));
+
+        assertThat(subject.geocodeAddressAsync("foo").get(), is(sameInstance(geocodeResponse)));
+
+        CompletableFuture<GeocodeResponse> cachedGeocodeResponse = subject.geocodeAddressAsync("foo");
+
+        assertThat(cachedGeocodeResponse.isDone(), is(true));
+        assertThat(cachedGeocodeResponse.get(), is(sameInstance(geocodeResponse)));
+        verify(geocoder, times(1)).geocodeAsync(any(TestGeocodeRequest.class));
+    }
+
+    @Test
+    public void shouldForwardOnlyTheMissedItemsOfABatch() {
+        GeocodeResponse foo = newGeocodeResponse("foo", OK);
+        GeocodeResponse bar = newGeocodeResponse("bar", OK);
+        GeocodeResponse baz = newGeocodeResponse("baz", OK);
+
+        given(geocoder.geocode(new TestGeocodeRequest("bar"))).willReturn(bar);
+        List<GeocodeResult> missedResults = Arrays.asList(GeocodeResult.success(foo), GeocodeResult.success(baz));
+
+        given(geocoder.geocodeAll(Arrays.asList("foo", "baz"), 2)).willReturn(missedResults);
+
+        subject.geocodeAddress("bar");
+
+        List<GeocodeResult> results = subject.geocodeAll(Arrays.asList("foo", "bar", "baz"), 2);
+
+        assertThat(results.size(), is(3));
+        assertThat(results.get(0).getGeocodeResponse(), is(sameInstance(foo)));
+        assertThat(results.get(1).getGeocodeResponse(), is(sameInstance(bar)));
+        assertThat(results.get(2).getGeocodeResponse(), is(sameInstance(baz)));
+        assertThat(subject.geocodeAddress("baz"), is(sameInstance(baz)));
+    }
+
+    @Test
+    public void shouldForwardOnlyTheMissedLocationsOfABatch() {
+        GeocodeResponse first = newGeocodeResponse("1.0, 2.0", OK);
+        GeocodeResponse second = newGeocodeResponse("3.0, 4.0", OK);
+
+        given(geocoder.geocode(new TestGeocodeRequest("1.0, 2.0"))).willReturn(first);
+        List<GeocodeResult> missedResults = Arrays.asList(GeocodeResult.success(second));
+
+        given(geocoder.lookupAll(new double[] {3}, new double[] {4})).willReturn(missedResults);
+
+        subject.lookupAddress(1, 2);
+
+        List<GeocodeResult> results = subject.lookupAll(new double[] {1, 3}, new double[] {2, 4});
+
+        assertThat(results.get(0).getGeocodeResponse(), is(sameInstance(first)));
+        assertThat(results.get(1).getGeocodeResponse(), is(sameInstance(second)));
+    }
+
+    @Test
+    public void shouldDiscardTheCacheAndCloseTheUnderlyingGeocoder() {
+        GeocodeResponse geocodeResponse = newGeocodeResponse("foo", OK);
+
+        given(geocoder.geocode(new TestGeocodeRequest("foo"))).willReturn(geocodeResponse);
+
+        subject.geocodeAddress("foo");
+        subject.close();
+
+        assertThat(subject.getStatistics().getSize(), is(0L));
+        verify(geocoder).close();
+    }
+
+    @Test
+    public void shouldInvalidateCachedResponse() {
+        GeocodeResponse geocodeResponse = newGeocodeResponse("foo", OK);
+
+        given(geocoder.geocode(new TestGeocodeRequest("foo"))).willReturn(geocodeResponse);
+
+        subject.geocodeAddress("foo");
+        subject.invalidate(new TestGeocodeRequest("foo"));
+        subject.geocodeAddress("foo");
+
+        verify(geocoder, times(2)).geocode(new TestGeocodeRequest("foo"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldLookUpTheMissesInTheSecondTier() {
+        GeocodeResponseStore<TestGeocodeRequest> secondTier = mock(GeocodeResponseStore.class);
+        CachingGeocoder<TestGeocodeRequest, GeocodeRequest.Builder<TestGeocodeRequest>> cachingGeocoder = CachingGeocoder.newBuilder(geocoder)
+                .setSecondTier(secondTier)
+                .build();
+        GeocodeResponse foo = newGeocodeResponse("foo", OK);
+        GeocodeResponse bar = newGeocodeResponse("bar", OK);
+
+        given(secondTier.getStored(new TestGeocodeRequest("foo"))).willReturn(new StoredGeocodeResponse(foo, System.currentTimeMillis()));
+        given(geocoder.geocode(new TestGeocodeRequest("bar"))).willReturn(bar);
+
+        assertThat(cachingGeocoder.geocodeAddress("foo"), is(sameInstance(foo)));
+        assertThat(cachingGeocoder.geocodeAddress("foo"), is(sameInstance(foo)));
+        assertThat(cachingGeocoder.geocodeAddress("bar"), is(sameInstance(bar)));
+
+        verify(secondTier, times(1)).getStored(new TestGeocodeRequest("foo"));
+        verify(secondTier).put(new TestGeocodeRequest("bar"), bar);
+        verify(geocoder, never()).geocode(new TestGeocodeRequest("foo"));
+        assertThat(cachingGeocoder.getStatistics().getSecondTierHitCount(), is(1L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldPromoteTheResponsesOfTheSecondTierForTheRestOfTheirTimeToLive() {
+        GeocodeResponseStore<TestGeocodeRequest> secondTier = mock(GeocodeResponseStore.class);
+        CachingGeocoder<TestGeocodeRequest, GeocodeRequest.Builder<TestGeocodeRequest>> cachingGeocoder = CachingGeocoder.newBuilder(geocoder)
+                .setTimeToLive(10, TimeUnit.MINUTES)
+                .setTicker(time::get)
+                .setSecondTier(secondTier)
+                .build();
+        GeocodeResponse foo = newGeocodeResponse("foo", OK);
+        long writeTime = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(8);
+
+        given(secondTier.getStored(new TestGeocodeRequest("foo"))).willReturn(new StoredGeocodeResponse(foo, writeTime));
+
+        cachingGeocoder.geocodeAddress("foo");
+        time.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        cachingGeocoder.geocodeAddress("foo");
+
+        verify(secondTier, times(1)).getStored(new TestGeocodeRequest("foo"));
+
+        time.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        cachingGeocoder.geocodeAddress("foo");
+
+        verify(secondTier, times(2)).getStored(new TestGeocodeRequest("foo"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldNotPromoteTheResponsesOfTheSecondTierOlderThanTheTimeToLive() {
+        GeocodeResponseStore<TestGeocodeRequest> secondTier = mock(GeocodeResponseStore.class);
+        CachingGeocoder<TestGeocodeRequest, GeocodeRequest.Builder<TestGeocodeRequest>> cachingGeocoder = CachingGeocoder.newBuilder(geocoder)
+                .setTimeToLive(10, TimeUnit.MINUTES)
+                .setSecondTier(secondTier)
+                .build();
+        GeocodeResponse foo = newGeocodeResponse("foo", OK);
+        long writeTime = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(20);
+
+        given(secondTier.getStored(new TestGeocodeRequest("foo"))).willReturn(new StoredGeocodeResponse(foo, writeTime));
+
+        assertThat(cachingGeocoder.geocodeAddress("foo"), is(sameInstance(foo)));
+        assertThat(cachingGeocoder.geocodeAddress("foo"), is(sameInstance(foo)));
+
+        verify(secondTier, times(2)).getStored(new TestGeocodeRequest("foo"));
+        assertThat(cachingGeocoder.getStatistics().getSize(), is(0L));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldNotCreateCachingGeocoderWithoutGeocoder() {
+        CachingGeocoder.newBuilder(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptNegativeMaximumSize() {
+        CachingGeocoder.newBuilder(geocoder).setMaximumSize(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptNonPositiveTimeToLive() {
+        CachingGeocoder.newBuilder(geocoder).setTimeToLive(0, TimeUnit.SECONDS);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldNotGeocodeNullRequest() {
+        subject.geocode(null);
+    }
+
+    private static GeocodeResponse newGeocodeResponse(String queryString, GeocodeStatus geocodeStatus) {
+        GeocodeResponse geocodeResponse = mock(GeocodeResponse.class);
+
+        given(geocodeResponse.getQueryString()).willReturn(queryString);
+        given(geocodeResponse.getGeocodeStatus()).willReturn(geocodeStatus);
+
+        return geocodeResponse;
+    }
+
+    private static final class TestGeocodeRequest implements GeocodeRequest {
+
+        private final String query;
+
+        private TestGeocodeRequest(String query) {
+            this.query = query;
+        }
+
+        @Override
+        public GeocodeResponse execute() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<GeocodeResponse> executeAsync() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return (o instanceof TestGeocodeRequest) && query.equals(((TestGeocodeRequest) o).query);
+        }
+
+        @Override
+        public int hashCode() {
+            return query.hashCode();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.github.sandrasi.geocoder.cache;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.sandrasi.geocoder.GeocodeRequest;
+import com.github.sandrasi.geocoder.GeocodeResponse;
+import com.github.sandrasi.geocoder.GeocodeResult;
+import com.github.sandrasi.geocoder.Geocoder;
+import com.github.sandrasi.geocoder.components.GeocodeStatus;
+import com.github.sandrasi.geocoder.components.GeocodedAddress;
+import com.github.sandrasi.geocoder.components.GeographicLocation;
+import com.github.sandrasi.geocoder.components.Geometry;
+import com.github.sandrasi.geocoder.components.LocationType;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.github.sandrasi.geocoder.components.GeocodeStatus.*;
+import static com.github.sandrasi.geocoder.components.LocationType.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.BDDMockito.*;
+
+public class SpatialCachingGeocoderTest {
+
+    private Geocoder<GeocodeRequest, GeocodeRequest.Builder<GeocodeRequest>> geocoder;
+    private AtomicLong time;
+    private SpatialCachingGeocoder<GeocodeRequest, GeocodeRequest.Builder<GeocodeRequest>> subject;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        geocoder = mock(Geocoder.class);
+        time = new AtomicLong();
+        subject = SpatialCachingGeocoder.newBuilder(geocoder)
+                .setRadius(25)
+                .setTimeToLive(10, TimeUnit.MINUTES)
+                .setTicker(time::get)
+                .build();
+    }
+
+    @Test
+    public void shouldAnswerNearbyLookupFromTheCache() {
+        GeocodeResponse geocodeResponse = newGeocodeResponse(OK, ROOFTOP);
+
+        given(geocoder.lookupAddress(47.4979, 19.0402)).willReturn(geocodeResponse);
+
+        assertThat(subject.lookupAddress(47.4979, 19.0402), is(sameInstance(geocodeResponse)));
+        assertThat(subject.lookupAddress(47.49795, 19.04025), is(sameInstance(geocodeResponse)));
+        verify(geocoder, times(1)).lookupAddress(anyDouble(), anyDouble());
+
+        CacheStatistics statistics = subject.getStatistics();
+
+        assertThat(statistics.getHitCount(), is(1L));
+        assertThat(statistics.getMissCount(), is(1L));
+        assertThat(statistics.getSize(), is(1L));
+    }
+
+    @Test
+    public void shouldNotAnswerLookupOutsideTheRadius() {
+        given(geocoder.lookupAddress(anyDouble(), anyDouble())).willAnswer(invocation -> newGeocodeResponse(OK, ROOFTOP));
+
+        subject.lookupAddress(47.4979, 19.0402);
+        subject.lookupAddress(47.4982, 19.0402);
+
+        verify(geocoder, times(2)).lookupAddress(anyDouble(), anyDouble());
+    }
+
+    @Test
+    public void shouldAnswerLookupFromTheNeighbouringCell() {
+        GeocodeResponse geocodeResponse = newGeocodeResponse(OK, ROOFTOP);
+
+        given(geocoder.lookupAddress(0.0, 179.99999)).willReturn(geocodeResponse);
+
+        subject.lookupAddress(0.0, 179.99999);
+
+        assertThat(subject.lookupAddress(0.0, -179.99999), is(sameInstance(geocodeResponse)));
+        assertThat(subject.lookupAddress(0.0001, 179.9999), is(sameInstance(geocodeResponse)));
+        verify(geocoder, times(1)).lookupAddress(anyDouble(), anyDouble());
+    }
+
+    @Test
+    public void shouldAnswerLookupWithTheClosestCachedResponse() {
+        GeocodeResponse first = newGeocodeResponse(OK, ROOFTOP);
+        GeocodeResponse second = newGeocodeResponse(OK, ROOFTOP);
+
+        given(geocoder.lookupAddress(10.0, 10.0)).willReturn(first);
+        given(geocoder.lookupAddress(10.0003, 10.0)).willReturn(second);
+
+        subject.lookupAddress(10.0, 10.0);
+        subject.lookupAddress(10.0003, 10.0);
+
+        assertThat(subject.lookupAddress(10.0001, 10.0), is(sameInstance(first)));
+        assertThat(subject.lookupAddress(10.0002, 10.0), is(sameInstance(second)));
+    }
+
+    @Test
+    public void shouldCacheOnlyPreciseEnoughResponses() {
+        SpatialCachingGeocoder<GeocodeRequest, GeocodeRequest.Builder<GeocodeRequest>> spatialCachingGeocoder = SpatialCachingGeocoder.newBuilder(geocoder)
+                .setMinimumPrecision(RANGE_INTERPOLATED)
+                .build();
+        GeocodeResponse approximate = newGeocodeResponse(OK, APPROXIMATE);
+        GeocodeResponse interpolated = newGeocodeResponse(OK, RANGE_INTERPOLATED);
+
+        given(geocoder.lookupAddress(1.0, 1.0)).willReturn(approximate);
+        given(geocoder.lookupAddress(2.0, 2.0)).willReturn(interpolated);
+
+        spatialCachingGeocoder.lookupAddress(1.0, 1.0);
+        spatialCachingGeocoder.lookupAddress(1.0, 1.0);
+        spatialCachingGeocoder.lookupAddress(2.0, 2.0);
+        spatialCachingGeocoder.lookupAddress(2.0, 2.0);
+
+        verify(geocoder, times(2)).lookupAddress(1.0, 1.0);
+        verify(geocoder, times(1)).lookupAddress(2.0, 2.0);
+    }
+
+    @Test
+    public void shouldNotCacheResponsesWithoutResults() {
+        GeocodeResponse geocodeResponse = newGeocodeResponse(ZERO_RESULTS, null);
+
+        given(geocoder.lookupAddress(1.0, 1.0)).willReturn(geocodeResponse);
+
+        subject.lookupAddress(1.0, 1.0);
+        subject.lookupAddress(1.0, 1.0);
+
+        verify(geocoder, times(2)).lookupAddress(1.0, 1.0);
+    }
+
+    @Test
+    public void shouldExpireResponsesAfterTheirTimeToLive() {
+        given(geocoder.lookupAddress(anyDouble(), anyDouble())).willAnswer(invocation -> newGeocodeResponse(OK, ROOFTOP));
+
+        subject.lookupAddress(1.0, 1.0);
+        time.addAndGet(TimeUnit.MINUTES.toNanos(5));
+        subject.lookupAddress(1.00001, 1.0);
+
+        verify(geocoder, times(1)).lookupAddress(anyDouble(), anyDouble());
+
+        time.addAndGet(TimeUnit.MINUTES.toNanos(6));
+        subject.lookupAddress(1.00001, 1.0);
+
+        verify(geocoder, times(2)).lookupAddress(anyDouble(), anyDouble());
+    }
+
+    @Test
+    public void shouldNotCacheLookupsNearThePoles() {
+        given(geocoder.lookupAddress(anyDouble(), anyDouble())).willAnswer(invocation -> newGeocodeResponse(OK, ROOFTOP));
+
+        subject.lookupAddress(89.9999, 0.0);
+        subject.lookupAddress(89.9999, 0.0);
+
+        verify(geocoder, times(2)).lookupAddress(89.9999, 0.0);
+    }
+
+    @Test
+    public void shouldAnswerAsynchronousLookupFromTheCache() {
+        GeocodeResponse geocodeResponse = newGeocodeResponse(OK, ROOFTOP);
+
+        given(geocoder.lookupAddressAsync(1.0, 1.0)).willReturn(CompletableFuture.completedFuture(geocodeResponse));
+
+        assertThat(subject.lookupAddressAsync(1.0, 1.0).join(), is(sameInstance(geocodeResponse)));
+        assertThat(subject.lookupAddressAsync(1.00001, 1.0).join(), is(sameInstance(geocodeResponse)));
+        verify(geocoder, times(1)).lookupAddressAsync(anyDouble(), anyDouble());
+    }
+
+    @Test
+    public void shouldForwardOnlyTheMissedLocationsOfABatch() {
+        GeocodeResponse first = newGeocodeResponse(OK, ROOFTOP);
+        GeocodeResponse second = newGeocodeResponse(OK, ROOFTOP);
+
+        given(geocoder.lookupAddress(1.0, 2.0)).willReturn(first);
+        List<GeocodeResult> missedResults = Arrays.asList(GeocodeResult.success(second));
+
+        given(geocoder.lookupAll(new double[] {3}, new double[] {4})).willReturn(missedResults);
+
+        subject.lookupAddress(1.0, 2.0);
+
+        List<GeocodeResult> results = subject.lookupAll(new double[] {1.00001, 3}, new double[] {2, 4});
+
+        assertThat(results.get(0).getGeocodeResponse(), is(sameInstance(first)));
+        assertThat(results.get(1).getGeocodeResponse(), is(sameInstance(second)));
+        assertThat(subject.lookupAddress(3.00001, 4.0), is(sameInstance(second)));
+    }
+
+    @Test
+    public void shouldForwardTheAddressGeocoding() {
+        GeocodeResponse geocodeResponse = newGeocodeResponse(OK, ROOFTOP);
+
+        given(geocoder.geocodeAddress("foo")).willReturn(geocodeResponse);
+
+        subject.geocodeAddress("foo");
+        subject.geocodeAddress("foo");
+
+        verify(geocoder, times(2)).geocodeAddress("foo");
+    }
+
+    @Test
+    public void shouldDiscardTheCacheAndCloseTheUnderlyingGeocoder() {
+        GeocodeResponse geocodeResponse = newGeocodeResponse(OK, ROOFTOP);
+
+        given(geocoder.lookupAddress(1.0, 1.0)).willReturn(geocodeResponse);
+
+        subject.lookupAddress(1.0, 1.0);
+        subject.close();
+
+        assertThat(subject.getStatistics().getSize(), is(0L));
+        verify(geocoder).close();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldNotCreateSpatialCachingGeocoderWithoutGeocoder() {
+        SpatialCachingGeocoder.newBuilder(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptNonPositiveRadius() {
+        SpatialCachingGeocoder.newBuilder(geocoder).setRadius(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldNotAcceptNullMinimumPrecision() {
+        SpatialCachingGeocoder.newBuilder(geocoder).setMinimumPrecision(null);
+    }
+
+    private static GeocodeResponse newGeocodeResponse(GeocodeStatus geocodeStatus, LocationType locationType) {
+        GeocodeResponse geocodeResponse = mock(GeocodeResponse.class);
+        List<GeocodedAddress> geocodedAddresses = (locationType == null) ? Collections.<GeocodedAddress>emptyList()
+                : Arrays.asList(GeocodedAddress.newBuilder("foo")
+                        .setGeometry(Geometry.newBuilder(GeographicLocation.fromValues(0, 0)).setLocationType(locationType).build())
+                        .build());
+
+        given(geocodeResponse.getGeocodeStatus()).willReturn(geocodeStatus);
+        given(geocodeResponse.getGeocodedAddresses()).willReturn(geocodedAddresses);
+
+        return geocodeResponse;
+    }
+}
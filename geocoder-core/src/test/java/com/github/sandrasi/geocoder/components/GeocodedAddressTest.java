@@ -4,6 +4,7 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
+import org.apache.commons.lang3.SerializationUtils;
 import org.junit.Test;
 
 import static com.github.sandrasi.geocoder.components.AddressComponentType.*;
@@ -84,6 +85,52 @@ public class GeocodedAddressTest {
         assertFalse(addressComponentIterator.hasNext());
     }
 
+    @Test
+    public void shouldIterateOnTheAddressComponentsOfMultipleTypesOnlyOnce() {
+        AddressComponent locality = AddressComponent.newBuilder(LOCALITY).addAddressComponentType(POLITICAL).setLongName("Mountain View").setShortName("Mountain View").build();
+        AddressComponent route = AddressComponent.newBuilder(ROUTE).addAddressComponentType(POLITICAL).setLongName("Amphitheatre Parkway").setShortName("Amphitheatre Pkwy").build();
+        GeocodedAddress geocodedAddress = GeocodedAddress.newBuilder("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA")
+                .addAddressComponent(locality)
+                .addAddressComponent(route)
+                .build();
+
+        Iterator<AddressComponent> addressComponentIterator = geocodedAddress.addressComponentIterator();
+
+        assertThat(addressComponentIterator.next(), is(locality));
+        assertThat(addressComponentIterator.next(), is(route));
+        assertFalse(addressComponentIterator.hasNext());
+    }
+
+    @Test
+    public void shouldReturnTheAddressComponentsAddedTwiceOnlyOnceFromTheIteratorOfAllAddressComponents() {
+        AddressComponent locality = AddressComponent.newBuilder(LOCALITY).addAddressComponentType(POLITICAL).setLongName("Mountain View").setShortName("Mountain View").build();
+        GeocodedAddress geocodedAddress = GeocodedAddress.newBuilder("Mountain View, CA, USA")
+                .addAddressComponent(locality)
+                .addAddressComponent(AddressComponent.newBuilder(LOCALITY).addAddressComponentType(POLITICAL).setLongName("Mountain View").setShortName("Mountain View").build())
+                .build();
+
+        Iterator<AddressComponent> addressComponentIterator = geocodedAddress.addressComponentIterator();
+        Iterator<AddressComponent> localityIterator = geocodedAddress.addressComponentIterator(LOCALITY);
+
+        assertThat(addressComponentIterator.next(), is(locality));
+        assertFalse(addressComponentIterator.hasNext());
+        assertThat(localityIterator.next(), is(locality));
+        assertThat(localityIterator.next(), is(locality));
+        assertFalse(localityIterator.hasNext());
+    }
+
+    @Test
+    public void shouldBeEqualIfTheAddressComponentsOfDifferentTypesWereAddedInDifferentOrder() {
+        AddressComponent locality = AddressComponent.newBuilder(LOCALITY).setLongName("Mountain View").setShortName("Mountain View").build();
+        AddressComponent country = AddressComponent.newBuilder(COUNTRY).setLongName("United States").setShortName("US").build();
+
+        GeocodedAddress geocodedAddress = GeocodedAddress.newBuilder("Mountain View, CA, USA").addAddressComponent(locality).addAddressComponent(country).build();
+        GeocodedAddress otherGeocodedAddress = GeocodedAddress.newBuilder("Mountain View, CA, USA").addAddressComponent(country).addAddressComponent(locality).build();
+
+        assertThat(geocodedAddress, is(otherGeocodedAddress));
+        assertThat(geocodedAddress.hashCode(), is(otherGeocodedAddress.hashCode()));
+    }
+
     @Test(expected = NoSuchElementException.class)
     public void shouldReturnEmptyAddressComponentIteratorIfThereAreNoAddressComponentsInTheGeocodedAddress() {
         GeocodedAddress geocodedAddress = GeocodedAddress.newBuilder("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA").build();
@@ -233,6 +280,22 @@ public class GeocodedAddressTest {
         assertEquals(geocodedAddress.hashCode(), otherGeocodedAddress.hashCode());
     }
 
+    @Test
+    public void shouldComputeTheSameHashCodeAfterDeserialization() {
+        GeocodedAddress geocodedAddress = GeocodedAddress.newBuilder("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA")
+                .addAddressType(STREET_ADDRESS)
+                .addAddressComponent(AddressComponent.newBuilder(STREET_NUMBER).setLongName("1600").setShortName("1600").build())
+                .setGeometry(Geometry.newBuilder(GeographicLocation.fromValues(37.422782, -122.085099)).setLocationType(ROOFTOP).build())
+                .build();
+        int hashCode = geocodedAddress.hashCode();
+
+        GeocodedAddress deserializedGeocodedAddress = SerializationUtils.clone(geocodedAddress);
+
+        assertThat(deserializedGeocodedAddress, is(geocodedAddress));
+        assertThat(deserializedGeocodedAddress.hashCode(), is(hashCode));
+        assertThat(deserializedGeocodedAddress.getGeometry().hashCode(), is(geocodedAddress.getGeometry().hashCode()));
+    }
+
     @Test
     public void shouldConvertToString() {
         Geometry geometry = Geometry.newBuilder(GeographicLocation.fromValues(37.422782, -122.085099))
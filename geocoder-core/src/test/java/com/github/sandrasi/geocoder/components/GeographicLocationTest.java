@@ -38,6 +38,16 @@ public class GeographicLocationTest {
         GeographicLocation.fromCoordinates(GeographicCoordinate.latitudeFromDouble(37.422782), GeographicCoordinate.longitudeFromDouble(-122.085099), null);
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowExceptionIfLatitudeValueIsInvalid() {
+        GeographicLocation.fromValues(91, -122.085099);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowExceptionIfLongitudeValueIsInvalid() {
+        GeographicLocation.fromValues(37.422782, Double.NaN);
+    }
+
     @Test
     public void equalsAndHashCodeShouldWorkCorrectly() {
         GeographicLocation geographicLocation = GeographicLocation.fromValues(37.422782, -122.085099, 0);
@@ -53,6 +63,7 @@ public class GeographicLocationTest {
         assertFalse(geographicLocation.equals(geographicLocationWithDifferentElevation));
         assertTrue(geographicLocation.equals(geographicLocation));
         assertTrue(geographicLocation.equals(otherGeographicLocation));
+        assertTrue(geographicLocation.equals(GeographicLocation.fromValues(37.422782, -122.085099, -0.0)));
         assertEquals(geographicLocation.hashCode(), otherGeographicLocation.hashCode());
     }
 
@@ -115,6 +115,42 @@ public class GeographicCoordinateTest {
         assertThat(geographicCoordinate.getDoubleValue(), is(-1.0341677777777778));
     }
 
+    @Test
+    public void shouldComputeTheAngleFromTheValue() {
+        GeographicCoordinate longitude = GeographicCoordinate.longitudeFromDouble(-122.085099);
+
+        assertThat(longitude.getDegrees(), is(122));
+        assertThat(longitude.getMinutes(), is(5));
+        assertThat(longitude.getSeconds(), is(6));
+        assertThat(longitude.getMillis(), is(356));
+        assertThat(longitude.getCardinalDirection(), is(WEST));
+    }
+
+    @Test
+    public void shouldKeepTheAngleOfTheCoordinateCreatedFromAngle() {
+        GeographicCoordinate longitude = GeographicCoordinate.fromAngle(179, 59, 59, 999, CardinalDirection.WEST);
+
+        assertThat(longitude.getDegrees(), is(179));
+        assertThat(longitude.getMinutes(), is(59));
+        assertThat(longitude.getSeconds(), is(59));
+        assertThat(longitude.getMillis(), is(999));
+        assertThat(longitude.getCardinalDirection(), is(WEST));
+    }
+
+    @Test
+    public void shouldTreatNegativeZeroAsZero() {
+        GeographicCoordinate latitude = GeographicCoordinate.latitudeFromDouble(-0.0);
+
+        assertThat(latitude, is(GeographicCoordinate.EQUATOR));
+        assertThat(latitude.hashCode(), is(GeographicCoordinate.EQUATOR.hashCode()));
+        assertThat(latitude.getCardinalDirection(), is(ZERO_LATITUDE_DEGREE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowExceptionIfValueIsNotANumber() {
+        GeographicCoordinate.latitudeFromDouble(Double.NaN);
+    }
+
     @Test(expected = NullPointerException.class)
     public void shouldThrowExceptionIfLatitudeValueIsNull() {
         GeographicCoordinate.latitudeFromBigDecimal(null);
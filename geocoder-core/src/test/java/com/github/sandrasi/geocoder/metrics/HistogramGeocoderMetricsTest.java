@@ -0,0 +1,76 @@
+package com.github.sandrasi.geocoder.metrics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.github.sandrasi.geocoder.components.GeocodeStatus.*;
+import static com.github.sandrasi.geocoder.metrics.GeocodePhase.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+public class HistogramGeocoderMetricsTest {
+
+    private HistogramGeocoderMetrics subject;
+
+    @Before
+    public void setUp() {
+        subject = new HistogramGeocoderMetrics();
+    }
+
+    @Test
+    public void shouldRecordTheLatenciesOfThePhasesSeparately() {
+        subject.recordLatency(PARSE, 100);
+        subject.recordLatency(PARSE, 300);
+        subject.recordLatency(TOTAL, 1000);
+
+        assertThat(subject.getLatencyHistogram(PARSE).getCount(), is(2L));
+        assertThat(subject.getLatencyHistogram(PARSE).getSum(), is(400L));
+        assertThat(subject.getLatencyHistogram(TOTAL).getMax(), is(1000L));
+        assertThat(subject.getLatencyHistogram(BODY_READ).getCount(), is(0L));
+    }
+
+    @Test
+    public void shouldCountTheGeocodeStatuses() {
+        subject.recordGeocodeStatus(OK);
+        subject.recordGeocodeStatus(OK);
+        subject.recordGeocodeStatus(ZERO_RESULTS);
+
+        assertThat(subject.getGeocodeStatusCount(OK), is(2L));
+        assertThat(subject.getGeocodeStatusCount(ZERO_RESULTS), is(1L));
+        assertThat(subject.getGeocodeStatusCount(OVER_QUERY_LIMIT), is(0L));
+    }
+
+    @Test
+    public void shouldCountTheHttpStatusCodes() {
+        subject.recordHttpStatus(200);
+        subject.recordHttpStatus(403);
+        subject.recordHttpStatus(403);
+        subject.recordHttpStatus(-1);
+        subject.recordHttpStatus(600);
+
+        assertThat(subject.getHttpStatusCount(200), is(1L));
+        assertThat(subject.getHttpStatusCount(403), is(2L));
+        assertThat(subject.getHttpStatusCount(500), is(0L));
+        assertThat(subject.getHttpStatusCount(0), is(2L));
+        assertThat(subject.getHttpStatusCount(1000), is(2L));
+    }
+
+    @Test
+    public void shouldBeEnabled() {
+        assertThat(subject.isEnabled(), is(true));
+        assertThat(GeocoderMetrics.DISABLED.isEnabled(), is(false));
+    }
+
+    @Test
+    public void shouldListTheRecordedHttpStatusCodesInTheTextualRepresentation() {
+        subject.recordHttpStatus(200);
+        subject.recordHttpStatus(503);
+
+        assertThat(subject.toString(), containsString("HTTP: {200: \"1\", 503: \"1\"}"));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldNotReturnTheHistogramOfNullPhase() {
+        subject.getLatencyHistogram(null);
+    }
+}
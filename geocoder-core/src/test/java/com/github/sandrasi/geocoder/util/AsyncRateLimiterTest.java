@@ -0,0 +1,98 @@
+package com.github.sandrasi.geocoder.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class AsyncRateLimiterTest {
+
+    private static final int PERMIT_INTERVAL = 100;
+
+    @Test
+    public void shouldCompleteImmediatelyIfThePermitIsAvailable() {
+        AsyncRateLimiter subject = new AsyncRateLimiter(new RateLimiter(PERMIT_INTERVAL));
+
+        CompletableFuture<Void> permit = subject.acquireAsync();
+
+        assertTrue(permit.isDone());
+        assertThat(subject.getQueueDepth(), is(0));
+        assertThat(subject.getWaitTimeHistogram().getCount(), is(1L));
+        assertThat(subject.getWaitTimeHistogram().getMax(), is(0L));
+    }
+
+    @Test
+    public void shouldCompleteWhenThePermitBecomesAvailableWithoutBlockingTheCaller() throws Exception {
+        long timeBeforeTheFirstPermit = System.nanoTime();
+        AsyncRateLimiter subject = new AsyncRateLimiter(new RateLimiter(PERMIT_INTERVAL));
+
+        subject.acquireAsync();
+        CompletableFuture<Void> second = subject.acquireAsync();
+        CompletableFuture<Void> third = subject.acquireAsync();
+
+        assertFalse(second.isDone());
+        assertFalse(third.isDone());
+        assertThat(subject.getQueueDepth(), is(2));
+
+        second.get(5, TimeUnit.SECONDS);
+
+        assertFalse(third.isDone());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - timeBeforeTheFirstPermit) >= PERMIT_INTERVAL - 1);
+
+        third.get(5, TimeUnit.SECONDS);
+
+        assertThat(subject.getQueueDepth(), is(0));
+        assertThat(subject.getWaitTimeHistogram().getCount(), is(3L));
+        assertTrue(subject.getWaitTimeHistogram().getMax() >= TimeUnit.MILLISECONDS.toNanos(PERMIT_INTERVAL - 1));
+    }
+
+    @Test
+    public void shouldShareThePermitsWithTheBlockingRateLimiter() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(PERMIT_INTERVAL);
+        AsyncRateLimiter subject = new AsyncRateLimiter(rateLimiter);
+
+        assertTrue(rateLimiter.tryAcquire());
+
+        CompletableFuture<Void> permit = subject.acquireAsync();
+
+        assertFalse(permit.isDone());
+        assertFalse(rateLimiter.tryAcquire());
+
+        try {
+            permit.get(PERMIT_INTERVAL / 10, TimeUnit.MILLISECONDS);
+            fail("The permit should not have been available yet");
+        } catch (TimeoutException e) {
+        }
+    }
+
+    @Test
+    public void shouldCompleteExceptionallyIfTheSchedulerRejectsTheRequest() throws Exception {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        AsyncRateLimiter subject = new AsyncRateLimiter(new RateLimiter(PERMIT_INTERVAL), scheduler);
+
+        when(scheduler.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenThrow(new RejectedExecutionException());
+
+        subject.acquireAsync();
+
+        try {
+            subject.acquireAsync().get();
+            fail("The future should have been completed exceptionally");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(RateLimiterException.class)));
+            assertThat(subject.getQueueDepth(), is(0));
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldNotAcceptNullRateLimiter() {
+        new AsyncRateLimiter(null);
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.sandrasi.geocoder.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+public class HistogramTest {
+
+    private Histogram subject;
+
+    @Before
+    public void setUp() {
+        subject = new Histogram();
+    }
+
+    @Test
+    public void shouldBeEmptyInitially() {
+        assertThat(subject.getCount(), is(0L));
+        assertThat(subject.getSum(), is(0L));
+        assertThat(subject.getMax(), is(0L));
+        assertThat(subject.getMean(), is(0.0));
+        assertThat(subject.getValueAtPercentile(99), is(0L));
+    }
+
+    @Test
+    public void shouldRecordValues() {
+        subject.record(0);
+        subject.record(1);
+        subject.record(5);
+        subject.record(100);
+
+        assertThat(subject.getCount(), is(4L));
+        assertThat(subject.getSum(), is(106L));
+        assertThat(subject.getMax(), is(100L));
+        assertThat(subject.getMean(), is(26.5));
+    }
+
+    @Test
+    public void shouldRecordNegativeValuesAsZero() {
+        subject.record(-10);
+
+        assertThat(subject.getSum(), is(0L));
+        assertThat(subject.getValueAtPercentile(100), is(0L));
+    }
+
+    @Test
+    public void shouldReportUpperBoundOfTheBucketContainingThePercentile() {
+        for (int i = 0; i < 90; i++) {
+            subject.record(10);
+        }
+        for (int i = 0; i < 10; i++) {
+            subject.record(1000);
+        }
+
+        assertThat(subject.getValueAtPercentile(50), is(10L));
+        assertThat(subject.getValueAtPercentile(90), is(10L));
+        assertThat(subject.getValueAtPercentile(99), is(1000L));
+        assertThat(subject.getValueAtPercentile(0), is(10L));
+    }
+
+    @Test
+    public void shouldReportThePercentilesWithinTwoPercentOfTheRecordedValues() {
+        for (double value = 1; value < Long.MAX_VALUE / 2; value *= 1.01) {
+            Histogram histogram = new Histogram();
+
+            histogram.record((long) value);
+            histogram.record(Long.MAX_VALUE);
+
+            long reportedValue = histogram.getValueAtPercentile(50);
+
+            assertTrue(reportedValue + " < " + (long) value, reportedValue >= (long) value);
+            assertTrue(reportedValue + " >> " + (long) value, reportedValue - (long) value <= (long) value / 64);
+        }
+    }
+
+    @Test
+    public void shouldReportLatencyOfHundredFortyMillisecondsWithinTwoPercent() {
+        subject.record(140000000);
+        subject.record(1000000000);
+
+        assertTrue(subject.getValueAtPercentile(50) <= 142800000);
+    }
+
+    @Test
+    public void shouldRecordTheLargestValues() {
+        subject.record(Long.MAX_VALUE);
+
+        assertThat(subject.getValueAtPercentile(100), is(Long.MAX_VALUE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptPercentileAbove100() {
+        subject.getValueAtPercentile(101);
+    }
+}
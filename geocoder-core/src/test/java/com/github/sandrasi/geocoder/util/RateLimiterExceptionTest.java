@@ -0,0 +1,43 @@
+package com.github.sandrasi.geocoder.util;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+public class RateLimiterExceptionTest {
+
+    @Test
+    public void shouldConstructRateLimiterExceptionWithUninitializedDetailMessageAndUninitializedCause() {
+        RateLimiterException rateLimiterException = new RateLimiterException();
+
+        assertNull(rateLimiterException.getMessage());
+        assertNull(rateLimiterException.getCause());
+    }
+
+    @Test
+    public void shouldConstructRateLimiterExceptionWithDetailMessageAndUninitializedCause() {
+        RateLimiterException rateLimiterException = new RateLimiterException("test");
+
+        assertThat(rateLimiterException.getMessage(), is("test"));
+        assertNull(rateLimiterException.getCause());
+    }
+
+    @Test
+    public void shouldConstructRateLimiterExceptionWithMessageDescribingTheCauseAndCause() {
+        Exception cause = new Exception();
+        RateLimiterException rateLimiterException = new RateLimiterException(cause);
+
+        assertThat(rateLimiterException.getMessage(), is(cause.toString()));
+        assertEquals(cause, rateLimiterException.getCause());
+    }
+
+    @Test
+    public void shouldConstructRateLimiterExceptionWithMessageAndCause() {
+        Exception cause = new Exception();
+        RateLimiterException rateLimiterException = new RateLimiterException("test", cause);
+
+        assertThat(rateLimiterException.getMessage(), is("test"));
+        assertEquals(cause, rateLimiterException.getCause());
+    }
+}
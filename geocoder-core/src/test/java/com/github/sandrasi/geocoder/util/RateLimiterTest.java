@@ -0,0 +1,149 @@
+package com.github.sandrasi.geocoder.util;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+public class RateLimiterTest {
+
+    private static final int PERMIT_INTERVAL = 100;
+
+    @Test
+    public void shouldWaitForThePermitIntervalBetweenConsecutivePermits() {
+        RateLimiter subject = new RateLimiter(PERMIT_INTERVAL);
+        long timeBeforeTheFirstPermit = System.nanoTime();
+
+        subject.acquire();
+        subject.acquire();
+
+        long timeAfterTheSecondPermit = System.nanoTime();
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(timeAfterTheSecondPermit - timeBeforeTheFirstPermit) >= PERMIT_INTERVAL - 1);
+    }
+
+    @Test
+    public void shouldHandOutBurstWithoutWaiting() {
+        RateLimiter subject = new RateLimiter(PERMIT_INTERVAL, TimeUnit.MILLISECONDS, 3);
+
+        assertTrue(subject.tryAcquire());
+        assertTrue(subject.tryAcquire());
+        assertTrue(subject.tryAcquire());
+        assertFalse(subject.tryAcquire());
+    }
+
+    @Test
+    public void shouldRefillTheBucketAfterIdlePeriod() throws Exception {
+        RateLimiter subject = new RateLimiter(PERMIT_INTERVAL, TimeUnit.MILLISECONDS, 2);
+
+        assertTrue(subject.tryAcquire());
+        assertTrue(subject.tryAcquire());
+        assertFalse(subject.tryAcquire());
+
+        Thread.sleep(PERMIT_INTERVAL * 2 + 10);
+
+        assertTrue(subject.tryAcquire());
+        assertTrue(subject.tryAcquire());
+        assertFalse(subject.tryAcquire());
+    }
+
+    @Test
+    public void shouldAcquirePermitWithinTimeout() {
+        RateLimiter subject = new RateLimiter(PERMIT_INTERVAL);
+
+        assertTrue(subject.tryAcquire());
+        assertFalse(subject.tryAcquire(PERMIT_INTERVAL / 10, TimeUnit.MILLISECONDS));
+        assertTrue(subject.tryAcquire(PERMIT_INTERVAL * 2, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldHandOutThePermitsAtTheChangedRate() {
+        RateLimiter subject = new RateLimiter(0, TimeUnit.MILLISECONDS, 2);
+
+        assertTrue(subject.tryAcquire());
+        assertTrue(subject.tryAcquire());
+        assertTrue(subject.tryAcquire());
+
+        subject.setPermitInterval(1, TimeUnit.HOURS);
+
+        assertThat(subject.getPermitIntervalInNanoseconds(), is(TimeUnit.HOURS.toNanos(1)));
+        assertThat(subject.getBurstCapacity(), is(2));
+        assertTrue(subject.tryAcquire());
+        assertTrue(subject.tryAcquire());
+        assertFalse(subject.tryAcquire());
+
+        subject.setPermitInterval(0, TimeUnit.MILLISECONDS);
+
+        assertTrue(subject.tryAcquire());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotChangeThePermitIntervalToNegativeNumber() {
+        new RateLimiter(PERMIT_INTERVAL).setPermitInterval(-1, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void shouldNotLimitPermitsIfThePermitIntervalIsZero() {
+        RateLimiter subject = new RateLimiter(0);
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(subject.tryAcquire());
+        }
+    }
+
+    @Test
+    public void shouldHandOutOnePermitPerIntervalToConcurrentThreads() throws Exception {
+        final RateLimiter subject = new RateLimiter(10, TimeUnit.MILLISECONDS, 1);
+        final int threadCount = 8;
+        final CountDownLatch latch = new CountDownLatch(threadCount);
+        final AtomicInteger permits = new AtomicInteger();
+        long timeBeforeThePermits = System.nanoTime();
+
+        for (int i = 0; i < threadCount; i++) {
+            new Thread(() -> {
+                subject.acquire();
+                permits.incrementAndGet();
+                latch.countDown();
+            }).start();
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertThat(permits.get(), is(threadCount));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - timeBeforeThePermits) >= 10 * (threadCount - 1) - 1);
+    }
+
+    @Test
+    public void shouldCreateRateLimiterWithRate() {
+        RateLimiter subject = RateLimiter.withRate(50, 5);
+
+        assertThat(subject.getPermitIntervalInNanoseconds(), is(TimeUnit.MILLISECONDS.toNanos(20)));
+        assertThat(subject.getBurstCapacity(), is(5));
+    }
+
+    @Test(expected = RateLimiterException.class)
+    public void shouldThrowRateLimiterExceptionIfTheWaitingThreadIsInterrupted() {
+        RateLimiter subject = new RateLimiter(PERMIT_INTERVAL * 10);
+
+        subject.acquire();
+        Thread.currentThread().interrupt();
+
+        try {
+            subject.acquire();
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptNegativePermitInterval() {
+        new RateLimiter(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptNonPositiveBurstCapacity() {
+        new RateLimiter(PERMIT_INTERVAL, TimeUnit.MILLISECONDS, 0);
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.sandrasi.geocoder.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+public class StringPoolTest {
+
+    private StringPool subject;
+
+    @Before
+    public void setUp() {
+        subject = new StringPool(16);
+    }
+
+    @Test
+    public void shouldReturnThePooledString() {
+        String pooledString = subject.intern(new String("United States"));
+
+        assertThat(subject.intern(new String("United States")), is(sameInstance(pooledString)));
+        assertThat(subject.intern("United States".toCharArray(), 0, 13), is(sameInstance(pooledString)));
+    }
+
+    @Test
+    public void shouldPoolTheStringOfTheCharacters() {
+        char[] chars = "\"long_name\":\"California\"".toCharArray();
+
+        String string = subject.intern(chars, 13, 10);
+
+        assertThat(string, is("California"));
+        assertThat(subject.intern(new String("California")), is(sameInstance(string)));
+    }
+
+    @Test
+    public void shouldReplaceTheStringOfTheSameSlot() {
+        StringPool stringPool = new StringPool(1);
+        String first = stringPool.intern(new String("foo"));
+
+        stringPool.intern("bar");
+
+        assertThat(stringPool.intern(new String("foo")), is(not(sameInstance(first))));
+        assertThat(stringPool.intern(new String("foo")), is("foo"));
+    }
+
+    @Test
+    public void shouldRoundTheCapacityUpToPowerOfTwo() {
+        assertThat(new StringPool(1).getCapacity(), is(1));
+        assertThat(new StringPool(16).getCapacity(), is(16));
+        assertThat(new StringPool(1000).getCapacity(), is(1024));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptNonPositiveMaximumSize() {
+        new StringPool(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldNotInternNull() {
+        subject.intern(null);
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.Test;
 
 import static org.junit.Assert.*;
 
+@SuppressWarnings("deprecation")
 public class TimerTest {
 
     private static final int MAXIMUM_SLEEP_TIME = 100;
@@ -42,4 +43,20 @@ public class TimerTest {
 
         assertTrue((timeAfterTheSecondSleep - timeBeforeTheSecondSleep) < delta);
     }
+
+    @Test
+    public void shouldSerializeConcurrentlySleepingThreads() throws Exception {
+        subject.sleep();
+
+        long timeBeforeTheConcurrentSleeps = System.currentTimeMillis();
+        Thread thread = new Thread(subject::sleep);
+
+        thread.start();
+        subject.sleep();
+        thread.join();
+
+        long timeAfterTheConcurrentSleeps = System.currentTimeMillis();
+
+        assertTrue((timeAfterTheConcurrentSleeps - timeBeforeTheConcurrentSleeps) >= MAXIMUM_SLEEP_TIME * 2 - 5);
+    }
 }
@@ -0,0 +1,91 @@
+package com.github.sandrasi.geocoder.util;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Assume;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+public class VirtualThreadsTest {
+
+    @Test
+    public void shouldRunTasksOnNewThreads() throws Exception {
+        Executor executor = VirtualThreads.newThreadPerTaskExecutor("test-", 100);
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<Thread> thread = new AtomicReference<>();
+
+        executor.execute(() -> {
+            thread.set(Thread.currentThread());
+            latch.countDown();
+        });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertThat(thread.get(), is(not(sameInstance(Thread.currentThread()))));
+        assertTrue(thread.get().getName().startsWith("test-"));
+        assertTrue(thread.get().isDaemon());
+    }
+
+    @Test
+    public void shouldRunManyBlockedTasksConcurrently() throws Exception {
+        Executor executor = VirtualThreads.newThreadPerTaskExecutor("test-", 100);
+        int taskCount = VirtualThreads.isSupported() ? 10000 : 100;
+        CountDownLatch started = new CountDownLatch(taskCount);
+        CountDownLatch release = new CountDownLatch(1);
+
+        for (int i = 0; i < taskCount; i++) {
+            executor.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        assertTrue(started.await(30, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    public void shouldBoundThePlatformThreadsIfVirtualThreadsAreNotSupported() throws Exception {
+        Assume.assumeFalse(VirtualThreads.isSupported());
+
+        Executor executor = VirtualThreads.newThreadPerTaskExecutor("test-", 2);
+        int taskCount = 50;
+        CountDownLatch finished = new CountDownLatch(taskCount);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        for (int i = 0; i < taskCount; i++) {
+            executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                finished.countDown();
+            });
+        }
+
+        assertTrue(finished.await(30, TimeUnit.SECONDS));
+        assertThat(maxRunning.get() <= 2, is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCreateExecutorWithNonPositiveNumberOfPlatformThreads() {
+        VirtualThreads.newThreadPerTaskExecutor("test-", 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldNotCreateThreadFactoryWithoutThreadNamePrefix() {
+        VirtualThreads.newThreadFactory(null);
+    }
+}
@@ -0,0 +1,664 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.github.sandrasi.geocoder.GeocodeException;
+import com.github.sandrasi.geocoder.components.*;
+import com.github.sandrasi.geocoder.util.StringPool;
+
+/**
+ * A decoder to convert the bytes of a JSON-string into {@link GoogleGeocodeResponse}, written for the shape of the
+ * Google geocode responses. The field names are matched against precomputed byte sequences, the enum constants are
+ * looked up from the bytes of their names and the coordinates are parsed from their digits, so no intermediate
+ * strings are created apart from the formatted addresses and the names of the address components. The fields may
+ * come in any order and the unknown fields are skipped.
+ * <p>
+ * The decoder does not handle everything the JSON parser does: it gives up on escaped characters, {@code null}
+ * values, values of unexpected types, missing mandatory fields, unknown location types and malformed JSON, and
+ * returns {@code null}, so these responses can be parsed by {@link JsonGeocodeResponseParser} instead. The unknown
+ * address component types are collected while the response is decoded and they are counted only once the whole
+ * response has been decoded, so the types of a response parsed by the JSON parser after all are not counted twice.
+ */
+final class ByteGeocodeResponseDecoder {
+
+    private static final byte[] FIELD_STATUS = bytesOf("status");
+    private static final byte[] FIELD_RESULTS = bytesOf("results");
+    private static final byte[] FIELD_TYPES = bytesOf("types");
+    private static final byte[] FIELD_FORMATTED_ADDRESS = bytesOf("formatted_address");
+    private static final byte[] FIELD_GEOMETRY = bytesOf("geometry");
+    private static final byte[] FIELD_ADDRESS_COMPONENTS = bytesOf("address_components");
+    private static final byte[] FIELD_LOCATION = bytesOf("location");
+    private static final byte[] FIELD_LOCATION_TYPE = bytesOf("location_type");
+    private static final byte[] FIELD_VIEWPORT = bytesOf("viewport");
+    private static final byte[] FIELD_BOUNDS = bytesOf("bounds");
+    private static final byte[] FIELD_LAT = bytesOf("lat");
+    private static final byte[] FIELD_LNG = bytesOf("lng");
+    private static final byte[] FIELD_SOUTHWEST = bytesOf("southwest");
+    private static final byte[] FIELD_NORTHEAST = bytesOf("northeast");
+    private static final byte[] FIELD_LONG_NAME = bytesOf("long_name");
+    private static final byte[] FIELD_SHORT_NAME = bytesOf("short_name");
+
+    private static final byte[] LITERAL_TRUE = bytesOf("true");
+    private static final byte[] LITERAL_FALSE = bytesOf("false");
+    private static final byte[] LITERAL_NULL = bytesOf("null");
+
+    /**
+     * The powers of ten represented exactly by a {@code double}.
+     */
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAXIMUM_EXACT_MANTISSA = 1L << 53;
+    private static final int MAXIMUM_ACCUMULATED_DIGITS = 18;
+
+    private static final UnexpectedInputException UNEXPECTED_INPUT = new UnexpectedInputException();
+    private static final int[] NO_UNKNOWN_VALUES = new int[0];
+
+    private final byte[] json;
+    private final int limit;
+    private final ResponseProjection projection;
+    private final StringPool stringPool;
+    private int position;
+    private int valueStart;
+    private int valueEnd;
+    private boolean valueAscii;
+    private int nameStart;
+    private int nameEnd;
+    private int[] unknownAddressComponentTypeBounds = NO_UNKNOWN_VALUES;
+    private int unknownAddressComponentTypeCount;
+
+    private ByteGeocodeResponseDecoder(byte[] json, ResponseProjection projection, StringPool stringPool) {
+        this.json = json;
+        this.limit = json.length;
+        this.projection = projection;
+        this.stringPool = stringPool;
+    }
+
+    /**
+     * Decodes the JSON-string representing a Google geocode response.
+     *
+     * @param originalQueryString the original query sent to the Google geocoding service
+     * @param json the geocode response in JSON format
+     * @param projection the projection of the geocoded addresses
+     * @param stringPool the pool interning the formatted addresses and the names of the address components, or
+     * {@code null} if the strings should not be interned
+     * @throws GeocodeException if the status of the response is unknown
+     * @return a Google geocode response, or {@code null} if the response is not what the decoder expects
+     */
+    static GoogleGeocodeResponse decode(String originalQueryString, byte[] json, ResponseProjection projection, StringPool stringPool) {
+        try {
+            return new ByteGeocodeResponseDecoder(json, projection, stringPool).decodeGeocodeResponse(originalQueryString);
+        } catch (UnexpectedInputException e) {
+            return null;
+        }
+    }
+
+    private GoogleGeocodeResponse decodeGeocodeResponse(String originalQueryString) throws UnexpectedInputException {
+        int statusStart = -1;
+        int statusEnd = -1;
+        List<GeocodedAddress> geocodedAddresses = null;
+
+        if (startContainer('{', '}')) {
+            do {
+                readFieldName();
+
+                if (fieldNameIs(FIELD_STATUS)) {
+                    readStringBounds();
+                    statusStart = valueStart;
+                    statusEnd = valueEnd;
+                } else if (fieldNameIs(FIELD_RESULTS)) {
+                    geocodedAddresses = readGeocodedAddresses();
+                } else {
+                    skipValue();
+                }
+            } while (nextMember('}'));
+        }
+
+        if (statusStart < 0) {
+            throw UNEXPECTED_INPUT;
+        }
+
+        requirePresent(geocodedAddresses);
+        recordUnknownAddressComponentTypes();
+
+        GeocodeStatus geocodeStatus = JsonGeocodeResponseParser.GEOCODE_STATUSES.lookup(json, statusStart, statusEnd - statusStart);
+
+        if (geocodeStatus == null) {
+            throw JsonGeocodeResponseParser.unknownStatus(new String(json, statusStart, statusEnd - statusStart, StandardCharsets.UTF_8));
+        }
+
+        return GoogleGeocodeResponse.newBuilder(originalQueryString)
+                .setGeocodeStatus(geocodeStatus)
+                .addGeocodedAddresses(geocodedAddresses)
+                .build();
+    }
+
+    private List<GeocodedAddress> readGeocodedAddresses() throws UnexpectedInputException {
+        List<GeocodedAddress> geocodedAddresses = new ArrayList<>();
+
+        if (startContainer('[', ']')) {
+            do {
+                geocodedAddresses.add(readGeocodedAddress());
+            } while (nextMember(']'));
+        }
+
+        return geocodedAddresses;
+    }
+
+    private GeocodedAddress readGeocodedAddress() throws UnexpectedInputException {
+        List<AddressComponentType> addressTypes = null;
+        String formattedAddress = null;
+        List<AddressComponent> addressComponents = null;
+        Geometry geometry = null;
+
+        if (startContainer('{', '}')) {
+            do {
+                readFieldName();
+
+                if (fieldNameIs(FIELD_TYPES) && projection.includesTypes()) {
+                    addressTypes = readAddressComponentTypes();
+                } else if (fieldNameIs(FIELD_FORMATTED_ADDRESS)) {
+                    formattedAddress = readString();
+                } else if (fieldNameIs(FIELD_ADDRESS_COMPONENTS) && projection.includesDetails()) {
+                    addressComponents = readAddressComponents();
+                } else if (fieldNameIs(FIELD_GEOMETRY)) {
+                    geometry = readGeometry();
+                } else {
+                    skipValue();
+                }
+            } while (nextMember('}'));
+        }
+
+        requirePresent(formattedAddress);
+        requirePresent(geometry);
+
+        GeocodedAddress.Builder geocodedAddressBuilder = GeocodedAddress.newBuilder(formattedAddress).setGeometry(geometry);
+
+        if (projection.includesTypes()) {
+            requirePresent(addressTypes);
+            geocodedAddressBuilder.addAddressTypes(addressTypes);
+        }
+
+        if (projection.includesDetails()) {
+            requirePresent(addressComponents);
+            geocodedAddressBuilder.addAddressComponents(addressComponents);
+        }
+
+        return geocodedAddressBuilder.build();
+    }
+
+    private List<AddressComponentType> readAddressComponentTypes() throws UnexpectedInputException {
+        List<AddressComponentType> addressComponentTypes = new ArrayList<>();
+
+        if (startContainer('[', ']')) {
+            do {
+                readStringBounds();
+
+                AddressComponentType addressComponentType = JsonGeocodeResponseParser.ADDRESS_COMPONENT_TYPES.find(json, valueStart, valueEnd - valueStart);
+
+                if (addressComponentType != null) {
+                    addressComponentTypes.add(addressComponentType);
+                } else {
+                    collectUnknownAddressComponentType();
+                }
+            } while (nextMember(']'));
+        }
+
+        return addressComponentTypes;
+    }
+
+    private Geometry readGeometry() throws UnexpectedInputException {
+        GeographicLocation location = null;
+        LocationType locationType = null;
+        GeographicArea viewport = null;
+        GeographicArea bounds = null;
+
+        if (startContainer('{', '}')) {
+            do {
+                readFieldName();
+
+                if (fieldNameIs(FIELD_LOCATION)) {
+                    location = readGeographicCoordinates();
+                } else if (fieldNameIs(FIELD_LOCATION_TYPE) && projection.includesTypes()) {
+                    readStringBounds();
+                    locationType = JsonGeocodeResponseParser.LOCATION_TYPES.find(json, valueStart, valueEnd - valueStart);
+                } else if (fieldNameIs(FIELD_VIEWPORT) && projection.includesDetails()) {
+                    viewport = readGeographicArea();
+                } else if (fieldNameIs(FIELD_BOUNDS) && projection.includesDetails()) {
+                    bounds = readGeographicArea();
+                } else {
+                    skipValue();
+                }
+            } while (nextMember('}'));
+        }
+
+        requirePresent(location);
+
+        Geometry.Builder geometryBuilder = Geometry.newBuilder(location);
+
+        if (projection.includesTypes()) {
+            requirePresent(locationType);
+            geometryBuilder.setLocationType(locationType);
+        }
+
+        if (projection.includesDetails()) {
+            requirePresent(viewport);
+            geometryBuilder.setViewport(viewport);
+        }
+
+        if (bounds != null) {
+            geometryBuilder.setBounds(bounds);
+        }
+
+        return geometryBuilder.build();
+    }
+
+    private GeographicLocation readGeographicCoordinates() throws UnexpectedInputException {
+        double latitude = Double.NaN;
+        double longitude = Double.NaN;
+
+        if (startContainer('{', '}')) {
+            do {
+                readFieldName();
+
+                if (fieldNameIs(FIELD_LAT)) {
+                    latitude = readNumber();
+                } else if (fieldNameIs(FIELD_LNG)) {
+                    longitude = readNumber();
+                } else {
+                    skipValue();
+                }
+            } while (nextMember('}'));
+        }
+
+        if (Double.isNaN(latitude) || Double.isNaN(longitude)) {
+            throw UNEXPECTED_INPUT;
+        }
+
+        return GeographicLocation.fromValues(latitude, longitude);
+    }
+
+    private GeographicArea readGeographicArea() throws UnexpectedInputException {
+        GeographicLocation southwest = null;
+        GeographicLocation northeast = null;
+
+        if (startContainer('{', '}')) {
+            do {
+                readFieldName();
+
+                if (fieldNameIs(FIELD_SOUTHWEST)) {
+                    southwest = readGeographicCoordinates();
+                } else if (fieldNameIs(FIELD_NORTHEAST)) {
+                    northeast = readGeographicCoordinates();
+                } else {
+                    skipValue();
+                }
+            } while (nextMember('}'));
+        }
+
+        requirePresent(southwest);
+        requirePresent(northeast);
+
+        return new GeographicArea(southwest, northeast);
+    }
+
+    private List<AddressComponent> readAddressComponents() throws UnexpectedInputException {
+        List<AddressComponent> addressComponents = new ArrayList<>();
+
+        if (startContainer('[', ']')) {
+            do {
+                AddressComponent addressComponent = readAddressComponent();
+
+                if (addressComponent != null) {
+                    addressComponents.add(addressComponent);
+                }
+            } while (nextMember(']'));
+        }
+
+        return addressComponents;
+    }
+
+    private AddressComponent readAddressComponent() throws UnexpectedInputException {
+        String longName = null;
+        String shortName = null;
+        List<AddressComponentType> addressComponentTypes = null;
+
+        if (startContainer('{', '}')) {
+            do {
+                readFieldName();
+
+                if (fieldNameIs(FIELD_LONG_NAME)) {
+                    longName = readString();
+                } else if (fieldNameIs(FIELD_SHORT_NAME)) {
+                    shortName = readString();
+                } else if (fieldNameIs(FIELD_TYPES)) {
+                    addressComponentTypes = readAddressComponentTypes();
+                } else {
+                    skipValue();
+                }
+            } while (nextMember('}'));
+        }
+
+        requirePresent(longName);
+        requirePresent(shortName);
+        requirePresent(addressComponentTypes);
+
+        if (addressComponentTypes.isEmpty()) {
+            return null;
+        }
+
+        AddressComponent.Builder addressComponentBuilder = AddressComponent.newBuilder(addressComponentTypes.get(0))
+                .setLongName(longName)
+                .setShortName(shortName);
+
+        if (addressComponentTypes.size() > 1) {
+            addressComponentBuilder.addAddressComponentTypes(addressComponentTypes.subList(1, addressComponentTypes.size()));
+        }
+
+        return addressComponentBuilder.build();
+    }
+
+    private void collectUnknownAddressComponentType() {
+        if (2 * unknownAddressComponentTypeCount == unknownAddressComponentTypeBounds.length) {
+            unknownAddressComponentTypeBounds = Arrays.copyOf(unknownAddressComponentTypeBounds, Math.max(8, 2 * unknownAddressComponentTypeBounds.length));
+        }
+
+        unknownAddressComponentTypeBounds[2 * unknownAddressComponentTypeCount] = valueStart;
+        unknownAddressComponentTypeBounds[2 * unknownAddressComponentTypeCount + 1] = valueEnd;
+        unknownAddressComponentTypeCount++;
+    }
+
+    private void recordUnknownAddressComponentTypes() {
+        for (int i = 0; i < unknownAddressComponentTypeCount; i++) {
+            int start = unknownAddressComponentTypeBounds[2 * i];
+
+            JsonGeocodeResponseParser.ADDRESS_COMPONENT_TYPES.recordUnknownValue(json, start, unknownAddressComponentTypeBounds[2 * i + 1] - start);
+        }
+    }
+
+    /**
+     * Consumes the opening character of an object or an array and returns whether the container has any members.
+     * The closing character of an empty container is consumed as well.
+     */
+    private boolean startContainer(char open, char close) throws UnexpectedInputException {
+        expect(open);
+        skipWhitespace();
+
+        if ((position < limit) && (json[position] == close)) {
+            position++;
+
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Consumes the separator after a member of an object or an array and returns whether another member follows.
+     */
+    private boolean nextMember(char close) throws UnexpectedInputException {
+        skipWhitespace();
+
+        if (position >= limit) {
+            throw UNEXPECTED_INPUT;
+        }
+
+        byte b = json[position++];
+
+        if (b == ',') {
+            return true;
+        } else if (b == close) {
+            return false;
+        }
+
+        throw UNEXPECTED_INPUT;
+    }
+
+    private void readFieldName() throws UnexpectedInputException {
+        readStringBounds();
+        nameStart = valueStart;
+        nameEnd = valueEnd;
+        expect(':');
+    }
+
+    private boolean fieldNameIs(byte[] fieldName) {
+        return Arrays.equals(json, nameStart, nameEnd, fieldName, 0, fieldName.length);
+    }
+
+    private String readString() throws UnexpectedInputException {
+        readStringBounds();
+
+        String string = new String(json, valueStart, valueEnd - valueStart, valueAscii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+
+        return (stringPool != null) ? stringPool.intern(string) : string;
+    }
+
+    /**
+     * Consumes a string without escaped characters and records the bounds of its content.
+     */
+    private void readStringBounds() throws UnexpectedInputException {
+        expect('"');
+
+        int start = position;
+        boolean ascii = true;
+
+        while (true) {
+            if (position >= limit) {
+                throw UNEXPECTED_INPUT;
+            }
+
+            byte b = json[position];
+
+            if (b == '"') {
+                break;
+            } else if ((b == '\\') || ((b >= 0) && (b < ' '))) {
+                throw UNEXPECTED_INPUT;
+            } else if (b < 0) {
+                ascii = false;
+            }
+
+            position++;
+        }
+
+        valueStart = start;
+        valueEnd = position;
+        valueAscii = ascii;
+        position++;
+    }
+
+    /**
+     * Parses a number from its digits. The numbers with at most 18 significant digits whose mantissa is exactly
+     * representable by a {@code double} are divided by an exact power of ten, which gives the correctly rounded
+     * value; the others, like the numbers with an exponent, are parsed by {@link Double#parseDouble(String)}.
+     */
+    private double readNumber() throws UnexpectedInputException {
+        skipWhitespace();
+
+        int start = position;
+        boolean negative = (position < limit) && (json[position] == '-');
+
+        if (negative) {
+            position++;
+        }
+
+        int integerStart = position;
+        long mantissa = 0;
+
+        while ((position < limit) && isDigit(json[position])) {
+            mantissa = 10 * mantissa + (json[position++] - '0');
+        }
+
+        int digits = position - integerStart;
+
+        if ((digits == 0) || ((digits > 1) && (json[integerStart] == '0'))) {
+            throw UNEXPECTED_INPUT;
+        }
+
+        int scale = 0;
+
+        if ((position < limit) && (json[position] == '.')) {
+            int fractionStart = ++position;
+
+            while ((position < limit) && isDigit(json[position])) {
+                mantissa = 10 * mantissa + (json[position++] - '0');
+            }
+
+            scale = position - fractionStart;
+
+            if (scale == 0) {
+                throw UNEXPECTED_INPUT;
+            }
+        }
+
+        if ((position < limit) && ((json[position] == 'e') || (json[position] == 'E'))) {
+            position++;
+
+            if ((position < limit) && ((json[position] == '+') || (json[position] == '-'))) {
+                position++;
+            }
+
+            int exponentStart = position;
+
+            while ((position < limit) && isDigit(json[position])) {
+                position++;
+            }
+
+            if (position == exponentStart) {
+                throw UNEXPECTED_INPUT;
+            }
+
+            return parseDouble(start);
+        }
+
+        if ((digits + scale > MAXIMUM_ACCUMULATED_DIGITS) || (mantissa > MAXIMUM_EXACT_MANTISSA) || (scale >= POWERS_OF_TEN.length)) {
+            return parseDouble(start);
+        }
+
+        double value = mantissa / POWERS_OF_TEN[scale];
+
+        return negative ? -value : value;
+    }
+
+    private double parseDouble(int start) {
+        return Double.parseDouble(new String(json, start, position - start, StandardCharsets.ISO_8859_1));
+    }
+
+    private void skipValue() throws UnexpectedInputException {
+        skipWhitespace();
+
+        if (position >= limit) {
+            throw UNEXPECTED_INPUT;
+        }
+
+        byte b = json[position];
+
+        if (b == '"') {
+            skipString();
+        } else if (b == '{') {
+            if (startContainer('{', '}')) {
+                do {
+                    readFieldName();
+                    skipValue();
+                } while (nextMember('}'));
+            }
+        } else if (b == '[') {
+            if (startContainer('[', ']')) {
+                do {
+                    skipValue();
+                } while (nextMember(']'));
+            }
+        } else if (b == 't') {
+            skipLiteral(LITERAL_TRUE);
+        } else if (b == 'f') {
+            skipLiteral(LITERAL_FALSE);
+        } else if (b == 'n') {
+            skipLiteral(LITERAL_NULL);
+        } else {
+            readNumber();
+        }
+    }
+
+    /**
+     * Consumes a string of an unknown field, which may contain escaped characters.
+     */
+    private void skipString() throws UnexpectedInputException {
+        position++;
+
+        while (true) {
+            if (position >= limit) {
+                throw UNEXPECTED_INPUT;
+            }
+
+            byte b = json[position++];
+
+            if (b == '"') {
+                return;
+            } else if (b == '\\') {
+                position++;
+            } else if ((b >= 0) && (b < ' ')) {
+                throw UNEXPECTED_INPUT;
+            }
+        }
+    }
+
+    private void skipLiteral(byte[] literal) throws UnexpectedInputException {
+        if ((position + literal.length > limit) || !Arrays.equals(json, position, position + literal.length, literal, 0, literal.length)) {
+            throw UNEXPECTED_INPUT;
+        }
+
+        position += literal.length;
+    }
+
+    private void expect(char c) throws UnexpectedInputException {
+        skipWhitespace();
+
+        if ((position >= limit) || (json[position] != c)) {
+            throw UNEXPECTED_INPUT;
+        }
+
+        position++;
+    }
+
+    private void skipWhitespace() {
+        while (position < limit) {
+            byte b = json[position];
+
+            if ((b != ' ') && (b != '\n') && (b != '\r') && (b != '\t')) {
+                return;
+            }
+
+            position++;
+        }
+    }
+
+    private static void requirePresent(Object value) throws UnexpectedInputException {
+        if (value == null) {
+            throw UNEXPECTED_INPUT;
+        }
+    }
+
+    private static boolean isDigit(byte b) {
+        return (b >= '0') && (b <= '9');
+    }
+
+    private static byte[] bytesOf(String string) {
+        return string.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Signals that the response is not what the decoder expects. The exception is thrown as a preallocated
+     * instance without a stack trace, because it is used for control flow only.
+     */
+    private static final class UnexpectedInputException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        private UnexpectedInputException() {
+            super("Unexpected input", null, false, false);
+        }
+    }
+}
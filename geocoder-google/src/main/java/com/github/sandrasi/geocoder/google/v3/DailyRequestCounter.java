@@ -0,0 +1,56 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code DailyRequestCounter} counts the geocoding requests of the current day, the way the daily query limit of
+ * the Google geocoding service is accounted. The day and the count are packed into a single atomic value, so the
+ * count is reset by the first request of a new day without taking any locks.
+ */
+final class DailyRequestCounter {
+
+    /**
+     * The time zone of the days of the query limits; the limits are reset at midnight Pacific Time.
+     */
+    static final ZoneId QUERY_LIMIT_TIME_ZONE = ZoneId.of("America/Los_Angeles");
+
+    private static final int COUNT_BITS = 40;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final Clock clock;
+    private final AtomicLong dayAndCount = new AtomicLong();
+
+    DailyRequestCounter(Clock clock) {
+        this.clock = clock;
+    }
+
+    void increment() {
+        long today = today();
+
+        while (true) {
+            long current = dayAndCount.get();
+            long updated = (dayOf(current) == today) ? current + 1 : (today << COUNT_BITS) + 1;
+
+            if (dayAndCount.compareAndSet(current, updated)) {
+                return;
+            }
+        }
+    }
+
+    long getCount() {
+        long current = dayAndCount.get();
+
+        return (dayOf(current) == today()) ? current & COUNT_MASK : 0;
+    }
+
+    private long today() {
+        return LocalDate.now(clock).toEpochDay();
+    }
+
+    private static long dayOf(long dayAndCount) {
+        return dayAndCount >>> COUNT_BITS;
+    }
+}
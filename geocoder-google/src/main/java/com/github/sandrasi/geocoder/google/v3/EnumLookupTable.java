@@ -0,0 +1,243 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@code EnumLookupTable} looks up the constants of an enum by their names, ignoring the case of the ASCII letters.
+ * The names are stored in a precomputed open-addressing table, so the constants can be looked up directly from the
+ * character buffer of the JSON parser or from the bytes of the response, without decoding the values into new
+ * strings or upper-casing them.
+ * <p>
+ * The values not naming a constant are counted, and every distinct unknown value is logged only once. The number of
+ * logged values is bounded, so a misbehaving service can not fill the memory with them.
+ * <p>
+ * The table is thread-safe.
+ */
+final class EnumLookupTable<E extends Enum<E>> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EnumLookupTable.class);
+
+    private static final int MAXIMUM_LOGGED_UNKNOWN_VALUES = 256;
+
+    private final String description;
+    private final char[][] names;
+    private final E[] constants;
+    private final int mask;
+    private final LongAdder unknownValueCount = new LongAdder();
+    private final Set<String> loggedUnknownValues = ConcurrentHashMap.newKeySet();
+
+    @SuppressWarnings("unchecked")
+    EnumLookupTable(Class<E> enumType, String description) {
+        E[] enumConstants = enumType.getEnumConstants();
+        int capacity = Integer.highestOneBit(Math.max(enumConstants.length, 1) * 4 - 1) << 1;
+
+        this.description = description;
+        this.names = new char[capacity][];
+        this.constants = (E[]) Array.newInstance(enumType, capacity);
+        this.mask = capacity - 1;
+
+        for (E constant : enumConstants) {
+            char[] name = constant.name().toCharArray();
+            int slot = hashOf(name, 0, name.length) & mask;
+
+            while (names[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+
+            names[slot] = name;
+            constants[slot] = constant;
+        }
+    }
+
+    /**
+     * Returns the constant named by the {@code length} characters of {@code chars} starting at {@code offset}.
+     *
+     * @param chars the buffer holding the name
+     * @param offset the offset of the first character of the name
+     * @param length the number of characters of the name
+     * @return the constant, or {@code null} if the name is unknown
+     */
+    E lookup(char[] chars, int offset, int length) {
+        int slot = hashOf(chars, offset, length) & mask;
+
+        while (names[slot] != null) {
+            if (equalsIgnoreCase(names[slot], chars, offset, length)) {
+                return constants[slot];
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        recordUnknownValue(new String(chars, offset, length));
+
+        return null;
+    }
+
+    /**
+     * Returns the constant named by the {@code length} UTF-8 encoded bytes of {@code bytes} starting at
+     * {@code offset}. The names of the constants are ASCII, so the bytes are compared as characters.
+     *
+     * @param bytes the buffer holding the name
+     * @param offset the offset of the first byte of the name
+     * @param length the number of bytes of the name
+     * @return the constant, or {@code null} if the name is unknown
+     */
+    E lookup(byte[] bytes, int offset, int length) {
+        E constant = find(bytes, offset, length);
+
+        if (constant == null) {
+            recordUnknownValue(bytes, offset, length);
+        }
+
+        return constant;
+    }
+
+    /**
+     * Returns the constant named by the {@code length} UTF-8 encoded bytes of {@code bytes} starting at
+     * {@code offset} as {@link #lookup(byte[], int, int)} does, but does not count an unknown name. The unknown
+     * name can be counted later by {@link #recordUnknownValue(byte[], int, int)}.
+     *
+     * @param bytes the buffer holding the name
+     * @param offset the offset of the first byte of the name
+     * @param length the number of bytes of the name
+     * @return the constant, or {@code null} if the name is unknown
+     */
+    E find(byte[] bytes, int offset, int length) {
+        int hash = 0;
+
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + toUpperCase((char) (bytes[i] & 0xFF));
+        }
+
+        int slot = mix(hash) & mask;
+
+        while (names[slot] != null) {
+            if (equalsIgnoreCase(names[slot], bytes, offset, length)) {
+                return constants[slot];
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the constant named by {@code value}.
+     *
+     * @param value the name
+     * @return the constant, or {@code null} if the name is unknown
+     */
+    E lookup(String value) {
+        int length = value.length();
+        int hash = 0;
+
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + toUpperCase(value.charAt(i));
+        }
+
+        int slot = mix(hash) & mask;
+
+        while (names[slot] != null) {
+            if (equalsIgnoreCase(names[slot], value)) {
+                return constants[slot];
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        recordUnknownValue(value);
+
+        return null;
+    }
+
+    /**
+     * Returns the number of the unknown values looked up in this table.
+     */
+    long getUnknownValueCount() {
+        return unknownValueCount.sum();
+    }
+
+    /**
+     * Counts the unknown name of {@code length} UTF-8 encoded bytes of {@code bytes} starting at {@code offset}, and
+     * logs it if it has not been logged yet.
+     */
+    void recordUnknownValue(byte[] bytes, int offset, int length) {
+        recordUnknownValue(new String(bytes, offset, length, StandardCharsets.UTF_8));
+    }
+
+    private void recordUnknownValue(String value) {
+        unknownValueCount.increment();
+
+        if ((loggedUnknownValues.size() < MAXIMUM_LOGGED_UNKNOWN_VALUES) && loggedUnknownValues.add(value)) {
+            LOGGER.warn("Unknown " + description + " [" + value + "] has been found. Its further occurrences are counted but not logged.");
+        }
+    }
+
+    private static int hashOf(char[] chars, int offset, int length) {
+        int hash = 0;
+
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + toUpperCase(chars[i]);
+        }
+
+        return mix(hash);
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean equalsIgnoreCase(char[] name, char[] chars, int offset, int length) {
+        if (name.length != length) {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (name[i] != toUpperCase(chars[offset + i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean equalsIgnoreCase(char[] name, byte[] bytes, int offset, int length) {
+        if (name.length != length) {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (name[i] != toUpperCase((char) (bytes[offset + i] & 0xFF))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean equalsIgnoreCase(char[] name, String value) {
+        if (name.length != value.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < name.length; i++) {
+            if (name[i] != toUpperCase(value.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static char toUpperCase(char c) {
+        return ((c >= 'a') && (c <= 'z')) ? (char) (c - ('a' - 'A')) : c;
+    }
+}
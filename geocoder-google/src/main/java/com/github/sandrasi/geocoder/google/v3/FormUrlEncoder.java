@@ -0,0 +1,79 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+/**
+ * {@code FormUrlEncoder} encodes the parameters of the request URIs like {@link java.net.URLEncoder} does in UTF-8:
+ * the ASCII letters and digits and the {@code .-*_} characters are kept, spaces are encoded as {@code +}, and every
+ * other character is percent-encoded by the upper-case hexadecimal values of its UTF-8 bytes. Unpaired surrogates
+ * are replaced by a percent-encoded {@code ?}, just like {@link java.net.URLEncoder} does.
+ * <p>
+ * Unlike {@link java.net.URLEncoder} the characters are encoded directly into the builder of the URI, without
+ * creating intermediate strings or byte arrays.
+ */
+final class FormUrlEncoder {
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final boolean[] UNRESERVED_CHARACTERS = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            UNRESERVED_CHARACTERS[c] = true;
+        }
+
+        for (char c = 'A'; c <= 'Z'; c++) {
+            UNRESERVED_CHARACTERS[c] = true;
+        }
+
+        for (char c = '0'; c <= '9'; c++) {
+            UNRESERVED_CHARACTERS[c] = true;
+        }
+
+        UNRESERVED_CHARACTERS['.'] = true;
+        UNRESERVED_CHARACTERS['-'] = true;
+        UNRESERVED_CHARACTERS['*'] = true;
+        UNRESERVED_CHARACTERS['_'] = true;
+    }
+
+    private FormUrlEncoder() {
+    }
+
+    /**
+     * Appends the encoded characters of {@code string} to {@code uri}.
+     */
+    static void encode(CharSequence string, StringBuilder uri) {
+        int length = string.length();
+
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+
+            if (c < 0x80) {
+                if (UNRESERVED_CHARACTERS[c]) {
+                    uri.append(c);
+                } else if (c == ' ') {
+                    uri.append('+');
+                } else {
+                    appendPercentEncoded(c, uri);
+                }
+            } else if (c < 0x800) {
+                appendPercentEncoded(0xC0 | (c >> 6), uri);
+                appendPercentEncoded(0x80 | (c & 0x3F), uri);
+            } else if (!Character.isSurrogate(c)) {
+                appendPercentEncoded(0xE0 | (c >> 12), uri);
+                appendPercentEncoded(0x80 | ((c >> 6) & 0x3F), uri);
+                appendPercentEncoded(0x80 | (c & 0x3F), uri);
+            } else if (Character.isHighSurrogate(c) && (i + 1 < length) && Character.isLowSurrogate(string.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, string.charAt(++i));
+
+                appendPercentEncoded(0xF0 | (codePoint >> 18), uri);
+                appendPercentEncoded(0x80 | ((codePoint >> 12) & 0x3F), uri);
+                appendPercentEncoded(0x80 | ((codePoint >> 6) & 0x3F), uri);
+                appendPercentEncoded(0x80 | (codePoint & 0x3F), uri);
+            } else {
+                appendPercentEncoded('?', uri);
+            }
+        }
+    }
+
+    private static void appendPercentEncoded(int b, StringBuilder uri) {
+        uri.append('%').append(HEX_DIGITS[b >> 4]).append(HEX_DIGITS[b & 0xF]);
+    }
+}
@@ -1,20 +1,30 @@
 package com.github.sandrasi.geocoder.google.v3;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.Serializable;
-import java.io.UnsupportedEncodingException;
 import java.net.URI;
-import java.net.URLEncoder;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import com.github.sandrasi.geocoder.GeocodeException;
 import com.github.sandrasi.geocoder.GeocodeRequest;
 import com.github.sandrasi.geocoder.GeocodeResponse;
 import com.github.sandrasi.geocoder.components.GeographicArea;
 import com.github.sandrasi.geocoder.components.GeographicLocation;
+import com.github.sandrasi.geocoder.metrics.GeocodePhase;
+import com.github.sandrasi.geocoder.metrics.GeocoderMetrics;
+import com.github.sandrasi.geocoder.util.StringPool;
 import org.apache.commons.lang3.Validate;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpException;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.ClientProtocolException;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
 import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,60 +36,180 @@ import org.slf4j.LoggerFactory;
  */
 public final class GoogleGeocodeRequest implements GeocodeRequest, Serializable {
 
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(GoogleGeocodeRequest.class);
 
     private static final int HTTP_OK = 200;
     private static final String GOOGLE_MAPS_API_HOST = "http://maps.googleapis.com";
     private static final String GOOGLE_GEOCODING_SERVICE_URL = "/maps/api/geocode/json";
-    private static final String CHARACTER_ENCODING = "UTF-8";
+    private static final String REQUEST_URI_PREFIX = GOOGLE_MAPS_API_HOST + GOOGLE_GEOCODING_SERVICE_URL + "?";
+    private static final String ENCODED_COMMA = "%2C";
+    private static final String ENCODED_VERTICAL_BAR = "%7C";
+    private static final int REQUEST_URI_CAPACITY = 256;
 
     private final String originalQueryString;
-    private final URI requestUri;
+    private final String requestUriString;
+    private transient volatile URI requestUri;
     private final HttpClient httpClient;
+    private final HttpAsyncClient httpAsyncClient;
+    private final Executor executor;
+    private final boolean lazyParsing;
+    private final boolean byteLevelDecoding;
+    private final ResponseProjection projection;
+    private final StringPool stringPool;
+    private final GeocoderMetrics metrics;
 
     private GoogleGeocodeRequest(Builder builder) {
         originalQueryString = getOriginalQueryString(builder);
-        requestUri = createUri(builder);
+        requestUriString = createUri(builder);
         httpClient = builder.httpClient;
+        httpAsyncClient = builder.httpAsyncClient;
+        executor = builder.executor;
+        lazyParsing = builder.lazyParsing;
+        byteLevelDecoding = builder.byteLevelDecoding;
+        projection = builder.projection;
+        stringPool = builder.stringPool;
+        metrics = builder.metrics;
+    }
+
+    GoogleGeocodeRequest(String originalQueryString, String requestUriString, GoogleGeocodeRequestTemplate template) {
+        this.originalQueryString = originalQueryString;
+        this.requestUriString = requestUriString;
+        this.httpClient = template.getHttpClient();
+        this.httpAsyncClient = template.getHttpAsyncClient();
+        this.executor = template.getExecutor();
+        this.lazyParsing = template.isLazyParsing();
+        this.byteLevelDecoding = template.isByteLevelDecoding();
+        this.projection = template.getProjection();
+        this.stringPool = template.getStringPool();
+        this.metrics = template.getMetrics();
     }
 
     private String getOriginalQueryString(Builder builder) {
-        return (builder.address != null) ? builder.address : builder.geographicCoordinates.getLatitude() + ", " + builder.geographicCoordinates.getLongitude();
+        return (builder.address != null) ? builder.address : getOriginalQueryString(builder.geographicCoordinates);
+    }
+
+    static String getOriginalQueryString(GeographicLocation geographicCoordinates) {
+        return geographicCoordinates.getLatitude() + ", " + geographicCoordinates.getLongitude();
     }
 
-    private URI createUri(Builder builder) {
-        String urlEncodedQuery = createUrlEncodedQuery(builder);
-        String signatureParameters = createSignatureParametersFor(urlEncodedQuery, builder.googleMapsApiPremierCredentials);
+    /**
+     * Encodes the request URI into a single builder. The coordinates are appended as they are, because the string
+     * representation of a double has no character to encode, and the path and the query are signed right from the
+     * builder.
+     */
+    private String createUri(Builder builder) {
+        StringBuilder uri = new StringBuilder(REQUEST_URI_CAPACITY).append(REQUEST_URI_PREFIX);
+
+        if (builder.address != null) {
+            FormUrlEncoder.encode(builder.address, uri.append("address="));
+        } else {
+            appendCoordinates(builder.geographicCoordinates, uri.append("latlng="));
+        }
+
+        appendSharedParameters(builder.viewportBias, builder.regionBias, builder.language, builder.googleMapsApiPremierCredentials, uri);
 
-        return URI.create(GOOGLE_MAPS_API_HOST + urlEncodedQuery + signatureParameters);
+        return sign(uri, builder.googleMapsApiPremierCredentials);
     }
 
-    private String createUrlEncodedQuery(Builder builder) {
-        try {
-            return GOOGLE_GEOCODING_SERVICE_URL + "?"
-                    + ((builder.address != null) ? "address=" + URLEncoder.encode(builder.address, CHARACTER_ENCODING) : "")
-                    + ((builder.geographicCoordinates != null) ? "latlng=" + URLEncoder.encode(builder.geographicCoordinates.getLatitude() + "," + builder.geographicCoordinates.getLongitude(), CHARACTER_ENCODING) : "")
-                    + ((builder.viewportBias != null) ? "&bounds=" + URLEncoder.encode(viewportBiasToRequestParameters(builder.viewportBias), CHARACTER_ENCODING) : "")
-                    + ((builder.regionBias != null) ? "&region=" + URLEncoder.encode(builder.regionBias, CHARACTER_ENCODING) : "")
-                    + ((builder.language != null) ? "&language=" + URLEncoder.encode(builder.language, CHARACTER_ENCODING) : "")
-                    + ((builder.googleMapsApiPremierCredentials != null) ? "&client=" + URLEncoder.encode(builder.googleMapsApiPremierCredentials.getClientId(), CHARACTER_ENCODING): "")
-                    + "&sensor=false";
-        } catch (UnsupportedEncodingException e) {
-            throw new GeocodeException("The character encoding used to create a URI for this GoogleGeocodeRequest is not supported", e);
+    /**
+     * Creates the URI of an address lookup from the parameters already encoded by
+     * {@link #encodeSharedParameters(GeographicArea, String, String, GoogleMapsApiPremierCredentials)}.
+     */
+    static String createUri(String address, String sharedParameters, GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials) {
+        StringBuilder uri = new StringBuilder(REQUEST_URI_CAPACITY + sharedParameters.length()).append(REQUEST_URI_PREFIX);
+
+        FormUrlEncoder.encode(address, uri.append("address="));
+
+        return sign(uri.append(sharedParameters), googleMapsApiPremierCredentials);
+    }
+
+    /**
+     * Creates the URI of a reverse geocoding from the parameters already encoded by
+     * {@link #encodeSharedParameters(GeographicArea, String, String, GoogleMapsApiPremierCredentials)}.
+     */
+    static String createUri(GeographicLocation geographicCoordinates, String sharedParameters, GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials) {
+        StringBuilder uri = new StringBuilder(REQUEST_URI_CAPACITY + sharedParameters.length()).append(REQUEST_URI_PREFIX);
+
+        appendCoordinates(geographicCoordinates, uri.append("latlng="));
+
+        return sign(uri.append(sharedParameters), googleMapsApiPremierCredentials);
+    }
+
+    /**
+     * Returns the encoded parameters following the address or the geographic coordinates in the request URI, the
+     * ones the requests of a {@link GoogleGeocodeRequestTemplate} share.
+     */
+    static String encodeSharedParameters(GeographicArea viewportBias, String regionBias, String language,
+            GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials) {
+        StringBuilder sharedParameters = new StringBuilder();
+
+        appendSharedParameters(viewportBias, regionBias, language, googleMapsApiPremierCredentials, sharedParameters);
+
+        return sharedParameters.toString();
+    }
+
+    private static void appendSharedParameters(GeographicArea viewportBias, String regionBias, String language,
+            GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials, StringBuilder uri) {
+        if (viewportBias != null) {
+            appendCoordinates(viewportBias.getSouthWestCorner(), uri.append("&bounds="));
+            appendCoordinates(viewportBias.getNorthEastCorner(), uri.append(ENCODED_VERTICAL_BAR));
+        }
+
+        if (regionBias != null) {
+            FormUrlEncoder.encode(regionBias, uri.append("&region="));
+        }
+
+        if (language != null) {
+            FormUrlEncoder.encode(language, uri.append("&language="));
+        }
+
+        if (googleMapsApiPremierCredentials != null) {
+            uri.append("&client=").append(googleMapsApiPremierCredentials.getUrlEncodedClientId());
         }
+
+        uri.append("&sensor=false");
     }
 
-    private String viewportBiasToRequestParameters(GeographicArea viewportBias) {
-        GeographicLocation swc = viewportBias.getSouthWestCorner();
-        GeographicLocation nec = viewportBias.getNorthEastCorner();
+    private static String sign(StringBuilder uri, GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials) {
+        if (googleMapsApiPremierCredentials != null) {
+            String signature = googleMapsApiPremierCredentials.getSignatureFor(uri, GOOGLE_MAPS_API_HOST.length(), uri.length());
+
+            uri.append("&signature=").append(signature);
+        }
+
+        return uri.toString();
+    }
+
+    private static void appendCoordinates(GeographicLocation geographicLocation, StringBuilder uri) {
+        uri.append(geographicLocation.getLatitude()).append(ENCODED_COMMA).append(geographicLocation.getLongitude());
+    }
+
+    /**
+     * Returns the URI this request is sent to. The URI identifies the request: it contains the address or the
+     * geographic coordinates and every parameter of the request.
+     *
+     * @return the request URI
+     */
+    public URI getRequestUri() {
+        URI requestUri = this.requestUri;
+
+        if (requestUri == null) {
+            requestUri = URI.create(requestUriString);
+            this.requestUri = requestUri;
+        }
 
-        return swc.getLatitude() + "," + swc.getLongitude() + "|" + nec.getLatitude() + "," + nec.getLongitude();
+        return requestUri;
     }
 
-    private String createSignatureParametersFor(String urlEncodedQuery, GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials) {
-        return (googleMapsApiPremierCredentials != null) ? "&signature=" + googleMapsApiPremierCredentials.getSignatureFor(urlEncodedQuery) : "";
+    /**
+     * Returns the projection of the geocoded addresses in the response of this request.
+     *
+     * @return the response projection
+     */
+    public ResponseProjection getProjection() {
+        return projection;
     }
 
     /**
@@ -90,44 +220,233 @@ public final class GoogleGeocodeRequest implements GeocodeRequest, Serializable
      */
     @Override
     public GeocodeResponse execute() {
+        long startTime = metrics.isEnabled() ? System.nanoTime() : 0;
+
         try {
-            HttpGet httpGet = new HttpGet(requestUri);
+            HttpGet httpGet = new HttpGet(getRequestUri());
 
-            LOGGER.debug("Sending request to the Google Geocode service " + requestUri);
+            LOGGER.debug("Sending request to the Google Geocode service " + requestUriString);
 
-            HttpResponse httpResponse = httpClient.execute(httpGet);
+            HttpResponse httpResponse = metrics.isEnabled() ? executeMeasured(httpGet, startTime) : httpClient.execute(httpGet);
 
             LOGGER.debug("Google Geocode response received");
 
-            if (httpResponse.getStatusLine().getStatusCode() == HTTP_OK) {
-                return JsonGeocodeResponseParser.parse(originalQueryString, httpResponse.getEntity().getContent());
-            } else {
-                throw new GeocodeException("An error occurred while geocoding: "
-                        + httpResponse.getStatusLine().getStatusCode()
-                        + " " + httpResponse.getStatusLine().getReasonPhrase()
-                        + " " + EntityUtils.toString(httpResponse.getEntity()));
+            return toGeocodeResponse(httpResponse);
+        } catch (IOException e) {
+            throw toGeocodeException(e);
+        } finally {
+            if (metrics.isEnabled()) {
+                metrics.recordLatency(GeocodePhase.TOTAL, System.nanoTime() - startTime);
             }
-        } catch (ClientProtocolException e) {
+        }
+    }
+
+    /**
+     * Executes the HTTP request and records the time of leasing the connection, if the HTTP client reports it,
+     * and the time until the response is received.
+     */
+    private HttpResponse executeMeasured(HttpGet httpGet, long startTime) throws IOException {
+        HttpContext httpContext = new BasicHttpContext();
+        HttpResponse httpResponse = httpClient.execute(httpGet, httpContext);
+        long responseTime = System.nanoTime();
+        Object connectionLeaseTime = httpContext.getAttribute(TimestampingHttpRequestExecutor.CONNECTION_LEASED_AT);
+
+        if (connectionLeaseTime instanceof Long) {
+            metrics.recordLatency(GeocodePhase.CONNECTION_LEASE, (Long) connectionLeaseTime - startTime);
+            metrics.recordLatency(GeocodePhase.TIME_TO_FIRST_BYTE, responseTime - (Long) connectionLeaseTime);
+        } else {
+            metrics.recordLatency(GeocodePhase.TIME_TO_FIRST_BYTE, responseTime - startTime);
+        }
+
+        return httpResponse;
+    }
+
+    /**
+     * Performs this geocode request by sending a non-blocking HTTP request to the Google geocoding service.
+     * The response is parsed by the executor of the geocoder that created this request, so the I/O threads
+     * of the HTTP client are never occupied by the parsing. If the geocoder was created without an asynchronous
+     * HTTP client the blocking {@link #execute()} method is invoked by the executor instead.
+     * <p>
+     * The returned future is completed exceptionally with a {@link GeocodeException} if an HTTP protocol error
+     * or an I/O exception happens during the geocoding.
+     *
+     * @return a future result of the geocoding
+     */
+    @Override
+    public CompletableFuture<GeocodeResponse> executeAsync() {
+        if (httpAsyncClient == null) {
+            return CompletableFuture.supplyAsync(this::execute, executor);
+        }
+
+        final long startTime = metrics.isEnabled() ? System.nanoTime() : 0;
+        final CompletableFuture<HttpResponse> httpResponseFuture = new CompletableFuture<>();
+        HttpGet httpGet = new HttpGet(getRequestUri());
+
+        LOGGER.debug("Sending asynchronous request to the Google Geocode service " + requestUriString);
+
+        httpAsyncClient.execute(httpGet, new FutureCallback<HttpResponse>() {
+
+            @Override
+            public void completed(HttpResponse httpResponse) {
+                LOGGER.debug("Google Geocode response received");
+
+                httpResponseFuture.complete(httpResponse);
+            }
+
+            @Override
+            public void failed(Exception e) {
+                httpResponseFuture.completeExceptionally(toGeocodeException(e));
+            }
+
+            @Override
+            public void cancelled() {
+                httpResponseFuture.cancel(false);
+            }
+        });
+
+        CompletableFuture<GeocodeResponse> geocodeResponseFuture = httpResponseFuture.thenApplyAsync(httpResponse -> {
+            try {
+                return toGeocodeResponse(httpResponse);
+            } catch (IOException e) {
+                throw toGeocodeException(e);
+            }
+        }, executor);
+
+        if (metrics.isEnabled()) {
+            geocodeResponseFuture.whenComplete((geocodeResponse, throwable) -> metrics.recordLatency(GeocodePhase.TOTAL, System.nanoTime() - startTime));
+        }
+
+        return geocodeResponseFuture;
+    }
+
+    /**
+     * Performs this geocode request asynchronously from a thread of the executor of the geocoder. Without an
+     * asynchronous HTTP client the blocking request is sent by the calling thread, instead of handing it over to
+     * another thread of the executor as {@link #executeAsync()} does.
+     *
+     * @return a future result of the geocoding
+     */
+    CompletableFuture<GeocodeResponse> executeAsyncOnExecutor() {
+        if (httpAsyncClient != null) {
+            return executeAsync();
+        }
+
+        try {
+            return CompletableFuture.completedFuture(execute());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private GeocodeResponse toGeocodeResponse(HttpResponse httpResponse) throws IOException {
+        int statusCode = httpResponse.getStatusLine().getStatusCode();
+
+        if (metrics.isEnabled()) {
+            metrics.recordHttpStatus(statusCode);
+        }
+
+        if (statusCode != HTTP_OK) {
+            throw new GeocodeException("An error occurred while geocoding: "
+                    + statusCode
+                    + " " + httpResponse.getStatusLine().getReasonPhrase()
+                    + " " + EntityUtils.toString(httpResponse.getEntity()));
+        } else if (metrics.isEnabled()) {
+            return toMeasuredGeocodeResponse(httpResponse.getEntity());
+        } else if (lazyParsing || byteLevelDecoding) {
+            return parse(EntityUtils.toByteArray(httpResponse.getEntity()));
+        } else {
+            return JsonGeocodeResponseParser.parse(originalQueryString, httpResponse.getEntity().getContent(), projection, stringPool);
+        }
+    }
+
+    /**
+     * Reads the whole body of the response before parsing it, so the time of reading the body and the time of
+     * parsing it are recorded separately even if the body would be parsed while it is read otherwise.
+     */
+    private GeocodeResponse toMeasuredGeocodeResponse(HttpEntity httpEntity) throws IOException {
+        long readStartTime = System.nanoTime();
+        byte[] body = EntityUtils.toByteArray(httpEntity);
+        long parseStartTime = System.nanoTime();
+
+        metrics.recordLatency(GeocodePhase.BODY_READ, parseStartTime - readStartTime);
+
+        GeocodeResponse geocodeResponse = parse(body);
+
+        metrics.recordLatency(GeocodePhase.PARSE, System.nanoTime() - parseStartTime);
+        metrics.recordGeocodeStatus(geocodeResponse.getGeocodeStatus());
+
+        return geocodeResponse;
+    }
+
+    private GeocodeResponse parse(byte[] body) {
+        if (lazyParsing) {
+            return JsonGeocodeResponseParser.parseLazily(originalQueryString, body, projection, stringPool);
+        } else if (byteLevelDecoding) {
+            return JsonGeocodeResponseParser.decode(originalQueryString, body, projection, stringPool);
+        } else {
+            return JsonGeocodeResponseParser.parse(originalQueryString, new ByteArrayInputStream(body), projection, stringPool);
+        }
+    }
+
+    private static GeocodeException toGeocodeException(Exception e) {
+        if ((e instanceof ClientProtocolException) || (e instanceof HttpException)) {
             LOGGER.error("An HTTP protocol error occurred", e);
 
-            throw new GeocodeException("An HTTP protocol error occurred", e);
-        } catch (IOException e) {
+            return new GeocodeException("An HTTP protocol error occurred", e);
+        } else if (e instanceof IOException) {
             LOGGER.error("An I/O exception occurred while reading the response", e);
 
-            throw new GeocodeException("An I/O exception occurred while reading the response", e);
-        } finally {
-            httpClient.getConnectionManager().closeExpiredConnections();
+            return new GeocodeException("An I/O exception occurred while reading the response", e);
+        } else {
+            LOGGER.error("An error occurred while sending the request", e);
+
+            return new GeocodeException("An error occurred while sending the request", e);
         }
     }
 
-    static Builder newBuilder(String address, HttpClient httpClient,
-            GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials) {
-        return new Builder(address, httpClient, googleMapsApiPremierCredentials);
+    /**
+     * Compares the specified object with this {@code GoogleGeocodeRequest} for equality.
+     * Returns {@code true} if the given object is also a Google geocode request, the two requests are sent
+     * to the same URI, that is they have the same address or geographic coordinates, viewport bias, region bias,
+     * language and client, and their responses have the same projection. The HTTP clients and the executor
+     * sending the requests are not compared.
+     *
+     * @param o object to be compared for equality with this {@code GoogleGeocodeRequest}
+     * @return {@code true} if the specified object is equal to this geocode request; {@code false} otherwise
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        } else if (!(o instanceof GoogleGeocodeRequest)) {
+            return false;
+        }
+
+        GoogleGeocodeRequest other = (GoogleGeocodeRequest) o;
+
+        return requestUriString.equals(other.requestUriString) && (projection == other.projection);
+    }
+
+    /**
+     * Returns the hash code value for this {@code GoogleGeocodeRequest}. The hash code of a Google geocode
+     * request is calculated from its request URI and its response projection.
+     *
+     * @return hash code value for this {@code GoogleGeocodeRequest}
+     */
+    @Override
+    public int hashCode() {
+        return 31 * requestUriString.hashCode() + projection.ordinal();
+    }
+
+    static Builder newBuilder(String address, HttpClient httpClient, HttpAsyncClient httpAsyncClient,
+            Executor executor, GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials) {
+        return new Builder(address, httpClient, httpAsyncClient, executor, googleMapsApiPremierCredentials);
     }
 
     static Builder newBuilder(GeographicLocation geographicCoordinates, HttpClient httpClient,
+            HttpAsyncClient httpAsyncClient, Executor executor,
             GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials) {
-        return new Builder(geographicCoordinates, httpClient, googleMapsApiPremierCredentials);
+        return new Builder(geographicCoordinates, httpClient, httpAsyncClient, executor, googleMapsApiPremierCredentials);
     }
 
     /**
@@ -138,23 +457,34 @@ public final class GoogleGeocodeRequest implements GeocodeRequest, Serializable
     public static final class Builder implements GeocodeRequest.Builder<GoogleGeocodeRequest> {
 
         private final HttpClient httpClient;
+        private final HttpAsyncClient httpAsyncClient;
+        private final Executor executor;
         private final GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials;
         private String address;
         private GeographicLocation geographicCoordinates;
         private GeographicArea viewportBias;
         private String regionBias;
         private String language;
+        private boolean lazyParsing;
+        private boolean byteLevelDecoding;
+        private ResponseProjection projection = ResponseProjection.FULL;
+        private StringPool stringPool;
+        private GeocoderMetrics metrics = GeocoderMetrics.DISABLED;
 
-        private Builder(HttpClient httpClient, GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials) {
+        private Builder(HttpClient httpClient, HttpAsyncClient httpAsyncClient, Executor executor,
+                GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials) {
             Validate.notNull(httpClient, "httpClient is required");
+            Validate.notNull(executor, "executor is required");
 
             this.httpClient = httpClient;
+            this.httpAsyncClient = httpAsyncClient;
+            this.executor = executor;
             this.googleMapsApiPremierCredentials = googleMapsApiPremierCredentials;
         }
 
-        private Builder(String address, HttpClient httpClient,
+        private Builder(String address, HttpClient httpClient, HttpAsyncClient httpAsyncClient, Executor executor,
                 GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials) {
-            this(httpClient, googleMapsApiPremierCredentials);
+            this(httpClient, httpAsyncClient, executor, googleMapsApiPremierCredentials);
 
             Validate.notNull(address, "address is required");
 
@@ -162,8 +492,9 @@ public final class GoogleGeocodeRequest implements GeocodeRequest, Serializable
         }
 
         private Builder(GeographicLocation geographicCoordinates, HttpClient httpClient,
+                HttpAsyncClient httpAsyncClient, Executor executor,
                 GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials) {
-            this(httpClient, googleMapsApiPremierCredentials);
+            this(httpClient, httpAsyncClient, executor, googleMapsApiPremierCredentials);
 
             Validate.notNull(geographicCoordinates, "geographicCoordinates is required");
 
@@ -235,5 +566,100 @@ public final class GoogleGeocodeRequest implements GeocodeRequest, Serializable
 
             return this;
         }
+
+        /**
+         * Instructs the request to parse the geocoded addresses of its response lazily. The status of the response
+         * is parsed and validated as usual, but every geocoded address is parsed only on its first access and
+         * memoized afterwards, so the callers reading only the first result do not pay for parsing the others.
+         * The raw response is kept in memory until every geocoded address is parsed.
+         * <p />
+         * <i>Note that a missing mandatory field of a geocoded address is only reported when that geocoded
+         * address is accessed. The request URI, and therefore the equality of the requests, is not affected.</i>
+         *
+         * @return a reference to this {@code Builder}
+         */
+        public Builder withLazyParsing() {
+            this.lazyParsing = true;
+
+            return this;
+        }
+
+        /**
+         * Instructs the request to read its response into memory and to decode it by a decoder written for the
+         * shape of the Google geocode responses, which matches the field names and parses the coordinates directly
+         * from the bytes of the response. The responses the decoder does not expect, like the ones with escaped
+         * characters or missing fields, are parsed by the JSON parser, so the decoded responses and the reported
+         * errors are the same as without this option.
+         * <p />
+         * <i>Note that the lazily parsed responses are not decoded by this decoder. The request URI, and therefore
+         * the equality of the requests, is not affected.</i>
+         *
+         * @return a reference to this {@code Builder}
+         */
+        public Builder withByteLevelDecoding() {
+            this.byteLevelDecoding = true;
+
+            return this;
+        }
+
+        /**
+         * Defines which fields of the geocoded addresses are parsed from the response. The fields not included in
+         * the projection are skipped without being parsed or validated, so the callers needing the geographic
+         * locations only do not pay for building the address components and the viewports. The geocoded addresses
+         * of the response are parsed with {@link ResponseProjection#FULL} by default.
+         * <p />
+         * <i>Note that the request URI is not affected, but the requests with different projections are not
+         * equal, so their responses are cached separately.</i>
+         *
+         * @param projection the projection of the geocoded addresses
+         * @throws NullPointerException if {@code projection} is {@code null}
+         * @return a reference to this {@code Builder}
+         */
+        public Builder withProjection(ResponseProjection projection) {
+            Validate.notNull(projection, "projection is required");
+
+            this.projection = projection;
+
+            return this;
+        }
+
+        /**
+         * Instructs the request to intern the formatted addresses and the names of the address components of its
+         * response by {@code stringPool}. The requests sharing the same pool share the instances of the frequent
+         * strings, like the names of the countries and cities, which reduces the heap footprint of the retained,
+         * e.g. cached, responses.
+         * <p />
+         * <i>Note that the request URI, and therefore the equality of the requests, is not affected.</i>
+         *
+         * @param stringPool the pool interning the strings of the response
+         * @throws NullPointerException if {@code stringPool} is {@code null}
+         * @return a reference to this {@code Builder}
+         */
+        public Builder withStringPool(StringPool stringPool) {
+            Validate.notNull(stringPool, "stringPool is required");
+
+            this.stringPool = stringPool;
+
+            return this;
+        }
+
+        /**
+         * Instructs the request to record the latencies of its phases, the HTTP status code and the geocode status
+         * of its response to {@code metrics}. The requests created by a geocoder record to the metrics of the
+         * geocoder by default.
+         * <p />
+         * <i>Note that the request URI, and therefore the equality of the requests, is not affected.</i>
+         *
+         * @param metrics the metrics recording the latencies and the statuses
+         * @throws NullPointerException if {@code metrics} is {@code null}
+         * @return a reference to this {@code Builder}
+         */
+        public Builder withMetrics(GeocoderMetrics metrics) {
+            Validate.notNull(metrics, "metrics is required");
+
+            this.metrics = metrics;
+
+            return this;
+        }
     }
 }
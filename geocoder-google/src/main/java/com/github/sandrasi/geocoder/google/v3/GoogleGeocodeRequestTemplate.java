@@ -0,0 +1,283 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import com.github.sandrasi.geocoder.components.GeographicArea;
+import com.github.sandrasi.geocoder.components.GeographicLocation;
+import com.github.sandrasi.geocoder.metrics.GeocoderMetrics;
+import com.github.sandrasi.geocoder.util.StringPool;
+import org.apache.commons.lang3.Validate;
+import org.apache.http.client.HttpClient;
+import org.apache.http.nio.client.HttpAsyncClient;
+
+/**
+ * {@code GoogleGeocodeRequestTemplate} creates {@link GoogleGeocodeRequest}s sharing the same viewport bias, region
+ * bias, language and response options. The shared parameters are validated and encoded once, when the template is
+ * built, so creating a request from the template only encodes its address or geographic coordinates (and signs
+ * the request URI if the geocoder has premier credentials).
+ * <p>
+ * The requests created by a template are equal to the ones built by a {@link GoogleGeocodeRequest.Builder} with
+ * the same components. Templates are immutable and thread-safe, so a single template can be shared by every thread
+ * of a service.
+ */
+public final class GoogleGeocodeRequestTemplate {
+
+    private final HttpClient httpClient;
+    private final HttpAsyncClient httpAsyncClient;
+    private final Executor executor;
+    private final GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials;
+    private final String sharedParameters;
+    private final boolean lazyParsing;
+    private final boolean byteLevelDecoding;
+    private final ResponseProjection projection;
+    private final StringPool stringPool;
+    private final Supplier<GeocoderMetrics> metrics;
+
+    private GoogleGeocodeRequestTemplate(Builder builder) {
+        httpClient = builder.httpClient;
+        httpAsyncClient = builder.httpAsyncClient;
+        executor = builder.executor;
+        googleMapsApiPremierCredentials = builder.googleMapsApiPremierCredentials;
+        sharedParameters = GoogleGeocodeRequest.encodeSharedParameters(builder.viewportBias, builder.regionBias,
+                builder.language, builder.googleMapsApiPremierCredentials);
+        lazyParsing = builder.lazyParsing;
+        byteLevelDecoding = builder.byteLevelDecoding;
+        projection = builder.projection;
+        stringPool = builder.stringPool;
+        metrics = builder.metrics;
+    }
+
+    /**
+     * Creates a new request geocoding the given address with the components of this template.
+     *
+     * @param address the address to geocode
+     * @throws NullPointerException if {@code address} is {@code null}
+     * @return a new instance of {@link GoogleGeocodeRequest}
+     */
+    public GoogleGeocodeRequest newGeocodeRequest(String address) {
+        Validate.notNull(address, "address is required");
+
+        return new GoogleGeocodeRequest(address, GoogleGeocodeRequest.createUri(address, sharedParameters, googleMapsApiPremierCredentials), this);
+    }
+
+    /**
+     * Creates a new request looking up the address of the given geographic coordinates with the components of this
+     * template.
+     *
+     * @param latitude the latitude of the geographic coordinates
+     * @param longitude the longitude of the geographic coordinates
+     * @throws IllegalArgumentException if either {@code latitude} or {@code longitude} is out of its valid range
+     * @return a new instance of {@link GoogleGeocodeRequest}
+     */
+    public GoogleGeocodeRequest newGeocodeRequest(double latitude, double longitude) {
+        GeographicLocation geographicCoordinates = GeographicLocation.fromValues(latitude, longitude);
+
+        return new GoogleGeocodeRequest(GoogleGeocodeRequest.getOriginalQueryString(geographicCoordinates),
+                GoogleGeocodeRequest.createUri(geographicCoordinates, sharedParameters, googleMapsApiPremierCredentials), this);
+    }
+
+    HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    HttpAsyncClient getHttpAsyncClient() {
+        return httpAsyncClient;
+    }
+
+    Executor getExecutor() {
+        return executor;
+    }
+
+    boolean isLazyParsing() {
+        return lazyParsing;
+    }
+
+    boolean isByteLevelDecoding() {
+        return byteLevelDecoding;
+    }
+
+    ResponseProjection getProjection() {
+        return projection;
+    }
+
+    StringPool getStringPool() {
+        return stringPool;
+    }
+
+    GeocoderMetrics getMetrics() {
+        return metrics.get();
+    }
+
+    static Builder newBuilder(HttpClient httpClient, HttpAsyncClient httpAsyncClient, Executor executor,
+            GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials) {
+        return new Builder(httpClient, httpAsyncClient, executor, googleMapsApiPremierCredentials);
+    }
+
+    /**
+     * A factory class to construct a new {@link GoogleGeocodeRequestTemplate} with the components shared by the
+     * requests created from it. The components have the same meaning as the ones of the
+     * {@link GoogleGeocodeRequest.Builder}. All of the components are optional and the method calls to define them
+     * can be chained.
+     */
+    public static final class Builder {
+
+        private final HttpClient httpClient;
+        private final HttpAsyncClient httpAsyncClient;
+        private final Executor executor;
+        private final GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials;
+        private GeographicArea viewportBias;
+        private String regionBias;
+        private String language;
+        private boolean lazyParsing;
+        private boolean byteLevelDecoding;
+        private ResponseProjection projection = ResponseProjection.FULL;
+        private StringPool stringPool;
+        private Supplier<GeocoderMetrics> metrics = () -> GeocoderMetrics.DISABLED;
+
+        private Builder(HttpClient httpClient, HttpAsyncClient httpAsyncClient, Executor executor,
+                GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials) {
+            Validate.notNull(httpClient, "httpClient is required");
+            Validate.notNull(executor, "executor is required");
+
+            this.httpClient = httpClient;
+            this.httpAsyncClient = httpAsyncClient;
+            this.executor = executor;
+            this.googleMapsApiPremierCredentials = googleMapsApiPremierCredentials;
+        }
+
+        /**
+         * Instantiates a new {@link GoogleGeocodeRequestTemplate} with the components defined in this builder.
+         *
+         * @return a new instance of {@link GoogleGeocodeRequestTemplate}
+         */
+        public GoogleGeocodeRequestTemplate build() {
+            return new GoogleGeocodeRequestTemplate(this);
+        }
+
+        /**
+         * Defines the bounding box of the viewport within which to bias geocode results more prominently.
+         *
+         * @param southWestCorner the southwest coordinate of the bounding box
+         * @param northEastCorner the northeast coordinate of the bounding box
+         * @throws NullPointerException if either {@code southWestCorner} or {@code northEastCorner} is {@code null}
+         * @return a reference to this {@code Builder}
+         * @see GoogleGeocodeRequest.Builder#withViewportBiasing(GeographicLocation, GeographicLocation)
+         */
+        public Builder withViewportBiasing(GeographicLocation southWestCorner, GeographicLocation northEastCorner) {
+            this.viewportBias = new GeographicArea(southWestCorner, northEastCorner);
+
+            return this;
+        }
+
+        /**
+         * Instructs the Google Geocoding API to return results biased to a particular region.
+         *
+         * @param regionBias the region code, specified as a ccTLD ("top-level domain") two-character value
+         * @throws NullPointerException if {@code regionBias} is {@code null}
+         * @return a reference to this {@code Builder}
+         * @see GoogleGeocodeRequest.Builder#withRegionBiasing(String)
+         */
+        public Builder withRegionBiasing(String regionBias) {
+            Validate.notNull(regionBias, "regionBias is required");
+
+            this.regionBias = regionBias;
+
+            return this;
+        }
+
+        /**
+         * Sets the language in which to return results.
+         *
+         * @param language the language code
+         * @throws NullPointerException if {@code language} is {@code null}
+         * @return a reference to this {@code Builder}
+         * @see GoogleGeocodeRequest.Builder#inLanguage(String)
+         */
+        public Builder inLanguage(String language) {
+            Validate.notNull(language, "language is required");
+
+            this.language = language;
+
+            return this;
+        }
+
+        /**
+         * Instructs the requests to parse the geocoded addresses of their responses lazily.
+         *
+         * @return a reference to this {@code Builder}
+         * @see GoogleGeocodeRequest.Builder#withLazyParsing()
+         */
+        public Builder withLazyParsing() {
+            this.lazyParsing = true;
+
+            return this;
+        }
+
+        /**
+         * Instructs the requests to decode their responses by the byte-level decoder.
+         *
+         * @return a reference to this {@code Builder}
+         * @see GoogleGeocodeRequest.Builder#withByteLevelDecoding()
+         */
+        public Builder withByteLevelDecoding() {
+            this.byteLevelDecoding = true;
+
+            return this;
+        }
+
+        /**
+         * Defines which fields of the geocoded addresses are parsed from the responses.
+         *
+         * @param projection the projection of the geocoded addresses
+         * @throws NullPointerException if {@code projection} is {@code null}
+         * @return a reference to this {@code Builder}
+         * @see GoogleGeocodeRequest.Builder#withProjection(ResponseProjection)
+         */
+        public Builder withProjection(ResponseProjection projection) {
+            Validate.notNull(projection, "projection is required");
+
+            this.projection = projection;
+
+            return this;
+        }
+
+        /**
+         * Instructs the requests to intern the strings of their responses by {@code stringPool}.
+         *
+         * @param stringPool the pool interning the strings of the responses
+         * @throws NullPointerException if {@code stringPool} is {@code null}
+         * @return a reference to this {@code Builder}
+         * @see GoogleGeocodeRequest.Builder#withStringPool(StringPool)
+         */
+        public Builder withStringPool(StringPool stringPool) {
+            Validate.notNull(stringPool, "stringPool is required");
+
+            this.stringPool = stringPool;
+
+            return this;
+        }
+
+        /**
+         * Instructs the requests to record their latencies and statuses to {@code metrics}. By default the requests
+         * use the metrics their geocoder has at the time they are created from the template.
+         *
+         * @param metrics the metrics recording the latencies and the statuses
+         * @throws NullPointerException if {@code metrics} is {@code null}
+         * @return a reference to this {@code Builder}
+         * @see GoogleGeocodeRequest.Builder#withMetrics(GeocoderMetrics)
+         */
+        public Builder withMetrics(GeocoderMetrics metrics) {
+            Validate.notNull(metrics, "metrics is required");
+
+            this.metrics = () -> metrics;
+
+            return this;
+        }
+
+        Builder withMetricsOf(Supplier<GeocoderMetrics> metrics) {
+            this.metrics = metrics;
+
+            return this;
+        }
+    }
+}
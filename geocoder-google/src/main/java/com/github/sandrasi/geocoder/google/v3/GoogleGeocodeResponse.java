@@ -10,7 +10,6 @@ import com.github.sandrasi.geocoder.components.GeocodeStatus;
 import com.github.sandrasi.geocoder.components.GeocodedAddress;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 /**
  * {@code GoogleGeocodeResponse} represents the result of an address lookup or a reverse geocoding.
@@ -26,10 +25,16 @@ public final class GoogleGeocodeResponse implements GeocodeResponse, Serializabl
     private final GeocodeStatus geocodeStatus;
     private final List<GeocodedAddress> geocodedAddresses;
 
+    private transient int hashCode;
+
     private GoogleGeocodeResponse(Builder builder) {
-        this.queryString = builder.queryString;
-        this.geocodeStatus = builder.geocodeStatus;
-        this.geocodedAddresses = Collections.unmodifiableList(builder.geocodedAddresses);
+        this(builder.queryString, builder.geocodeStatus, builder.geocodedAddresses);
+    }
+
+    private GoogleGeocodeResponse(String queryString, GeocodeStatus geocodeStatus, List<GeocodedAddress> geocodedAddresses) {
+        this.queryString = queryString;
+        this.geocodeStatus = geocodeStatus;
+        this.geocodedAddresses = Collections.unmodifiableList(geocodedAddresses);
     }
 
     /**
@@ -44,6 +49,15 @@ public final class GoogleGeocodeResponse implements GeocodeResponse, Serializabl
         return new Builder(queryString);
     }
 
+    /**
+     * Creates a new response whose geocoded addresses are parsed on their first access.
+     */
+    static GoogleGeocodeResponse newLazyResponse(String queryString, GeocodeStatus geocodeStatus, List<GeocodedAddress> geocodedAddresses) {
+        Validate.notNull(queryString, "queryString is required");
+
+        return new GoogleGeocodeResponse(queryString, geocodeStatus, geocodedAddresses);
+    }
+
     /**
      * Returns the original address that was looked up or the textual latitude / longitude values
      * which were reverse geocoded.
@@ -67,6 +81,10 @@ public final class GoogleGeocodeResponse implements GeocodeResponse, Serializabl
 
     /**
      * Returns zero or more geocoded addresses. The returned list is unmodifiable.
+     * <p>
+     * <i>Note that the geocoded addresses of a response requested with lazy parsing are parsed on their first
+     * access, so accessing them may throw a {@link com.github.sandrasi.geocoder.GeocodeException} if a
+     * mandatory field is missing from the response.</i>
      *
      * @return the list of geocoded addresses
      */
@@ -109,13 +127,21 @@ public final class GoogleGeocodeResponse implements GeocodeResponse, Serializabl
 
     /**
      * Returns the hash code value for this {@code GoogleGeocodeResponse}. The hash code of a geocode response is
-     * calculated from its status and the contained geocoded addresses.
+     * calculated from its status and the contained geocoded addresses. The hash code is computed on the first call
+     * and cached.
      *
      * @return hash code value for this {@code GoogleGeocodeResponse}
      */
     @Override
     public int hashCode() {
-        return new HashCodeBuilder().append(geocodeStatus).append(geocodedAddresses).hashCode();
+        int hashCode = this.hashCode;
+
+        if (hashCode == 0) {
+            hashCode = 31 * geocodeStatus.hashCode() + geocodedAddresses.hashCode();
+            this.hashCode = hashCode;
+        }
+
+        return hashCode;
     }
 
     /**
@@ -1,11 +1,33 @@
 package com.github.sandrasi.geocoder.google.v3;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import com.github.sandrasi.geocoder.GeocodeException;
 import com.github.sandrasi.geocoder.GeocodeResponse;
+import com.github.sandrasi.geocoder.GeocodeResult;
 import com.github.sandrasi.geocoder.Geocoder;
+import com.github.sandrasi.geocoder.cache.CachingGeocoder;
 import com.github.sandrasi.geocoder.components.GeographicLocation;
-import com.github.sandrasi.geocoder.util.Timer;
+import com.github.sandrasi.geocoder.metrics.GeocodePhase;
+import com.github.sandrasi.geocoder.metrics.GeocoderMetrics;
+import com.github.sandrasi.geocoder.util.AsyncRateLimiter;
+import com.github.sandrasi.geocoder.util.RateLimiter;
 import org.apache.commons.lang3.Validate;
 import org.apache.http.client.HttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.nio.client.HttpAsyncClient;
 
 /**
  * {@code GoogleGeocoder} is a Java wrapper around the <i>Google Geocoding API</i>. It converts
@@ -16,25 +38,57 @@ import org.apache.http.client.HttpClient;
  * <p>
  * The Google geocoding service is a subject to query limitations regarding the number of queries per 24 hours
  * and the request rate of the geocoding queries. This class supports the request rate limitation (and as such
- * the number of queries, too). <i>Even though using multiple instances of the {@code GoogleGeocoder} is
- * possible, only one instance is ought to be used at any time from the same IP address. Limiting the overall
- * rate of consecutive geocoding requests executed by the different geocoder instances is not possible
- * otherwise.</i>
+ * the number of queries, too) by a {@link RateLimiter}, which can also allow short bursts of requests.
+ * <i>Even though using multiple instances of the {@code GoogleGeocoder} is possible, only one instance is ought
+ * to be used at any time from the same IP address. Limiting the overall rate of consecutive geocoding requests
+ * executed by the different geocoder instances is not possible otherwise.</i>
+ * <p>
+ * Besides the blocking methods the geocoder offers asynchronous variants returning a {@link CompletableFuture}.
+ * If the geocoder has an asynchronous HTTP client the geocoding requests are sent without blocking any thread
+ * while waiting for the response, otherwise the blocking requests are performed by the executor of the geocoder.
+ * The asynchronous requests wait for their rate limiter permits without holding any thread, and the parsing of
+ * the responses happens on the executor of the geocoder.
+ * <p>
+ * Batches of addresses and locations can be geocoded by the {@code geocodeAll} and {@code lookupAll} methods.
+ * The items of a batch are geocoded by the asynchronous methods with a bounded degree of parallelism, so the
+ * request rate limitation applies to the batches as well.
+ * <p>
+ * The latencies of the phases of the geocoding requests and the statuses of their responses can be recorded by
+ * setting the {@link GeocoderMetrics} of the geocoder. The metrics are disabled by default.
+ * <p>
+ * A geocoder can be registered as a {@link GoogleGeocoderMXBean} to watch its statistics and to change its request
+ * rate and the sizes of its connection pool in a running JVM. The requests are counted only while the geocoder is
+ * registered.
  * <p>
  * <i>For more information see <a href="http://code.google.com/apis/maps/documentation/geocoding/">The
  * Google Geocoding API</a>.</i>
  */
 public abstract class GoogleGeocoder implements Geocoder<GoogleGeocodeRequest, GoogleGeocodeRequest.Builder> {
 
+    /**
+     * The maximum number of concurrent geocoding requests of a batch unless it is specified otherwise.
+     */
+    public static final int DEFAULT_BATCH_PARALLELISM = 4;
+
     private final HttpClient httpClient;
+    private final HttpAsyncClient httpAsyncClient;
+    private final Executor executor;
     private final GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials;
-    private final Timer timer;
+    private final RateLimiter rateLimiter;
+    private final AsyncRateLimiter asyncRateLimiter;
+    private volatile IdleConnectionEvictor idleConnectionEvictor;
+    private volatile GeocoderMetrics metrics = GeocoderMetrics.DISABLED;
+    private volatile GoogleGeocoderStatistics statistics;
+    private volatile PoolingHttpClientConnectionManager connectionManager;
+    private volatile PoolingNHttpClientConnectionManager asyncConnectionManager;
+    private volatile ObjectName mBeanName;
 
     /**
      * Constructs a new {@code GoogleGeocoder}. Depending on the used HTTP client the created instance
      * might or might not be thread-safe. The specified {@code geocodingRequestRateInMilliseconds}
      * controls the frequency of the consecutive geocoding requests. Two geocoding requests can not happen
-     * faster than the given time.
+     * faster than the given time. The asynchronous geocoding requests are performed by the common
+     * {@link ForkJoinPool}.
      *
      * @param httpClient an HTTP client to execute the HTTP request to the Google Geocode service
      * @param geocodingRequestRateInMilliseconds the minimum time between two consecutive geocoding requests
@@ -42,18 +96,61 @@ public abstract class GoogleGeocoder implements Geocoder<GoogleGeocodeRequest, G
      * @throws IllegalArgumentException if {@code geocodingRequestRateInMilliseconds} is a negative number
      */
     protected GoogleGeocoder(HttpClient httpClient, long geocodingRequestRateInMilliseconds) {
+        this(httpClient, null, ForkJoinPool.commonPool(), geocodingRequestRateInMilliseconds);
+    }
+
+    /**
+     * Constructs a new {@code GoogleGeocoder}. Depending on the used HTTP clients the created instance
+     * might or might not be thread-safe. The specified {@code geocodingRequestRateInMilliseconds}
+     * controls the frequency of the consecutive geocoding requests. Two geocoding requests can not happen
+     * faster than the given time.
+     *
+     * @param httpClient an HTTP client to execute the HTTP request to the Google Geocode service
+     * @param httpAsyncClient a started, non-blocking HTTP client to execute the asynchronous HTTP requests to
+     * the Google Geocode service, or {@code null} if the asynchronous requests should be executed by the
+     * {@code executor} using the blocking {@code httpClient}
+     * @param executor the executor to send the asynchronous geocoding requests and to parse their responses
+     * @param geocodingRequestRateInMilliseconds the minimum time between two consecutive geocoding requests
+     * @throws NullPointerException if either {@code httpClient} or {@code executor} is {@code null}
+     * @throws IllegalArgumentException if {@code geocodingRequestRateInMilliseconds} is a negative number
+     */
+    protected GoogleGeocoder(HttpClient httpClient, HttpAsyncClient httpAsyncClient, Executor executor,
+            long geocodingRequestRateInMilliseconds) {
+        this(httpClient, httpAsyncClient, executor, new RateLimiter(geocodingRequestRateInMilliseconds));
+    }
+
+    /**
+     * Constructs a new {@code GoogleGeocoder}. Depending on the used HTTP clients the created instance
+     * might or might not be thread-safe. The specified {@code rateLimiter} controls the rate and the bursts
+     * of the geocoding requests.
+     *
+     * @param httpClient an HTTP client to execute the HTTP request to the Google Geocode service
+     * @param httpAsyncClient a started, non-blocking HTTP client to execute the asynchronous HTTP requests to
+     * the Google Geocode service, or {@code null} if the asynchronous requests should be executed by the
+     * {@code executor} using the blocking {@code httpClient}
+     * @param executor the executor to send the asynchronous geocoding requests and to parse their responses
+     * @param rateLimiter the rate limiter handing out a permit for every geocoding request
+     * @throws NullPointerException if either {@code httpClient}, {@code executor} or {@code rateLimiter} is {@code null}
+     */
+    protected GoogleGeocoder(HttpClient httpClient, HttpAsyncClient httpAsyncClient, Executor executor, RateLimiter rateLimiter) {
         Validate.notNull(httpClient, "httpClient is required");
+        Validate.notNull(executor, "executor is required");
+        Validate.notNull(rateLimiter, "rateLimiter is required");
 
         this.httpClient = httpClient;
+        this.httpAsyncClient = httpAsyncClient;
+        this.executor = executor;
         this.googleMapsApiPremierCredentials = null;
-        this.timer = new Timer(geocodingRequestRateInMilliseconds);
+        this.rateLimiter = rateLimiter;
+        this.asyncRateLimiter = new AsyncRateLimiter(rateLimiter);
     }
 
     /**
      * Constructs a new {@code GoogleGeocoder}. Depending on the used HTTP client the created instance
      * might or might not be thread-safe. The specified {@code geocodingRequestRateInMilliseconds}
      * controls the frequency of the consecutive geocoding requests. Two geocoding requests can not happen
-     * faster than the given time.
+     * faster than the given time. The asynchronous geocoding requests are performed by the common
+     * {@link ForkJoinPool}.
      *
      * @param httpClient an HTTP client to execute the HTTP request to the Google Geocode service
      * @param googleMapsApiPremierCredentials credentials for accessing the premier Google Maps API Web Services
@@ -64,12 +161,59 @@ public abstract class GoogleGeocoder implements Geocoder<GoogleGeocodeRequest, G
      */
     protected GoogleGeocoder(HttpClient httpClient, GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials,
             long geocodingRequestRateInMilliseconds) {
+        this(httpClient, null, ForkJoinPool.commonPool(), googleMapsApiPremierCredentials, geocodingRequestRateInMilliseconds);
+    }
+
+    /**
+     * Constructs a new {@code GoogleGeocoder}. Depending on the used HTTP clients the created instance
+     * might or might not be thread-safe. The specified {@code geocodingRequestRateInMilliseconds}
+     * controls the frequency of the consecutive geocoding requests. Two geocoding requests can not happen
+     * faster than the given time.
+     *
+     * @param httpClient an HTTP client to execute the HTTP request to the Google Geocode service
+     * @param httpAsyncClient a started, non-blocking HTTP client to execute the asynchronous HTTP requests to
+     * the Google Geocode service, or {@code null} if the asynchronous requests should be executed by the
+     * {@code executor} using the blocking {@code httpClient}
+     * @param executor the executor to send the asynchronous geocoding requests and to parse their responses
+     * @param googleMapsApiPremierCredentials credentials for accessing the premier Google Maps API Web Services
+     * @param geocodingRequestRateInMilliseconds the minimum time between two consecutive geocoding requests
+     * @throws NullPointerException if either {@code httpClient}, {@code executor} or
+     * {@code googleMapsApiPremierCrendentials} is {@code null}
+     * @throws IllegalArgumentException if {@code geocodingRequestRateInMilliseconds} is a negative number
+     */
+    protected GoogleGeocoder(HttpClient httpClient, HttpAsyncClient httpAsyncClient, Executor executor,
+            GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials, long geocodingRequestRateInMilliseconds) {
+        this(httpClient, httpAsyncClient, executor, googleMapsApiPremierCredentials, new RateLimiter(geocodingRequestRateInMilliseconds));
+    }
+
+    /**
+     * Constructs a new {@code GoogleGeocoder}. Depending on the used HTTP clients the created instance
+     * might or might not be thread-safe. The specified {@code rateLimiter} controls the rate and the bursts
+     * of the geocoding requests.
+     *
+     * @param httpClient an HTTP client to execute the HTTP request to the Google Geocode service
+     * @param httpAsyncClient a started, non-blocking HTTP client to execute the asynchronous HTTP requests to
+     * the Google Geocode service, or {@code null} if the asynchronous requests should be executed by the
+     * {@code executor} using the blocking {@code httpClient}
+     * @param executor the executor to send the asynchronous geocoding requests and to parse their responses
+     * @param googleMapsApiPremierCredentials credentials for accessing the premier Google Maps API Web Services
+     * @param rateLimiter the rate limiter handing out a permit for every geocoding request
+     * @throws NullPointerException if either {@code httpClient}, {@code executor},
+     * {@code googleMapsApiPremierCrendentials} or {@code rateLimiter} is {@code null}
+     */
+    protected GoogleGeocoder(HttpClient httpClient, HttpAsyncClient httpAsyncClient, Executor executor,
+            GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials, RateLimiter rateLimiter) {
         Validate.notNull(httpClient, "httpClient is required");
+        Validate.notNull(executor, "executor is required");
         Validate.notNull(googleMapsApiPremierCredentials, "googleMapsApiPremierCredentials is required");
+        Validate.notNull(rateLimiter, "rateLimiter is required");
 
         this.httpClient = httpClient;
+        this.httpAsyncClient = httpAsyncClient;
+        this.executor = executor;
         this.googleMapsApiPremierCredentials = googleMapsApiPremierCredentials;
-        this.timer = new Timer(geocodingRequestRateInMilliseconds);
+        this.rateLimiter = rateLimiter;
+        this.asyncRateLimiter = new AsyncRateLimiter(rateLimiter);
     }
 
     /**
@@ -77,7 +221,8 @@ public abstract class GoogleGeocoder implements Geocoder<GoogleGeocodeRequest, G
      */
     @Override
     public GoogleGeocodeRequest.Builder newGeocodeRequestBuilder(String address) {
-        return GoogleGeocodeRequest.newBuilder(address, httpClient, googleMapsApiPremierCredentials);
+        return GoogleGeocodeRequest.newBuilder(address, httpClient, httpAsyncClient, executor, googleMapsApiPremierCredentials)
+                .withMetrics(metrics);
     }
 
     /**
@@ -85,7 +230,22 @@ public abstract class GoogleGeocoder implements Geocoder<GoogleGeocodeRequest, G
      */
     @Override
     public GoogleGeocodeRequest.Builder newGeocodeRequestBuilder(double latitude, double longitude) {
-        return GoogleGeocodeRequest.newBuilder(GeographicLocation.fromValues(latitude, longitude), httpClient, googleMapsApiPremierCredentials);
+        return GoogleGeocodeRequest.newBuilder(GeographicLocation.fromValues(latitude, longitude), httpClient,
+                httpAsyncClient, executor, googleMapsApiPremierCredentials).withMetrics(metrics);
+    }
+
+    /**
+     * Returns a builder of a request template. The requests created from the template share the viewport bias,
+     * region bias, language and response options defined by the builder, which are encoded only once, when the
+     * template is built. The requests are executed by the HTTP clients and the executor of this geocoder and they
+     * are signed by its premier credentials, if there are any. Unless the builder sets other metrics, the requests
+     * record to the metrics this geocoder has at the time they are created from the template.
+     *
+     * @return a new builder of a {@link GoogleGeocodeRequestTemplate}
+     */
+    public GoogleGeocodeRequestTemplate.Builder newGeocodeRequestTemplateBuilder() {
+        return GoogleGeocodeRequestTemplate.newBuilder(httpClient, httpAsyncClient, executor, googleMapsApiPremierCredentials)
+                .withMetricsOf(this::getMetrics);
     }
 
     /**
@@ -109,11 +269,293 @@ public abstract class GoogleGeocoder implements Geocoder<GoogleGeocodeRequest, G
      */
     @Override
     public GeocodeResponse geocode(GoogleGeocodeRequest geocodeRequest) {
-        timer.sleep();
+        GeocoderMetrics metrics = this.metrics;
+        GoogleGeocoderStatistics statistics = this.statistics;
+
+        if (metrics.isEnabled() || (statistics != null)) {
+            long requestTime = System.nanoTime();
+
+            rateLimiter.acquire();
+            long waitTime = System.nanoTime() - requestTime;
+
+            if (metrics.isEnabled()) {
+                metrics.recordLatency(GeocodePhase.RATE_LIMIT_WAIT, waitTime);
+            }
+
+            if (statistics != null) {
+                statistics.recordBlockingWaitTime(waitTime);
+
+                return executeCounted(geocodeRequest, statistics);
+            }
+        } else {
+            rateLimiter.acquire();
+        }
 
         return geocodeRequest.execute();
     }
 
+    private static GeocodeResponse executeCounted(GoogleGeocodeRequest geocodeRequest, GoogleGeocoderStatistics statistics) {
+        statistics.recordPermit();
+        statistics.requestStarted();
+
+        try {
+            return geocodeRequest.execute();
+        } finally {
+            statistics.requestFinished();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<GeocodeResponse> geocodeAddressAsync(String address) {
+        return geocodeAsync(newGeocodeRequestBuilder(address).build());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<GeocodeResponse> lookupAddressAsync(double latitude, double longitude) {
+        return geocodeAsync(newGeocodeRequestBuilder(latitude, longitude).build());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<GeocodeResponse> geocodeAsync(final GoogleGeocodeRequest geocodeRequest) {
+        Validate.notNull(geocodeRequest, "geocodeRequest is required");
+
+        GeocoderMetrics metrics = this.metrics;
+        GoogleGeocoderStatistics statistics = this.statistics;
+        CompletableFuture<Void> permit;
+
+        if (metrics.isEnabled()) {
+            long requestTime = System.nanoTime();
+
+            permit = asyncRateLimiter.acquireAsync().thenRun(() -> metrics.recordLatency(GeocodePhase.RATE_LIMIT_WAIT, System.nanoTime() - requestTime));
+        } else {
+            permit = asyncRateLimiter.acquireAsync();
+        }
+
+        if (statistics != null) {
+            return permit.thenComposeAsync(v -> executeAsyncCounted(geocodeRequest, statistics), executor);
+        }
+
+        return permit.thenComposeAsync(v -> geocodeRequest.executeAsyncOnExecutor(), executor);
+    }
+
+    private static CompletableFuture<GeocodeResponse> executeAsyncCounted(GoogleGeocodeRequest geocodeRequest, GoogleGeocoderStatistics statistics) {
+        statistics.recordPermit();
+        statistics.requestStarted();
+
+        try {
+            return geocodeRequest.executeAsyncOnExecutor().whenComplete((geocodeResponse, throwable) -> statistics.requestFinished());
+        } catch (RuntimeException e) {
+            statistics.requestFinished();
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<GeocodeResult> geocodeAll(Iterable<String> addresses) {
+        return geocodeAll(addresses, DEFAULT_BATCH_PARALLELISM);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<GeocodeResult> geocodeAll(Iterable<String> addresses, int parallelism) {
+        Validate.notNull(addresses, "addresses is required");
+        Validate.isTrue(parallelism > 0, "parallelism must be a positive number");
+
+        Batch batch = new Batch(parallelism);
+
+        for (String address : addresses) {
+            batch.submit(address, () -> newGeocodeRequestBuilder(address).build());
+        }
+
+        return batch.awaitResults();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<GeocodeResult> lookupAll(double[] latitudes, double[] longitudes) {
+        return lookupAll(latitudes, longitudes, DEFAULT_BATCH_PARALLELISM);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<GeocodeResult> lookupAll(double[] latitudes, double[] longitudes, int parallelism) {
+        Validate.notNull(latitudes, "latitudes is required");
+        Validate.notNull(longitudes, "longitudes is required");
+        Validate.isTrue(latitudes.length == longitudes.length, "latitudes and longitudes must have the same length");
+        Validate.isTrue(parallelism > 0, "parallelism must be a positive number");
+
+        Batch batch = new Batch(parallelism);
+
+        for (int i = 0; i < latitudes.length; i++) {
+            double latitude = latitudes[i];
+            double longitude = longitudes[i];
+
+            batch.submit(latitude + ", " + longitude, () -> newGeocodeRequestBuilder(latitude, longitude).build());
+        }
+
+        return batch.awaitResults();
+    }
+
+    /**
+     * Provides access for the implementing classes to the used {@code RateLimiter}.
+     *
+     * @return the rate limiter handing out a permit for every geocoding request
+     */
+    protected RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Returns the rate limiter handing out the permits of the asynchronous geocoding requests. It shares the
+     * permits with the rate limiter of the blocking requests and it reports the number of pending requests and
+     * their wait times.
+     *
+     * @return the asynchronous rate limiter of this geocoder
+     */
+    public AsyncRateLimiter getAsyncRateLimiter() {
+        return asyncRateLimiter;
+    }
+
+    /**
+     * Returns the number of the unknown statuses, location types and address component types found in the
+     * responses parsed so far. Every distinct unknown value is logged only once, so this count tells how often
+     * the service returns values this version of the geocoder does not know about. The count is shared by every
+     * Google geocoder.
+     *
+     * @return the number of the unknown values found in the responses
+     */
+    public static long getUnknownResponseValueCount() {
+        return JsonGeocodeResponseParser.getUnknownValueCount();
+    }
+
+    /**
+     * Returns the metrics recording the latencies and the statuses of the geocoding requests of this geocoder.
+     *
+     * @return the metrics of this geocoder, {@link GeocoderMetrics#DISABLED} by default
+     */
+    public GeocoderMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the metrics recording the latencies of the phases of the geocoding requests and the statuses of their
+     * responses. The metrics are used by the requests created after this call, including the requests created from
+     * the existing templates of this geocoder; the time waited for the rate limiter is recorded by the geocoder for
+     * every request it geocodes.
+     *
+     * @param metrics the metrics recording the latencies and the statuses, or {@link GeocoderMetrics#DISABLED}
+     * @throws NullPointerException if {@code metrics} is {@code null}
+     */
+    public void setMetrics(GeocoderMetrics metrics) {
+        Validate.notNull(metrics, "metrics is required");
+
+        this.metrics = metrics;
+    }
+
+    /**
+     * Registers this geocoder as a {@link GoogleGeocoderMXBean} in the platform MBean server under the name
+     * {@code com.github.sandrasi.geocoder:type=GoogleGeocoder,name=<name>}.
+     *
+     * @param name the name identifying this geocoder among the registered geocoders
+     * @throws NullPointerException if {@code name} is {@code null}
+     * @throws IllegalStateException if this geocoder has already been registered
+     * @throws GeocodeException if the MBean can not be registered, e.g. another geocoder has been registered under
+     * the same name
+     * @return the object name of the registered MBean
+     */
+    public ObjectName registerMBean(String name) {
+        return registerMBean(name, null);
+    }
+
+    /**
+     * Registers this geocoder as a {@link GoogleGeocoderMXBean} in the platform MBean server under the name
+     * {@code com.github.sandrasi.geocoder:type=GoogleGeocoder,name=<name>}. The MBean reports the hit rate of
+     * {@code cachingGeocoder}, the cache in front of this geocoder.
+     *
+     * @param name the name identifying this geocoder among the registered geocoders
+     * @param cachingGeocoder the caching geocoder wrapping this geocoder, or {@code null} if there is none
+     * @throws NullPointerException if {@code name} is {@code null}
+     * @throws IllegalStateException if this geocoder has already been registered
+     * @throws GeocodeException if the MBean can not be registered, e.g. another geocoder has been registered under
+     * the same name
+     * @return the object name of the registered MBean
+     */
+    public synchronized ObjectName registerMBean(String name, CachingGeocoder<?, ?> cachingGeocoder) {
+        Validate.notNull(name, "name is required");
+        Validate.validState(mBeanName == null, "The geocoder has already been registered as " + mBeanName);
+
+        try {
+            ObjectName objectName = new ObjectName("com.github.sandrasi.geocoder:type=GoogleGeocoder,name=" + ObjectName.quote(name));
+            GoogleGeocoderStatistics statistics = new GoogleGeocoderStatistics();
+            StandardMBean mBean = new StandardMBean(new GoogleGeocoderManagement(this, statistics, cachingGeocoder), GoogleGeocoderMXBean.class, true);
+
+            ManagementFactory.getPlatformMBeanServer().registerMBean(mBean, objectName);
+            mBeanName = objectName;
+            this.statistics = statistics;
+
+            return objectName;
+        } catch (JMException e) {
+            throw new GeocodeException("The geocoder can not be registered as " + name, e);
+        }
+    }
+
+    /**
+     * Unregisters the MBean of this geocoder from the platform MBean server, if it has been registered. The
+     * implementing classes must call this method when the geocoder is closed.
+     */
+    public synchronized void unregisterMBean() {
+        ObjectName objectName = mBeanName;
+
+        if (objectName == null) {
+            return;
+        }
+
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            throw new GeocodeException("The geocoder can not be unregistered as " + objectName, e);
+        }
+
+        mBeanName = null;
+        statistics = null;
+    }
+
+    PoolingHttpClientConnectionManager getConnectionManager() {
+        return connectionManager;
+    }
+
+    PoolingNHttpClientConnectionManager getAsyncConnectionManager() {
+        return asyncConnectionManager;
+    }
+
+    void setConnectionManagers(PoolingHttpClientConnectionManager connectionManager,
+            PoolingNHttpClientConnectionManager asyncConnectionManager) {
+        this.connectionManager = connectionManager;
+        this.asyncConnectionManager = asyncConnectionManager;
+    }
+
     /**
      * Provides access for the implementing classes to the used {@code HttpClient}.
      *
@@ -122,4 +564,99 @@ public abstract class GoogleGeocoder implements Geocoder<GoogleGeocodeRequest, G
     protected HttpClient getHttpClient() {
         return httpClient;
     }
+
+    /**
+     * Provides access for the implementing classes to the used {@code HttpAsyncClient}.
+     *
+     * @return the non-blocking HTTP client to execute the asynchronous HTTP requests to the Google Geocode
+     * service, or {@code null} if the geocoder does not have one
+     */
+    protected HttpAsyncClient getHttpAsyncClient() {
+        return httpAsyncClient;
+    }
+
+    /**
+     * Returns the evictor closing the expired and idle connections of this geocoder.
+     *
+     * @return the idle connection evictor of this geocoder, or {@code null} if the geocoder does not have one
+     */
+    public IdleConnectionEvictor getIdleConnectionEvictor() {
+        return idleConnectionEvictor;
+    }
+
+    /**
+     * Stops the idle connection evictor of this geocoder, if there is one. The implementing classes owning the
+     * HTTP clients must call this method when the geocoder is closed.
+     */
+    protected void stopIdleConnectionEvictor() {
+        IdleConnectionEvictor evictor = idleConnectionEvictor;
+
+        if (evictor != null) {
+            evictor.shutdown();
+        }
+    }
+
+    void startIdleConnectionEvictor(IdleConnectionEvictor idleConnectionEvictor) {
+        Validate.notNull(idleConnectionEvictor, "idleConnectionEvictor is required");
+        Validate.validState(this.idleConnectionEvictor == null, "The idle connection evictor has already been started");
+
+        this.idleConnectionEvictor = idleConnectionEvictor;
+        idleConnectionEvictor.start();
+    }
+
+    /**
+     * The geocoding requests of a batch in progress. The submitting thread is blocked as long as the maximum
+     * number of requests are in progress, and the results are collected in the order of the submission.
+     */
+    private final class Batch {
+
+        private final Semaphore permits;
+        private final List<CompletableFuture<GeocodeResult>> results = new ArrayList<>();
+
+        private Batch(int parallelism) {
+            this.permits = new Semaphore(parallelism);
+        }
+
+        private void submit(final String queryString, Supplier<GoogleGeocodeRequest> geocodeRequestSupplier) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new GeocodeException("The thread " + Thread.currentThread() + " submitting a geocoding batch has been interrupted", e);
+            }
+
+            CompletableFuture<GeocodeResponse> geocodeResponse;
+
+            try {
+                geocodeResponse = geocodeAsync(geocodeRequestSupplier.get());
+            } catch (RuntimeException e) {
+                geocodeResponse = new CompletableFuture<>();
+                geocodeResponse.completeExceptionally(e);
+            }
+
+            results.add(geocodeResponse.handle((response, throwable) -> {
+                permits.release();
+
+                return (throwable == null)
+                        ? GeocodeResult.success(response)
+                        : GeocodeResult.failure(queryString, toGeocodeException(throwable));
+            }));
+        }
+
+        private List<GeocodeResult> awaitResults() {
+            List<GeocodeResult> geocodeResults = new ArrayList<>(results.size());
+
+            for (CompletableFuture<GeocodeResult> result : results) {
+                geocodeResults.add(result.join());
+            }
+
+            return geocodeResults;
+        }
+
+        private GeocodeException toGeocodeException(Throwable throwable) {
+            Throwable cause = (throwable instanceof CompletionException && throwable.getCause() != null) ? throwable.getCause() : throwable;
+
+            return (cause instanceof GeocodeException) ? (GeocodeException) cause : new GeocodeException("An error occurred while geocoding the batch item", cause);
+        }
+    }
 }
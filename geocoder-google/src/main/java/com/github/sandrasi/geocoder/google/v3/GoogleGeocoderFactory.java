@@ -1,11 +1,41 @@
 package com.github.sandrasi.geocoder.google.v3;
 
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.Validate;
 import org.apache.http.client.HttpClient;
-import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.DefaultSchemePortResolver;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.ManagedNHttpClientConnectionFactory;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.ConnectingIOReactor;
+import org.apache.http.nio.reactor.IOReactorException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.sandrasi.geocoder.GeocodeException;
 import com.github.sandrasi.geocoder.Geocoder;
+import com.github.sandrasi.geocoder.util.RateLimiter;
+import com.github.sandrasi.geocoder.util.VirtualThreads;
 
 /**
  * {@code GoogleGeocoderFactory} is a factory class to instantiate different Google Geocoder
@@ -14,6 +44,7 @@ import com.github.sandrasi.geocoder.Geocoder;
 public final class GoogleGeocoderFactory {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(GoogleGeocoder.class);
+    private static final String GEOCODER_THREAD_NAME_PREFIX = "google-geocoder-";
 
     /**
      * The default request rate of consecutive geocoding requests in milliseconds. Allows only 2,500 requests within
@@ -26,9 +57,9 @@ public final class GoogleGeocoderFactory {
     }
 
     /**
-     * Constructs a new {@code GoogleGeocoder}. The geocoder instance maintains only one active HTTP
-     * connection at any time and it is thread-safe. When the created instance of {@code GoogleGeocoder}
-     * is no longer needed and is about to go out of scope it must be closed by calling the
+     * Constructs a new {@code GoogleGeocoder}. The geocoder instance maintains a pool of HTTP connections
+     * as described by {@link HttpConnectionPoolSettings#DEFAULT} and it is thread-safe. When the created instance
+     * of {@code GoogleGeocoder} is no longer needed and is about to go out of scope it must be closed by calling the
      * {@link Geocoder#close() close()} method.
      *
      * @return a new instance of {@code GoogleGeocoder}
@@ -53,9 +84,9 @@ public final class GoogleGeocoderFactory {
     }
 
     /**
-     * Constructs a new premier {@code GoogleGeocoder}. The geocoder instance maintains only one active HTTP
-     * connection at any time and it is thread-safe. When the created instance of {@code GoogleGeocoder}
-     * is no longer needed and is about to go out of scope it must be closed by calling the
+     * Constructs a new premier {@code GoogleGeocoder}. The geocoder instance maintains a pool of HTTP connections
+     * as described by {@link HttpConnectionPoolSettings#DEFAULT} and it is thread-safe. When the created instance
+     * of {@code GoogleGeocoder} is no longer needed and is about to go out of scope it must be closed by calling the
      * {@link Geocoder#close() close()} method.
      *
      * @param googleMapsApiPremierClientId The Google Maps API Premier id to access premier benefits of the
@@ -98,24 +129,68 @@ public final class GoogleGeocoderFactory {
 
     /**
      * Constructs a new timed {@code GoogleGeocoder} with the given request rate.
-     * The geocoder instance maintains only one active HTTP connection at any time and it is thread-safe. When the created
-     * instance of {@code GoogleGeocoder} is no longer needed and is about to go out of scope it must be closed by
-     * calling the {@link Geocoder#close() close()} method.
+     * The geocoder instance maintains a pool of HTTP connections as described by
+     * {@link HttpConnectionPoolSettings#DEFAULT} and it is thread-safe. When the created instance of
+     * {@code GoogleGeocoder} is no longer needed and is about to go out of scope it must be closed by calling the
+     * {@link Geocoder#close() close()} method.
      *
      * @param geocodingRequestRateInMilliseconds the minimum number of milliseconds between two consecutive geocoding requests
      * @throws IllegalArgumentException if {@code geocodingRequestRateInMilliseconds} is a negative number
      * @return a new instance of a timed {@code GoogleGeocoder}
      */
     public static GoogleGeocoder createTimedGoogleGeocoder(long geocodingRequestRateInMilliseconds) {
-        return new GoogleGeocoder(new DefaultHttpClient(), geocodingRequestRateInMilliseconds) {
+        return createPooledGoogleGeocoder(HttpConnectionPoolSettings.DEFAULT, geocodingRequestRateInMilliseconds);
+    }
+
+    /**
+     * Constructs a new timed {@code GoogleGeocoder} with the given request rate that maintains a pool of HTTP
+     * connections as described by {@code httpConnectionPoolSettings}. The geocoder instance is thread-safe and
+     * the geocoding requests of concurrent threads are sent over different connections. When the created instance
+     * of {@code GoogleGeocoder} is no longer needed and is about to go out of scope it must be closed by calling the
+     * {@link Geocoder#close() close()} method.
+     *
+     * @param httpConnectionPoolSettings the settings of the HTTP connection pool
+     * @param geocodingRequestRateInMilliseconds the minimum number of milliseconds between two consecutive geocoding requests
+     * @throws NullPointerException if {@code httpConnectionPoolSettings} is {@code null}
+     * @throws IllegalArgumentException if {@code geocodingRequestRateInMilliseconds} is a negative number
+     * @return a new instance of a timed {@code GoogleGeocoder}
+     */
+    public static GoogleGeocoder createPooledGoogleGeocoder(HttpConnectionPoolSettings httpConnectionPoolSettings,
+            long geocodingRequestRateInMilliseconds) {
+        return createRateLimitedGoogleGeocoder(httpConnectionPoolSettings, new RateLimiter(geocodingRequestRateInMilliseconds));
+    }
+
+    /**
+     * Constructs a new {@code GoogleGeocoder} whose geocoding requests are limited by the given {@code rateLimiter}
+     * and that maintains a pool of HTTP connections as described by {@code httpConnectionPoolSettings}. Unlike the
+     * timed geocoders, this geocoder can send short bursts of requests if the rate limiter allows it. The geocoder
+     * instance is thread-safe. When the created instance of {@code GoogleGeocoder} is no longer needed and is about
+     * to go out of scope it must be closed by calling the {@link Geocoder#close() close()} method.
+     *
+     * @param httpConnectionPoolSettings the settings of the HTTP connection pool
+     * @param rateLimiter the rate limiter handing out a permit for every geocoding request
+     * @throws NullPointerException if either {@code httpConnectionPoolSettings} or {@code rateLimiter} is {@code null}
+     * @return a new instance of a rate limited {@code GoogleGeocoder}
+     */
+    public static GoogleGeocoder createRateLimitedGoogleGeocoder(HttpConnectionPoolSettings httpConnectionPoolSettings,
+            RateLimiter rateLimiter) {
+        Validate.notNull(rateLimiter, "rateLimiter is required");
+
+        final PooledHttpClients pooledHttpClients = new PooledHttpClients(httpConnectionPoolSettings, true);
+
+        GoogleGeocoder geocoder = new GoogleGeocoder(pooledHttpClients.httpClient, pooledHttpClients.httpAsyncClient,
+                ForkJoinPool.commonPool(), rateLimiter) {
 
             @Override
             public void close() {
-                getHttpClient().getConnectionManager().shutdown();
-
-                LOGGER.debug("Google Geocoder closed");
+                unregisterMBean();
+                stopIdleConnectionEvictor();
+                pooledHttpClients.close();
             }
         };
+        pooledHttpClients.attachTo(geocoder);
+
+        return geocoder;
     }
 
     /**
@@ -144,11 +219,41 @@ public final class GoogleGeocoderFactory {
         };
     }
 
+    /**
+     * Constructs a new timed {@code GoogleGeocoder} with the given request rate that sends the asynchronous
+     * geocoding requests with the given non-blocking HTTP client. Depending on the used HTTP clients the created
+     * instance might or might not be thread-safe. This geocoder can not be closed by the
+     * {@link Geocoder#close() close()} method for it uses external HTTP clients. Any attempt closing the
+     * geocoder will throw an {@code UnsupportedOperationException}. Closing the used HTTP connections is only
+     * possible through the {@code httpClient} and the {@code httpAsyncClient}.
+     *
+     * @param httpClient an HTTP client to execute the HTTP request to the Google Geocode service
+     * @param httpAsyncClient a started, non-blocking HTTP client to execute the asynchronous HTTP requests to
+     * the Google Geocode service
+     * @param geocodingRequestRateInMilliseconds the number of milliseconds between two consecutive geocoding requests
+     * @throws NullPointerException if either {@code httpClient} or {@code httpAsyncClient} is {@code null}
+     * @throws IllegalArgumentException if {@code geocodingRequestRateInMilliseconds} is a negative number
+     * @return a new instance of a timed {@code GoogleGeocoder}
+     */
+    public static GoogleGeocoder createTimedGoogleGeocoder(HttpClient httpClient, HttpAsyncClient httpAsyncClient,
+            long geocodingRequestRateInMilliseconds) {
+        Validate.notNull(httpAsyncClient, "httpAsyncClient is required");
+
+        return new GoogleGeocoder(httpClient, httpAsyncClient, ForkJoinPool.commonPool(), geocodingRequestRateInMilliseconds) {
+
+            @Override
+            public void close() {
+                throw new UnsupportedOperationException("The HTTP connections must be closed through the HTTP clients used for this geocoder");
+            }
+        };
+    }
+
     /**
      * Constructs a new timed premier {@code GoogleGeocoder} with the given request rate.
-     * The geocoder instance maintains only one active HTTP connection at any time and it is thread-safe. When the created
-     * instance of {@code GoogleGeocoder} is no longer needed and is about to go out of scope it must be closed by
-     * calling the {@link Geocoder#close() close()} method.
+     * The geocoder instance maintains a pool of HTTP connections as described by
+     * {@link HttpConnectionPoolSettings#DEFAULT} and it is thread-safe. When the created instance of
+     * {@code GoogleGeocoder} is no longer needed and is about to go out of scope it must be closed by calling the
+     * {@link Geocoder#close() close()} method.
      *
      * @param googleMapsApiPremierClientId The Google Maps API Premier id to access premier benefits of the
      * Google Maps API. For more information see <a href="http://www.google.com/enterprise/earthmaps/maps.html">
@@ -163,17 +268,158 @@ public final class GoogleGeocoderFactory {
      */
     public static GoogleGeocoder createTimedPremierGoogleGeocoder(String googleMapsApiPremierClientId,
             String googleMapsApiPremierKey, long geocodingRequestRateInMilliseconds) {
-        return new GoogleGeocoder(new DefaultHttpClient(),
-                new GoogleMapsApiPremierCredentials(googleMapsApiPremierClientId, googleMapsApiPremierKey),
-                geocodingRequestRateInMilliseconds) {
+        return createPooledPremierGoogleGeocoder(HttpConnectionPoolSettings.DEFAULT, googleMapsApiPremierClientId,
+                googleMapsApiPremierKey, geocodingRequestRateInMilliseconds);
+    }
+
+    /**
+     * Constructs a new timed premier {@code GoogleGeocoder} with the given request rate that maintains a pool of
+     * HTTP connections as described by {@code httpConnectionPoolSettings}. The geocoder instance is thread-safe
+     * and the geocoding requests of concurrent threads are sent over different connections. When the created
+     * instance of {@code GoogleGeocoder} is no longer needed and is about to go out of scope it must be closed by
+     * calling the {@link Geocoder#close() close()} method.
+     *
+     * @param httpConnectionPoolSettings the settings of the HTTP connection pool
+     * @param googleMapsApiPremierClientId The Google Maps API Premier id to access premier benefits of the
+     * Google Maps API. For more information see <a href="http://www.google.com/enterprise/earthmaps/maps.html">
+     * Google Maps API Premier</a>.
+     * @param googleMapsApiPremierKey the cryptographic key used to sign the premier Google Maps API Web Services requests
+     * @param geocodingRequestRateInMilliseconds the minimum number of milliseconds between two consecutive geocoding requests
+     * @throws NullPointerException if either {@code httpConnectionPoolSettings}, {@code googleMapsApiPremierClientId}
+     * or {@code googleMapsApiPremierKey} is {@code null}
+     * @throws IllegalArgumentException if either {@code googleMapsApiPremierClientId} or {@code googleMapsApiPremierKey}
+     * is blank, or {@code geocodingRequestRateInMilliseconds} is a negative number
+     * @return a new instance of a timed {@code GoogleGeocoder}
+     */
+    public static GoogleGeocoder createPooledPremierGoogleGeocoder(HttpConnectionPoolSettings httpConnectionPoolSettings,
+            String googleMapsApiPremierClientId, String googleMapsApiPremierKey, long geocodingRequestRateInMilliseconds) {
+        return createRateLimitedPremierGoogleGeocoder(httpConnectionPoolSettings, googleMapsApiPremierClientId,
+                googleMapsApiPremierKey, new RateLimiter(geocodingRequestRateInMilliseconds));
+    }
+
+    /**
+     * Constructs a new premier {@code GoogleGeocoder} whose geocoding requests are limited by the given
+     * {@code rateLimiter} and that maintains a pool of HTTP connections as described by
+     * {@code httpConnectionPoolSettings}. The geocoder instance is thread-safe. When the created instance of
+     * {@code GoogleGeocoder} is no longer needed and is about to go out of scope it must be closed by calling the
+     * {@link Geocoder#close() close()} method.
+     *
+     * @param httpConnectionPoolSettings the settings of the HTTP connection pool
+     * @param googleMapsApiPremierClientId The Google Maps API Premier id to access premier benefits of the
+     * Google Maps API. For more information see <a href="http://www.google.com/enterprise/earthmaps/maps.html">
+     * Google Maps API Premier</a>.
+     * @param googleMapsApiPremierKey the cryptographic key used to sign the premier Google Maps API Web Services requests
+     * @param rateLimiter the rate limiter handing out a permit for every geocoding request
+     * @throws NullPointerException if either {@code httpConnectionPoolSettings}, {@code googleMapsApiPremierClientId},
+     * {@code googleMapsApiPremierKey} or {@code rateLimiter} is {@code null}
+     * @throws IllegalArgumentException if either {@code googleMapsApiPremierClientId} or {@code googleMapsApiPremierKey}
+     * is blank
+     * @return a new instance of a rate limited {@code GoogleGeocoder}
+     */
+    public static GoogleGeocoder createRateLimitedPremierGoogleGeocoder(HttpConnectionPoolSettings httpConnectionPoolSettings,
+            String googleMapsApiPremierClientId, String googleMapsApiPremierKey, RateLimiter rateLimiter) {
+        Validate.notNull(rateLimiter, "rateLimiter is required");
+
+        GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials =
+                new GoogleMapsApiPremierCredentials(googleMapsApiPremierClientId, googleMapsApiPremierKey);
+        final PooledHttpClients pooledHttpClients = new PooledHttpClients(httpConnectionPoolSettings, true);
+
+        GoogleGeocoder geocoder = new GoogleGeocoder(pooledHttpClients.httpClient, pooledHttpClients.httpAsyncClient,
+                ForkJoinPool.commonPool(), googleMapsApiPremierCredentials, rateLimiter) {
+
+            @Override
+            public void close() {
+                unregisterMBean();
+                stopIdleConnectionEvictor();
+                pooledHttpClients.close();
+            }
+        };
+        pooledHttpClients.attachTo(geocoder);
+
+        return geocoder;
+    }
+
+    /**
+     * Constructs a new timed {@code GoogleGeocoder} with the given request rate that runs every asynchronous and
+     * batch geocoding request on a new virtual thread. The requests are sent by a blocking HTTP client maintaining
+     * a pool of HTTP connections as described by {@code httpConnectionPoolSettings}. A virtual thread blocked by the
+     * request rate limitation, by waiting for a pooled connection or by reading the response does not occupy its
+     * carrier thread, so a large number of lookups can be pending with only a handful of platform threads. If the
+     * Java runtime does not support virtual threads the requests are run on a pool of as many platform threads as
+     * the maximum number of pooled connections, and the other requests wait in the queue of the pool (see
+     * {@link VirtualThreads}). When the created instance of {@code GoogleGeocoder} is no longer needed and is about
+     * to go out of scope it must be closed by calling the {@link Geocoder#close() close()} method.
+     *
+     * @param httpConnectionPoolSettings the settings of the HTTP connection pool
+     * @param geocodingRequestRateInMilliseconds the minimum number of milliseconds between two consecutive geocoding requests
+     * @throws NullPointerException if {@code httpConnectionPoolSettings} is {@code null}
+     * @throws IllegalArgumentException if {@code geocodingRequestRateInMilliseconds} is a negative number
+     * @return a new instance of a timed {@code GoogleGeocoder}
+     */
+    public static GoogleGeocoder createVirtualThreadGoogleGeocoder(HttpConnectionPoolSettings httpConnectionPoolSettings,
+            long geocodingRequestRateInMilliseconds) {
+        final PooledHttpClients pooledHttpClients = new PooledHttpClients(httpConnectionPoolSettings, false);
+
+        final Executor executor = VirtualThreads.newThreadPerTaskExecutor(GEOCODER_THREAD_NAME_PREFIX,
+                httpConnectionPoolSettings.getMaxTotalConnections());
+
+        GoogleGeocoder geocoder = new GoogleGeocoder(pooledHttpClients.httpClient, null, executor, geocodingRequestRateInMilliseconds) {
 
             @Override
             public void close() {
-                getHttpClient().getConnectionManager().shutdown();
+                unregisterMBean();
+                stopIdleConnectionEvictor();
+                pooledHttpClients.close();
+                shutdown(executor);
+            }
+        };
+        pooledHttpClients.attachTo(geocoder);
+
+        return geocoder;
+    }
+
+    /**
+     * Constructs a new timed premier {@code GoogleGeocoder} with the given request rate that runs every asynchronous
+     * and batch geocoding request on a new virtual thread. See
+     * {@link #createVirtualThreadGoogleGeocoder(HttpConnectionPoolSettings, long)} for the details. When the created
+     * instance of {@code GoogleGeocoder} is no longer needed and is about to go out of scope it must be closed by
+     * calling the {@link Geocoder#close() close()} method.
+     *
+     * @param httpConnectionPoolSettings the settings of the HTTP connection pool
+     * @param googleMapsApiPremierClientId The Google Maps API Premier id to access premier benefits of the
+     * Google Maps API. For more information see <a href="http://www.google.com/enterprise/earthmaps/maps.html">
+     * Google Maps API Premier</a>.
+     * @param googleMapsApiPremierKey the cryptographic key used to sign the premier Google Maps API Web Services requests
+     * @param geocodingRequestRateInMilliseconds the minimum number of milliseconds between two consecutive geocoding requests
+     * @throws NullPointerException if either {@code httpConnectionPoolSettings}, {@code googleMapsApiPremierClientId}
+     * or {@code googleMapsApiPremierKey} is {@code null}
+     * @throws IllegalArgumentException if either {@code googleMapsApiPremierClientId} or {@code googleMapsApiPremierKey}
+     * is blank, or {@code geocodingRequestRateInMilliseconds} is a negative number
+     * @return a new instance of a timed {@code GoogleGeocoder}
+     */
+    public static GoogleGeocoder createVirtualThreadPremierGoogleGeocoder(HttpConnectionPoolSettings httpConnectionPoolSettings,
+            String googleMapsApiPremierClientId, String googleMapsApiPremierKey, long geocodingRequestRateInMilliseconds) {
+        GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials =
+                new GoogleMapsApiPremierCredentials(googleMapsApiPremierClientId, googleMapsApiPremierKey);
+        final PooledHttpClients pooledHttpClients = new PooledHttpClients(httpConnectionPoolSettings, false);
+
+        final Executor executor = VirtualThreads.newThreadPerTaskExecutor(GEOCODER_THREAD_NAME_PREFIX,
+                httpConnectionPoolSettings.getMaxTotalConnections());
+
+        GoogleGeocoder geocoder = new GoogleGeocoder(pooledHttpClients.httpClient, null, executor,
+                googleMapsApiPremierCredentials, geocodingRequestRateInMilliseconds) {
 
-                LOGGER.debug("Google Geocoder closed");
+            @Override
+            public void close() {
+                unregisterMBean();
+                stopIdleConnectionEvictor();
+                pooledHttpClients.close();
+                shutdown(executor);
             }
         };
+        pooledHttpClients.attachTo(geocoder);
+
+        return geocoder;
     }
 
     /**
@@ -208,4 +454,149 @@ public final class GoogleGeocoderFactory {
             }
         };
     }
+
+    /**
+     * Constructs a new timed premier {@code GoogleGeocoder} with the given request rate that sends the asynchronous
+     * geocoding requests with the given non-blocking HTTP client. Depending on the used HTTP clients the created
+     * instance might or might not be thread-safe. This geocoder can not be closed by the
+     * {@link Geocoder#close() close()} method for it uses external HTTP clients. Any attempt closing the
+     * geocoder will throw an {@code UnsupportedOperationException}. Closing the used HTTP connections is only
+     * possible through the {@code httpClient} and the {@code httpAsyncClient}.
+     *
+     * @param httpClient an HTTP client to execute the HTTP request to the Google Geocode service
+     * @param httpAsyncClient a started, non-blocking HTTP client to execute the asynchronous HTTP requests to
+     * the Google Geocode service
+     * @param googleMapsApiPremierClientId The Google Maps API Premier id to access premier benefits of the
+     * Google Maps API. For more information see <a href="http://www.google.com/enterprise/earthmaps/maps.html">
+     * Google Maps API Premier</a>.
+     * @param googleMapsApiPremierKey the cryptographic key used to sign the premier Google Maps API Web Services requests
+     * @param geocodingRequestRateInMilliseconds the number of milliseconds between two consecutive geocoding requests
+     * @throws NullPointerException if either {@code httpClient}, {@code httpAsyncClient},
+     * {@code googleMapsApiPremierClientId} or {@code googleMapsApiPremierKey} is {@code null}
+     * @throws IllegalArgumentException if either {@code googleMapsApiPremierClientId} or {@code googleMapsApiPremierKey}
+     * is blank, or if {@code geocodingRequestRateInMilliseconds} is a negative number
+     * @return a new instance of a timed {@code GoogleGeocoder}
+     */
+    public static GoogleGeocoder createTimedPremierGoogleGeocoder(HttpClient httpClient, HttpAsyncClient httpAsyncClient,
+            String googleMapsApiPremierClientId, String googleMapsApiPremierKey, long geocodingRequestRateInMilliseconds) {
+        Validate.notNull(httpAsyncClient, "httpAsyncClient is required");
+
+        return new GoogleGeocoder(httpClient, httpAsyncClient, ForkJoinPool.commonPool(),
+                new GoogleMapsApiPremierCredentials(googleMapsApiPremierClientId, googleMapsApiPremierKey),
+                geocodingRequestRateInMilliseconds) {
+
+            @Override
+            public void close() {
+                throw new UnsupportedOperationException("The HTTP connections must be closed through the HTTP clients used for this geocoder");
+            }
+        };
+    }
+
+    private static void shutdown(Executor executor) {
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+    /**
+     * The blocking and the optional non-blocking HTTP clients of a geocoder sharing the same pool settings.
+     */
+    private static final class PooledHttpClients {
+
+        private final HttpConnectionPoolSettings httpConnectionPoolSettings;
+        private final PoolingHttpClientConnectionManager connectionManager;
+        private final PoolingNHttpClientConnectionManager asyncConnectionManager;
+        private final CloseableHttpClient httpClient;
+        private final CloseableHttpAsyncClient httpAsyncClient;
+
+        private PooledHttpClients(HttpConnectionPoolSettings httpConnectionPoolSettings, boolean withHttpAsyncClient) {
+            Validate.notNull(httpConnectionPoolSettings, "httpConnectionPoolSettings is required");
+
+            ConnectionKeepAliveStrategy keepAliveStrategy = createKeepAliveStrategy(httpConnectionPoolSettings.getKeepAliveDurationInMilliseconds());
+            long connectionTimeToLive = toConnectionTimeToLive(httpConnectionPoolSettings.getConnectionTimeToLiveInMilliseconds());
+
+            this.httpConnectionPoolSettings = httpConnectionPoolSettings;
+            this.connectionManager = new PoolingHttpClientConnectionManager(connectionTimeToLive, TimeUnit.MILLISECONDS);
+            connectionManager.setMaxTotal(httpConnectionPoolSettings.getMaxTotalConnections());
+            connectionManager.setDefaultMaxPerRoute(httpConnectionPoolSettings.getMaxConnectionsPerRoute());
+            this.httpClient = HttpClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setKeepAliveStrategy(keepAliveStrategy)
+                    .setRequestExecutor(new TimestampingHttpRequestExecutor())
+                    .build();
+
+            if (withHttpAsyncClient) {
+                this.asyncConnectionManager = new PoolingNHttpClientConnectionManager(createConnectingIoReactor(),
+                        ManagedNHttpClientConnectionFactory.INSTANCE, createIoSessionStrategyRegistry(), DefaultSchemePortResolver.INSTANCE,
+                        SystemDefaultDnsResolver.INSTANCE, connectionTimeToLive, TimeUnit.MILLISECONDS);
+                asyncConnectionManager.setMaxTotal(httpConnectionPoolSettings.getMaxTotalConnections());
+                asyncConnectionManager.setDefaultMaxPerRoute(httpConnectionPoolSettings.getMaxConnectionsPerRoute());
+                this.httpAsyncClient = HttpAsyncClients.custom()
+                        .setConnectionManager(asyncConnectionManager)
+                        .setKeepAliveStrategy(keepAliveStrategy)
+                        .build();
+                httpAsyncClient.start();
+            } else {
+                this.asyncConnectionManager = null;
+                this.httpAsyncClient = null;
+            }
+
+            LOGGER.debug("HTTP connection pool created: " + httpConnectionPoolSettings);
+        }
+
+        private static ConnectionKeepAliveStrategy createKeepAliveStrategy(final long keepAliveDurationInMilliseconds) {
+            return (httpResponse, httpContext) -> {
+                long keepAliveDuration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(httpResponse, httpContext);
+
+                return (keepAliveDuration > 0) ? Math.min(keepAliveDuration, keepAliveDurationInMilliseconds) : keepAliveDurationInMilliseconds;
+            };
+        }
+
+        private static long toConnectionTimeToLive(long connectionTimeToLiveInMilliseconds) {
+            return (connectionTimeToLiveInMilliseconds > 0) ? connectionTimeToLiveInMilliseconds : -1;
+        }
+
+        private static ConnectingIOReactor createConnectingIoReactor() {
+            try {
+                return new DefaultConnectingIOReactor(IOReactorConfig.DEFAULT);
+            } catch (IOReactorException e) {
+                throw new GeocodeException("The I/O reactor of the asynchronous HTTP client can not be created", e);
+            }
+        }
+
+        private static Registry<SchemeIOSessionStrategy> createIoSessionStrategyRegistry() {
+            return RegistryBuilder.<SchemeIOSessionStrategy>create()
+                    .register("http", NoopIOSessionStrategy.INSTANCE)
+                    .register("https", SSLIOSessionStrategy.getDefaultStrategy())
+                    .build();
+        }
+
+        private void attachTo(GoogleGeocoder geocoder) {
+            geocoder.setConnectionManagers(connectionManager, asyncConnectionManager);
+
+            if (httpConnectionPoolSettings.getIdleConnectionTimeoutInMilliseconds() > 0) {
+                geocoder.startIdleConnectionEvictor(new IdleConnectionEvictor(connectionManager, asyncConnectionManager,
+                        httpConnectionPoolSettings.getIdleConnectionTimeoutInMilliseconds(),
+                        httpConnectionPoolSettings.getIdleConnectionEvictionIntervalInMilliseconds()));
+            }
+        }
+
+        private void close() {
+            try {
+                httpClient.close();
+            } catch (IOException e) {
+                LOGGER.warn("An I/O exception occurred while closing the HTTP client", e);
+            }
+
+            if (httpAsyncClient != null) {
+                try {
+                    httpAsyncClient.close();
+                } catch (IOException e) {
+                    LOGGER.warn("An I/O exception occurred while closing the asynchronous HTTP client", e);
+                }
+            }
+
+            LOGGER.debug("Google Geocoder closed");
+        }
+    }
 }
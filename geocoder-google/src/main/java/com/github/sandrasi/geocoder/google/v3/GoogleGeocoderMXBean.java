@@ -0,0 +1,159 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+/**
+ * {@code GoogleGeocoderMXBean} is the management interface of a {@link GoogleGeocoder} registered by
+ * {@link GoogleGeocoder#registerMBean(String)}. It exposes the live statistics of the geocoder and lets the request
+ * rate and the sizes of the connection pool be changed while the geocoder is in use. The request counts and the
+ * wait times of the blocking requests are collected from the time the geocoder is registered; the wait times of the
+ * asynchronous requests are those recorded by the {@link GoogleGeocoder#getAsyncRateLimiter() asynchronous rate
+ * limiter} of the geocoder since it was created.
+ */
+public interface GoogleGeocoderMXBean {
+
+    /**
+     * Returns the number of geocoding requests sent by the geocoder since it was registered.
+     *
+     * @return the number of requests
+     */
+    long getRequestCount();
+
+    /**
+     * Returns the number of geocoding requests sent by the geocoder on the current day since it was registered,
+     * counted against the daily query limit. The days of the query limits start at midnight Pacific Time.
+     *
+     * @return the number of requests of the current day
+     */
+    long getDailyRequestCount();
+
+    /**
+     * Returns the number of geocoding requests that have got their rate limiter permits and wait for their
+     * responses.
+     *
+     * @return the number of requests in flight
+     */
+    int getInFlightRequestCount();
+
+    /**
+     * Returns the minimum time between two consecutive geocoding requests in the long run.
+     *
+     * @return the permit interval of the rate limiter in milliseconds
+     */
+    long getPermitIntervalInMilliseconds();
+
+    /**
+     * Changes the minimum time between two consecutive geocoding requests in the long run. The requests already
+     * waiting for their permits are sent at their reserved times.
+     *
+     * @param permitIntervalInMilliseconds the permit interval of the rate limiter in milliseconds, or {@code 0} to
+     * send the requests without any limitation
+     * @throws IllegalArgumentException if {@code permitIntervalInMilliseconds} is a negative number
+     */
+    void setPermitIntervalInMilliseconds(long permitIntervalInMilliseconds);
+
+    /**
+     * Returns the maximum number of geocoding requests the rate limiter lets through without waiting.
+     *
+     * @return the burst capacity of the rate limiter
+     */
+    int getBurstCapacity();
+
+    /**
+     * Returns the number of asynchronous geocoding requests waiting for their rate limiter permits.
+     *
+     * @return the number of waiting asynchronous requests
+     */
+    int getRateLimiterQueueDepth();
+
+    /**
+     * Returns the mean of the times the blocking geocoding requests have waited for their rate limiter permits.
+     *
+     * @return the mean wait time in milliseconds
+     */
+    double getMeanBlockingRateLimiterWaitTimeInMilliseconds();
+
+    /**
+     * Returns the approximate 99th percentile of the times the blocking geocoding requests have waited for their
+     * rate limiter permits.
+     *
+     * @return the 99th percentile of the wait times in milliseconds
+     */
+    double getP99BlockingRateLimiterWaitTimeInMilliseconds();
+
+    /**
+     * Returns the mean of the times the asynchronous geocoding requests have waited for their rate limiter permits.
+     *
+     * @return the mean wait time in milliseconds
+     */
+    double getMeanAsyncRateLimiterWaitTimeInMilliseconds();
+
+    /**
+     * Returns the approximate 99th percentile of the times the asynchronous geocoding requests have waited for
+     * their rate limiter permits.
+     *
+     * @return the 99th percentile of the wait times in milliseconds
+     */
+    double getP99AsyncRateLimiterWaitTimeInMilliseconds();
+
+    /**
+     * Returns the ratio of the requests answered by the cache registered with the geocoder.
+     *
+     * @return the hit rate of the cache, or {@link Double#NaN} if no cache has been registered with the geocoder
+     */
+    double getCacheHitRate();
+
+    /**
+     * Returns the number of the pooled connections leased by the requests in flight.
+     *
+     * @return the number of leased connections, or {@code -1} if the geocoder does not pool its connections
+     */
+    int getLeasedConnectionCount();
+
+    /**
+     * Returns the number of the pooled connections kept alive for the next requests.
+     *
+     * @return the number of idle connections, or {@code -1} if the geocoder does not pool its connections
+     */
+    int getAvailableConnectionCount();
+
+    /**
+     * Returns the number of requests waiting for a connection of the pool.
+     *
+     * @return the number of pending connection requests, or {@code -1} if the geocoder does not pool its connections
+     */
+    int getPendingConnectionCount();
+
+    /**
+     * Returns the maximum number of connections of the pool.
+     *
+     * @return the maximum number of connections, or {@code -1} if the geocoder does not pool its connections
+     */
+    int getMaxTotalConnections();
+
+    /**
+     * Changes the maximum number of connections of the pool. The open connections are not closed; if the pool is
+     * shrunk the connections over the new limit are closed when they are released.
+     *
+     * @param maxTotalConnections the maximum number of connections
+     * @throws IllegalArgumentException if {@code maxTotalConnections} is not a positive number
+     * @throws IllegalStateException if the geocoder does not pool its connections
+     */
+    void setMaxTotalConnections(int maxTotalConnections);
+
+    /**
+     * Returns the maximum number of connections of the pool to the same route.
+     *
+     * @return the maximum number of connections per route, or {@code -1} if the geocoder does not pool its
+     * connections
+     */
+    int getMaxConnectionsPerRoute();
+
+    /**
+     * Changes the maximum number of connections of the pool to the same route. The open connections are not
+     * closed; if the pool is shrunk the connections over the new limit are closed when they are released.
+     *
+     * @param maxConnectionsPerRoute the maximum number of connections per route
+     * @throws IllegalArgumentException if {@code maxConnectionsPerRoute} is not a positive number
+     * @throws IllegalStateException if the geocoder does not pool its connections
+     */
+    void setMaxConnectionsPerRoute(int maxConnectionsPerRoute);
+}
@@ -0,0 +1,167 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+import com.github.sandrasi.geocoder.cache.CachingGeocoder;
+import org.apache.commons.lang3.Validate;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+/**
+ * The {@link GoogleGeocoderMXBean} of a {@link GoogleGeocoder}. The connection pool statistics are the sums of the
+ * pools of the blocking and the non-blocking HTTP clients, and the pool sizes are changed in both pools.
+ */
+final class GoogleGeocoderManagement implements GoogleGeocoderMXBean {
+
+    private static final double NANOSECONDS_PER_MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final GoogleGeocoder geocoder;
+    private final GoogleGeocoderStatistics statistics;
+    private final CachingGeocoder<?, ?> cachingGeocoder;
+
+    GoogleGeocoderManagement(GoogleGeocoder geocoder, GoogleGeocoderStatistics statistics, CachingGeocoder<?, ?> cachingGeocoder) {
+        this.geocoder = geocoder;
+        this.statistics = statistics;
+        this.cachingGeocoder = cachingGeocoder;
+    }
+
+    @Override
+    public long getRequestCount() {
+        return statistics.getRequestCount();
+    }
+
+    @Override
+    public long getDailyRequestCount() {
+        return statistics.getDailyRequestCount();
+    }
+
+    @Override
+    public int getInFlightRequestCount() {
+        return statistics.getInFlightRequestCount();
+    }
+
+    @Override
+    public long getPermitIntervalInMilliseconds() {
+        return TimeUnit.NANOSECONDS.toMillis(geocoder.getRateLimiter().getPermitIntervalInNanoseconds());
+    }
+
+    @Override
+    public void setPermitIntervalInMilliseconds(long permitIntervalInMilliseconds) {
+        geocoder.getRateLimiter().setPermitInterval(permitIntervalInMilliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int getBurstCapacity() {
+        return geocoder.getRateLimiter().getBurstCapacity();
+    }
+
+    @Override
+    public int getRateLimiterQueueDepth() {
+        return geocoder.getAsyncRateLimiter().getQueueDepth();
+    }
+
+    @Override
+    public double getMeanBlockingRateLimiterWaitTimeInMilliseconds() {
+        return statistics.getBlockingWaitTimeHistogram().getMean() / NANOSECONDS_PER_MILLISECOND;
+    }
+
+    @Override
+    public double getP99BlockingRateLimiterWaitTimeInMilliseconds() {
+        return statistics.getBlockingWaitTimeHistogram().getValueAtPercentile(99) / NANOSECONDS_PER_MILLISECOND;
+    }
+
+    @Override
+    public double getMeanAsyncRateLimiterWaitTimeInMilliseconds() {
+        return geocoder.getAsyncRateLimiter().getWaitTimeHistogram().getMean() / NANOSECONDS_PER_MILLISECOND;
+    }
+
+    @Override
+    public double getP99AsyncRateLimiterWaitTimeInMilliseconds() {
+        return geocoder.getAsyncRateLimiter().getWaitTimeHistogram().getValueAtPercentile(99) / NANOSECONDS_PER_MILLISECOND;
+    }
+
+    @Override
+    public double getCacheHitRate() {
+        return (cachingGeocoder != null) ? cachingGeocoder.getStatistics().getHitRate() : Double.NaN;
+    }
+
+    @Override
+    public int getLeasedConnectionCount() {
+        return sumOfPoolStats(PoolStats::getLeased);
+    }
+
+    @Override
+    public int getAvailableConnectionCount() {
+        return sumOfPoolStats(PoolStats::getAvailable);
+    }
+
+    @Override
+    public int getPendingConnectionCount() {
+        return sumOfPoolStats(PoolStats::getPending);
+    }
+
+    @Override
+    public int getMaxTotalConnections() {
+        PoolingHttpClientConnectionManager connectionManager = geocoder.getConnectionManager();
+
+        return (connectionManager != null) ? connectionManager.getMaxTotal() : -1;
+    }
+
+    @Override
+    public void setMaxTotalConnections(int maxTotalConnections) {
+        Validate.isTrue(maxTotalConnections > 0, "maxTotalConnections must be a positive number");
+
+        PoolingHttpClientConnectionManager connectionManager = getPooledConnectionManager();
+        PoolingNHttpClientConnectionManager asyncConnectionManager = geocoder.getAsyncConnectionManager();
+
+        connectionManager.setMaxTotal(maxTotalConnections);
+
+        if (asyncConnectionManager != null) {
+            asyncConnectionManager.setMaxTotal(maxTotalConnections);
+        }
+    }
+
+    @Override
+    public int getMaxConnectionsPerRoute() {
+        PoolingHttpClientConnectionManager connectionManager = geocoder.getConnectionManager();
+
+        return (connectionManager != null) ? connectionManager.getDefaultMaxPerRoute() : -1;
+    }
+
+    @Override
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        Validate.isTrue(maxConnectionsPerRoute > 0, "maxConnectionsPerRoute must be a positive number");
+
+        PoolingHttpClientConnectionManager connectionManager = getPooledConnectionManager();
+        PoolingNHttpClientConnectionManager asyncConnectionManager = geocoder.getAsyncConnectionManager();
+
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+
+        if (asyncConnectionManager != null) {
+            asyncConnectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        }
+    }
+
+    private int sumOfPoolStats(ToIntFunction<PoolStats> statistic) {
+        PoolingHttpClientConnectionManager connectionManager = geocoder.getConnectionManager();
+
+        if (connectionManager == null) {
+            return -1;
+        }
+
+        PoolingNHttpClientConnectionManager asyncConnectionManager = geocoder.getAsyncConnectionManager();
+
+        return statistic.applyAsInt(connectionManager.getTotalStats())
+                + ((asyncConnectionManager != null) ? statistic.applyAsInt(asyncConnectionManager.getTotalStats()) : 0);
+    }
+
+    private PoolingHttpClientConnectionManager getPooledConnectionManager() {
+        PoolingHttpClientConnectionManager connectionManager = geocoder.getConnectionManager();
+
+        Validate.validState(connectionManager != null, "The geocoder does not pool its connections");
+
+        return connectionManager;
+    }
+}
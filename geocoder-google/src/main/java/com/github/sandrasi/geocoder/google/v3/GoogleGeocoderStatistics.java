@@ -0,0 +1,63 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.sandrasi.geocoder.util.Histogram;
+
+/**
+ * {@code GoogleGeocoderStatistics} counts the requests of a {@link GoogleGeocoder} while the geocoder is registered
+ * as a {@link GoogleGeocoderMXBean}. The geocoder does not record anything while it is not registered.
+ * <p>
+ * Only the wait times of the blocking requests are recorded here; the {@link com.github.sandrasi.geocoder.util.AsyncRateLimiter}
+ * of the geocoder records the wait times of the asynchronous requests.
+ */
+final class GoogleGeocoderStatistics {
+
+    private final LongAdder requestCount = new LongAdder();
+    private final DailyRequestCounter dailyRequestCounter;
+    private final AtomicInteger inFlightRequestCount = new AtomicInteger();
+    private final Histogram blockingWaitTimeHistogram = new Histogram();
+
+    GoogleGeocoderStatistics() {
+        this(Clock.system(DailyRequestCounter.QUERY_LIMIT_TIME_ZONE));
+    }
+
+    GoogleGeocoderStatistics(Clock clock) {
+        dailyRequestCounter = new DailyRequestCounter(clock);
+    }
+
+    void recordPermit() {
+        requestCount.increment();
+        dailyRequestCounter.increment();
+    }
+
+    void recordBlockingWaitTime(long waitTime) {
+        blockingWaitTimeHistogram.record(waitTime);
+    }
+
+    void requestStarted() {
+        inFlightRequestCount.incrementAndGet();
+    }
+
+    void requestFinished() {
+        inFlightRequestCount.decrementAndGet();
+    }
+
+    long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    long getDailyRequestCount() {
+        return dailyRequestCounter.getCount();
+    }
+
+    int getInFlightRequestCount() {
+        return inFlightRequestCount.get();
+    }
+
+    Histogram getBlockingWaitTimeHistogram() {
+        return blockingWaitTimeHistogram;
+    }
+}
@@ -1,18 +1,27 @@
 package com.github.sandrasi.geocoder.google.v3;
 
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import com.github.sandrasi.geocoder.GeocodeException;
-import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang3.Validate;
 
 /**
  * {@code GoogleMapsApiPremierCredentials} holds the Google Maps API premium client ID and key used to access the
  * premium web services. The key is not revealed to the users of this class, it is only used internally to sign any
  * text.
+ * <p>
+ * Every request is signed, so the signers are reused: a signer holds a {@link Mac} initialized with the key and the
+ * buffers of the signature, and it is returned to a pool after signing a string. The pool is not bound to threads,
+ * because the requests may be executed on a new virtual thread each, and it holds at most as many signers as the
+ * number of strings ever signed at the same time.
  */
 public class GoogleMapsApiPremierCredentials {
 
@@ -20,7 +29,9 @@ public class GoogleMapsApiPremierCredentials {
     private static final String SECRET_KEY_ALGORITHM = "HmacSHA1";
 
     private final String clientId;
-    private final byte[] key;
+    private final String urlEncodedClientId;
+    private final SecretKeySpec secretKey;
+    private final Queue<Signer> signers = new ConcurrentLinkedQueue<>();
 
     /**
      * @param clientId The Google Maps API Premier id to access premier benefits of the
@@ -36,7 +47,8 @@ public class GoogleMapsApiPremierCredentials {
 
         try {
             this.clientId = clientId;
-            this.key = Base64.decodeBase64(decodeModifiedBase64(key).getBytes(CHARACTER_ENCODING));
+            this.urlEncodedClientId = urlEncode(clientId);
+            this.secretKey = new SecretKeySpec(org.apache.commons.codec.binary.Base64.decodeBase64(decodeModifiedBase64(key).getBytes(CHARACTER_ENCODING)), SECRET_KEY_ALGORITHM);
         } catch (UnsupportedEncodingException e) {
             throw new GeocodeException("The character encoding used to decode the key is not supported", e);
         }
@@ -52,7 +64,15 @@ public class GoogleMapsApiPremierCredentials {
     }
 
     /**
-     * Returns the signature for the given string.
+     * Returns the client id encoded as a request parameter value.
+     */
+    String getUrlEncodedClientId() {
+        return urlEncodedClientId;
+    }
+
+    /**
+     * Returns the signature for the given string. The string is signed in UTF-8, and the signature is encoded in
+     * URL-safe Base64.
      *
      * @param string the string to sign
      * @return the HMAC-SHA1 encoded signature
@@ -61,29 +81,108 @@ public class GoogleMapsApiPremierCredentials {
     public String getSignatureFor(String string) {
         Validate.notNull(string, "string is required");
 
-        try {
-            SecretKeySpec secretKey = new SecretKeySpec(key, SECRET_KEY_ALGORITHM);
-            Mac mac = Mac.getInstance(SECRET_KEY_ALGORITHM);
-
-            mac.init(secretKey);
+        return getSignatureFor(string, 0, string.length());
+    }
 
-            byte[] signature = mac.doFinal(string.getBytes());
+    /**
+     * Returns the signature for the characters of {@code chars} from {@code start} to {@code end}, so the request
+     * URIs can be signed without copying their path and query into a new string.
+     */
+    String getSignatureFor(CharSequence chars, int start, int end) {
+        Signer signer = signers.poll();
 
-            return encodeModifiedBase64(new String(Base64.encodeBase64(signature), CHARACTER_ENCODING));
-        } catch (NoSuchAlgorithmException e) {
-            throw new GeocodeException("The algorithm used to sign the string does not exist", e);
-        } catch (InvalidKeyException e) {
-            throw new GeocodeException("The private key used to sign the string is invalid", e);
-        } catch (UnsupportedEncodingException e) {
-            throw new GeocodeException("The character encoding used to sign the string is not supported", e);
+        if (signer == null) {
+            signer = new Signer(secretKey);
         }
+
+        String signature = signer.sign(chars, start, end);
+
+        signers.offer(signer);
+
+        return signature;
     }
 
     private String decodeModifiedBase64(String string) {
         return string.replace('-', '+').replace('_', '/');
     }
 
-    private String encodeModifiedBase64(String string) {
-        return string.replace('+', '-').replace('/', '_');
+    private static String urlEncode(String string) {
+        StringBuilder urlEncodedString = new StringBuilder(string.length());
+
+        FormUrlEncoder.encode(string, urlEncodedString);
+
+        return urlEncodedString.toString();
+    }
+
+    /**
+     * A {@link Mac} initialized with the key and the buffers of the signed string and the signature. A signer is
+     * used by a single thread at a time.
+     */
+    private static final class Signer {
+
+        private static final Base64.Encoder URL_SAFE_BASE64_ENCODER = Base64.getUrlEncoder();
+
+        private final Mac mac;
+        private final byte[] signature;
+        private final byte[] encodedSignature;
+        private byte[] input = new byte[256];
+
+        Signer(SecretKeySpec secretKey) {
+            try {
+                mac = Mac.getInstance(SECRET_KEY_ALGORITHM);
+                mac.init(secretKey);
+            } catch (NoSuchAlgorithmException e) {
+                throw new GeocodeException("The algorithm used to sign the string does not exist", e);
+            } catch (InvalidKeyException e) {
+                throw new GeocodeException("The private key used to sign the string is invalid", e);
+            }
+
+            signature = new byte[mac.getMacLength()];
+            encodedSignature = new byte[(signature.length + 2) / 3 * 4];
+        }
+
+        String sign(CharSequence chars, int start, int end) {
+            try {
+                int length = encodeInput(chars, start, end);
+
+                if (length >= 0) {
+                    mac.update(input, 0, length);
+                } else {
+                    mac.update(chars.subSequence(start, end).toString().getBytes(StandardCharsets.UTF_8));
+                }
+
+                mac.doFinal(signature, 0);
+            } catch (GeneralSecurityException e) {
+                throw new GeocodeException("The string could not be signed", e);
+            }
+
+            int encodedLength = URL_SAFE_BASE64_ENCODER.encode(signature, encodedSignature);
+
+            return new String(encodedSignature, 0, encodedLength, StandardCharsets.US_ASCII);
+        }
+
+        /**
+         * Copies ASCII characters into the input buffer, which is the same as encoding them in UTF-8. Returns -1 if
+         * there is a non-ASCII character among them.
+         */
+        private int encodeInput(CharSequence chars, int start, int end) {
+            int length = end - start;
+
+            if (input.length < length) {
+                input = new byte[Math.max(length, 2 * input.length)];
+            }
+
+            for (int i = 0; i < length; i++) {
+                char c = chars.charAt(start + i);
+
+                if (c >= 0x80) {
+                    return -1;
+                }
+
+                input[i] = (byte) c;
+            }
+
+            return length;
+        }
     }
 }
@@ -0,0 +1,235 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * {@code HttpConnectionPoolSettings} describes the pool of HTTP connections maintained by a {@link GoogleGeocoder}
+ * created by the {@link GoogleGeocoderFactory}. The pool allows many threads to send geocoding requests
+ * concurrently, each of them over its own persistent connection.
+ */
+public final class HttpConnectionPoolSettings {
+
+    /**
+     * The settings used by the {@link GoogleGeocoderFactory} unless it is told otherwise. At most 20 connections
+     * are kept open to the Google Geocoding service, a connection is kept alive for 30 seconds if the service does
+     * not tell otherwise, the connections idle for more than 60 seconds are closed and the lifetime of the
+     * connections is not limited.
+     */
+    public static final HttpConnectionPoolSettings DEFAULT = newBuilder().build();
+
+    private final int maxTotalConnections;
+    private final int maxConnectionsPerRoute;
+    private final long keepAliveDurationInMilliseconds;
+    private final long idleConnectionTimeoutInMilliseconds;
+    private final long idleConnectionEvictionIntervalInMilliseconds;
+    private final long connectionTimeToLiveInMilliseconds;
+
+    private HttpConnectionPoolSettings(Builder builder) {
+        this.maxTotalConnections = builder.maxTotalConnections;
+        this.maxConnectionsPerRoute = builder.maxConnectionsPerRoute;
+        this.keepAliveDurationInMilliseconds = builder.keepAliveDurationInMilliseconds;
+        this.idleConnectionTimeoutInMilliseconds = builder.idleConnectionTimeoutInMilliseconds;
+        this.idleConnectionEvictionIntervalInMilliseconds = builder.idleConnectionEvictionIntervalInMilliseconds;
+        this.connectionTimeToLiveInMilliseconds = builder.connectionTimeToLiveInMilliseconds;
+    }
+
+    /**
+     * Creates a new settings-builder initialized with the default settings.
+     *
+     * @return a new instance of {@link HttpConnectionPoolSettings.Builder}
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the maximum number of connections in the pool.
+     *
+     * @return the maximum number of connections
+     */
+    public int getMaxTotalConnections() {
+        return maxTotalConnections;
+    }
+
+    /**
+     * Returns the maximum number of connections to the same host.
+     *
+     * @return the maximum number of connections per route
+     */
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    /**
+     * Returns the number of milliseconds a connection is kept alive if the Google Geocoding service does not
+     * specify it in the response. This is also the upper limit of the keep-alive duration the service can ask for.
+     *
+     * @return the keep-alive duration in milliseconds
+     */
+    public long getKeepAliveDurationInMilliseconds() {
+        return keepAliveDurationInMilliseconds;
+    }
+
+    /**
+     * Returns the number of milliseconds after which an idle connection is closed. Zero means the idle
+     * connections are never closed.
+     *
+     * @return the idle connection timeout in milliseconds
+     */
+    public long getIdleConnectionTimeoutInMilliseconds() {
+        return idleConnectionTimeoutInMilliseconds;
+    }
+
+    /**
+     * Returns the number of milliseconds between two consecutive checks for idle connections.
+     *
+     * @return the idle connection eviction interval in milliseconds
+     */
+    public long getIdleConnectionEvictionIntervalInMilliseconds() {
+        return idleConnectionEvictionIntervalInMilliseconds;
+    }
+
+    /**
+     * Returns the number of milliseconds after which a connection expires regardless of its activity. Expired
+     * connections are not reused and they are closed by the idle connection evictor. Zero means the lifetime of
+     * the connections is not limited.
+     *
+     * @return the connection time-to-live in milliseconds
+     */
+    public long getConnectionTimeToLiveInMilliseconds() {
+        return connectionTimeToLiveInMilliseconds;
+    }
+
+    /**
+     * Returns the textual representation of this {@code HttpConnectionPoolSettings}.
+     *
+     * @return this {@code HttpConnectionPoolSettings} in string format
+     */
+    @Override
+    public String toString() {
+        return String.format("maxTotalConnections: \"%d\", maxConnectionsPerRoute: \"%d\", keepAliveDurationInMilliseconds: \"%d\", "
+                + "idleConnectionTimeoutInMilliseconds: \"%d\", idleConnectionEvictionIntervalInMilliseconds: \"%d\", "
+                + "connectionTimeToLiveInMilliseconds: \"%d\"",
+                maxTotalConnections, maxConnectionsPerRoute, keepAliveDurationInMilliseconds,
+                idleConnectionTimeoutInMilliseconds, idleConnectionEvictionIntervalInMilliseconds, connectionTimeToLiveInMilliseconds);
+    }
+
+    /**
+     * A factory class to construct new {@link HttpConnectionPoolSettings}. The settings not defined in the builder
+     * keep their default values. The method calls used to build the settings can be chained.
+     */
+    public static final class Builder {
+
+        private int maxTotalConnections = 20;
+        private int maxConnectionsPerRoute = 20;
+        private long keepAliveDurationInMilliseconds = 30000;
+        private long idleConnectionTimeoutInMilliseconds = 60000;
+        private long idleConnectionEvictionIntervalInMilliseconds = 5000;
+        private long connectionTimeToLiveInMilliseconds = 0;
+
+        private Builder() {
+        }
+
+        /**
+         * Instantiates new {@link HttpConnectionPoolSettings} with the values set in this builder.
+         *
+         * @return a new instance of {@link HttpConnectionPoolSettings}
+         */
+        public HttpConnectionPoolSettings build() {
+            return new HttpConnectionPoolSettings(this);
+        }
+
+        /**
+         * Sets the maximum number of connections in the pool.
+         *
+         * @param maxTotalConnections the maximum number of connections
+         * @throws IllegalArgumentException if {@code maxTotalConnections} is not a positive number
+         * @return a reference to this {@code Builder}
+         */
+        public Builder setMaxTotalConnections(int maxTotalConnections) {
+            Validate.isTrue(maxTotalConnections > 0, "maxTotalConnections must be a positive number");
+
+            this.maxTotalConnections = maxTotalConnections;
+
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of connections to the same host.
+         *
+         * @param maxConnectionsPerRoute the maximum number of connections per route
+         * @throws IllegalArgumentException if {@code maxConnectionsPerRoute} is not a positive number
+         * @return a reference to this {@code Builder}
+         */
+        public Builder setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+            Validate.isTrue(maxConnectionsPerRoute > 0, "maxConnectionsPerRoute must be a positive number");
+
+            this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+
+            return this;
+        }
+
+        /**
+         * Sets the number of milliseconds a connection is kept alive if the Google Geocoding service does not
+         * specify it in the response.
+         *
+         * @param keepAliveDurationInMilliseconds the keep-alive duration in milliseconds
+         * @throws IllegalArgumentException if {@code keepAliveDurationInMilliseconds} is not a positive number
+         * @return a reference to this {@code Builder}
+         */
+        public Builder setKeepAliveDurationInMilliseconds(long keepAliveDurationInMilliseconds) {
+            Validate.isTrue(keepAliveDurationInMilliseconds > 0, "keepAliveDurationInMilliseconds must be a positive number");
+
+            this.keepAliveDurationInMilliseconds = keepAliveDurationInMilliseconds;
+
+            return this;
+        }
+
+        /**
+         * Sets the number of milliseconds after which an idle connection is closed.
+         *
+         * @param idleConnectionTimeoutInMilliseconds the idle connection timeout in milliseconds, or {@code 0}
+         * if the idle connections should never be closed
+         * @throws IllegalArgumentException if {@code idleConnectionTimeoutInMilliseconds} is a negative number
+         * @return a reference to this {@code Builder}
+         */
+        public Builder setIdleConnectionTimeoutInMilliseconds(long idleConnectionTimeoutInMilliseconds) {
+            Validate.isTrue(idleConnectionTimeoutInMilliseconds >= 0, "idleConnectionTimeoutInMilliseconds must be a non-negative number");
+
+            this.idleConnectionTimeoutInMilliseconds = idleConnectionTimeoutInMilliseconds;
+
+            return this;
+        }
+
+        /**
+         * Sets the number of milliseconds between two consecutive checks for idle connections.
+         *
+         * @param idleConnectionEvictionIntervalInMilliseconds the idle connection eviction interval in milliseconds
+         * @throws IllegalArgumentException if {@code idleConnectionEvictionIntervalInMilliseconds} is not a positive number
+         * @return a reference to this {@code Builder}
+         */
+        public Builder setIdleConnectionEvictionIntervalInMilliseconds(long idleConnectionEvictionIntervalInMilliseconds) {
+            Validate.isTrue(idleConnectionEvictionIntervalInMilliseconds > 0, "idleConnectionEvictionIntervalInMilliseconds must be a positive number");
+
+            this.idleConnectionEvictionIntervalInMilliseconds = idleConnectionEvictionIntervalInMilliseconds;
+
+            return this;
+        }
+
+        /**
+         * Sets the number of milliseconds after which a connection expires regardless of its activity.
+         *
+         * @param connectionTimeToLiveInMilliseconds the connection time-to-live in milliseconds, or {@code 0}
+         * if the lifetime of the connections should not be limited
+         * @throws IllegalArgumentException if {@code connectionTimeToLiveInMilliseconds} is a negative number
+         * @return a reference to this {@code Builder}
+         */
+        public Builder setConnectionTimeToLiveInMilliseconds(long connectionTimeToLiveInMilliseconds) {
+            Validate.isTrue(connectionTimeToLiveInMilliseconds >= 0, "connectionTimeToLiveInMilliseconds must be a non-negative number");
+
+            this.connectionTimeToLiveInMilliseconds = connectionTimeToLiveInMilliseconds;
+
+            return this;
+        }
+    }
+}
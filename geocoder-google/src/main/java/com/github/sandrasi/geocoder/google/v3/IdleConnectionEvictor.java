@@ -0,0 +1,144 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@code IdleConnectionEvictor} periodically closes the expired connections and the connections that have been
+ * idle for too long in the connection pools of a {@link GoogleGeocoder}. The eviction runs on a single daemon
+ * thread owned by the evictor, so the threads sending the geocoding requests never do any connection housekeeping.
+ * <p>
+ * The evictor is started by the {@link GoogleGeocoderFactory} and it is stopped when the geocoder is closed. The
+ * number of evicted connections is counted from the number of available connections in the pools before and after
+ * the eviction, hence the counters are approximate if connections are released to the pools during an eviction.
+ */
+public final class IdleConnectionEvictor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdleConnectionEvictor.class);
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final PoolingNHttpClientConnectionManager asyncConnectionManager;
+    private final long idleConnectionTimeoutInMilliseconds;
+    private final long idleConnectionEvictionIntervalInMilliseconds;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong evictionRunCount = new AtomicLong();
+    private final AtomicLong evictedExpiredConnectionCount = new AtomicLong();
+    private final AtomicLong evictedIdleConnectionCount = new AtomicLong();
+
+    /**
+     * Constructs a new {@code IdleConnectionEvictor}. The {@code asyncConnectionManager} is {@code null} if the
+     * geocoder does not have a non-blocking HTTP client.
+     */
+    IdleConnectionEvictor(PoolingHttpClientConnectionManager connectionManager, PoolingNHttpClientConnectionManager asyncConnectionManager,
+            long idleConnectionTimeoutInMilliseconds, long idleConnectionEvictionIntervalInMilliseconds) {
+        Validate.notNull(connectionManager, "connectionManager is required");
+        Validate.isTrue(idleConnectionTimeoutInMilliseconds > 0, "idleConnectionTimeoutInMilliseconds must be a positive number");
+        Validate.isTrue(idleConnectionEvictionIntervalInMilliseconds > 0, "idleConnectionEvictionIntervalInMilliseconds must be a positive number");
+
+        this.connectionManager = connectionManager;
+        this.asyncConnectionManager = asyncConnectionManager;
+        this.idleConnectionTimeoutInMilliseconds = idleConnectionTimeoutInMilliseconds;
+        this.idleConnectionEvictionIntervalInMilliseconds = idleConnectionEvictionIntervalInMilliseconds;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "google-geocoder-idle-connection-evictor");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the number of milliseconds after which an idle connection is closed.
+     *
+     * @return the idle connection timeout in milliseconds
+     */
+    public long getIdleConnectionTimeoutInMilliseconds() {
+        return idleConnectionTimeoutInMilliseconds;
+    }
+
+    /**
+     * Returns the number of milliseconds between two consecutive evictions.
+     *
+     * @return the idle connection eviction interval in milliseconds
+     */
+    public long getIdleConnectionEvictionIntervalInMilliseconds() {
+        return idleConnectionEvictionIntervalInMilliseconds;
+    }
+
+    /**
+     * Returns the number of evictions performed so far.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionRunCount() {
+        return evictionRunCount.get();
+    }
+
+    /**
+     * Returns the number of connections closed so far because they had expired.
+     *
+     * @return the number of evicted expired connections
+     */
+    public long getEvictedExpiredConnectionCount() {
+        return evictedExpiredConnectionCount.get();
+    }
+
+    /**
+     * Returns the number of connections closed so far because they had been idle for too long.
+     *
+     * @return the number of evicted idle connections
+     */
+    public long getEvictedIdleConnectionCount() {
+        return evictedIdleConnectionCount.get();
+    }
+
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::evict, idleConnectionEvictionIntervalInMilliseconds,
+                idleConnectionEvictionIntervalInMilliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    void evict() {
+        try {
+            int availableConnections = getAvailableConnections();
+
+            connectionManager.closeExpiredConnections();
+            if (asyncConnectionManager != null) {
+                asyncConnectionManager.closeExpiredConnections();
+            }
+
+            int availableConnectionsAfterExpiry = getAvailableConnections();
+
+            connectionManager.closeIdleConnections(idleConnectionTimeoutInMilliseconds, TimeUnit.MILLISECONDS);
+            if (asyncConnectionManager != null) {
+                asyncConnectionManager.closeIdleConnections(idleConnectionTimeoutInMilliseconds, TimeUnit.MILLISECONDS);
+            }
+
+            int availableConnectionsAfterIdleTimeout = getAvailableConnections();
+
+            evictionRunCount.incrementAndGet();
+            evictedExpiredConnectionCount.addAndGet(Math.max(0, availableConnections - availableConnectionsAfterExpiry));
+            evictedIdleConnectionCount.addAndGet(Math.max(0, availableConnectionsAfterExpiry - availableConnectionsAfterIdleTimeout));
+        } catch (RuntimeException e) {
+            LOGGER.warn("An exception occurred while evicting idle connections", e);
+        }
+    }
+
+    private int getAvailableConnections() {
+        int availableConnections = connectionManager.getTotalStats().getAvailable();
+
+        return (asyncConnectionManager != null) ? availableConnections + asyncConnectionManager.getTotalStats().getAvailable() : availableConnections;
+    }
+}
@@ -1,15 +1,20 @@
 package com.github.sandrasi.geocoder.google.v3;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import com.github.sandrasi.geocoder.GeocodeException;
 import com.github.sandrasi.geocoder.components.*;
+import com.github.sandrasi.geocoder.util.StringPool;
 import org.apache.commons.lang3.Validate;
-import org.codehaus.jackson.JsonNode;
-import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonStreamContext;
+import org.codehaus.jackson.JsonToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,6 +22,34 @@ import org.slf4j.LoggerFactory;
  * A parser to convert a JSON-string into {@link GoogleGeocodeResponse}.
  * The JSON output format of the Google geocoding response is described
  * <a href="http://code.google.com/apis/maps/documentation/geocoding/#JSON">here</a>.
+ * <p>
+ * The response is parsed from the token stream: the geocoded addresses, address components and geometries are
+ * built as their tokens are read, without building an intermediate JSON tree. The fields may come in any order
+ * and the unknown fields are skipped. The mandatory fields are validated when the enclosing JSON object ends, and
+ * the failure of a nested object is reported only after the mandatory fields of the enclosing object are
+ * validated. The fields of a geocoded address are validated in the order types, formatted address, address
+ * components and geometry, so a malformed response is reported with the same missing field as by a JSON tree. As
+ * in the JSON tree, a {@code null} array is parsed as an empty one and a coordinate that is not a number, like
+ * {@code null} or a string, is parsed as {@code 0.0}. A {@code null} string value is reported as a missing field.
+ * <p>
+ * Every response is parsed by the same, thread-safe {@link JsonFactory}. The factory canonicalizes and interns the
+ * field names in a symbol table shared by its parsers, so the field names of the responses are looked up in the
+ * table instead of being decoded into new strings for every response.
+ * <p>
+ * The geocoded addresses can be parsed with a {@link ResponseProjection}: the fields not included in the projection
+ * are skipped at the token level, so neither their components are built nor their mandatory fields are validated.
+ * <p>
+ * The statuses, location types and address component types are looked up in precomputed, case-insensitive
+ * {@link EnumLookupTable}s. The unknown address component types are ignored, while an unknown status or location
+ * type fails the parsing; all of them are counted and every distinct unknown value is logged once.
+ * <p>
+ * The formatted addresses and the names of the address components can be interned by a {@link StringPool} shared
+ * by the parsed responses. The pooled strings are looked up from the character buffer of the parser, so a new
+ * string is created only if the pool does not hold an equal one.
+ * <p>
+ * A response read into a byte array can be decoded by the {@link ByteGeocodeResponseDecoder} instead, which is
+ * specific to the shape of the Google geocode responses. The responses the decoder does not expect are parsed
+ * by the JSON parser, so the two produce the same responses and report the same errors.
  */
 final class JsonGeocodeResponseParser {
 
@@ -39,6 +72,15 @@ final class JsonGeocodeResponseParser {
     private static final String FIELD_LONG_NAME = "long_name";
     private static final String FIELD_SHORT_NAME = "short_name";
 
+    static final EnumLookupTable<GeocodeStatus> GEOCODE_STATUSES = new EnumLookupTable<>(GeocodeStatus.class, "geocode status");
+    static final EnumLookupTable<LocationType> LOCATION_TYPES = new EnumLookupTable<>(LocationType.class, "location type");
+    static final EnumLookupTable<AddressComponentType> ADDRESS_COMPONENT_TYPES = new EnumLookupTable<>(AddressComponentType.class, "address component type");
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .configure(JsonParser.Feature.CANONICALIZE_FIELD_NAMES, true)
+            .configure(JsonParser.Feature.INTERN_FIELD_NAMES, true)
+            .configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, true);
+
     private JsonGeocodeResponseParser() {
     }
 
@@ -53,18 +95,111 @@ final class JsonGeocodeResponseParser {
      * @return a Google geocode response
      */
     public static GoogleGeocodeResponse parse(String originalQueryString, InputStream jsonInputStream) {
+        return parse(originalQueryString, jsonInputStream, ResponseProjection.FULL, null, JSON_FACTORY);
+    }
+
+    /**
+     * Parses the fields included in {@code projection} of the JSON-string representing a Google geocode response
+     * and converts it into {@link GoogleGeocodeResponse}.
+     *
+     * @param originalQueryString the original query sent to the Google geocoding service
+     * @param jsonInputStream the streamed geocode response in JSON format
+     * @param projection the projection of the geocoded addresses
+     * @param stringPool the pool interning the formatted addresses and the names of the address components, or
+     * {@code null} if the strings should not be interned
+     * @throws NullPointerException if {@code orignalQueryString}, {@code jsonInputStream} or {@code projection}
+     * is {@code null}
+     * @throws GeocodeException if an I/O exception occurs during the parsing
+     * @return a Google geocode response
+     */
+    static GoogleGeocodeResponse parse(String originalQueryString, InputStream jsonInputStream, ResponseProjection projection, StringPool stringPool) {
+        return parse(originalQueryString, jsonInputStream, projection, stringPool, JSON_FACTORY);
+    }
+
+    static GoogleGeocodeResponse parse(String originalQueryString, InputStream jsonInputStream, JsonFactory jsonFactory) {
+        return parse(originalQueryString, jsonInputStream, ResponseProjection.FULL, null, jsonFactory);
+    }
+
+    private static GoogleGeocodeResponse parse(String originalQueryString, InputStream jsonInputStream, ResponseProjection projection, StringPool stringPool, JsonFactory jsonFactory) {
         Validate.notNull(jsonInputStream, "jsonInputStream is required");
+        Validate.notNull(projection, "projection is required");
 
-        try {
-            JsonNode geocodeResponseRoot = new ObjectMapper().readValue(jsonInputStream, JsonNode.class);
+        try (JsonParser jsonParser = jsonFactory.createJsonParser(jsonInputStream)) {
+            return parseGeocodeResponse(originalQueryString, jsonParser, projection, stringPool, null);
+        } catch (IOException e) {
+            LOGGER.error("An I/O exception occured while parsing Google's geocode response");
+
+            throw new GeocodeException("An I/O exception occured while parsing Google's geocode response", e);
+        }
+    }
+
+    /**
+     * Decodes the JSON-string representing a Google geocode response by the {@link ByteGeocodeResponseDecoder} and
+     * converts it into {@link GoogleGeocodeResponse}. If the decoder finds anything it does not expect, like an
+     * escaped character, a {@code null} value, a missing mandatory field or malformed JSON, the response is parsed
+     * by the JSON parser instead.
+     *
+     * @param originalQueryString the original query sent to the Google geocoding service
+     * @param json the geocode response in JSON format
+     * @param projection the projection of the geocoded addresses
+     * @param stringPool the pool interning the formatted addresses and the names of the address components, or
+     * {@code null} if the strings should not be interned
+     * @throws NullPointerException if {@code orignalQueryString}, {@code json} or {@code projection} is {@code null}
+     * @throws GeocodeException if a mandatory field is missing from the response, the status is unknown or an
+     * I/O exception occurs during the parsing
+     * @return a Google geocode response
+     */
+    static GoogleGeocodeResponse decode(String originalQueryString, byte[] json, ResponseProjection projection, StringPool stringPool) {
+        Validate.notNull(json, "json is required");
+        Validate.notNull(projection, "projection is required");
+
+        GoogleGeocodeResponse googleGeocodeResponse = ByteGeocodeResponseDecoder.decode(originalQueryString, json, projection, stringPool);
+
+        if (googleGeocodeResponse != null) {
+            return googleGeocodeResponse;
+        }
+
+        LOGGER.debug("The response could not be decoded byte by byte, parsing it by the JSON parser");
+
+        return parse(originalQueryString, new ByteArrayInputStream(json), projection, stringPool, JSON_FACTORY);
+    }
+
+    /**
+     * Parses the status of the JSON-string representing a Google geocode response and converts the response
+     * into a {@link GoogleGeocodeResponse} whose geocoded addresses are parsed lazily. Only the offsets of the
+     * geocoded addresses are recorded in the JSON-string; every geocoded address is parsed on its first access.
+     * Therefore a missing mandatory field of a geocoded address is only reported when that geocoded address is
+     * accessed.
+     *
+     * @param originalQueryString the original query sent to the Google geocoding service
+     * @param json the geocode response in JSON format
+     * @param projection the projection of the geocoded addresses
+     * @param stringPool the pool interning the formatted addresses and the names of the address components, or
+     * {@code null} if the strings should not be interned
+     * @throws NullPointerException if {@code orignalQueryString}, {@code json} or {@code projection} is {@code null}
+     * @throws GeocodeException if the status or the results are missing from the response or an I/O exception
+     * occurs during the parsing
+     * @return a Google geocode response
+     */
+    static GoogleGeocodeResponse parseLazily(String originalQueryString, byte[] json, ResponseProjection projection, StringPool stringPool) {
+        Validate.notNull(json, "json is required");
+        Validate.notNull(projection, "projection is required");
+
+        try (JsonParser jsonParser = JSON_FACTORY.createJsonParser(json)) {
+            return parseGeocodeResponse(originalQueryString, jsonParser, projection, stringPool, json);
+        } catch (IOException e) {
+            LOGGER.error("An I/O exception occured while parsing Google's geocode response");
 
-            validateJsonFieldExists(geocodeResponseRoot, FIELD_STATUS);
-            validateJsonFieldExists(geocodeResponseRoot, FIELD_RESULTS);
+            throw new GeocodeException("An I/O exception occured while parsing Google's geocode response", e);
+        }
+    }
 
-            return GoogleGeocodeResponse.newBuilder(originalQueryString)
-                    .setGeocodeStatus(parseGeocodeStatus(geocodeResponseRoot))
-                    .addGeocodedAddresses(parseGeocodedAddresses(geocodeResponseRoot))
-                    .build();
+    /**
+     * Parses the geocoded address starting at {@code offset} in the JSON-string of a lazily parsed response.
+     */
+    static GeocodedAddress parseGeocodedAddress(byte[] json, int offset, ResponseProjection projection, StringPool stringPool) {
+        try (JsonParser jsonParser = JSON_FACTORY.createJsonParser(json, offset, json.length - offset)) {
+            return parseGeocodedAddress(jsonParser, jsonParser.nextToken(), projection, stringPool);
         } catch (IOException e) {
             LOGGER.error("An I/O exception occured while parsing Google's geocode response");
 
@@ -72,120 +207,480 @@ final class JsonGeocodeResponseParser {
         }
     }
 
-    private static void validateJsonFieldExists(JsonNode jsonNode, String fieldName) {
-        if (!jsonNode.has(fieldName)) {
+    private static GoogleGeocodeResponse parseGeocodeResponse(String originalQueryString, JsonParser jsonParser, ResponseProjection projection, StringPool stringPool, byte[] lazilyParsedJson) throws IOException {
+        validateJsonObjectStarts(jsonParser.nextToken(), FIELD_STATUS);
+
+        String status = null;
+        Nested<List<GeocodedAddress>> geocodedAddresses = null;
+
+        while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = jsonParser.getCurrentName();
+            JsonToken token = jsonParser.nextToken();
+
+            if (FIELD_STATUS.equals(fieldName)) {
+                status = parseText(jsonParser, token);
+            } else if (FIELD_RESULTS.equals(fieldName)) {
+                geocodedAddresses = (lazilyParsedJson == null)
+                        ? parseNested(jsonParser, token, (parser, nestedToken) -> parseGeocodedAddresses(parser, nestedToken, projection, stringPool))
+                        : parseNested(jsonParser, token, (parser, nestedToken) -> locateGeocodedAddresses(parser, nestedToken, projection, stringPool, lazilyParsedJson));
+            } else {
+                jsonParser.skipChildren();
+            }
+        }
+
+        validateJsonFieldExists(status, FIELD_STATUS);
+        validateJsonFieldExists(geocodedAddresses, FIELD_RESULTS);
+
+        GeocodeStatus geocodeStatus = GEOCODE_STATUSES.lookup(status);
+
+        if (geocodeStatus == null) {
+            throw unknownStatus(status);
+        }
+
+        if (lazilyParsedJson != null) {
+            return GoogleGeocodeResponse.newLazyResponse(originalQueryString, geocodeStatus, geocodedAddresses.get());
+        }
+
+        return GoogleGeocodeResponse.newBuilder(originalQueryString)
+                .setGeocodeStatus(geocodeStatus)
+                .addGeocodedAddresses(geocodedAddresses.get())
+                .build();
+    }
+
+    /**
+     * Returns the number of the unknown statuses, location types and address component types found in the parsed
+     * responses.
+     */
+    static long getUnknownValueCount() {
+        return GEOCODE_STATUSES.getUnknownValueCount() + LOCATION_TYPES.getUnknownValueCount() + ADDRESS_COMPONENT_TYPES.getUnknownValueCount();
+    }
+
+    static GeocodeException unknownStatus(String status) {
+        LOGGER.error("Unknown status [" + status + "] has been found in the response");
+
+        return new GeocodeException("Unknown status [" + status + "] has been found in the response");
+    }
+
+    private static GeocodeException unknownLocationType(String locationType) {
+        LOGGER.error("Unknown location type [" + locationType + "] has been found in the response");
+
+        return new GeocodeException("Unknown location type [" + locationType + "] has been found in the response");
+    }
+
+    private static void validateJsonFieldExists(Object fieldValue, String fieldName) {
+        validateJsonFieldExists(fieldValue != null, fieldName);
+    }
+
+    private static void validateJsonFieldExists(boolean fieldExists, String fieldName) {
+        if (!fieldExists) {
             LOGGER.error("Mandatory field [" + fieldName + "] is missing from the response");
 
             throw new GeocodeException("Mandatory field [" + fieldName + "] is missing from the response");
         }
     }
 
-    private static GeocodeStatus parseGeocodeStatus(JsonNode geocodeResponseRoot) {
-        return GeocodeStatus.valueOf(geocodeResponseRoot.path(FIELD_STATUS).getTextValue().toUpperCase());
+    private static void validateJsonObjectStarts(JsonToken token, String firstMandatoryFieldName) {
+        if (token != JsonToken.START_OBJECT) {
+            validateJsonFieldExists(null, firstMandatoryFieldName);
+        }
+    }
+
+    private static String parseText(JsonParser jsonParser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        } else if (token.isScalarValue()) {
+            return jsonParser.getText();
+        }
+
+        jsonParser.skipChildren();
+
+        return null;
+    }
+
+    /**
+     * Parses the scalar value as {@link #parseText(JsonParser, JsonToken)} does, and interns it by
+     * {@code stringPool} unless the pool is {@code null}.
+     */
+    private static String parseText(JsonParser jsonParser, JsonToken token, StringPool stringPool) throws IOException {
+        if ((stringPool == null) || !token.isScalarValue() || (token == JsonToken.VALUE_NULL)) {
+            return parseText(jsonParser, token);
+        }
+
+        return stringPool.intern(jsonParser.getTextCharacters(), jsonParser.getTextOffset(), jsonParser.getTextLength());
+    }
+
+    /**
+     * Looks up the enum constant named by the scalar value in the character buffer of the parser, without
+     * decoding the value into a string.
+     */
+    private static <E extends Enum<E>> E parseEnumConstant(JsonParser jsonParser, JsonToken token, EnumLookupTable<E> enumLookupTable) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        } else if (!token.isScalarValue()) {
+            jsonParser.skipChildren();
+
+            return null;
+        }
+
+        return enumLookupTable.lookup(jsonParser.getTextCharacters(), jsonParser.getTextOffset(), jsonParser.getTextLength());
     }
 
-    private static List<GeocodedAddress> parseGeocodedAddresses(JsonNode geocodeResponseRoot) {
+    private static List<GeocodedAddress> parseGeocodedAddresses(JsonParser jsonParser, JsonToken token, ResponseProjection projection, StringPool stringPool) throws IOException {
         List<GeocodedAddress> geocodedAddresses = new ArrayList<>();
 
-        for (JsonNode jsonGeocodedAddress : geocodeResponseRoot.path(FIELD_RESULTS)) {
-            validateJsonFieldExists(jsonGeocodedAddress, FIELD_TYPES);
-            validateJsonFieldExists(jsonGeocodedAddress, FIELD_FORMATTED_ADDRESS);
-            validateJsonFieldExists(jsonGeocodedAddress, FIELD_ADDRESS_COMPONENTS);
-            validateJsonFieldExists(jsonGeocodedAddress, FIELD_GEOMETRY);
+        if (token != JsonToken.START_ARRAY) {
+            jsonParser.skipChildren();
 
-            geocodedAddresses.add(GeocodedAddress.newBuilder(parseFormattedAddress(jsonGeocodedAddress.path(FIELD_FORMATTED_ADDRESS)))
-                    .addAddressTypes(parseAddressComponentTypes(jsonGeocodedAddress.path(FIELD_TYPES)))
-                    .addAddressComponents(parseAddressComponents(jsonGeocodedAddress.path(FIELD_ADDRESS_COMPONENTS)))
-                    .setGeometry(parseGeometry(jsonGeocodedAddress.path(FIELD_GEOMETRY)))
-                    .build());
+            return geocodedAddresses;
+        }
+
+        while ((token = jsonParser.nextToken()) != JsonToken.END_ARRAY) {
+            geocodedAddresses.add(parseGeocodedAddress(jsonParser, token, projection, stringPool));
         }
 
         return geocodedAddresses;
     }
 
-    private static List<AddressComponentType> parseAddressComponentTypes(JsonNode jsonAddressComponentTypes) {
+    private static List<GeocodedAddress> locateGeocodedAddresses(JsonParser jsonParser, JsonToken token, ResponseProjection projection, StringPool stringPool, byte[] json) throws IOException {
+        if (token != JsonToken.START_ARRAY) {
+            jsonParser.skipChildren();
+
+            return new LazyGeocodedAddressList(json, new int[0], projection, stringPool);
+        }
+
+        int[] offsets = new int[4];
+        int size = 0;
+
+        while ((token = jsonParser.nextToken()) != JsonToken.END_ARRAY) {
+            validateJsonObjectStarts(token, FIELD_TYPES);
+
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+
+            offsets[size++] = startOfObject(json, (int) jsonParser.getTokenLocation().getCharOffset());
+            jsonParser.skipChildren();
+        }
+
+        return new LazyGeocodedAddressList(json, Arrays.copyOf(offsets, size), projection, stringPool);
+    }
+
+    /**
+     * Returns the offset of the opening brace of the JSON object whose token location is {@code tokenOffset}. The
+     * byte parser reports the location of an array element after the first one at the preceding comma, so the
+     * separators are skipped.
+     */
+    private static int startOfObject(byte[] json, int tokenOffset) {
+        int offset = tokenOffset;
+
+        while (json[offset] != '{') {
+            offset++;
+        }
+
+        return offset;
+    }
+
+    private static GeocodedAddress parseGeocodedAddress(JsonParser jsonParser, JsonToken token, ResponseProjection projection, StringPool stringPool) throws IOException {
+        validateJsonObjectStarts(token, FIELD_TYPES);
+
+        List<AddressComponentType> addressTypes = null;
+        String formattedAddress = null;
+        Nested<List<AddressComponent>> addressComponents = null;
+        Nested<Geometry> geometry = null;
+
+        while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = jsonParser.getCurrentName();
+            JsonToken valueToken = jsonParser.nextToken();
+
+            if (FIELD_TYPES.equals(fieldName) && projection.includesTypes()) {
+                addressTypes = parseAddressComponentTypes(jsonParser, valueToken);
+            } else if (FIELD_FORMATTED_ADDRESS.equals(fieldName)) {
+                formattedAddress = parseText(jsonParser, valueToken, stringPool);
+            } else if (FIELD_ADDRESS_COMPONENTS.equals(fieldName) && projection.includesDetails()) {
+                addressComponents = parseNested(jsonParser, valueToken, (parser, nestedToken) -> parseAddressComponents(parser, nestedToken, stringPool));
+            } else if (FIELD_GEOMETRY.equals(fieldName)) {
+                geometry = parseNested(jsonParser, valueToken, (parser, nestedToken) -> parseGeometry(parser, nestedToken, projection));
+            } else {
+                jsonParser.skipChildren();
+            }
+        }
+
+        if (projection.includesTypes()) {
+            validateJsonFieldExists(addressTypes, FIELD_TYPES);
+        }
+
+        validateJsonFieldExists(formattedAddress, FIELD_FORMATTED_ADDRESS);
+
+        if (projection.includesDetails()) {
+            validateJsonFieldExists(addressComponents, FIELD_ADDRESS_COMPONENTS);
+        }
+
+        validateJsonFieldExists(geometry, FIELD_GEOMETRY);
+
+        GeocodedAddress.Builder geocodedAddressBuilder = GeocodedAddress.newBuilder(formattedAddress);
+
+        if (projection.includesTypes()) {
+            geocodedAddressBuilder.addAddressTypes(addressTypes);
+        }
+
+        if (projection.includesDetails()) {
+            geocodedAddressBuilder.addAddressComponents(addressComponents.get());
+        }
+
+        return geocodedAddressBuilder.setGeometry(geometry.get()).build();
+    }
+
+    private static List<AddressComponentType> parseAddressComponentTypes(JsonParser jsonParser, JsonToken token) throws IOException {
         List<AddressComponentType> addressComponentTypes = new ArrayList<>();
 
-        for (JsonNode addressType : jsonAddressComponentTypes) {
-            try {
-                addressComponentTypes.add(AddressComponentType.valueOf(addressType.getTextValue().toUpperCase()));
-            } catch (IllegalArgumentException e) {
-                LOGGER.warn("Unknown address component type [" + addressType.getTextValue().toUpperCase() + "] has been found. Ignoring it.");
+        if (token != JsonToken.START_ARRAY) {
+            jsonParser.skipChildren();
+
+            return addressComponentTypes;
+        }
+
+        while ((token = jsonParser.nextToken()) != JsonToken.END_ARRAY) {
+            AddressComponentType addressComponentType = parseEnumConstant(jsonParser, token, ADDRESS_COMPONENT_TYPES);
+
+            if (addressComponentType != null) {
+                addressComponentTypes.add(addressComponentType);
             }
         }
 
         return addressComponentTypes;
     }
 
-    private static String parseFormattedAddress(JsonNode jsonFormattedAddress) {
-        return jsonFormattedAddress.getTextValue();
-    }
+    private static Geometry parseGeometry(JsonParser jsonParser, JsonToken token, ResponseProjection projection) throws IOException {
+        validateJsonObjectStarts(token, FIELD_LOCATION);
+
+        Nested<GeographicLocation> location = null;
+        LocationType locationType = null;
+        String unknownLocationType = null;
+        Nested<GeographicArea> viewport = null;
+        Nested<GeographicArea> bounds = null;
+
+        while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = jsonParser.getCurrentName();
+            JsonToken valueToken = jsonParser.nextToken();
+
+            if (FIELD_LOCATION.equals(fieldName)) {
+                location = parseNested(jsonParser, valueToken, JsonGeocodeResponseParser::parseGeographicCoordinates);
+            } else if (FIELD_LOCATION_TYPE.equals(fieldName) && projection.includesTypes()) {
+                locationType = parseEnumConstant(jsonParser, valueToken, LOCATION_TYPES);
+                unknownLocationType = ((locationType == null) && (valueToken != JsonToken.VALUE_NULL) && valueToken.isScalarValue()) ? jsonParser.getText() : null;
+            } else if (FIELD_VIEWPORT.equals(fieldName) && projection.includesDetails()) {
+                viewport = parseNested(jsonParser, valueToken, JsonGeocodeResponseParser::parseGeographicArea);
+            } else if (FIELD_BOUNDS.equals(fieldName) && projection.includesDetails()) {
+                bounds = parseNested(jsonParser, valueToken, JsonGeocodeResponseParser::parseGeographicArea);
+            } else {
+                jsonParser.skipChildren();
+            }
+        }
+
+        validateJsonFieldExists(location, FIELD_LOCATION);
+
+        if (projection.includesTypes()) {
+            validateJsonFieldExists((locationType != null) || (unknownLocationType != null), FIELD_LOCATION_TYPE);
+        }
+
+        if (projection.includesDetails()) {
+            validateJsonFieldExists(viewport, FIELD_VIEWPORT);
+        }
+
+        Geometry.Builder geometryBuilder = Geometry.newBuilder(location.get());
+
+        if (projection.includesTypes()) {
+            if (unknownLocationType != null) {
+                throw unknownLocationType(unknownLocationType);
+            }
 
-    private static Geometry parseGeometry(JsonNode jsonGeometry) {
-        validateJsonFieldExists(jsonGeometry, FIELD_LOCATION);
-        validateJsonFieldExists(jsonGeometry, FIELD_LOCATION_TYPE);
-        validateJsonFieldExists(jsonGeometry, FIELD_VIEWPORT);
+            geometryBuilder.setLocationType(locationType);
+        }
 
-        Geometry.Builder geometryBuilder = Geometry.newBuilder(parseGeographicCoordinates(jsonGeometry.path(FIELD_LOCATION)))
-                .setLocationType(parseLocationType(jsonGeometry.path(FIELD_LOCATION_TYPE)))
-                .setViewport(parseGeographicArea(jsonGeometry.path(FIELD_VIEWPORT)));
+        if (projection.includesDetails()) {
+            geometryBuilder.setViewport(viewport.get());
+        }
 
-        if (jsonGeometry.has(FIELD_BOUNDS)) {
-            geometryBuilder.setBounds(parseGeographicArea(jsonGeometry.path(FIELD_BOUNDS)));
+        if (bounds != null) {
+            geometryBuilder.setBounds(bounds.get());
         }
 
         return geometryBuilder.build();
     }
 
-    private static GeographicLocation parseGeographicCoordinates(JsonNode jsonGeographicCoordinates) {
-        validateJsonFieldExists(jsonGeographicCoordinates, FIELD_LAT);
-        validateJsonFieldExists(jsonGeographicCoordinates, FIELD_LNG);
+    private static GeographicLocation parseGeographicCoordinates(JsonParser jsonParser, JsonToken token) throws IOException {
+        validateJsonObjectStarts(token, FIELD_LAT);
+
+        boolean hasLatitude = false;
+        boolean hasLongitude = false;
+        double latitude = 0.0;
+        double longitude = 0.0;
+
+        while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = jsonParser.getCurrentName();
+            JsonToken valueToken = jsonParser.nextToken();
+
+            if (FIELD_LAT.equals(fieldName)) {
+                hasLatitude = true;
+                latitude = parseCoordinate(jsonParser, valueToken);
+            } else if (FIELD_LNG.equals(fieldName)) {
+                hasLongitude = true;
+                longitude = parseCoordinate(jsonParser, valueToken);
+            } else {
+                jsonParser.skipChildren();
+            }
+        }
+
+        validateJsonFieldExists(hasLatitude, FIELD_LAT);
+        validateJsonFieldExists(hasLongitude, FIELD_LNG);
 
-        return GeographicLocation.fromValues(jsonGeographicCoordinates.path(FIELD_LAT).getDoubleValue(), jsonGeographicCoordinates.path(FIELD_LNG).getDoubleValue());
+        return GeographicLocation.fromValues(latitude, longitude);
     }
 
-    private static LocationType parseLocationType(JsonNode jsonLocationType) {
-        return LocationType.valueOf(jsonLocationType.getTextValue().toUpperCase());
+    /**
+     * Parses a coordinate as the JSON tree does: a value that is not a number is parsed as {@code 0.0}.
+     */
+    private static double parseCoordinate(JsonParser jsonParser, JsonToken token) throws IOException {
+        if (token.isNumeric()) {
+            return jsonParser.getDoubleValue();
+        }
+
+        jsonParser.skipChildren();
+
+        return 0.0;
     }
 
-    private static GeographicArea parseGeographicArea(JsonNode jsonGeographicArea) {
-        validateJsonFieldExists(jsonGeographicArea, FIELD_SOUTHWEST);
-        validateJsonFieldExists(jsonGeographicArea, FIELD_NORTHEAST);
+    private static GeographicArea parseGeographicArea(JsonParser jsonParser, JsonToken token) throws IOException {
+        validateJsonObjectStarts(token, FIELD_SOUTHWEST);
+
+        Nested<GeographicLocation> southwest = null;
+        Nested<GeographicLocation> northeast = null;
+
+        while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = jsonParser.getCurrentName();
+            JsonToken valueToken = jsonParser.nextToken();
 
-        return new GeographicArea(parseGeographicCoordinates(jsonGeographicArea.path(FIELD_SOUTHWEST)), parseGeographicCoordinates(jsonGeographicArea.path(FIELD_NORTHEAST)));
+            if (FIELD_SOUTHWEST.equals(fieldName)) {
+                southwest = parseNested(jsonParser, valueToken, JsonGeocodeResponseParser::parseGeographicCoordinates);
+            } else if (FIELD_NORTHEAST.equals(fieldName)) {
+                northeast = parseNested(jsonParser, valueToken, JsonGeocodeResponseParser::parseGeographicCoordinates);
+            } else {
+                jsonParser.skipChildren();
+            }
+        }
+
+        validateJsonFieldExists(southwest, FIELD_SOUTHWEST);
+        validateJsonFieldExists(northeast, FIELD_NORTHEAST);
+
+        return new GeographicArea(southwest.get(), northeast.get());
     }
 
-    private static List<AddressComponent> parseAddressComponents(JsonNode jsonAddressComponents) {
+    private static List<AddressComponent> parseAddressComponents(JsonParser jsonParser, JsonToken token, StringPool stringPool) throws IOException {
         List<AddressComponent> addressComponents = new ArrayList<>();
 
-        for (JsonNode jsonAddressComponent : jsonAddressComponents) {
-            validateJsonFieldExists(jsonAddressComponent, FIELD_LONG_NAME);
-            validateJsonFieldExists(jsonAddressComponent, FIELD_SHORT_NAME);
-            validateJsonFieldExists(jsonAddressComponent, FIELD_TYPES);
-
-            List<AddressComponentType> addressComponentTypes = parseAddressComponentTypes(jsonAddressComponent.path(FIELD_TYPES));
+        if (token != JsonToken.START_ARRAY) {
+            jsonParser.skipChildren();
 
-            if (!addressComponentTypes.isEmpty()) {
-                AddressComponent.Builder addressComponentBuilder = AddressComponent.newBuilder(addressComponentTypes.get(0))
-                        .setLongName(parseLongName(jsonAddressComponent.path(FIELD_LONG_NAME)))
-                        .setShortName(parseShortName(jsonAddressComponent.path(FIELD_SHORT_NAME)));
+            return addressComponents;
+        }
 
-                if (addressComponentTypes.size() > 1) {
-                    addressComponentBuilder.addAddressComponentTypes(addressComponentTypes.subList(1, addressComponentTypes.size()));
-                }
+        while ((token = jsonParser.nextToken()) != JsonToken.END_ARRAY) {
+            AddressComponent addressComponent = parseAddressComponent(jsonParser, token, stringPool);
 
-                addressComponents.add(addressComponentBuilder.build());
+            if (addressComponent != null) {
+                addressComponents.add(addressComponent);
             }
         }
 
         return addressComponents;
     }
 
-    private static String parseLongName(JsonNode jsonLongName) {
-        return jsonLongName.getTextValue();
+    private static AddressComponent parseAddressComponent(JsonParser jsonParser, JsonToken token, StringPool stringPool) throws IOException {
+        validateJsonObjectStarts(token, FIELD_LONG_NAME);
+
+        String longName = null;
+        String shortName = null;
+        List<AddressComponentType> addressComponentTypes = null;
+
+        while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = jsonParser.getCurrentName();
+            JsonToken valueToken = jsonParser.nextToken();
+
+            if (FIELD_LONG_NAME.equals(fieldName)) {
+                longName = parseText(jsonParser, valueToken, stringPool);
+            } else if (FIELD_SHORT_NAME.equals(fieldName)) {
+                shortName = parseText(jsonParser, valueToken, stringPool);
+            } else if (FIELD_TYPES.equals(fieldName)) {
+                addressComponentTypes = parseAddressComponentTypes(jsonParser, valueToken);
+            } else {
+                jsonParser.skipChildren();
+            }
+        }
+
+        validateJsonFieldExists(longName, FIELD_LONG_NAME);
+        validateJsonFieldExists(shortName, FIELD_SHORT_NAME);
+        validateJsonFieldExists(addressComponentTypes, FIELD_TYPES);
+
+        if (addressComponentTypes.isEmpty()) {
+            return null;
+        }
+
+        AddressComponent.Builder addressComponentBuilder = AddressComponent.newBuilder(addressComponentTypes.get(0))
+                .setLongName(longName)
+                .setShortName(shortName);
+
+        if (addressComponentTypes.size() > 1) {
+            addressComponentBuilder.addAddressComponentTypes(addressComponentTypes.subList(1, addressComponentTypes.size()));
+        }
+
+        return addressComponentBuilder.build();
+    }
+
+    /**
+     * Parses the nested value starting at {@code token} by {@code nestedValueParser}. If the nested value is
+     * malformed, the rest of it is skipped and its failure is returned, so the parsing of the enclosing object can
+     * go on.
+     */
+    private static <T> Nested<T> parseNested(JsonParser jsonParser, JsonToken token, NestedValueParser<T> nestedValueParser) throws IOException {
+        JsonStreamContext enclosingContext = ((token == JsonToken.START_OBJECT) || (token == JsonToken.START_ARRAY))
+                ? jsonParser.getParsingContext().getParent() : jsonParser.getParsingContext();
+
+        try {
+            return new Nested<>(nestedValueParser.parse(jsonParser, token), null);
+        } catch (GeocodeException e) {
+            while (jsonParser.getParsingContext() != enclosingContext) {
+                jsonParser.nextToken();
+            }
+
+            return new Nested<>(null, e);
+        }
+    }
+
+    private interface NestedValueParser<T> {
+
+        T parse(JsonParser jsonParser, JsonToken token) throws IOException;
     }
 
-    private static String parseShortName(JsonNode jsonShortName) {
-        return jsonShortName.getTextValue();
+    /**
+     * The value of a nested JSON object or array, or the failure of its parsing. The failure is thrown when the
+     * value is requested, after the mandatory fields of the enclosing object are validated.
+     */
+    private static final class Nested<T> {
+
+        private final T value;
+        private final GeocodeException failure;
+
+        private Nested(T value, GeocodeException failure) {
+            this.value = value;
+            this.failure = failure;
+        }
+
+        private T get() {
+            if (failure != null) {
+                throw failure;
+            }
+
+            return value;
+        }
     }
 }
@@ -0,0 +1,69 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.RandomAccess;
+
+import com.github.sandrasi.geocoder.GeocodeException;
+import com.github.sandrasi.geocoder.components.GeocodedAddress;
+import com.github.sandrasi.geocoder.util.StringPool;
+
+/**
+ * {@code LazyGeocodedAddressList} is an unmodifiable list of the geocoded addresses of a lazily parsed Google
+ * geocode response. It keeps the raw JSON-string of the response and the offsets of the geocoded addresses in it,
+ * and parses every geocoded address with the projection and the string pool of the response on its first access
+ * only. The parsed geocoded addresses are memoized.
+ * <p>
+ * The list is thread-safe. Concurrent first accesses of the same geocoded address may parse it more than once,
+ * but the geocoded addresses are immutable, so every thread gets an equal, fully constructed instance.
+ * <p>
+ * The list is serialized as an {@link ArrayList} of the parsed geocoded addresses.
+ */
+final class LazyGeocodedAddressList extends AbstractList<GeocodedAddress> implements RandomAccess, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final byte[] json;
+    private final int[] offsets;
+    private final ResponseProjection projection;
+    private final StringPool stringPool;
+    private final GeocodedAddress[] geocodedAddresses;
+
+    LazyGeocodedAddressList(byte[] json, int[] offsets, ResponseProjection projection, StringPool stringPool) {
+        this.json = json;
+        this.offsets = offsets;
+        this.projection = projection;
+        this.stringPool = stringPool;
+        this.geocodedAddresses = new GeocodedAddress[offsets.length];
+    }
+
+    /**
+     * Returns the geocoded address at the given position, parsing it if it has not been accessed yet.
+     *
+     * @param index the index of the geocoded address
+     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     * @throws GeocodeException if a mandatory field is missing from the geocoded address or it can not be parsed
+     * @return the geocoded address
+     */
+    @Override
+    public GeocodedAddress get(int index) {
+        GeocodedAddress geocodedAddress = geocodedAddresses[index];
+
+        if (geocodedAddress == null) {
+            geocodedAddress = JsonGeocodeResponseParser.parseGeocodedAddress(json, offsets[index], projection, stringPool);
+            geocodedAddresses[index] = geocodedAddress;
+        }
+
+        return geocodedAddress;
+    }
+
+    @Override
+    public int size() {
+        return offsets.length;
+    }
+
+    private Object writeReplace() {
+        return new ArrayList<>(this);
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+/**
+ * The projections of the Google geocode responses. A projection defines which fields of the geocoded addresses
+ * are parsed; the fields not included in the projection are skipped in the token stream of the response without
+ * being parsed or validated, and the corresponding components of the geocoded addresses take the default values
+ * of their builders.
+ */
+public enum ResponseProjection {
+
+    /**
+     * Only the formatted address and the geographic location of the geometry are parsed.
+     */
+    LOCATION_ONLY(false, false),
+
+    /**
+     * The formatted address, the address types, the geographic location and the location type of the geometry
+     * are parsed.
+     */
+    LOCATION_AND_TYPE(true, false),
+
+    /**
+     * Every field of the geocoded addresses is parsed.
+     */
+    FULL(true, true);
+
+    private final boolean typesIncluded;
+    private final boolean detailsIncluded;
+
+    private ResponseProjection(boolean typesIncluded, boolean detailsIncluded) {
+        this.typesIncluded = typesIncluded;
+        this.detailsIncluded = detailsIncluded;
+    }
+
+    boolean includesTypes() {
+        return typesIncluded;
+    }
+
+    boolean includesDetails() {
+        return detailsIncluded;
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+import java.io.IOException;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+/**
+ * {@code TimestampingHttpRequestExecutor} stores the {@link System#nanoTime()} at which the HTTP client has leased
+ * and connected the connection of a request in the context of the request, so the geocoding requests can tell the
+ * connection lease apart from waiting for the response.
+ */
+final class TimestampingHttpRequestExecutor extends HttpRequestExecutor {
+
+    /**
+     * The name of the context attribute holding the time the connection was leased at.
+     */
+    static final String CONNECTION_LEASED_AT = "com.github.sandrasi.geocoder.connection-leased-at";
+
+    @Override
+    public HttpResponse execute(HttpRequest request, HttpClientConnection conn, HttpContext context)
+            throws IOException, HttpException {
+        context.setAttribute(CONNECTION_LEASED_AT, System.nanoTime());
+
+        return super.execute(request, conn, context);
+    }
+}
@@ -0,0 +1,131 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import com.github.sandrasi.geocoder.GeocodeException;
+import com.github.sandrasi.geocoder.components.GeocodedAddress;
+import com.github.sandrasi.geocoder.components.GeographicLocation;
+import com.github.sandrasi.geocoder.util.StringPool;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import static com.github.sandrasi.geocoder.components.GeocodeStatus.*;
+import static com.github.sandrasi.geocoder.components.LocationType.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+public class ByteGeocodeResponseDecoderTest {
+
+    @Test
+    public void shouldDecodeTheSameResponsesAsTheJsonParser() throws Exception {
+        for (String resource : new String[] {"/json/valid/validGeocodeResponse.json", "/json/valid/emptyGeocodeResponse.json", "/json/invalid/unknownAddressComponentGeocodeResponse.json"}) {
+            byte[] json = IOUtils.toByteArray(ByteGeocodeResponseDecoderTest.class.getResourceAsStream(resource));
+
+            for (ResponseProjection projection : ResponseProjection.values()) {
+                GoogleGeocodeResponse expectedGoogleGeocodeResponse = JsonGeocodeResponseParser.parse("foo", new ByteArrayInputStream(json), projection, null);
+
+                assertThat(resource + " " + projection, ByteGeocodeResponseDecoder.decode("foo", json, projection, null), is(expectedGoogleGeocodeResponse));
+            }
+        }
+    }
+
+    @Test
+    public void shouldDecodeFieldsInAnyOrderAndSkipUnknownFields() {
+        String json = "{\n"
+                + "  \"results\" : [ {\n"
+                + "    \"geometry\" : { \"location_type\" : \"rooftop\", \"location\" : { \"lng\" : -122.085099, \"lat\" : 37.422782 } },\n"
+                + "    \"plus_code\" : { \"global_code\" : [ \"849V\\\"CWC8\", 1.5e3, true, false, null, {} ], \"empty\" : [] },\n"
+                + "    \"formatted_address\" : \"N\u00e9v\u00e9rt\u00e9k\u00fcl\u0151\",\n"
+                + "    \"types\" : [ \"street_address\", \"foo\" ]\n"
+                + "  } ],\n"
+                + "  \"status\" : \"OK\"\n"
+                + "}";
+
+        GoogleGeocodeResponse googleGeocodeResponse = ByteGeocodeResponseDecoder.decode("foo", json.getBytes(StandardCharsets.UTF_8), ResponseProjection.LOCATION_AND_TYPE, null);
+
+        GeocodedAddress geocodedAddress = googleGeocodeResponse.getGeocodedAddresses().get(0);
+
+        assertThat(googleGeocodeResponse.getGeocodeStatus(), is(OK));
+        assertThat(geocodedAddress.getFormattedAddress(), is("N\u00e9v\u00e9rt\u00e9k\u00fcl\u0151"));
+        assertThat(geocodedAddress.getGeometry().getLocation(), is(GeographicLocation.fromValues(37.422782, -122.085099)));
+        assertThat(geocodedAddress.getGeometry().getLocationType(), is(ROOFTOP));
+    }
+
+    @Test
+    public void shouldParseTheCoordinatesAsDoubleParsesThem() {
+        String[] coordinates = {"0", "-0.0", "1", "-7", "37.4227820", "-122.0850990", "0.1", "179.99999999999997", "47.497912345678901",
+                "1.5E1", "-2.5e-1", "12.345678901234567", "0.00000000000000000001", "1234567890123456789e-17"};
+
+        for (String coordinate : coordinates) {
+            String json = "{\"status\":\"OK\",\"results\":[{\"formatted_address\":\"foo\",\"geometry\":{\"location\":{\"lat\":0,\"lng\":" + coordinate + "}}}]}";
+
+            GoogleGeocodeResponse googleGeocodeResponse = ByteGeocodeResponseDecoder.decode("foo", json.getBytes(), ResponseProjection.LOCATION_ONLY, null);
+
+            assertThat(coordinate, googleGeocodeResponse.getGeocodedAddresses().get(0).getGeometry().getLocation(), is(GeographicLocation.fromValues(0, Double.parseDouble(coordinate))));
+        }
+    }
+
+    @Test
+    public void shouldInternTheStringsByTheStringPool() throws Exception {
+        byte[] json = IOUtils.toByteArray(ByteGeocodeResponseDecoderTest.class.getResourceAsStream("/json/valid/validGeocodeResponse.json"));
+        StringPool stringPool = new StringPool(1024);
+
+        GeocodedAddress first = ByteGeocodeResponseDecoder.decode("foo", json, ResponseProjection.FULL, stringPool).getGeocodedAddresses().get(0);
+        GeocodedAddress second = ByteGeocodeResponseDecoder.decode("foo", json, ResponseProjection.FULL, stringPool).getGeocodedAddresses().get(0);
+
+        assertThat(second.getFormattedAddress(), is(sameInstance(first.getFormattedAddress())));
+    }
+
+    @Test
+    public void shouldGiveUpOnUnexpectedInput() {
+        String[] jsons = {
+            "",
+            "[]",
+            "{\"status\":\"OK\"}",
+            "{\"status\":null,\"results\":[]}",
+            "{\"status\":\"OK\",\"results\":[],}",
+            "{\"status\":\"OK\",\"results\":[]",
+            "{\"status\":\"OK\",\"results\":[{\"formatted_address\":\"\\u0046oo\",\"geometry\":{\"location\":{\"lat\":1,\"lng\":2}}}]}",
+            "{\"status\":\"OK\",\"results\":[{\"formatted_address\":\"foo\",\"geometry\":{\"location\":{\"lat\":1}}}]}",
+            "{\"status\":\"OK\",\"results\":[{\"formatted_address\":\"foo\",\"geometry\":{\"location\":{\"lat\":01,\"lng\":2}}}]}",
+            "{\"status\":\"OK\",\"results\":[{\"formatted_address\":\"foo\",\"geometry\":{\"location\":{\"lat\":\"1\",\"lng\":2}}}]}",
+            "{\"status\":\"OK\",\"results\":[{\"formatted_address\":\"foo\",\"geometry\":{\"location\":{\"lat\":1.,\"lng\":2}}}]}",
+            "{\"status\":\"OK\",\"results\":[{\"formatted_address\":\"foo\",\"geometry\":{\"location\":{\"lat\":1,\"lng\":2}},\"foo\":nul}]}"
+        };
+
+        for (String json : jsons) {
+            assertThat(json, ByteGeocodeResponseDecoder.decode("foo", json.getBytes(), ResponseProjection.LOCATION_ONLY, null), is(nullValue()));
+        }
+    }
+
+    @Test
+    public void shouldCountTheUnknownAddressComponentTypesOnlyIfTheResponseIsDecoded() {
+        String decodedJson = "{\"status\":\"OK\",\"results\":[{\"types\":[\"foo\"],\"formatted_address\":\"foo\",\"geometry\":{\"location\":{\"lat\":1,\"lng\":2},\"location_type\":\"ROOFTOP\"}}]}";
+        String unexpectedJson = "{\"status\":\"OK\",\"results\":[{\"types\":[\"foo\"],\"formatted_address\":\"\\u0046oo\",\"geometry\":{\"location\":{\"lat\":1,\"lng\":2},\"location_type\":\"ROOFTOP\"}}]}";
+        long unknownValueCount = JsonGeocodeResponseParser.getUnknownValueCount();
+
+        assertThat(ByteGeocodeResponseDecoder.decode("foo", unexpectedJson.getBytes(), ResponseProjection.LOCATION_AND_TYPE, null), is(nullValue()));
+        assertThat(JsonGeocodeResponseParser.getUnknownValueCount() - unknownValueCount, is(0L));
+
+        JsonGeocodeResponseParser.decode("foo", unexpectedJson.getBytes(), ResponseProjection.LOCATION_AND_TYPE, null);
+
+        assertThat(JsonGeocodeResponseParser.getUnknownValueCount() - unknownValueCount, is(1L));
+
+        ByteGeocodeResponseDecoder.decode("foo", decodedJson.getBytes(), ResponseProjection.LOCATION_AND_TYPE, null);
+
+        assertThat(JsonGeocodeResponseParser.getUnknownValueCount() - unknownValueCount, is(2L));
+    }
+
+    @Test
+    public void shouldThrowExceptionIfTheStatusIsUnknown() {
+        String json = "{\"status\":\"FOO\", \"results\":[]}";
+
+        try {
+            ByteGeocodeResponseDecoder.decode("foo", json.getBytes(), ResponseProjection.FULL, null);
+            fail();
+        } catch (GeocodeException e) {
+            assertThat(e.getMessage(), is("Unknown status [FOO] has been found in the response"));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+public class DailyRequestCounterTest {
+
+    @Test
+    public void shouldCountTheRequestsOfTheCurrentDay() {
+        MutableClock clock = new MutableClock(ZonedDateTime.of(2014, 3, 1, 10, 0, 0, 0, DailyRequestCounter.QUERY_LIMIT_TIME_ZONE).toInstant());
+        DailyRequestCounter subject = new DailyRequestCounter(clock);
+
+        subject.increment();
+        subject.increment();
+
+        assertThat(subject.getCount(), is(2L));
+    }
+
+    @Test
+    public void shouldResetTheCountAtMidnightPacificTime() {
+        MutableClock clock = new MutableClock(ZonedDateTime.of(2014, 3, 1, 23, 59, 0, 0, DailyRequestCounter.QUERY_LIMIT_TIME_ZONE).toInstant());
+        DailyRequestCounter subject = new DailyRequestCounter(clock);
+
+        subject.increment();
+        subject.increment();
+        clock.instant = ZonedDateTime.of(2014, 3, 2, 0, 1, 0, 0, DailyRequestCounter.QUERY_LIMIT_TIME_ZONE).toInstant();
+
+        assertThat(subject.getCount(), is(0L));
+
+        subject.increment();
+
+        assertThat(subject.getCount(), is(1L));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return DailyRequestCounter.QUERY_LIMIT_TIME_ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+import java.nio.charset.StandardCharsets;
+
+import com.github.sandrasi.geocoder.components.AddressComponentType;
+import com.github.sandrasi.geocoder.components.LocationType;
+import org.junit.Test;
+
+import static com.github.sandrasi.geocoder.components.AddressComponentType.*;
+import static com.github.sandrasi.geocoder.components.LocationType.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+public class EnumLookupTableTest {
+
+    @Test
+    public void shouldLookUpEveryConstantIgnoringTheCase() {
+        EnumLookupTable<AddressComponentType> subject = new EnumLookupTable<>(AddressComponentType.class, "address component type");
+
+        for (AddressComponentType addressComponentType : AddressComponentType.values()) {
+            String name = addressComponentType.name();
+
+            assertThat(subject.lookup(name), is(addressComponentType));
+            assertThat(subject.lookup(name.toLowerCase()), is(addressComponentType));
+            assertThat(subject.lookup(name.toLowerCase().toCharArray(), 0, name.length()), is(addressComponentType));
+        }
+
+        assertThat(subject.getUnknownValueCount(), is(0L));
+    }
+
+    @Test
+    public void shouldLookUpTheConstantFromTheMiddleOfTheBuffer() {
+        EnumLookupTable<LocationType> subject = new EnumLookupTable<>(LocationType.class, "location type");
+
+        assertThat(subject.lookup("\"location_type\":\"Rooftop\"".toCharArray(), 17, 7), is(ROOFTOP));
+        assertThat(subject.lookup("\"location_type\":\"Rooftop\"".getBytes(), 17, 7), is(ROOFTOP));
+    }
+
+    @Test
+    public void shouldCountTheUnknownValues() {
+        EnumLookupTable<AddressComponentType> subject = new EnumLookupTable<>(AddressComponentType.class, "address component type");
+
+        assertThat(subject.lookup("foo"), is(nullValue()));
+        assertThat(subject.lookup("foo".toCharArray(), 0, 3), is(nullValue()));
+        assertThat(subject.lookup("street_addres"), is(nullValue()));
+        assertThat(subject.lookup("\u00e9".getBytes(StandardCharsets.UTF_8), 0, 2), is(nullValue()));
+        assertThat(subject.lookup(""), is(nullValue()));
+        assertThat(subject.lookup("street_address"), is(STREET_ADDRESS));
+        assertThat(subject.getUnknownValueCount(), is(5L));
+    }
+
+    @Test
+    public void shouldCountTheUnknownValuesFoundWithoutCountingOnlyWhenTheyAreRecorded() {
+        EnumLookupTable<AddressComponentType> subject = new EnumLookupTable<>(AddressComponentType.class, "address component type");
+        byte[] bytes = "[\"foo\"]".getBytes();
+
+        assertThat(subject.find(bytes, 2, 3), is(nullValue()));
+        assertThat(subject.getUnknownValueCount(), is(0L));
+
+        subject.recordUnknownValue(bytes, 2, 3);
+
+        assertThat(subject.getUnknownValueCount(), is(1L));
+    }
+}
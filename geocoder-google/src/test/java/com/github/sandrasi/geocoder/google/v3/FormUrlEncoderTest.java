@@ -0,0 +1,27 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+public class FormUrlEncoderTest {
+
+    @Test
+    public void shouldEncodeTheStringsAsTheUrlEncoderEncodesThem() {
+        String[] strings = {"", "1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA", "azAZ09.-*_ ~!'()&=+/?#%|",
+                "N\u00e9v\u00e9rt\u00e9k\u00fcl\u0151", "\u6771\u4eac\u90fd", "\ud83c\udfe0 1", "\u007f\u0080\u07ff\u0800\uffff",
+                "\ud83c", "foo\udfe0bar", "\udfe0\ud83c"};
+
+        for (String string : strings) {
+            StringBuilder uri = new StringBuilder("?");
+
+            FormUrlEncoder.encode(string, uri);
+
+            assertThat(string, uri.toString(), is("?" + URLEncoder.encode(string, StandardCharsets.UTF_8)));
+        }
+    }
+}
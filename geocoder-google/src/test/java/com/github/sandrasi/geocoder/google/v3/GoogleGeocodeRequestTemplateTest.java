@@ -0,0 +1,163 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+import java.io.ByteArrayInputStream;
+
+import com.github.sandrasi.geocoder.GeocodeResponse;
+import com.github.sandrasi.geocoder.components.GeographicLocation;
+import com.github.sandrasi.geocoder.metrics.GeocodePhase;
+import com.github.sandrasi.geocoder.metrics.HistogramGeocoderMetrics;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.StatusLine;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.protocol.HttpContext;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.github.sandrasi.geocoder.components.GeocodeStatus.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.*;
+
+public class GoogleGeocodeRequestTemplateTest {
+
+    private static final int HTTP_OK = 200;
+
+    private HttpClient httpClient;
+    private GoogleGeocoder googleGeocoder;
+
+    @Before
+    public void setUp() {
+        httpClient = mock(HttpClient.class);
+        googleGeocoder = GoogleGeocoderFactory.createGoogleGeocoder(httpClient);
+    }
+
+    @Test
+    public void shouldCreateTheSameRequestsAsTheRequestBuilder() {
+        GoogleGeocodeRequestTemplate subject = googleGeocoder.newGeocodeRequestTemplateBuilder()
+                .inLanguage("en")
+                .withRegionBiasing("us")
+                .withViewportBiasing(GeographicLocation.fromValues(0, 0), GeographicLocation.fromValues(1, 1))
+                .build();
+
+        GoogleGeocodeRequest addressRequest = subject.newGeocodeRequest("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA");
+        GoogleGeocodeRequest expectedAddressRequest = googleGeocoder.newGeocodeRequestBuilder("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA")
+                .inLanguage("en")
+                .withRegionBiasing("us")
+                .withViewportBiasing(GeographicLocation.fromValues(0, 0), GeographicLocation.fromValues(1, 1))
+                .build();
+        GoogleGeocodeRequest lookupRequest = subject.newGeocodeRequest(37.422782, -122.085099);
+        GoogleGeocodeRequest expectedLookupRequest = googleGeocoder.newGeocodeRequestBuilder(37.422782, -122.085099)
+                .inLanguage("en")
+                .withRegionBiasing("us")
+                .withViewportBiasing(GeographicLocation.fromValues(0, 0), GeographicLocation.fromValues(1, 1))
+                .build();
+
+        assertThat(addressRequest, is(expectedAddressRequest));
+        assertThat(addressRequest.getRequestUri(), is(expectedAddressRequest.getRequestUri()));
+        assertThat(lookupRequest, is(expectedLookupRequest));
+        assertThat(lookupRequest.getRequestUri(), is(expectedLookupRequest.getRequestUri()));
+    }
+
+    @Test
+    public void shouldSignTheRequestsWithThePremierCredentials() {
+        GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials = new GoogleMapsApiPremierCredentials("gme-johndoe", "Zm9vYmFy");
+        GoogleGeocodeRequestTemplate subject = GoogleGeocodeRequestTemplate.newBuilder(httpClient, null, Runnable::run, googleMapsApiPremierCredentials)
+                .inLanguage("hu")
+                .build();
+
+        GoogleGeocodeRequest expectedGeocodeRequest = GoogleGeocodeRequest.newBuilder("N\u00e9v\u00e9rt\u00e9k\u00fcl\u0151 utca 1", httpClient, null, Runnable::run, googleMapsApiPremierCredentials)
+                .inLanguage("hu")
+                .build();
+
+        assertThat(subject.newGeocodeRequest("N\u00e9v\u00e9rt\u00e9k\u00fcl\u0151 utca 1").getRequestUri(), is(expectedGeocodeRequest.getRequestUri()));
+    }
+
+    @Test
+    public void shouldExecuteTheRequestsWithTheResponseOptionsOfTheTemplate() throws Exception {
+        GoogleGeocodeRequestTemplate subject = googleGeocoder.newGeocodeRequestTemplateBuilder()
+                .withProjection(ResponseProjection.LOCATION_ONLY)
+                .withByteLevelDecoding()
+                .build();
+        HttpResponse httpResponse = mock(HttpResponse.class);
+        StatusLine statusLine = mock(StatusLine.class);
+        HttpEntity httpEntity = mock(HttpEntity.class);
+
+        given(httpClient.execute(any(HttpGet.class))).willReturn(httpResponse);
+        given(httpResponse.getStatusLine()).willReturn(statusLine);
+        given(statusLine.getStatusCode()).willReturn(HTTP_OK);
+        given(httpResponse.getEntity()).willReturn(httpEntity);
+        given(httpEntity.getContentLength()).willReturn(-1L);
+        given(httpEntity.getContent()).willReturn(GoogleGeocodeRequestTemplateTest.class.getResourceAsStream("/json/valid/validGeocodeResponse.json"));
+
+        GoogleGeocodeRequest geocodeRequest = subject.newGeocodeRequest(37.422782, -122.085099);
+        GeocodeResponse geocodeResponse = geocodeRequest.execute();
+
+        assertThat(geocodeResponse.getGeocodeStatus(), is(OK));
+        assertThat(geocodeResponse.getQueryString(), is("37.422782, -122.085099"));
+        assertThat(geocodeResponse.getGeocodedAddresses().get(0).addressComponentIterator().hasNext(), is(false));
+        assertThat(geocodeRequest.getProjection(), is(ResponseProjection.LOCATION_ONLY));
+    }
+
+    @Test
+    public void shouldRecordToTheCurrentMetricsOfTheGeocoder() throws Exception {
+        GoogleGeocodeRequestTemplate subject = googleGeocoder.newGeocodeRequestTemplateBuilder().build();
+        HistogramGeocoderMetrics metrics = new HistogramGeocoderMetrics();
+
+        givenZeroResultsResponse();
+        googleGeocoder.setMetrics(metrics);
+        subject.newGeocodeRequest("foo").execute();
+
+        assertThat(metrics.getLatencyHistogram(GeocodePhase.TOTAL).getCount(), is(1L));
+        assertThat(metrics.getGeocodeStatusCount(ZERO_RESULTS), is(1L));
+    }
+
+    @Test
+    public void shouldRecordToTheMetricsOfTheTemplate() throws Exception {
+        HistogramGeocoderMetrics metrics = new HistogramGeocoderMetrics();
+        HistogramGeocoderMetrics geocoderMetrics = new HistogramGeocoderMetrics();
+        GoogleGeocodeRequestTemplate subject = googleGeocoder.newGeocodeRequestTemplateBuilder().withMetrics(metrics).build();
+
+        givenZeroResultsResponse();
+        googleGeocoder.setMetrics(geocoderMetrics);
+        subject.newGeocodeRequest("foo").execute();
+
+        assertThat(metrics.getLatencyHistogram(GeocodePhase.TOTAL).getCount(), is(1L));
+        assertThat(geocoderMetrics.getLatencyHistogram(GeocodePhase.TOTAL).getCount(), is(0L));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldThrowExceptionIfAddressIsNull() {
+        googleGeocoder.newGeocodeRequestTemplateBuilder().build().newGeocodeRequest(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowExceptionIfLatitudeIsInvalid() {
+        googleGeocoder.newGeocodeRequestTemplateBuilder().build().newGeocodeRequest(91, 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldThrowExceptionIfLanguageIsSetToNullInBuilder() {
+        googleGeocoder.newGeocodeRequestTemplateBuilder().inLanguage(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldThrowExceptionIfSouthWestCornerIsSetToNullInBuilder() {
+        googleGeocoder.newGeocodeRequestTemplateBuilder().withViewportBiasing(null, GeographicLocation.fromValues(1, 1));
+    }
+
+    private void givenZeroResultsResponse() throws Exception {
+        HttpResponse httpResponse = mock(HttpResponse.class);
+        StatusLine statusLine = mock(StatusLine.class);
+        HttpEntity httpEntity = mock(HttpEntity.class);
+
+        given(httpClient.execute(any(HttpGet.class), any(HttpContext.class))).willReturn(httpResponse);
+        given(httpResponse.getStatusLine()).willReturn(statusLine);
+        given(statusLine.getStatusCode()).willReturn(HTTP_OK);
+        given(httpResponse.getEntity()).willReturn(httpEntity);
+        given(httpEntity.getContentLength()).willReturn(-1L);
+        given(httpEntity.getContent()).willReturn(new ByteArrayInputStream("{\"status\":\"ZERO_RESULTS\",\"results\":[]}".getBytes()));
+    }
+}
@@ -5,18 +5,23 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.util.Collections;
+import java.util.concurrent.ExecutionException;
 
 import com.github.sandrasi.geocoder.GeocodeException;
 import com.github.sandrasi.geocoder.GeocodeResponse;
 import com.github.sandrasi.geocoder.components.GeocodedAddress;
 import com.github.sandrasi.geocoder.components.GeographicLocation;
+import com.github.sandrasi.geocoder.metrics.GeocodePhase;
+import com.github.sandrasi.geocoder.metrics.HistogramGeocoderMetrics;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.StatusLine;
 import org.apache.http.client.ClientProtocolException;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpGet;
-import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.protocol.HttpContext;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
@@ -24,8 +29,8 @@ import org.mockito.ArgumentCaptor;
 import static com.github.sandrasi.geocoder.components.GeocodeStatus.*;
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.*;
-import static org.mockito.Matchers.any;
 
 public class GoogleGeocodeRequestTest {
 
@@ -51,15 +56,12 @@ public class GoogleGeocodeRequestTest {
         HttpResponse httpResponse = mock(HttpResponse.class);
         StatusLine statusLine = mock(StatusLine.class);
         HttpEntity httpEntity = mock(HttpEntity.class);
-        ClientConnectionManager clientConnectionManager = mock(ClientConnectionManager.class);
 
         given(httpClient.execute(any(HttpGet.class))).willReturn(httpResponse);
         given(httpResponse.getStatusLine()).willReturn(statusLine);
         given(statusLine.getStatusCode()).willReturn(HTTP_OK);
         given(httpResponse.getEntity()).willReturn(httpEntity);
         given(httpEntity.getContent()).willReturn(new ByteArrayInputStream("{\"status\":\"ZERO_RESULTS\",\"results\":[]}".getBytes()));
-        given(httpClient.getConnectionManager()).willReturn(clientConnectionManager);
-        clientConnectionManager.closeExpiredConnections();
 
         GeocodeResponse geocodeResponse = subject.execute();
 
@@ -79,6 +81,92 @@ public class GoogleGeocodeRequestTest {
         assertThat(geocodeResponse.getGeocodedAddresses(), is(Collections.<GeocodedAddress>emptyList()));
     }
 
+    @Test
+    public void shouldParseTheResponseLazily() throws Exception {
+        GoogleGeocodeRequest subject = googleGeocoder.newGeocodeRequestBuilder("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA")
+                .withLazyParsing()
+                .build();
+        HttpResponse httpResponse = mock(HttpResponse.class);
+        StatusLine statusLine = mock(StatusLine.class);
+        HttpEntity httpEntity = mock(HttpEntity.class);
+
+        given(httpClient.execute(any(HttpGet.class))).willReturn(httpResponse);
+        given(httpResponse.getStatusLine()).willReturn(statusLine);
+        given(statusLine.getStatusCode()).willReturn(HTTP_OK);
+        given(httpResponse.getEntity()).willReturn(httpEntity);
+        given(httpEntity.getContentLength()).willReturn(-1L);
+        given(httpEntity.getContent()).willReturn(GoogleGeocodeRequestTest.class.getResourceAsStream("/json/valid/validGeocodeResponse.json"));
+
+        GeocodeResponse geocodeResponse = subject.execute();
+
+        assertThat(geocodeResponse.getGeocodeStatus(), is(OK));
+        assertThat(geocodeResponse.getGeocodedAddresses().get(0).getFormattedAddress(), is("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA"));
+        assertThat(subject, is(googleGeocoder.newGeocodeRequestBuilder("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA").build()));
+    }
+
+    @Test
+    public void shouldDecodeTheResponseByteByByte() throws Exception {
+        GoogleGeocodeRequest subject = googleGeocoder.newGeocodeRequestBuilder("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA")
+                .withByteLevelDecoding()
+                .build();
+        HttpResponse httpResponse = mock(HttpResponse.class);
+        StatusLine statusLine = mock(StatusLine.class);
+        HttpEntity httpEntity = mock(HttpEntity.class);
+
+        given(httpClient.execute(any(HttpGet.class))).willReturn(httpResponse);
+        given(httpResponse.getStatusLine()).willReturn(statusLine);
+        given(statusLine.getStatusCode()).willReturn(HTTP_OK);
+        given(httpResponse.getEntity()).willReturn(httpEntity);
+        given(httpEntity.getContentLength()).willReturn(-1L);
+        given(httpEntity.getContent()).willReturn(GoogleGeocodeRequestTest.class.getResourceAsStream("/json/valid/validGeocodeResponse.json"));
+
+        GeocodeResponse geocodeResponse = subject.execute();
+
+        assertThat(geocodeResponse.getGeocodeStatus(), is(OK));
+        assertThat(geocodeResponse.getGeocodedAddresses().get(0).getGeometry().getLocation(), is(GeographicLocation.fromValues(37.4227820, -122.0850990)));
+        assertThat(subject, is(googleGeocoder.newGeocodeRequestBuilder("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA").build()));
+    }
+
+    @Test
+    public void shouldParseTheResponseWithTheProjection() throws Exception {
+        GoogleGeocodeRequest subject = googleGeocoder.newGeocodeRequestBuilder("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA")
+                .withProjection(ResponseProjection.LOCATION_ONLY)
+                .build();
+        HttpResponse httpResponse = mock(HttpResponse.class);
+        StatusLine statusLine = mock(StatusLine.class);
+        HttpEntity httpEntity = mock(HttpEntity.class);
+
+        given(httpClient.execute(any(HttpGet.class))).willReturn(httpResponse);
+        given(httpResponse.getStatusLine()).willReturn(statusLine);
+        given(statusLine.getStatusCode()).willReturn(HTTP_OK);
+        given(httpResponse.getEntity()).willReturn(httpEntity);
+        given(httpEntity.getContent()).willReturn(GoogleGeocodeRequestTest.class.getResourceAsStream("/json/valid/validGeocodeResponse.json"));
+
+        GeocodeResponse geocodeResponse = subject.execute();
+
+        assertThat(geocodeResponse.getGeocodedAddresses().get(0).getGeometry().getLocation(), is(GeographicLocation.fromValues(37.4227820, -122.0850990)));
+        assertThat(geocodeResponse.getGeocodedAddresses().get(0).addressComponentIterator().hasNext(), is(false));
+        assertThat(subject.getProjection(), is(ResponseProjection.LOCATION_ONLY));
+    }
+
+    @Test
+    public void shouldNotTouchTheConnectionManagerWhenExecutingTheRequest() throws Exception {
+        GoogleGeocodeRequest subject = googleGeocoder.newGeocodeRequestBuilder("foo").build();
+        HttpResponse httpResponse = mock(HttpResponse.class);
+        StatusLine statusLine = mock(StatusLine.class);
+        HttpEntity httpEntity = mock(HttpEntity.class);
+
+        given(httpClient.execute(any(HttpGet.class))).willReturn(httpResponse);
+        given(httpResponse.getStatusLine()).willReturn(statusLine);
+        given(statusLine.getStatusCode()).willReturn(HTTP_OK);
+        given(httpResponse.getEntity()).willReturn(httpEntity);
+        given(httpEntity.getContent()).willReturn(new ByteArrayInputStream("{\"status\":\"ZERO_RESULTS\",\"results\":[]}".getBytes()));
+
+        subject.execute();
+
+        verify(httpClient, never()).getConnectionManager();
+    }
+
     @Test
     public void shouldExecuteAddressLookup() throws Exception {
         GoogleGeocodeRequest subject = googleGeocoder.newGeocodeRequestBuilder(37.422782, -122.085099)
@@ -89,15 +177,12 @@ public class GoogleGeocodeRequestTest {
         HttpResponse httpResponse = mock(HttpResponse.class);
         StatusLine statusLine = mock(StatusLine.class);
         HttpEntity httpEntity = mock(HttpEntity.class);
-        ClientConnectionManager clientConnectionManager = mock(ClientConnectionManager.class);
 
         given(httpClient.execute(any(HttpGet.class))).willReturn(httpResponse);
         given(httpResponse.getStatusLine()).willReturn(statusLine);
         given(statusLine.getStatusCode()).willReturn(HTTP_OK);
         given(httpResponse.getEntity()).willReturn(httpEntity);
         given(httpEntity.getContent()).willReturn(new ByteArrayInputStream("{\"status\":\"ZERO_RESULTS\",\"results\":[]}".getBytes()));
-        given(httpClient.getConnectionManager()).willReturn(clientConnectionManager);
-        clientConnectionManager.closeExpiredConnections();
 
         GeocodeResponse geocodeResponse = subject.execute();
 
@@ -117,14 +202,32 @@ public class GoogleGeocodeRequestTest {
         assertThat(geocodeResponse.getGeocodedAddresses(), is(Collections.<GeocodedAddress>emptyList()));
     }
 
+    @Test
+    public void shouldSignTheRequestUriWithThePremierCredentials() throws Exception {
+        GoogleMapsApiPremierCredentials googleMapsApiPremierCredentials = new GoogleMapsApiPremierCredentials("gme-j\u00f3 doe", "Zm9vYmFy");
+        GoogleGeocodeRequest subject = GoogleGeocodeRequest.newBuilder("N\u00e9v\u00e9rt\u00e9k\u00fcl\u0151 utca 1, Budapest", httpClient, null, Runnable::run, googleMapsApiPremierCredentials)
+                .inLanguage("hu")
+                .withRegionBiasing("hu")
+                .withViewportBiasing(GeographicLocation.fromValues(-0.5, 1.25), GeographicLocation.fromValues(47.4979, 19.0402))
+                .build();
+
+        String urlEncodedQuery = "/maps/api/geocode/json?"
+                + "address=" + URLEncoder.encode("N\u00e9v\u00e9rt\u00e9k\u00fcl\u0151 utca 1, Budapest", "UTF-8")
+                + "&bounds=" + URLEncoder.encode("-0.5,1.25|47.4979,19.0402", "UTF-8")
+                + "&region=hu"
+                + "&language=hu"
+                + "&client=" + URLEncoder.encode("gme-j\u00f3 doe", "UTF-8")
+                + "&sensor=false";
+        URI expectedUri = URI.create("http://maps.googleapis.com" + urlEncodedQuery + "&signature=" + googleMapsApiPremierCredentials.getSignatureFor(urlEncodedQuery));
+
+        assertThat(subject.getRequestUri(), is(expectedUri));
+    }
+
     @Test(expected = GeocodeException.class)
     public void shouldThrowExceptionIfHttpProtocolErrorOccurs() throws Exception {
         GoogleGeocodeRequest subject = googleGeocoder.newGeocodeRequestBuilder("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA").build();
-        ClientConnectionManager clientConnectionManager = mock(ClientConnectionManager.class);
 
         given(httpClient.execute(any(HttpGet.class))).willThrow(ClientProtocolException.class);
-        given(httpClient.getConnectionManager()).willReturn(clientConnectionManager);
-        clientConnectionManager.closeExpiredConnections();
 
         subject.execute();
     }
@@ -135,7 +238,6 @@ public class GoogleGeocodeRequestTest {
         HttpResponse httpResponse = mock(HttpResponse.class);
         StatusLine statusLine = mock(StatusLine.class);
         HttpEntity httpEntity = mock(HttpEntity.class);
-        ClientConnectionManager clientConnectionManager = mock(ClientConnectionManager.class);
 
         given(httpClient.execute(any(HttpGet.class))).willReturn(httpResponse);
         given(httpResponse.getStatusLine()).willReturn(statusLine);
@@ -146,8 +248,6 @@ public class GoogleGeocodeRequestTest {
         given(statusLine.getReasonPhrase()).willReturn("Forbidden");
         given(httpResponse.getEntity()).willReturn(httpEntity);
         given(httpEntity.getContent()).willReturn(new ByteArrayInputStream("Unable to authenticate the supplied URL. Please check your client and signature parameters.".getBytes()));
-        given(httpClient.getConnectionManager()).willReturn(clientConnectionManager);
-        clientConnectionManager.closeExpiredConnections();
 
         subject.execute();
     }
@@ -158,19 +258,127 @@ public class GoogleGeocodeRequestTest {
         HttpResponse httpResponse = mock(HttpResponse.class);
         StatusLine statusLine = mock(StatusLine.class);
         HttpEntity httpEntity = mock(HttpEntity.class);
-        ClientConnectionManager clientConnectionManager = mock(ClientConnectionManager.class);
 
         given(httpClient.execute(any(HttpGet.class))).willReturn(httpResponse);
         given(httpResponse.getStatusLine()).willReturn(statusLine);
         given(statusLine.getStatusCode()).willReturn(HTTP_OK);
         given(httpResponse.getEntity()).willReturn(httpEntity);
         given(httpEntity.getContent()).willThrow(IOException.class);
-        given(httpClient.getConnectionManager()).willReturn(clientConnectionManager);
-        clientConnectionManager.closeExpiredConnections();
 
         subject.execute();
     }
 
+    @Test
+    public void shouldExecuteAddressGeocodingAsynchronously() throws Exception {
+        HttpAsyncClient httpAsyncClient = mock(HttpAsyncClient.class);
+        GoogleGeocodeRequest subject = GoogleGeocoderFactory.createTimedGoogleGeocoder(httpClient, httpAsyncClient, 0)
+                .newGeocodeRequestBuilder("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA")
+                .build();
+        HttpResponse httpResponse = mock(HttpResponse.class);
+        StatusLine statusLine = mock(StatusLine.class);
+        HttpEntity httpEntity = mock(HttpEntity.class);
+
+        given(httpAsyncClient.execute(any(HttpGet.class), any(FutureCallback.class))).willAnswer(invocation -> {
+            invocation.<FutureCallback<HttpResponse>>getArgument(1).completed(httpResponse);
+            return null;
+        });
+        given(httpResponse.getStatusLine()).willReturn(statusLine);
+        given(statusLine.getStatusCode()).willReturn(HTTP_OK);
+        given(httpResponse.getEntity()).willReturn(httpEntity);
+        given(httpEntity.getContent()).willReturn(new ByteArrayInputStream("{\"status\":\"ZERO_RESULTS\",\"results\":[]}".getBytes()));
+
+        GeocodeResponse geocodeResponse = subject.executeAsync().get();
+
+        assertThat(geocodeResponse.getGeocodeStatus(), is(ZERO_RESULTS));
+        assertThat(geocodeResponse.getQueryString(), is("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA"));
+        assertThat(geocodeResponse.getGeocodedAddresses(), is(Collections.<GeocodedAddress>emptyList()));
+    }
+
+    @Test
+    public void shouldCompleteExceptionallyIfTheGoogleGeocodeServiceReturnsAnErrorCodeToAnAsynchronousRequest() throws Exception {
+        HttpAsyncClient httpAsyncClient = mock(HttpAsyncClient.class);
+        GoogleGeocodeRequest subject = GoogleGeocoderFactory.createTimedGoogleGeocoder(httpClient, httpAsyncClient, 0)
+                .newGeocodeRequestBuilder("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA")
+                .build();
+        HttpResponse httpResponse = mock(HttpResponse.class);
+        StatusLine statusLine = mock(StatusLine.class);
+        HttpEntity httpEntity = mock(HttpEntity.class);
+
+        given(httpAsyncClient.execute(any(HttpGet.class), any(FutureCallback.class))).willAnswer(invocation -> {
+            invocation.<FutureCallback<HttpResponse>>getArgument(1).completed(httpResponse);
+            return null;
+        });
+        given(httpResponse.getStatusLine()).willReturn(statusLine);
+        given(statusLine.getStatusCode()).willReturn(HTTP_FORBIDDEN);
+        given(statusLine.getReasonPhrase()).willReturn("Forbidden");
+        given(httpResponse.getEntity()).willReturn(httpEntity);
+        given(httpEntity.getContent()).willReturn(new ByteArrayInputStream("Unable to authenticate the supplied URL. Please check your client and signature parameters.".getBytes()));
+
+        try {
+            subject.executeAsync().get();
+            fail("The future should have been completed exceptionally");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(GeocodeException.class)));
+        }
+    }
+
+    @Test
+    public void shouldRecordTheHttpStatusOfTheFailedRequestToTheMetrics() throws Exception {
+        HistogramGeocoderMetrics metrics = new HistogramGeocoderMetrics();
+        GoogleGeocodeRequest subject = googleGeocoder.newGeocodeRequestBuilder("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA")
+                .withMetrics(metrics)
+                .build();
+        HttpResponse httpResponse = mock(HttpResponse.class);
+        StatusLine statusLine = mock(StatusLine.class);
+        HttpEntity httpEntity = mock(HttpEntity.class);
+
+        given(httpClient.execute(any(HttpGet.class), any(HttpContext.class))).willReturn(httpResponse);
+        given(httpResponse.getStatusLine()).willReturn(statusLine);
+        given(statusLine.getStatusCode()).willReturn(HTTP_FORBIDDEN);
+        given(statusLine.getReasonPhrase()).willReturn("Forbidden");
+        given(httpResponse.getEntity()).willReturn(httpEntity);
+        given(httpEntity.getContent()).willReturn(new ByteArrayInputStream("Unable to authenticate the supplied URL.".getBytes()));
+
+        try {
+            subject.execute();
+            fail();
+        } catch (GeocodeException e) {
+            assertThat(metrics.getHttpStatusCount(HTTP_FORBIDDEN), is(1L));
+            assertThat(metrics.getLatencyHistogram(GeocodePhase.TIME_TO_FIRST_BYTE).getCount(), is(1L));
+            assertThat(metrics.getLatencyHistogram(GeocodePhase.CONNECTION_LEASE).getCount(), is(0L));
+            assertThat(metrics.getLatencyHistogram(GeocodePhase.PARSE).getCount(), is(0L));
+            assertThat(metrics.getLatencyHistogram(GeocodePhase.TOTAL).getCount(), is(1L));
+        }
+    }
+
+    @Test
+    public void shouldBeEqualIfTheRequestUrisAreEqual() {
+        GoogleGeocodeRequest geocodeRequest = googleGeocoder.newGeocodeRequestBuilder("foo").inLanguage("en").build();
+        GoogleGeocodeRequest sameGeocodeRequest = GoogleGeocoderFactory.createGoogleGeocoder(mock(HttpClient.class))
+                .newGeocodeRequestBuilder("foo").inLanguage("en").build();
+
+        assertThat(geocodeRequest, is(sameGeocodeRequest));
+        assertThat(geocodeRequest.hashCode(), is(sameGeocodeRequest.hashCode()));
+    }
+
+    @Test
+    public void shouldNotBeEqualIfTheRequestUrisDiffer() {
+        GoogleGeocodeRequest geocodeRequest = googleGeocoder.newGeocodeRequestBuilder("foo").inLanguage("en").build();
+
+        assertThat(geocodeRequest, is(not(googleGeocoder.newGeocodeRequestBuilder("foo").inLanguage("hu").build())));
+        assertThat(geocodeRequest, is(not(googleGeocoder.newGeocodeRequestBuilder("foo").build())));
+        assertThat(geocodeRequest, is(not(googleGeocoder.newGeocodeRequestBuilder("bar").inLanguage("en").build())));
+        assertThat(googleGeocoder.newGeocodeRequestBuilder(1, 2).build(), is(not(googleGeocoder.newGeocodeRequestBuilder(2, 1).build())));
+    }
+
+    @Test
+    public void shouldNotBeEqualIfTheProjectionsDiffer() {
+        GoogleGeocodeRequest geocodeRequest = googleGeocoder.newGeocodeRequestBuilder("foo").build();
+
+        assertThat(geocodeRequest, is(googleGeocoder.newGeocodeRequestBuilder("foo").withProjection(ResponseProjection.FULL).build()));
+        assertThat(geocodeRequest, is(not(googleGeocoder.newGeocodeRequestBuilder("foo").withProjection(ResponseProjection.LOCATION_ONLY).build())));
+    }
+
     @Test(expected = NullPointerException.class)
     public void shouldThrowExceptionIfAddressIsNullInBuilder() {
         googleGeocoder.newGeocodeRequestBuilder((String) null);
@@ -1,8 +1,13 @@
 package com.github.sandrasi.geocoder.google.v3;
 
+import java.util.concurrent.TimeUnit;
+
+import com.github.sandrasi.geocoder.util.RateLimiter;
 import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
 import org.junit.Test;
 
+import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
 
 public class GoogleGeocoderFactoryTest {
@@ -40,4 +45,111 @@ public class GoogleGeocoderFactoryTest {
     public void shouldNotCloseTimedPremierGoogleGeocoderWithExternalHttpClient() {
         GoogleGeocoderFactory.createTimedPremierGoogleGeocoder(new DefaultHttpClient(), "johndoe", "foo", 0).close();
     }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotCloseTimedGoogleGeocoderWithExternalHttpAsyncClient() {
+        GoogleGeocoderFactory.createTimedGoogleGeocoder(new DefaultHttpClient(), HttpAsyncClients.createDefault(), 0).close();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotCloseTimedPremierGoogleGeocoderWithExternalHttpAsyncClient() {
+        GoogleGeocoderFactory.createTimedPremierGoogleGeocoder(new DefaultHttpClient(), HttpAsyncClients.createDefault(), "johndoe", "foo", 0).close();
+    }
+
+    @Test
+    public void shouldClosePooledGoogleGeocoder() {
+        GoogleGeocoder geocoder = GoogleGeocoderFactory.createPooledGoogleGeocoder(
+                HttpConnectionPoolSettings.newBuilder().setMaxTotalConnections(4).setIdleConnectionTimeoutInMilliseconds(0).build(), 0);
+
+        try {
+            geocoder.close();
+            geocoder.geocodeAddress("foo");
+            fail("geocoder.close() should have closed the geocoder so that no further geocoding is possible");
+        } catch (IllegalStateException e) {
+        }
+    }
+
+    @Test
+    public void shouldClosePooledPremierGoogleGeocoder() {
+        GoogleGeocoder geocoder = GoogleGeocoderFactory.createPooledPremierGoogleGeocoder(HttpConnectionPoolSettings.DEFAULT, "johndoe", "foo", 0);
+
+        try {
+            geocoder.close();
+            geocoder.geocodeAddress("foo");
+            fail("geocoder.close() should have closed the geocoder so that no further geocoding is possible");
+        } catch (IllegalStateException e) {
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldNotCreatePooledGoogleGeocoderWithoutPoolSettings() {
+        GoogleGeocoderFactory.createPooledGoogleGeocoder(null, 0);
+    }
+
+    @Test
+    public void shouldStartAndStopIdleConnectionEvictorOfPooledGoogleGeocoder() {
+        GoogleGeocoder geocoder = GoogleGeocoderFactory.createPooledGoogleGeocoder(HttpConnectionPoolSettings.newBuilder()
+                .setIdleConnectionTimeoutInMilliseconds(1000)
+                .setConnectionTimeToLiveInMilliseconds(10000)
+                .build(), 0);
+
+        assertThat(geocoder.getIdleConnectionEvictor().getIdleConnectionTimeoutInMilliseconds(), is(1000L));
+
+        geocoder.close();
+    }
+
+    @Test
+    public void shouldNotStartIdleConnectionEvictorIfIdleConnectionsAreNeverClosed() {
+        GoogleGeocoder geocoder = GoogleGeocoderFactory.createPooledGoogleGeocoder(
+                HttpConnectionPoolSettings.newBuilder().setIdleConnectionTimeoutInMilliseconds(0).build(), 0);
+
+        assertThat(geocoder.getIdleConnectionEvictor(), is(nullValue()));
+
+        geocoder.close();
+    }
+
+    @Test
+    public void shouldCloseVirtualThreadGoogleGeocoder() {
+        GoogleGeocoder geocoder = GoogleGeocoderFactory.createVirtualThreadGoogleGeocoder(HttpConnectionPoolSettings.DEFAULT, 0);
+
+        assertThat(geocoder.getHttpAsyncClient(), is(nullValue()));
+        assertThat(geocoder.getIdleConnectionEvictor(), is(notNullValue()));
+
+        try {
+            geocoder.close();
+            geocoder.geocodeAddress("foo");
+            fail("geocoder.close() should have closed the geocoder so that no further geocoding is possible");
+        } catch (IllegalStateException e) {
+        }
+    }
+
+    @Test
+    public void shouldCloseVirtualThreadPremierGoogleGeocoder() {
+        GoogleGeocoder geocoder = GoogleGeocoderFactory.createVirtualThreadPremierGoogleGeocoder(HttpConnectionPoolSettings.DEFAULT, "johndoe", "foo", 0);
+
+        try {
+            geocoder.close();
+            geocoder.geocodeAddress("foo");
+            fail("geocoder.close() should have closed the geocoder so that no further geocoding is possible");
+        } catch (IllegalStateException e) {
+        }
+    }
+
+    @Test
+    public void shouldCloseRateLimitedGoogleGeocoder() {
+        GoogleGeocoder geocoder = GoogleGeocoderFactory.createRateLimitedGoogleGeocoder(HttpConnectionPoolSettings.DEFAULT,
+                new RateLimiter(100, TimeUnit.MILLISECONDS, 10));
+
+        try {
+            geocoder.close();
+            geocoder.geocodeAddress("foo");
+            fail("geocoder.close() should have closed the geocoder so that no further geocoding is possible");
+        } catch (IllegalStateException e) {
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldNotCreateRateLimitedGoogleGeocoderWithoutRateLimiter() {
+        GoogleGeocoderFactory.createRateLimitedGoogleGeocoder(HttpConnectionPoolSettings.DEFAULT, null);
+    }
 }
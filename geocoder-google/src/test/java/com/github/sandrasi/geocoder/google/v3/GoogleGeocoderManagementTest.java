@@ -0,0 +1,152 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.github.sandrasi.geocoder.GeocodeException;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.StatusLine;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpGet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.*;
+
+public class GoogleGeocoderManagementTest {
+
+    private static final int HTTP_OK = 200;
+
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+    private HttpClient httpClient;
+    private GoogleGeocoder googleGeocoder;
+
+    @Before
+    public void setUp() {
+        httpClient = mock(HttpClient.class);
+        googleGeocoder = GoogleGeocoderFactory.createGoogleGeocoder(httpClient);
+    }
+
+    @After
+    public void tearDown() {
+        googleGeocoder.unregisterMBean();
+    }
+
+    @Test
+    public void shouldExposeTheStatisticsOfTheGeocoder() throws Exception {
+        HttpResponse httpResponse = mock(HttpResponse.class);
+        StatusLine statusLine = mock(StatusLine.class);
+        HttpEntity httpEntity = mock(HttpEntity.class);
+
+        given(httpClient.execute(any(HttpGet.class))).willReturn(httpResponse);
+        given(httpResponse.getStatusLine()).willReturn(statusLine);
+        given(statusLine.getStatusCode()).willReturn(HTTP_OK);
+        given(httpResponse.getEntity()).willReturn(httpEntity);
+        given(httpEntity.getContent()).willAnswer(invocation -> new ByteArrayInputStream("{\"status\":\"ZERO_RESULTS\",\"results\":[]}".getBytes()));
+
+        googleGeocoder.geocodeAddress("not counted");
+
+        ObjectName objectName = googleGeocoder.registerMBean("statistics");
+
+        googleGeocoder.geocodeAddress("foo");
+        googleGeocoder.geocodeAddressAsync("bar").get();
+
+        assertThat(objectName, is(new ObjectName("com.github.sandrasi.geocoder:type=GoogleGeocoder,name=\"statistics\"")));
+        assertThat(mBeanServer.getAttribute(objectName, "RequestCount"), is((Object) 2L));
+        assertThat(mBeanServer.getAttribute(objectName, "DailyRequestCount"), is((Object) 2L));
+        assertThat(mBeanServer.getAttribute(objectName, "InFlightRequestCount"), is((Object) 0));
+        assertThat(mBeanServer.getAttribute(objectName, "P99BlockingRateLimiterWaitTimeInMilliseconds"), is(notNullValue()));
+        assertThat(mBeanServer.getAttribute(objectName, "P99AsyncRateLimiterWaitTimeInMilliseconds"), is(notNullValue()));
+        assertThat(((Double) mBeanServer.getAttribute(objectName, "CacheHitRate")).isNaN(), is(true));
+        assertThat(mBeanServer.getAttribute(objectName, "LeasedConnectionCount"), is((Object) (-1)));
+    }
+
+    @Test
+    public void shouldChangeTheRequestRateOfTheGeocoder() throws Exception {
+        ObjectName objectName = googleGeocoder.registerMBean("rate");
+
+        mBeanServer.setAttribute(objectName, new Attribute("PermitIntervalInMilliseconds", 250L));
+
+        assertThat(googleGeocoder.getRateLimiter().getPermitIntervalInNanoseconds(), is(250000000L));
+        assertThat(mBeanServer.getAttribute(objectName, "PermitIntervalInMilliseconds"), is((Object) 250L));
+    }
+
+    @Test
+    public void shouldChangeTheConnectionPoolSizesOfPooledGeocoder() throws Exception {
+        GoogleGeocoder pooledGoogleGeocoder = GoogleGeocoderFactory.createPooledGoogleGeocoder(HttpConnectionPoolSettings.DEFAULT, 0);
+        ObjectName objectName = pooledGoogleGeocoder.registerMBean("pool");
+
+        try {
+            mBeanServer.setAttribute(objectName, new Attribute("MaxTotalConnections", 42));
+            mBeanServer.setAttribute(objectName, new Attribute("MaxConnectionsPerRoute", 7));
+
+            assertThat(pooledGoogleGeocoder.getConnectionManager().getMaxTotal(), is(42));
+            assertThat(pooledGoogleGeocoder.getConnectionManager().getDefaultMaxPerRoute(), is(7));
+            assertThat(pooledGoogleGeocoder.getAsyncConnectionManager().getMaxTotal(), is(42));
+            assertThat(pooledGoogleGeocoder.getAsyncConnectionManager().getDefaultMaxPerRoute(), is(7));
+            assertThat(mBeanServer.getAttribute(objectName, "AvailableConnectionCount"), is((Object) 0));
+        } finally {
+            pooledGoogleGeocoder.close();
+        }
+
+        assertThat(mBeanServer.isRegistered(objectName), is(false));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotChangeTheConnectionPoolSizesIfTheGeocoderDoesNotPoolItsConnections() {
+        new GoogleGeocoderManagement(googleGeocoder, new GoogleGeocoderStatistics(), null).setMaxTotalConnections(42);
+    }
+
+    @Test
+    public void shouldUnregisterTheMBean() throws Exception {
+        ObjectName objectName = googleGeocoder.registerMBean("unregister");
+
+        googleGeocoder.unregisterMBean();
+
+        assertThat(mBeanServer.isRegistered(objectName), is(false));
+    }
+
+    @Test
+    public void shouldRestartTheStatisticsWhenTheGeocoderIsRegisteredAgain() throws Exception {
+        HttpResponse httpResponse = mock(HttpResponse.class);
+        StatusLine statusLine = mock(StatusLine.class);
+        HttpEntity httpEntity = mock(HttpEntity.class);
+
+        given(httpClient.execute(any(HttpGet.class))).willReturn(httpResponse);
+        given(httpResponse.getStatusLine()).willReturn(statusLine);
+        given(statusLine.getStatusCode()).willReturn(HTTP_OK);
+        given(httpResponse.getEntity()).willReturn(httpEntity);
+        given(httpEntity.getContent()).willAnswer(invocation -> new ByteArrayInputStream("{\"status\":\"ZERO_RESULTS\",\"results\":[]}".getBytes()));
+
+        googleGeocoder.registerMBean("again");
+        googleGeocoder.geocodeAddress("foo");
+        googleGeocoder.unregisterMBean();
+        googleGeocoder.geocodeAddress("bar");
+
+        ObjectName objectName = googleGeocoder.registerMBean("again");
+
+        assertThat(mBeanServer.getAttribute(objectName, "RequestCount"), is((Object) 0L));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotRegisterTheGeocoderTwice() {
+        googleGeocoder.registerMBean("twice");
+        googleGeocoder.registerMBean("twice");
+    }
+
+    @Test(expected = GeocodeException.class)
+    public void shouldNotRegisterTwoGeocodersUnderTheSameName() {
+        GoogleGeocoder otherGoogleGeocoder = GoogleGeocoderFactory.createGoogleGeocoder(httpClient);
+
+        googleGeocoder.registerMBean("same");
+        otherGoogleGeocoder.registerMBean("same");
+    }
+}
@@ -1,19 +1,32 @@
 package com.github.sandrasi.geocoder.google.v3;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URLEncoder;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import com.github.sandrasi.geocoder.GeocodeException;
 import com.github.sandrasi.geocoder.GeocodeResponse;
+import com.github.sandrasi.geocoder.GeocodeResult;
 import com.github.sandrasi.geocoder.components.GeocodedAddress;
 import com.github.sandrasi.geocoder.components.GeographicLocation;
+import com.github.sandrasi.geocoder.metrics.GeocodePhase;
+import com.github.sandrasi.geocoder.metrics.GeocoderMetrics;
+import com.github.sandrasi.geocoder.metrics.HistogramGeocoderMetrics;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.StatusLine;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpGet;
-import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.protocol.HttpContext;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
@@ -21,8 +34,8 @@ import org.mockito.ArgumentCaptor;
 import static com.github.sandrasi.geocoder.components.GeocodeStatus.*;
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.*;
 
 public class GoogleGeocoderTest {
@@ -30,11 +43,13 @@ public class GoogleGeocoderTest {
     private static final int HTTP_OK = 200;
 
     private HttpClient httpClient;
+    private HttpAsyncClient httpAsyncClient;
     private GoogleGeocoder subject;
 
     @Before
     public void setUp() {
         httpClient = mock(HttpClient.class);
+        httpAsyncClient = mock(HttpAsyncClient.class);
         subject = GoogleGeocoderFactory.createGoogleGeocoder(httpClient);
     }
 
@@ -43,15 +58,12 @@ public class GoogleGeocoderTest {
         HttpResponse httpResponse = mock(HttpResponse.class);
         StatusLine statusLine = mock(StatusLine.class);
         HttpEntity httpEntity = mock(HttpEntity.class);
-        ClientConnectionManager clientConnectionManager = mock(ClientConnectionManager.class);
 
         given(httpClient.execute(any(HttpGet.class))).willReturn(httpResponse);
         given(httpResponse.getStatusLine()).willReturn(statusLine);
         given(statusLine.getStatusCode()).willReturn(HTTP_OK);
         given(httpResponse.getEntity()).willReturn(httpEntity);
         given(httpEntity.getContent()).willReturn(new ByteArrayInputStream("{\"status\":\"ZERO_RESULTS\",\"results\":[]}".getBytes()));
-        given(httpClient.getConnectionManager()).willReturn(clientConnectionManager);
-        clientConnectionManager.closeExpiredConnections();
 
         GeocodeResponse geocodeResponse = subject.geocodeAddress("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA");
 
@@ -73,15 +85,12 @@ public class GoogleGeocoderTest {
         HttpResponse httpResponse = mock(HttpResponse.class);
         StatusLine statusLine = mock(StatusLine.class);
         HttpEntity httpEntity = mock(HttpEntity.class);
-        ClientConnectionManager clientConnectionManager = mock(ClientConnectionManager.class);
 
         given(httpClient.execute(any(HttpGet.class))).willReturn(httpResponse);
         given(httpResponse.getStatusLine()).willReturn(statusLine);
         given(statusLine.getStatusCode()).willReturn(HTTP_OK);
         given(httpResponse.getEntity()).willReturn(httpEntity);
         given(httpEntity.getContent()).willReturn(new ByteArrayInputStream("{\"status\":\"ZERO_RESULTS\",\"results\":[]}".getBytes()));
-        given(httpClient.getConnectionManager()).willReturn(clientConnectionManager);
-        clientConnectionManager.closeExpiredConnections();
 
         GeocodeResponse geocodeResponse = subject.lookupAddress(37.422782, -122.085099);
 
@@ -103,15 +112,12 @@ public class GoogleGeocoderTest {
         HttpResponse httpResponse = mock(HttpResponse.class);
         StatusLine statusLine = mock(StatusLine.class);
         HttpEntity httpEntity = mock(HttpEntity.class);
-        ClientConnectionManager clientConnectionManager = mock(ClientConnectionManager.class);
 
         given(httpClient.execute(any(HttpGet.class))).willReturn(httpResponse);
         given(httpResponse.getStatusLine()).willReturn(statusLine);
         given(statusLine.getStatusCode()).willReturn(HTTP_OK);
         given(httpResponse.getEntity()).willReturn(httpEntity);
         given(httpEntity.getContent()).willReturn(new ByteArrayInputStream("{\"status\":\"ZERO_RESULTS\",\"results\":[]}".getBytes()));
-        given(httpClient.getConnectionManager()).willReturn(clientConnectionManager);
-        clientConnectionManager.closeExpiredConnections();
 
         GoogleGeocodeRequest googleGeocodeRequest = subject.newGeocodeRequestBuilder("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA")
                 .withViewportBiasing(GeographicLocation.fromValues(36.421776, -123.084665), GeographicLocation.fromValues(38.421776, -121.084665))
@@ -137,21 +143,71 @@ public class GoogleGeocoderTest {
         assertThat(geocodeResponse.getGeocodedAddresses(), is(Collections.<GeocodedAddress>emptyList()));
     }
 
+    @Test
+    public void shouldRecordTheLatenciesAndTheStatusesToTheMetrics() throws Exception {
+        HistogramGeocoderMetrics metrics = new HistogramGeocoderMetrics();
+        HttpResponse httpResponse = mock(HttpResponse.class);
+        StatusLine statusLine = mock(StatusLine.class);
+        HttpEntity httpEntity = mock(HttpEntity.class);
+
+        given(httpClient.execute(any(HttpGet.class), any(HttpContext.class))).willAnswer(invocation -> {
+            invocation.<HttpContext>getArgument(1).setAttribute(TimestampingHttpRequestExecutor.CONNECTION_LEASED_AT, System.nanoTime());
+            return httpResponse;
+        });
+        given(httpResponse.getStatusLine()).willReturn(statusLine);
+        given(statusLine.getStatusCode()).willReturn(HTTP_OK);
+        given(httpResponse.getEntity()).willReturn(httpEntity);
+        given(httpEntity.getContentLength()).willReturn(-1L);
+        given(httpEntity.getContent()).willReturn(new ByteArrayInputStream("{\"status\":\"ZERO_RESULTS\",\"results\":[]}".getBytes()));
+
+        subject.setMetrics(metrics);
+
+        GeocodeResponse geocodeResponse = subject.geocodeAddress("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA");
+
+        assertThat(geocodeResponse.getGeocodeStatus(), is(ZERO_RESULTS));
+        assertThat(subject.getMetrics(), is(sameInstance((GeocoderMetrics) metrics)));
+
+        for (GeocodePhase phase : GeocodePhase.values()) {
+            assertThat(phase.toString(), metrics.getLatencyHistogram(phase).getCount(), is(1L));
+        }
+
+        assertThat(metrics.getGeocodeStatusCount(ZERO_RESULTS), is(1L));
+        assertThat(metrics.getHttpStatusCount(HTTP_OK), is(1L));
+        verify(httpClient, never()).execute(any(HttpGet.class));
+    }
+
+    @Test
+    public void shouldNotMeasureTheRequestsIfTheMetricsAreDisabled() throws Exception {
+        GeocoderMetrics metrics = mock(GeocoderMetrics.class);
+        HttpResponse httpResponse = mock(HttpResponse.class);
+        StatusLine statusLine = mock(StatusLine.class);
+        HttpEntity httpEntity = mock(HttpEntity.class);
+
+        given(httpClient.execute(any(HttpGet.class))).willReturn(httpResponse);
+        given(httpResponse.getStatusLine()).willReturn(statusLine);
+        given(statusLine.getStatusCode()).willReturn(HTTP_OK);
+        given(httpResponse.getEntity()).willReturn(httpEntity);
+        given(httpEntity.getContent()).willReturn(new ByteArrayInputStream("{\"status\":\"ZERO_RESULTS\",\"results\":[]}".getBytes()));
+
+        subject.setMetrics(metrics);
+        subject.lookupAddress(37.422782, -122.085099);
+
+        verify(metrics, atLeastOnce()).isEnabled();
+        verifyNoMoreInteractions(metrics);
+    }
+
     @Test
     public void shouldUseSignatureInTheGeocodeRequest() throws Exception {
         subject = GoogleGeocoderFactory.createPremierGoogleGeocoder(httpClient, "johndoe", "foo");
         HttpResponse httpResponse = mock(HttpResponse.class);
         StatusLine statusLine = mock(StatusLine.class);
         HttpEntity httpEntity = mock(HttpEntity.class);
-        ClientConnectionManager clientConnectionManager = mock(ClientConnectionManager.class);
 
         given(httpClient.execute(any(HttpGet.class))).willReturn(httpResponse);
         given(httpResponse.getStatusLine()).willReturn(statusLine);
         given(statusLine.getStatusCode()).willReturn(HTTP_OK);
         given(httpResponse.getEntity()).willReturn(httpEntity);
         given(httpEntity.getContent()).willReturn(new ByteArrayInputStream("{\"status\":\"ZERO_RESULTS\",\"results\":[]}".getBytes()));
-        given(httpClient.getConnectionManager()).willReturn(clientConnectionManager);
-        clientConnectionManager.closeExpiredConnections();
 
         GeocodeResponse geocodeResponse = subject.geocodeAddress("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA");
 
@@ -177,4 +233,204 @@ public class GoogleGeocoderTest {
         defaultGoogleGeocoder.close();
         defaultGoogleGeocoder.geocodeAddress("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA");
     }
+
+    @Test
+    public void shouldGeocodeAddressAsynchronously() throws Exception {
+        subject = GoogleGeocoderFactory.createTimedGoogleGeocoder(httpClient, httpAsyncClient, 0);
+        HttpResponse httpResponse = mock(HttpResponse.class);
+        StatusLine statusLine = mock(StatusLine.class);
+        HttpEntity httpEntity = mock(HttpEntity.class);
+
+        given(httpAsyncClient.execute(any(HttpGet.class), any(FutureCallback.class))).willAnswer(invocation -> {
+            invocation.<FutureCallback<HttpResponse>>getArgument(1).completed(httpResponse);
+            return null;
+        });
+        given(httpResponse.getStatusLine()).willReturn(statusLine);
+        given(statusLine.getStatusCode()).willReturn(HTTP_OK);
+        given(httpResponse.getEntity()).willReturn(httpEntity);
+        given(httpEntity.getContent()).willReturn(new ByteArrayInputStream("{\"status\":\"ZERO_RESULTS\",\"results\":[]}".getBytes()));
+
+        GeocodeResponse geocodeResponse = subject.geocodeAddressAsync("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA").get();
+
+        ArgumentCaptor<HttpGet> httpGetCaptor = ArgumentCaptor.forClass(HttpGet.class);
+        verify(httpAsyncClient).execute(httpGetCaptor.capture(), any(FutureCallback.class));
+        verifyNoInteractions(httpClient);
+
+        URI expectedUri = URI.create("http://maps.googleapis.com/maps/api/geocode/json"
+                + "?address=" + URLEncoder.encode("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA", "UTF-8")
+                + "&sensor=false");
+
+        assertThat(httpGetCaptor.getValue().getURI(), is(expectedUri));
+        assertThat(geocodeResponse.getGeocodeStatus(), is(ZERO_RESULTS));
+        assertThat(geocodeResponse.getQueryString(), is("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA"));
+        assertThat(geocodeResponse.getGeocodedAddresses(), is(Collections.<GeocodedAddress>emptyList()));
+    }
+
+    @Test
+    public void shouldLookupAddressAsynchronouslyWithTheBlockingHttpClientIfThereIsNoAsynchronousHttpClient() throws Exception {
+        HttpResponse httpResponse = mock(HttpResponse.class);
+        StatusLine statusLine = mock(StatusLine.class);
+        HttpEntity httpEntity = mock(HttpEntity.class);
+
+        given(httpClient.execute(any(HttpGet.class))).willReturn(httpResponse);
+        given(httpResponse.getStatusLine()).willReturn(statusLine);
+        given(statusLine.getStatusCode()).willReturn(HTTP_OK);
+        given(httpResponse.getEntity()).willReturn(httpEntity);
+        given(httpEntity.getContent()).willReturn(new ByteArrayInputStream("{\"status\":\"ZERO_RESULTS\",\"results\":[]}".getBytes()));
+
+        GeocodeResponse geocodeResponse = subject.lookupAddressAsync(37.422782, -122.085099).get();
+
+        assertThat(geocodeResponse.getGeocodeStatus(), is(ZERO_RESULTS));
+        assertThat(geocodeResponse.getQueryString(), is("37.422782, -122.085099"));
+    }
+
+    @Test
+    public void shouldSendTheBlockingRequestOfAnAsynchronousLookupOnASingleExecutorThread() throws Exception {
+        HttpResponse httpResponse = mock(HttpResponse.class);
+        StatusLine statusLine = mock(StatusLine.class);
+        HttpEntity httpEntity = mock(HttpEntity.class);
+        AtomicInteger executedTaskCount = new AtomicInteger();
+        GoogleGeocoder googleGeocoder = new GoogleGeocoder(httpClient, null, command -> {
+            executedTaskCount.incrementAndGet();
+            command.run();
+        }, 0) {
+
+            @Override
+            public void close() {
+            }
+        };
+
+        given(httpClient.execute(any(HttpGet.class))).willReturn(httpResponse);
+        given(httpResponse.getStatusLine()).willReturn(statusLine);
+        given(statusLine.getStatusCode()).willReturn(HTTP_OK);
+        given(httpResponse.getEntity()).willReturn(httpEntity);
+        given(httpEntity.getContent()).willReturn(new ByteArrayInputStream("{\"status\":\"ZERO_RESULTS\",\"results\":[]}".getBytes()));
+
+        GeocodeResponse geocodeResponse = googleGeocoder.lookupAddressAsync(37.422782, -122.085099).get();
+
+        assertThat(geocodeResponse.getGeocodeStatus(), is(ZERO_RESULTS));
+        assertThat(executedTaskCount.get(), is(1));
+    }
+
+    @Test
+    public void shouldCompleteExceptionallyIfTheAsynchronousRequestFails() throws Exception {
+        subject = GoogleGeocoderFactory.createTimedGoogleGeocoder(httpClient, httpAsyncClient, 0);
+
+        given(httpAsyncClient.execute(any(HttpGet.class), any(FutureCallback.class))).willAnswer(invocation -> {
+            invocation.<FutureCallback<HttpResponse>>getArgument(1).failed(new IOException("Connection reset"));
+            return null;
+        });
+
+        try {
+            subject.geocodeAddressAsync("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA").get();
+            fail("The future should have been completed exceptionally");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(GeocodeException.class)));
+        }
+    }
+
+    @Test
+    public void shouldCloseGoogleGeocoderSoThatFurtherAsynchronousGeocodingRequestsAreNotPossible() throws Exception {
+        GoogleGeocoder defaultGoogleGeocoder = GoogleGeocoderFactory.createDefaultGoogleGeocoder();
+
+        defaultGoogleGeocoder.close();
+
+        try {
+            defaultGoogleGeocoder.geocodeAddressAsync("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA").get();
+            fail("The future should have been completed exceptionally");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(IllegalStateException.class)));
+        }
+    }
+
+    @Test
+    public void shouldQueueRateLimitedAsynchronousRequestsWithoutBlockingTheCaller() throws Exception {
+        subject = GoogleGeocoderFactory.createTimedGoogleGeocoder(httpClient, httpAsyncClient, 200);
+
+        given(httpAsyncClient.execute(any(HttpGet.class), any(FutureCallback.class))).willAnswer(invocation -> {
+            invocation.<FutureCallback<HttpResponse>>getArgument(1).completed(zeroResultsHttpResponse());
+            return null;
+        });
+
+        CompletableFuture<GeocodeResponse> first = subject.geocodeAddressAsync("foo");
+        CompletableFuture<GeocodeResponse> second = subject.geocodeAddressAsync("bar");
+
+        assertThat(subject.getAsyncRateLimiter().getQueueDepth(), is(1));
+        assertThat(first.get().getQueryString(), is("foo"));
+        assertFalse(second.isDone());
+        assertThat(second.get().getQueryString(), is("bar"));
+        assertThat(subject.getAsyncRateLimiter().getQueueDepth(), is(0));
+        assertThat(subject.getAsyncRateLimiter().getWaitTimeHistogram().getCount(), is(2L));
+    }
+
+    @Test
+    public void shouldGeocodeAllAddressesInOrderAndReportFailuresWithoutAbortingTheBatch() throws Exception {
+        given(httpClient.execute(any(HttpGet.class))).willAnswer(invocation -> {
+            HttpGet httpGet = invocation.getArgument(0);
+
+            if (httpGet.getURI().getQuery().contains("address=bar")) {
+                throw new IOException("Connection reset");
+            }
+
+            return zeroResultsHttpResponse();
+        });
+
+        List<GeocodeResult> geocodeResults = subject.geocodeAll(Arrays.asList("foo", "bar", "baz", "qux"), 2);
+
+        assertThat(geocodeResults.size(), is(4));
+        assertThat(geocodeResults.get(0).getQueryString(), is("foo"));
+        assertThat(geocodeResults.get(0).getGeocodeResponse().getGeocodeStatus(), is(ZERO_RESULTS));
+        assertThat(geocodeResults.get(1).getQueryString(), is("bar"));
+        assertFalse(geocodeResults.get(1).isSuccessful());
+        assertThat(geocodeResults.get(1).getGeocodeException().getMessage(), is("An I/O exception occurred while reading the response"));
+        assertThat(geocodeResults.get(2).getQueryString(), is("baz"));
+        assertTrue(geocodeResults.get(2).isSuccessful());
+        assertThat(geocodeResults.get(3).getQueryString(), is("qux"));
+        assertTrue(geocodeResults.get(3).isSuccessful());
+    }
+
+    @Test
+    public void shouldReportInvalidAddressesAsFailedBatchItems() throws Exception {
+        given(httpClient.execute(any(HttpGet.class))).willAnswer(invocation -> zeroResultsHttpResponse());
+
+        List<GeocodeResult> geocodeResults = subject.geocodeAll(Arrays.asList("foo", null));
+
+        assertTrue(geocodeResults.get(0).isSuccessful());
+        assertFalse(geocodeResults.get(1).isSuccessful());
+        assertThat(geocodeResults.get(1).getGeocodeException().getCause(), is(instanceOf(NullPointerException.class)));
+    }
+
+    @Test
+    public void shouldLookupAllLocationsInOrder() throws Exception {
+        given(httpClient.execute(any(HttpGet.class))).willAnswer(invocation -> zeroResultsHttpResponse());
+
+        List<GeocodeResult> geocodeResults = subject.lookupAll(new double[] {37.422782, 47.5}, new double[] {-122.085099, 19.05});
+
+        assertThat(geocodeResults.size(), is(2));
+        assertThat(geocodeResults.get(0).getGeocodeResponse().getQueryString(), is("37.422782, -122.085099"));
+        assertThat(geocodeResults.get(1).getGeocodeResponse().getQueryString(), is("47.5, 19.05"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotLookupLocationsWithMismatchingCoordinates() {
+        subject.lookupAll(new double[] {37.422782, 47.5}, new double[] {-122.085099});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotGeocodeBatchWithNonPositiveParallelism() {
+        subject.geocodeAll(Arrays.asList("foo"), 0);
+    }
+
+    private static HttpResponse zeroResultsHttpResponse() throws IOException {
+        HttpResponse httpResponse = mock(HttpResponse.class);
+        StatusLine statusLine = mock(StatusLine.class);
+        HttpEntity httpEntity = mock(HttpEntity.class);
+
+        given(httpResponse.getStatusLine()).willReturn(statusLine);
+        given(statusLine.getStatusCode()).willReturn(HTTP_OK);
+        given(httpResponse.getEntity()).willReturn(httpEntity);
+        given(httpEntity.getContent()).willReturn(new ByteArrayInputStream("{\"status\":\"ZERO_RESULTS\",\"results\":[]}".getBytes()));
+
+        return httpResponse;
+    }
 }
@@ -2,6 +2,11 @@ package com.github.sandrasi.geocoder.google.v3;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
 
 public class GoogleMapsApiPremierCredentialsTest {
@@ -33,4 +38,29 @@ public class GoogleMapsApiPremierCredentialsTest {
 
         assertThat(signature, is("Y5z3sdaSOI0NhJ6zPuUMzox2ot4="));
     }
+
+    @Test
+    public void shouldSignTheUtf8BytesOfTheString() throws Exception {
+        GoogleMapsApiPremierCredentials subject = new GoogleMapsApiPremierCredentials("johndoe", "Zm9vYmFy");
+
+        assertThat(subject.getSignatureFor("N\u00e9v\u00e9rt\u00e9k\u00fcl\u0151"), is(signatureOf("N\u00e9v\u00e9rt\u00e9k\u00fcl\u0151", "foobar")));
+    }
+
+    @Test
+    public void shouldSignStringsOfAnyLengthWithTheSameSigner() throws Exception {
+        GoogleMapsApiPremierCredentials subject = new GoogleMapsApiPremierCredentials("johndoe", "Zm9vYmFy");
+        String longString = StringUtils.repeat("/maps/api/geocode/json?address=foo", 100);
+
+        assertThat(subject.getSignatureFor("blah-blah"), is(signatureOf("blah-blah", "foobar")));
+        assertThat(subject.getSignatureFor(longString), is(signatureOf(longString, "foobar")));
+        assertThat(subject.getSignatureFor("blah-blah"), is(signatureOf("blah-blah", "foobar")));
+    }
+
+    private static String signatureOf(String string, String key) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA1");
+
+        mac.init(new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "HmacSHA1"));
+
+        return Base64.getUrlEncoder().encodeToString(mac.doFinal(string.getBytes(StandardCharsets.UTF_8)));
+    }
 }
@@ -0,0 +1,70 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+public class HttpConnectionPoolSettingsTest {
+
+    @Test
+    public void shouldHaveDefaultSettings() {
+        HttpConnectionPoolSettings settings = HttpConnectionPoolSettings.DEFAULT;
+
+        assertThat(settings.getMaxTotalConnections(), is(20));
+        assertThat(settings.getMaxConnectionsPerRoute(), is(20));
+        assertThat(settings.getKeepAliveDurationInMilliseconds(), is(30000L));
+        assertThat(settings.getIdleConnectionTimeoutInMilliseconds(), is(60000L));
+        assertThat(settings.getIdleConnectionEvictionIntervalInMilliseconds(), is(5000L));
+        assertThat(settings.getConnectionTimeToLiveInMilliseconds(), is(0L));
+    }
+
+    @Test
+    public void shouldBuildSettings() {
+        HttpConnectionPoolSettings settings = HttpConnectionPoolSettings.newBuilder()
+                .setMaxTotalConnections(8)
+                .setMaxConnectionsPerRoute(4)
+                .setKeepAliveDurationInMilliseconds(1000)
+                .setIdleConnectionTimeoutInMilliseconds(0)
+                .setIdleConnectionEvictionIntervalInMilliseconds(100)
+                .setConnectionTimeToLiveInMilliseconds(10000)
+                .build();
+
+        assertThat(settings.getMaxTotalConnections(), is(8));
+        assertThat(settings.getMaxConnectionsPerRoute(), is(4));
+        assertThat(settings.getKeepAliveDurationInMilliseconds(), is(1000L));
+        assertThat(settings.getIdleConnectionTimeoutInMilliseconds(), is(0L));
+        assertThat(settings.getIdleConnectionEvictionIntervalInMilliseconds(), is(100L));
+        assertThat(settings.getConnectionTimeToLiveInMilliseconds(), is(10000L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptNonPositiveMaxTotalConnections() {
+        HttpConnectionPoolSettings.newBuilder().setMaxTotalConnections(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptNonPositiveMaxConnectionsPerRoute() {
+        HttpConnectionPoolSettings.newBuilder().setMaxConnectionsPerRoute(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptNonPositiveKeepAliveDuration() {
+        HttpConnectionPoolSettings.newBuilder().setKeepAliveDurationInMilliseconds(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptNegativeIdleConnectionTimeout() {
+        HttpConnectionPoolSettings.newBuilder().setIdleConnectionTimeoutInMilliseconds(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptNonPositiveIdleConnectionEvictionInterval() {
+        HttpConnectionPoolSettings.newBuilder().setIdleConnectionEvictionIntervalInMilliseconds(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptNegativeConnectionTimeToLive() {
+        HttpConnectionPoolSettings.newBuilder().setConnectionTimeToLiveInMilliseconds(-1);
+    }
+}
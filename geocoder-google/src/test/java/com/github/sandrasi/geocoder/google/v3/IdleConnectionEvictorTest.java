@@ -0,0 +1,85 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.BDDMockito.*;
+
+public class IdleConnectionEvictorTest {
+
+    private PoolingHttpClientConnectionManager connectionManager;
+    private PoolingNHttpClientConnectionManager asyncConnectionManager;
+    private IdleConnectionEvictor subject;
+
+    @Before
+    public void setUp() {
+        connectionManager = mock(PoolingHttpClientConnectionManager.class);
+        asyncConnectionManager = mock(PoolingNHttpClientConnectionManager.class);
+        subject = new IdleConnectionEvictor(connectionManager, asyncConnectionManager, 1000, 100);
+    }
+
+    @Test
+    public void shouldCloseExpiredAndIdleConnections() {
+        given(connectionManager.getTotalStats()).willReturn(new PoolStats(0, 0, 5, 20), new PoolStats(0, 0, 4, 20), new PoolStats(0, 0, 2, 20));
+        given(asyncConnectionManager.getTotalStats()).willReturn(new PoolStats(0, 0, 3, 20), new PoolStats(0, 0, 1, 20), new PoolStats(0, 0, 0, 20));
+
+        subject.evict();
+
+        verify(connectionManager).closeExpiredConnections();
+        verify(connectionManager).closeIdleConnections(1000, TimeUnit.MILLISECONDS);
+        verify(asyncConnectionManager).closeExpiredConnections();
+        verify(asyncConnectionManager).closeIdleConnections(1000, TimeUnit.MILLISECONDS);
+        assertThat(subject.getEvictionRunCount(), is(1L));
+        assertThat(subject.getEvictedExpiredConnectionCount(), is(3L));
+        assertThat(subject.getEvictedIdleConnectionCount(), is(3L));
+    }
+
+    @Test
+    public void shouldNotCountConnectionsReleasedDuringTheEviction() {
+        given(connectionManager.getTotalStats()).willReturn(new PoolStats(0, 0, 1, 20), new PoolStats(0, 0, 2, 20), new PoolStats(0, 0, 3, 20));
+        given(asyncConnectionManager.getTotalStats()).willReturn(new PoolStats(0, 0, 0, 20));
+
+        subject.evict();
+
+        assertThat(subject.getEvictedExpiredConnectionCount(), is(0L));
+        assertThat(subject.getEvictedIdleConnectionCount(), is(0L));
+    }
+
+    @Test
+    public void shouldEvictConnectionsWithoutAsyncConnectionManager() {
+        subject = new IdleConnectionEvictor(connectionManager, null, 1000, 100);
+        given(connectionManager.getTotalStats()).willReturn(new PoolStats(0, 0, 2, 20), new PoolStats(0, 0, 1, 20), new PoolStats(0, 0, 1, 20));
+
+        subject.evict();
+
+        verify(connectionManager).closeExpiredConnections();
+        verify(connectionManager).closeIdleConnections(1000, TimeUnit.MILLISECONDS);
+        assertThat(subject.getEvictedExpiredConnectionCount(), is(1L));
+        assertThat(subject.getEvictedIdleConnectionCount(), is(0L));
+    }
+
+    @Test
+    public void shouldSurviveFailingEviction() {
+        willThrow(IllegalStateException.class).given(connectionManager).getTotalStats();
+
+        subject.evict();
+
+        assertThat(subject.getEvictionRunCount(), is(0L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptNonPositiveIdleConnectionTimeout() {
+        new IdleConnectionEvictor(connectionManager, asyncConnectionManager, 0, 100);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptNonPositiveEvictionInterval() {
+        new IdleConnectionEvictor(connectionManager, asyncConnectionManager, 1000, 0);
+    }
+}
@@ -1,12 +1,22 @@
 package com.github.sandrasi.geocoder.google.v3;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import com.github.sandrasi.geocoder.GeocodeException;
 import com.github.sandrasi.geocoder.components.*;
+import com.github.sandrasi.geocoder.util.StringPool;
 import org.apache.commons.io.IOUtils;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -16,8 +26,8 @@ import static com.github.sandrasi.geocoder.components.GeocodeStatus.*;
 import static com.github.sandrasi.geocoder.components.LocationType.*;
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.BDDMockito.*;
-import static org.mockito.Matchers.anyInt;
 import static org.mockito.Mockito.mock;
 
 public class JsonGeocodeResponseParserTest {
@@ -60,6 +70,50 @@ public class JsonGeocodeResponseParserTest {
        assertFalse(googleGeocodeResponse.getGeocodedAddresses().get(0).addressComponentIterator().hasNext());
     }
 
+    @Test
+    public void shouldCountTheUnknownValues() {
+        String jsonGeocodeResponse = "{\"status\":\"ok\", \"results\":[{\"types\":[\"Street_Address\", \"foo\", \"foo\"], \"formatted_address\":\"foo\", \"geometry\":{\"location\":{\"lat\":1.0, \"lng\":2.0}, \"location_type\":\"rooftop\"}}]}";
+        long unknownValueCount = JsonGeocodeResponseParser.getUnknownValueCount();
+
+        GoogleGeocodeResponse googleGeocodeResponse = JsonGeocodeResponseParser.parse("foo", new ByteArrayInputStream(jsonGeocodeResponse.getBytes()), ResponseProjection.LOCATION_AND_TYPE, null);
+
+        GeocodedAddress geocodedAddress = googleGeocodeResponse.getGeocodedAddresses().get(0);
+
+        assertThat(googleGeocodeResponse.getGeocodeStatus(), is(OK));
+        assertThat(geocodedAddress.addressTypeIterator().next(), is(STREET_ADDRESS));
+        assertThat(geocodedAddress.getGeometry().getLocationType(), is(ROOFTOP));
+        assertThat(JsonGeocodeResponseParser.getUnknownValueCount() - unknownValueCount, is(2L));
+    }
+
+    @Test
+    public void shouldThrowExceptionIfTheLocationTypeIsUnknown() {
+        String jsonGeocodeResponse = "{\"status\":\"OK\", \"results\":[{\"types\":[], \"formatted_address\":\"foo\", \"geometry\":{\"location\":{\"lat\":1.0, \"lng\":2.0}, \"location_type\":\"bar\"}}]}";
+        long unknownValueCount = JsonGeocodeResponseParser.getUnknownValueCount();
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                JsonGeocodeResponseParser.decode("foo", jsonGeocodeResponse.getBytes(), ResponseProjection.LOCATION_AND_TYPE, null);
+                fail();
+            } catch (GeocodeException e) {
+                assertThat(e.getMessage(), is("Unknown location type [bar] has been found in the response"));
+            }
+        }
+
+        assertThat(JsonGeocodeResponseParser.getUnknownValueCount() - unknownValueCount, is(2L));
+    }
+
+    @Test
+    public void shouldThrowExceptionIfTheStatusIsUnknown() {
+        String jsonGeocodeResponse = "{\"status\":\"FOO\", \"results\":[]}";
+
+        try {
+            JsonGeocodeResponseParser.parse("foo", new ByteArrayInputStream(jsonGeocodeResponse.getBytes()));
+            fail();
+        } catch (GeocodeException e) {
+            assertThat(e.getMessage(), is("Unknown status [FOO] has been found in the response"));
+        }
+    }
+
     @Test
     public void shouldParseEmptyResults() throws Exception {
         String jsonGeocodeResponse = IOUtils.toString(JsonGeocodeResponseParserTest.class.getResourceAsStream("/json/valid/emptyGeocodeResponse.json"));
@@ -69,6 +123,308 @@ public class JsonGeocodeResponseParserTest {
         assertTrue(googleGeocodeResponse.getGeocodedAddresses().isEmpty());
     }
 
+    @Test
+    public void shouldParseFieldsInAnyOrderAndSkipUnknownFields() {
+        String jsonGeocodeResponse =
+            "{"
+          + "    \"results\":["
+          + "        {"
+          + "            \"geometry\":{"
+          + "                \"viewport\":{"
+          + "                    \"northeast\":{\"lng\":-122.0819514, \"lat\":37.4259296},"
+          + "                    \"southwest\":{\"lng\":-122.0882466, \"lat\":37.4196344}"
+          + "                },"
+          + "                \"location_type\":\"ROOFTOP\","
+          + "                \"location\":{\"lng\":-122.0850990, \"lat\":37.4227820}"
+          + "            },"
+          + "            \"place_id\":\"ChIJ2eUgeAK6j4ARbn5u_wAGqWA\","
+          + "            \"plus_code\":{\"compound_code\":\"CWC8+W5 Mountain View\", \"global_code\":[\"849VCWC8+W5\"]},"
+          + "            \"address_components\":["
+          + "                {\"types\":[\"street_number\"], \"short_name\":\"1600\", \"long_name\":\"1600\"}"
+          + "            ],"
+          + "            \"formatted_address\":\"1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA\","
+          + "            \"types\":[\"street_address\"]"
+          + "        }"
+          + "    ],"
+          + "    \"status\":\"OK\""
+          + "}";
+
+        GoogleGeocodeResponse googleGeocodeResponse = JsonGeocodeResponseParser.parse("1600 Amphitheatre Pkwy", new ByteArrayInputStream(jsonGeocodeResponse.getBytes()));
+
+        GeocodedAddress expectedGeocodedAddress = GeocodedAddress.newBuilder("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA")
+                .addAddressType(STREET_ADDRESS)
+                .addAddressComponent(AddressComponent.newBuilder(AddressComponentType.STREET_NUMBER).setLongName("1600").setShortName("1600").build())
+                .setGeometry(Geometry.newBuilder(GeographicLocation.fromValues(37.4227820, -122.0850990))
+                        .setLocationType(ROOFTOP)
+                        .setViewport(new GeographicArea(GeographicLocation.fromValues(37.4196344, -122.0882466), GeographicLocation.fromValues(37.4259296, -122.0819514)))
+                        .build())
+                .build();
+
+        assertThat(googleGeocodeResponse.getGeocodeStatus(), is(OK));
+        assertThat(googleGeocodeResponse.getGeocodedAddresses(), is(Arrays.asList(expectedGeocodedAddress)));
+    }
+
+    @Test
+    public void shouldParseResponsesConcurrently() throws Exception {
+        final byte[] jsonGeocodeResponse = IOUtils.toByteArray(JsonGeocodeResponseParserTest.class.getResourceAsStream("/json/valid/validGeocodeResponse.json"));
+        GoogleGeocodeResponse expectedGoogleGeocodeResponse = JsonGeocodeResponseParser.parse("foo", new ByteArrayInputStream(jsonGeocodeResponse));
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        List<Future<GoogleGeocodeResponse>> googleGeocodeResponses = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < 200; i++) {
+                googleGeocodeResponses.add(executorService.submit(() -> JsonGeocodeResponseParser.parse("foo", new ByteArrayInputStream(jsonGeocodeResponse))));
+            }
+
+            for (Future<GoogleGeocodeResponse> googleGeocodeResponse : googleGeocodeResponses) {
+                assertThat(googleGeocodeResponse.get().getGeocodedAddresses(), is(expectedGoogleGeocodeResponse.getGeocodedAddresses()));
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldParseOnlyTheLocationWithLocationOnlyProjection() throws Exception {
+        InputStream jsonGeocodeResponse = JsonGeocodeResponseParserTest.class.getResourceAsStream("/json/valid/validGeocodeResponse.json");
+
+        GoogleGeocodeResponse googleGeocodeResponse = JsonGeocodeResponseParser.parse("foo", jsonGeocodeResponse, ResponseProjection.LOCATION_ONLY, null);
+
+        GeocodedAddress expectedGeocodedAddress = GeocodedAddress.newBuilder("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA")
+                .setGeometry(Geometry.newBuilder(GeographicLocation.fromValues(37.4227820, -122.0850990)).build())
+                .build();
+
+        assertThat(googleGeocodeResponse.getGeocodeStatus(), is(OK));
+        assertThat(googleGeocodeResponse.getGeocodedAddresses(), is(Arrays.asList(expectedGeocodedAddress)));
+    }
+
+    @Test
+    public void shouldParseTheLocationAndTheTypesWithLocationAndTypeProjection() throws Exception {
+        InputStream jsonGeocodeResponse = JsonGeocodeResponseParserTest.class.getResourceAsStream("/json/valid/validGeocodeResponse.json");
+
+        GoogleGeocodeResponse googleGeocodeResponse = JsonGeocodeResponseParser.parse("foo", jsonGeocodeResponse, ResponseProjection.LOCATION_AND_TYPE, null);
+
+        GeocodedAddress expectedGeocodedAddress = GeocodedAddress.newBuilder("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA")
+                .addAddressType(STREET_ADDRESS)
+                .setGeometry(Geometry.newBuilder(GeographicLocation.fromValues(37.4227820, -122.0850990)).setLocationType(ROOFTOP).build())
+                .build();
+
+        assertThat(googleGeocodeResponse.getGeocodedAddresses(), is(Arrays.asList(expectedGeocodedAddress)));
+    }
+
+    @Test
+    public void shouldNotValidateTheFieldsSkippedByTheProjection() {
+        String jsonGeocodeResponse = "{\"status\":\"OK\", \"results\":[{\"formatted_address\":\"foo\", \"address_components\":{\"bar\":[1, 2]}, \"geometry\":{\"location\":{\"lat\":1.0, \"lng\":2.0}}}]}";
+
+        GoogleGeocodeResponse googleGeocodeResponse = JsonGeocodeResponseParser.parse("foo", new ByteArrayInputStream(jsonGeocodeResponse.getBytes()), ResponseProjection.LOCATION_ONLY, null);
+
+        assertThat(googleGeocodeResponse.getGeocodedAddresses().get(0).getGeometry().getLocation(), is(GeographicLocation.fromValues(1.0, 2.0)));
+    }
+
+    @Test
+    public void shouldValidateTheFieldsIncludedInTheProjection() {
+        String jsonGeocodeResponse = "{\"status\":\"OK\", \"results\":[{\"formatted_address\":\"foo\", \"geometry\":{\"location\":{\"lat\":1.0, \"lng\":2.0}, \"location_type\":\"ROOFTOP\"}}]}";
+
+        try {
+            JsonGeocodeResponseParser.parse("foo", new ByteArrayInputStream(jsonGeocodeResponse.getBytes()), ResponseProjection.LOCATION_AND_TYPE, null);
+            fail();
+        } catch (GeocodeException e) {
+            assertThat(e.getMessage(), is("Mandatory field [types] is missing from the response"));
+        }
+    }
+
+    @Test
+    public void shouldValidateTheMandatoryFieldsOfTheGeocodedAddressBeforeTheNestedObjects() {
+        String jsonGeocodeResponse = "{\"status\":\"OK\", \"results\":[{\"geometry\":{\"location\":{\"lng\":2.0}}, \"formatted_address\":\"foo\", \"address_components\":[]}]}";
+
+        try {
+            JsonGeocodeResponseParser.parse("foo", new ByteArrayInputStream(jsonGeocodeResponse.getBytes()));
+            fail();
+        } catch (GeocodeException e) {
+            assertThat(e.getMessage(), is("Mandatory field [types] is missing from the response"));
+        }
+    }
+
+    @Test
+    public void shouldValidateTheAddressComponentsBeforeTheGeometry() {
+        String jsonGeocodeResponse = "{\"status\":\"OK\", \"results\":[{\"geometry\":{\"location\":{\"lng\":2.0}}, \"types\":[], \"formatted_address\":\"foo\", \"address_components\":[{\"long_name\":\"bar\"}]}]}";
+
+        try {
+            JsonGeocodeResponseParser.parse("foo", new ByteArrayInputStream(jsonGeocodeResponse.getBytes()));
+            fail();
+        } catch (GeocodeException e) {
+            assertThat(e.getMessage(), is("Mandatory field [short_name] is missing from the response"));
+        }
+    }
+
+    @Test
+    public void shouldValidateTheStatusBeforeTheResults() {
+        String jsonGeocodeResponse = "{\"results\":[{\"formatted_address\":\"foo\"}]}";
+
+        try {
+            JsonGeocodeResponseParser.parse("foo", new ByteArrayInputStream(jsonGeocodeResponse.getBytes()));
+            fail();
+        } catch (GeocodeException e) {
+            assertThat(e.getMessage(), is("Mandatory field [status] is missing from the response"));
+        }
+    }
+
+    @Test
+    public void shouldParseTheCoordinatesThatAreNotNumbersAsZero() {
+        String jsonGeocodeResponse = "{\"status\":\"OK\", \"results\":[{\"formatted_address\":\"foo\", \"geometry\":{\"location\":{\"lat\":null, \"lng\":\"2.0\"}}}]}";
+
+        GoogleGeocodeResponse googleGeocodeResponse = JsonGeocodeResponseParser.parse("foo", new ByteArrayInputStream(jsonGeocodeResponse.getBytes()), ResponseProjection.LOCATION_ONLY, null);
+
+        assertThat(googleGeocodeResponse.getGeocodedAddresses().get(0).getGeometry().getLocation(), is(GeographicLocation.fromValues(0.0, 0.0)));
+    }
+
+    @Test
+    public void shouldDecodeTheCoordinatesThatAreNotNumbersAsZero() {
+        String jsonGeocodeResponse = "{\"status\":\"OK\", \"results\":[{\"formatted_address\":\"foo\", \"geometry\":{\"location\":{\"lat\":null, \"lng\":\"2.0\"}}}]}";
+
+        GoogleGeocodeResponse googleGeocodeResponse = JsonGeocodeResponseParser.decode("foo", jsonGeocodeResponse.getBytes(), ResponseProjection.LOCATION_ONLY, null);
+
+        assertThat(googleGeocodeResponse.getGeocodedAddresses().get(0).getGeometry().getLocation(), is(GeographicLocation.fromValues(0.0, 0.0)));
+    }
+
+    @Test
+    public void shouldParseNullArraysAsEmptyArrays() {
+        String jsonGeocodeResponse = "{\"status\":\"OK\", \"results\":[{\"types\":null, \"formatted_address\":\"foo\", \"address_components\":null, \"geometry\":{\"location\":{\"lat\":1.0, \"lng\":2.0}, \"location_type\":\"ROOFTOP\", \"viewport\":{\"southwest\":{\"lat\":1.0, \"lng\":2.0}, \"northeast\":{\"lat\":1.0, \"lng\":2.0}}}}]}";
+
+        GeocodedAddress geocodedAddress = JsonGeocodeResponseParser.parse("foo", new ByteArrayInputStream(jsonGeocodeResponse.getBytes())).getGeocodedAddresses().get(0);
+
+        assertFalse(geocodedAddress.addressTypeIterator().hasNext());
+        assertFalse(geocodedAddress.addressComponentIterator().hasNext());
+    }
+
+    @Test
+    public void shouldParseTheLazilyParsedGeocodedAddressesWithTheProjection() throws Exception {
+        byte[] jsonGeocodeResponse = IOUtils.toByteArray(JsonGeocodeResponseParserTest.class.getResourceAsStream("/json/valid/validGeocodeResponse.json"));
+
+        GoogleGeocodeResponse expectedGoogleGeocodeResponse = JsonGeocodeResponseParser.parse("foo", new ByteArrayInputStream(jsonGeocodeResponse), ResponseProjection.LOCATION_ONLY, null);
+        GoogleGeocodeResponse googleGeocodeResponse = JsonGeocodeResponseParser.parseLazily("foo", jsonGeocodeResponse, ResponseProjection.LOCATION_ONLY, null);
+
+        assertThat(googleGeocodeResponse, is(expectedGoogleGeocodeResponse));
+    }
+
+    @Test
+    public void shouldInternTheStringsOfTheResponsesByTheStringPool() throws Exception {
+        byte[] jsonGeocodeResponse = IOUtils.toByteArray(JsonGeocodeResponseParserTest.class.getResourceAsStream("/json/valid/validGeocodeResponse.json"));
+        StringPool stringPool = new StringPool(1024);
+
+        GeocodedAddress first = JsonGeocodeResponseParser.parse("foo", new ByteArrayInputStream(jsonGeocodeResponse), ResponseProjection.FULL, stringPool).getGeocodedAddresses().get(0);
+        GeocodedAddress second = JsonGeocodeResponseParser.parseLazily("foo", jsonGeocodeResponse, ResponseProjection.FULL, stringPool).getGeocodedAddresses().get(0);
+
+        assertThat(second, is(first));
+        assertThat(second.getFormattedAddress(), is(sameInstance(first.getFormattedAddress())));
+        assertThat(second.addressComponentIterator(COUNTRY).next().getLongName(), is(sameInstance(first.addressComponentIterator(COUNTRY).next().getLongName())));
+        assertThat(second.addressComponentIterator(COUNTRY).next().getShortName(), is(sameInstance(stringPool.intern("US"))));
+    }
+
+    @Test
+    public void shouldDecodeTheResponseByteByByte() throws Exception {
+        byte[] jsonGeocodeResponse = IOUtils.toByteArray(JsonGeocodeResponseParserTest.class.getResourceAsStream("/json/valid/validGeocodeResponse.json"));
+
+        GoogleGeocodeResponse expectedGoogleGeocodeResponse = JsonGeocodeResponseParser.parse("foo", new ByteArrayInputStream(jsonGeocodeResponse));
+
+        assertThat(JsonGeocodeResponseParser.decode("foo", jsonGeocodeResponse, ResponseProjection.FULL, null), is(expectedGoogleGeocodeResponse));
+    }
+
+    @Test
+    public void shouldParseTheResponseIfItCanNotBeDecodedByteByByte() {
+        String jsonGeocodeResponse = "{\"status\":\"OK\", \"results\":[{\"formatted_address\":\"Foo \\u0026 Bar\", \"geometry\":{\"location\":{\"lat\":1.0, \"lng\":2.0}}}]}";
+
+        GoogleGeocodeResponse googleGeocodeResponse = JsonGeocodeResponseParser.decode("foo", jsonGeocodeResponse.getBytes(), ResponseProjection.LOCATION_ONLY, null);
+
+        assertThat(googleGeocodeResponse.getGeocodedAddresses().get(0).getFormattedAddress(), is("Foo & Bar"));
+    }
+
+    @Test
+    public void shouldReportTheErrorsOfTheParserWhenDecodingByteByByte() throws Exception {
+        byte[] jsonGeocodeResponse = IOUtils.toByteArray(JsonGeocodeResponseParserTest.class.getResourceAsStream("/json/invalid/missingStatusFieldGeocodeResponse.json"));
+
+        try {
+            JsonGeocodeResponseParser.decode("foo", jsonGeocodeResponse, ResponseProjection.FULL, null);
+            fail();
+        } catch (GeocodeException e) {
+            assertThat(e.getMessage(), is("Mandatory field [status] is missing from the response"));
+        }
+    }
+
+    @Test
+    public void shouldParseTheGeocodedAddressesLazily() throws Exception {
+        byte[] jsonGeocodeResponse = IOUtils.toByteArray(JsonGeocodeResponseParserTest.class.getResourceAsStream("/json/valid/validGeocodeResponse.json"));
+
+        GoogleGeocodeResponse expectedGoogleGeocodeResponse = JsonGeocodeResponseParser.parse("foo", new ByteArrayInputStream(jsonGeocodeResponse));
+        GoogleGeocodeResponse googleGeocodeResponse = JsonGeocodeResponseParser.parseLazily("foo", jsonGeocodeResponse, ResponseProjection.FULL, null);
+
+        assertThat(googleGeocodeResponse.getGeocodeStatus(), is(OK));
+        assertThat(googleGeocodeResponse.getGeocodedAddresses().size(), is(1));
+        assertThat(googleGeocodeResponse.getGeocodedAddresses().get(0), is(sameInstance(googleGeocodeResponse.getGeocodedAddresses().get(0))));
+        assertThat(googleGeocodeResponse, is(expectedGoogleGeocodeResponse));
+    }
+
+    @Test
+    public void shouldLocateTheLazilyParsedGeocodedAddressesAfterMultiByteCharacters() {
+        String jsonGeocodeResponse =
+            "{"
+          + "    \"status\":\"OK\","
+          + "    \"note\":\"\u0151\u00e9 őé€\","
+          + "    \"results\":["
+          + newJsonGeocodedAddress("Nyíregyháza, Hungária") + ","
+          + newJsonGeocodedAddress("Őrszentmiklós, Magyarország")
+          + "    ]"
+          + "}";
+
+        GoogleGeocodeResponse googleGeocodeResponse = JsonGeocodeResponseParser.parseLazily("foo", jsonGeocodeResponse.getBytes(StandardCharsets.UTF_8), ResponseProjection.FULL, null);
+
+        assertThat(googleGeocodeResponse.getGeocodedAddresses().get(1).getFormattedAddress(), is("Őrszentmiklós, Magyarország"));
+        assertThat(googleGeocodeResponse.getGeocodedAddresses().get(0).getFormattedAddress(), is("Nyíregyháza, Hungária"));
+    }
+
+    @Test(expected = GeocodeException.class)
+    public void shouldValidateTheStatusOfTheLazilyParsedResponseEagerly() throws Exception {
+        byte[] jsonGeocodeResponse = IOUtils.toByteArray(JsonGeocodeResponseParserTest.class.getResourceAsStream("/json/invalid/missingStatusFieldGeocodeResponse.json"));
+
+        JsonGeocodeResponseParser.parseLazily("foo", jsonGeocodeResponse, ResponseProjection.FULL, null);
+    }
+
+    @Test
+    public void shouldValidateTheLazilyParsedGeocodedAddressOnItsFirstAccess() {
+        String jsonGeocodeResponse = "{\"status\":\"OK\", \"results\":[{\"types\":[\"street_address\"]}]}";
+
+        GoogleGeocodeResponse googleGeocodeResponse = JsonGeocodeResponseParser.parseLazily("foo", jsonGeocodeResponse.getBytes(), ResponseProjection.FULL, null);
+
+        assertThat(googleGeocodeResponse.getGeocodedAddresses().size(), is(1));
+
+        try {
+            googleGeocodeResponse.getGeocodedAddresses().get(0);
+            fail();
+        } catch (GeocodeException e) {
+            assertThat(e.getMessage(), is("Mandatory field [formatted_address] is missing from the response"));
+        }
+    }
+
+    @Test
+    public void shouldSerializeTheLazilyParsedResponse() throws Exception {
+        byte[] jsonGeocodeResponse = IOUtils.toByteArray(JsonGeocodeResponseParserTest.class.getResourceAsStream("/json/valid/validGeocodeResponse.json"));
+        GoogleGeocodeResponse googleGeocodeResponse = JsonGeocodeResponseParser.parseLazily("foo", jsonGeocodeResponse, ResponseProjection.FULL, null);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(googleGeocodeResponse);
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertThat(in.readObject(), is((Object) googleGeocodeResponse));
+        }
+    }
+
+    @Test(expected = GeocodeException.class)
+    public void shouldThrowExceptionIfTheResponseIsNotAJsonObject() {
+        JsonGeocodeResponseParser.parse("1600 Amphitheatre Pkwy", new ByteArrayInputStream("[]".getBytes()));
+    }
+
     @Test(expected = NullPointerException.class)
     public void shouldThrowExceptionIfOriginalQueryStringIsNull() throws Exception {
         String jsonGeocodeResponse = IOUtils.toString(JsonGeocodeResponseParserTest.class.getResourceAsStream("/json/valid/emptyGeocodeResponse.json"));
@@ -1035,4 +1391,20 @@ public class JsonGeocodeResponseParserTest {
 
         JsonGeocodeResponseParser.parse("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA", new ByteArrayInputStream(jsonGeocodeResponse.getBytes()));
     }
+
+    private static String newJsonGeocodedAddress(String formattedAddress) {
+        return "{"
+             + "    \"types\":[\"locality\"],"
+             + "    \"formatted_address\":\"" + formattedAddress + "\","
+             + "    \"address_components\":[],"
+             + "    \"geometry\":{"
+             + "        \"location\":{\"lat\":47.9554, \"lng\":21.7167},"
+             + "        \"location_type\":\"APPROXIMATE\","
+             + "        \"viewport\":{"
+             + "            \"southwest\":{\"lat\":47.9, \"lng\":21.6},"
+             + "            \"northeast\":{\"lat\":48.0, \"lng\":21.8}"
+             + "        }"
+             + "    }"
+             + "}";
+    }
 }
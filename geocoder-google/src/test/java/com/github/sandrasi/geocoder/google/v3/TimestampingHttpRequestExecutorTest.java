@@ -0,0 +1,32 @@
+package com.github.sandrasi.geocoder.google.v3;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpVersion;
+import org.apache.http.message.BasicHttpRequest;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.BDDMockito.*;
+
+public class TimestampingHttpRequestExecutorTest {
+
+    @Test
+    public void shouldStoreTheTimeOfTheConnectionLeaseInTheContext() throws Exception {
+        HttpClientConnection httpClientConnection = mock(HttpClientConnection.class);
+        HttpContext httpContext = new BasicHttpContext();
+        long startTime = System.nanoTime();
+
+        given(httpClientConnection.receiveResponseHeader()).willReturn(new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK"));
+
+        new TimestampingHttpRequestExecutor().execute(new BasicHttpRequest("GET", "/"), httpClientConnection, httpContext);
+
+        Object connectionLeaseTime = httpContext.getAttribute(TimestampingHttpRequestExecutor.CONNECTION_LEASED_AT);
+
+        assertThat(connectionLeaseTime, is(instanceOf(Long.class)));
+        assertThat((Long) connectionLeaseTime - startTime >= 0, is(true));
+    }
+}
@@ -0,0 +1,244 @@
+package com.github.sandrasi.geocoder.google.v3.store;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@code DataLog} is an append-only file of checksummed records. The file starts with a header holding a magic
+ * number, the format version and a random generation that ties the log to its index. Every record consists of the
+ * length of its payload, the CRC32C checksum of the payload and the payload itself.
+ * <p>
+ * A record is only appended, never modified, so a crash can only damage the tail of the log. The damaged tail is
+ * detected by the checksums when the log is scanned and it is truncated.
+ */
+final class DataLog {
+
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_HEADER_SIZE = 8;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataLog.class);
+
+    private static final int MAGIC = 0x47454F4C;
+    private static final int VERSION = 1;
+    private static final int SCAN_BUFFER_SIZE = 65536;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long generation;
+    private long length;
+
+    private DataLog(Path path, FileChannel channel, long generation, long length) {
+        this.path = path;
+        this.channel = channel;
+        this.generation = generation;
+        this.length = length;
+    }
+
+    /**
+     * Opens the log at {@code path}, or creates a new log with a new generation if the file does not exist or
+     * it is too short to hold the header, that is its creation has been interrupted.
+     */
+    static DataLog open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            if (channel.size() < HEADER_SIZE) {
+                return create(path, channel, ThreadLocalRandom.current().nextLong());
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+
+            readFully(channel, header, 0);
+            header.flip();
+
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("The file " + path + " is not a geocode response log of version " + VERSION);
+            }
+
+            return new DataLog(path, channel, header.getLong(), channel.size());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a new, empty log at {@code path} with the given generation, replacing the file if it exists.
+     */
+    static DataLog create(Path path, long generation) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            return create(path, channel, generation);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static DataLog create(Path path, FileChannel channel, long generation) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+
+        header.putInt(MAGIC).putInt(VERSION).putLong(generation).flip();
+        writeFully(channel, header, 0);
+        channel.force(true);
+
+        return new DataLog(path, channel, generation, HEADER_SIZE);
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    long length() {
+        return length;
+    }
+
+    /**
+     * Appends a record with the given payload and returns the offset of the record.
+     */
+    long append(byte[] payload) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length);
+        long offset = length;
+
+        record.putInt(payload.length).putInt(checksumOf(payload, 0, payload.length)).put(payload).flip();
+        writeFully(channel, record, offset);
+        length += record.capacity();
+
+        return offset;
+    }
+
+    /**
+     * Reads the payload of the record of {@code recordLength} bytes at {@code offset} by a single positional
+     * read. Returns {@code null} if the record is damaged.
+     */
+    ByteBuffer read(long offset, int recordLength) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(recordLength);
+
+        readFully(channel, record, offset);
+        record.flip();
+
+        int payloadLength = record.getInt();
+        int checksum = record.getInt();
+
+        if ((payloadLength != recordLength - RECORD_HEADER_SIZE)
+                || (checksum != checksumOf(record.array(), RECORD_HEADER_SIZE, payloadLength))) {
+            return null;
+        }
+
+        return record.slice();
+    }
+
+    /**
+     * Reads the records sequentially from {@code offset} to the end of the log and passes the intact records to
+     * {@code recordConsumer}. The log is truncated at the first damaged record.
+     */
+    void scan(long offset, RecordConsumer recordConsumer) throws IOException {
+        long recordOffset = offset;
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(offset)), SCAN_BUFFER_SIZE));
+
+        while (recordOffset < length) {
+            byte[] payload = readRecordPayload(in, length - recordOffset);
+
+            if (payload == null) {
+                LOGGER.warn("Truncating the damaged tail of the geocode response log " + path + " at offset " + recordOffset
+                        + ", " + (length - recordOffset) + " bytes are discarded");
+
+                channel.truncate(recordOffset);
+                channel.force(true);
+                length = recordOffset;
+
+                return;
+            }
+
+            recordConsumer.accept(recordOffset, RECORD_HEADER_SIZE + payload.length, payload);
+            recordOffset += RECORD_HEADER_SIZE + payload.length;
+        }
+    }
+
+    private static byte[] readRecordPayload(DataInputStream in, long remainingLength) throws IOException {
+        if (remainingLength < RECORD_HEADER_SIZE) {
+            return null;
+        }
+
+        try {
+            int payloadLength = in.readInt();
+            int checksum = in.readInt();
+
+            if ((payloadLength < 0) || (payloadLength > remainingLength - RECORD_HEADER_SIZE)) {
+                return null;
+            }
+
+            byte[] payload = new byte[payloadLength];
+
+            in.readFully(payload);
+
+            return (checksum == checksumOf(payload, 0, payloadLength)) ? payload : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+
+    private static int checksumOf(byte[] bytes, int offset, int length) {
+        CRC32C crc = new CRC32C();
+
+        crc.update(bytes, offset, length);
+
+        return (int) crc.getValue();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long readPosition = position;
+
+        while (buffer.hasRemaining()) {
+            int readBytes = channel.read(buffer, readPosition);
+
+            if (readBytes < 0) {
+                throw new EOFException("Unexpected end of file at position " + readPosition);
+            }
+
+            readPosition += readBytes;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long writePosition = position;
+
+        while (buffer.hasRemaining()) {
+            writePosition += channel.write(buffer, writePosition);
+        }
+    }
+
+    /**
+     * Receives the intact records of a scan.
+     */
+    interface RecordConsumer {
+
+        void accept(long offset, int recordLength, byte[] payload) throws IOException;
+    }
+}
@@ -0,0 +1,589 @@
+package com.github.sandrasi.geocoder.google.v3.store;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.github.sandrasi.geocoder.GeocodeException;
+import com.github.sandrasi.geocoder.GeocodeResponse;
+import com.github.sandrasi.geocoder.cache.GeocodeResponseStore;
+import com.github.sandrasi.geocoder.cache.StoredGeocodeResponse;
+import com.github.sandrasi.geocoder.google.v3.GoogleGeocodeRequest;
+import com.github.sandrasi.geocoder.google.v3.ResponseProjection;
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@code DiskGeocodeResponseStore} is a persistent {@link GeocodeResponseStore} that keeps the responses of the
+ * Google geocoding service across restarts, so a warm cache does not have to be refilled at the expense of the
+ * daily query limit. It is meant to be the second tier behind the in-memory cache of a
+ * {@link com.github.sandrasi.geocoder.cache.CachingGeocoder}.
+ * <p>
+ * The responses are compactly encoded and appended to a data log, and a hash index in a memory-mapped file maps
+ * the request URIs to the records of the log, so a lookup costs a few memory accesses and a single positional read
+ * that is usually served by the page cache. A response stored again supersedes the previous one, which stays in
+ * the log as garbage until the store is {@link #compact() compacted}.
+ * <p>
+ * The store survives crashes. The log is only appended to and every record is checksummed, so a record damaged by
+ * a crash is detected and truncated when the store is opened. The index is flushed and marked clean when the store
+ * is closed; an index that was not closed cleanly or does not belong to the log is rebuilt from the log. The index
+ * holds the 64-bit hashes of the request URIs only, and every read verifies the URI stored in the record, so a hash
+ * collision can only evict a response, but never return the response of another request.
+ * <p>
+ * The I/O errors occurring while the responses are read or written are logged and treated as misses. The store is
+ * safe for concurrent use: the lookups run in parallel while the writes are serialized.
+ */
+public final class DiskGeocodeResponseStore implements GeocodeResponseStore<GoogleGeocodeRequest> {
+
+    /**
+     * The default initial number of responses the index holds without growing.
+     */
+    public static final int DEFAULT_INITIAL_CAPACITY = 4096;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DiskGeocodeResponseStore.class);
+
+    private static final String LOG_FILE_NAME = "geocode-responses.log";
+    private static final String INDEX_FILE_NAME = "geocode-responses.idx";
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    private final Path logPath;
+    private final Path indexPath;
+    private final int initialCapacity;
+    private final long timeToLiveInMilliseconds;
+    private final boolean syncOnWrite;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private DataLog log;
+    private HashIndex index;
+    private long garbage;
+    private boolean closed;
+
+    private DiskGeocodeResponseStore(Builder builder) throws IOException {
+        logPath = builder.directory.resolve(LOG_FILE_NAME);
+        indexPath = builder.directory.resolve(INDEX_FILE_NAME);
+        initialCapacity = builder.initialCapacity;
+        timeToLiveInMilliseconds = builder.timeToLiveInMilliseconds;
+        syncOnWrite = builder.syncOnWrite;
+
+        Files.createDirectories(builder.directory);
+        Files.deleteIfExists(temporaryPathOf(logPath));
+        Files.deleteIfExists(temporaryPathOf(indexPath));
+
+        log = DataLog.open(logPath);
+
+        try {
+            recover();
+        } catch (IOException | RuntimeException e) {
+            log.close();
+            if (index != null) {
+                index.close();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the store in {@code directory} with the default settings, creating the directory and the store if they
+     * do not exist.
+     *
+     * @param directory the directory of the store files
+     * @throws NullPointerException if {@code directory} is {@code null}
+     * @throws GeocodeException if the store can not be opened
+     * @return the opened store
+     */
+    public static DiskGeocodeResponseStore open(Path directory) {
+        return newBuilder(directory).build();
+    }
+
+    /**
+     * Creates a new builder to open the store in {@code directory}.
+     *
+     * @param directory the directory of the store files
+     * @throws NullPointerException if {@code directory} is {@code null}
+     * @return a new instance of {@link Builder}
+     */
+    public static Builder newBuilder(Path directory) {
+        return new Builder(directory);
+    }
+
+    private void recover() throws IOException {
+        index = HashIndex.open(indexPath);
+
+        long scanOffset;
+
+        if ((index != null) && index.isClean() && (index.getGeneration() == log.getGeneration())
+                && (index.getCoveredLogLength() <= log.length())) {
+            scanOffset = index.getCoveredLogLength();
+            garbage = index.getGarbage();
+        } else {
+            if (index != null) {
+                LOGGER.warn("The index of the geocode response log " + logPath + " was not closed cleanly, rebuilding it");
+
+                index.close();
+            }
+
+            index = HashIndex.create(indexPath, log.getGeneration(), initialCapacity);
+            scanOffset = DataLog.HEADER_SIZE;
+            garbage = 0;
+        }
+
+        indexLog(scanOffset);
+    }
+
+    private void indexLog(long scanOffset) throws IOException {
+        log.scan(scanOffset, (offset, recordLength, payload) -> index(keyOf(payload), offset, recordLength));
+        index.setCoveredLogLength(log.length());
+        index.setGarbage(garbage);
+        index.markDirty();
+    }
+
+    /**
+     * Returns the stored response of {@code geocodeRequest}. The expired responses are not returned.
+     *
+     * @param geocodeRequest the request whose response is looked up
+     * @throws NullPointerException if {@code geocodeRequest} is {@code null}
+     * @return the stored response, or {@code null} if the response of {@code geocodeRequest} is not stored or it
+     * can not be read
+     */
+    @Override
+    public GeocodeResponse get(GoogleGeocodeRequest geocodeRequest) {
+        StoredGeocodeResponse storedGeocodeResponse = getStored(geocodeRequest);
+
+        return (storedGeocodeResponse != null) ? storedGeocodeResponse.getGeocodeResponse() : null;
+    }
+
+    /**
+     * Returns the stored response of {@code geocodeRequest} together with the time it was appended to the store.
+     * The expired responses are not returned.
+     *
+     * @param geocodeRequest the request whose response is looked up
+     * @throws NullPointerException if {@code geocodeRequest} is {@code null}
+     * @return the stored response, or {@code null} if the response of {@code geocodeRequest} is not stored or it
+     * can not be read
+     */
+    @Override
+    public StoredGeocodeResponse getStored(GoogleGeocodeRequest geocodeRequest) {
+        Validate.notNull(geocodeRequest, "geocodeRequest is required");
+
+        String key = keyFor(geocodeRequest);
+
+        lock.readLock().lock();
+        try {
+            if (closed) {
+                return null;
+            }
+
+            long location = index.get(hashOf(key));
+
+            if (location == HashIndex.NO_LOCATION) {
+                return null;
+            }
+
+            ByteBuffer payload = log.read(HashIndex.offsetOf(location), HashIndex.recordLengthOf(location));
+
+            if (payload == null) {
+                LOGGER.warn("The record of " + key + " is damaged in the geocode response log " + logPath);
+
+                return null;
+            }
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload.array(), payload.arrayOffset(), payload.remaining()));
+            long writeTime = in.readLong();
+
+            if (!key.equals(in.readUTF()) || isExpired(writeTime)) {
+                return null;
+            }
+
+            return new StoredGeocodeResponse(GeocodeResponseCodec.decode(in), writeTime);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("An exception occurred while reading the response of " + key + " from the geocode response log " + logPath, e);
+
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Appends the response of {@code geocodeRequest} to the store, superseding the previously stored response.
+     *
+     * @param geocodeRequest the request the response belongs to
+     * @param geocodeResponse the response to be stored
+     * @throws NullPointerException if either {@code geocodeRequest} or {@code geocodeResponse} is {@code null}
+     */
+    @Override
+    public void put(GoogleGeocodeRequest geocodeRequest, GeocodeResponse geocodeResponse) {
+        Validate.notNull(geocodeRequest, "geocodeRequest is required");
+        Validate.notNull(geocodeResponse, "geocodeResponse is required");
+
+        String key = keyFor(geocodeRequest);
+
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+
+            byte[] payload = encode(key, System.currentTimeMillis(), geocodeResponse);
+            int recordLength = DataLog.RECORD_HEADER_SIZE + payload.length;
+
+            if ((recordLength > HashIndex.MAX_RECORD_LENGTH) || (log.length() + recordLength > HashIndex.MAX_LOG_LENGTH)) {
+                LOGGER.warn("The response of " + key + " does not fit into the geocode response log " + logPath);
+
+                return;
+            }
+
+            long offset = log.append(payload);
+
+            if (syncOnWrite) {
+                log.force();
+            }
+
+            index(key, offset, recordLength);
+            index.setCoveredLogLength(log.length());
+            index.setGarbage(garbage);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("An exception occurred while writing the response of " + key + " to the geocode response log " + logPath, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the log without the superseded and the expired responses, and rebuilds the index. The new log and
+     * index are written next to the current ones and they replace them by atomic renames, so a crash during the
+     * compaction leaves either the old or the new store behind. If the new index can not be renamed after the new
+     * log replaced the old one, the index is rebuilt from the new log. The store can not be read or written while it
+     * is compacted.
+     *
+     * @throws GeocodeException if the store can not be compacted; the store remains usable in this case, unless the
+     * index of the new log can not be rebuilt either, in which case the store is closed
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            Validate.validState(!closed, "The store has been closed");
+
+            long logLengthBeforeCompaction = log.length();
+            Path compactedLogPath = temporaryPathOf(logPath);
+            Path compactedIndexPath = temporaryPathOf(indexPath);
+            final DataLog compactedLog = DataLog.create(compactedLogPath, log.getGeneration() + 1);
+            final HashIndex compactedIndex = HashIndex.create(compactedIndexPath, compactedLog.getGeneration(), Math.max(initialCapacity, index.size() * 2));
+
+            try {
+                index.forEachLocation((hash, location) -> {
+                    ByteBuffer payload = log.read(HashIndex.offsetOf(location), HashIndex.recordLengthOf(location));
+
+                    if ((payload != null) && !isExpired(payload.getLong(payload.position()))) {
+                        byte[] payloadBytes = new byte[payload.remaining()];
+
+                        payload.get(payloadBytes);
+                        compactedIndex.put(hash, HashIndex.locationOf(compactedLog.append(payloadBytes), DataLog.RECORD_HEADER_SIZE + payloadBytes.length));
+                    }
+                });
+
+                compactedLog.force();
+                compactedIndex.setCoveredLogLength(compactedLog.length());
+                compactedIndex.setGarbage(0);
+                compactedIndex.markDirty();
+
+                Files.move(compactedLogPath, logPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException | RuntimeException e) {
+                compactedLog.close();
+                compactedIndex.close();
+                Files.deleteIfExists(compactedLogPath);
+                Files.deleteIfExists(compactedIndexPath);
+                throw e;
+            }
+
+            log.close();
+            log = compactedLog;
+            garbage = 0;
+
+            try {
+                Files.move(compactedIndexPath, indexPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                index.close();
+                index = compactedIndex;
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("The compacted index of the geocode response log " + logPath + " can not be renamed, rebuilding it", e);
+
+                compactedIndex.close();
+                Files.deleteIfExists(compactedIndexPath);
+                rebuildIndex(compactedIndex.size());
+            }
+
+            LOGGER.info("The geocode response log " + logPath + " has been compacted from " + logLengthBeforeCompaction
+                    + " to " + log.length() + " bytes");
+        } catch (IOException e) {
+            throw new GeocodeException("The geocode response log " + logPath + " can not be compacted", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of stored responses, including the expired responses not yet removed by compaction.
+     *
+     * @return the number of stored responses
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return closed ? 0 : index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the length of the log file.
+     *
+     * @return the length of the log in bytes
+     */
+    public long getLogLengthInBytes() {
+        lock.readLock().lock();
+        try {
+            return closed ? 0 : log.length();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of bytes in the log held by superseded responses, which are reclaimed by compaction.
+     *
+     * @return the length of the superseded records in bytes
+     */
+    public long getGarbageInBytes() {
+        lock.readLock().lock();
+        try {
+            return closed ? 0 : garbage;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Flushes the log and the index to the disk and closes the store. A closed store does not return any response
+     * and ignores the written responses.
+     *
+     * @throws GeocodeException if the store can not be flushed
+     */
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            log.force();
+            index.setCoveredLogLength(log.length());
+            index.setGarbage(garbage);
+            index.markClean();
+        } catch (IOException e) {
+            throw new GeocodeException("The geocode response log " + logPath + " can not be flushed", e);
+        } finally {
+            try {
+                log.close();
+                index.close();
+            } catch (IOException e) {
+                LOGGER.warn("An exception occurred while closing the geocode response log " + logPath, e);
+            }
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the index by a new one built from the log. If the index can not be rebuilt, the store is closed, so
+     * it does not append to the log without indexing the appended responses.
+     */
+    private void rebuildIndex(int size) throws IOException {
+        try {
+            index.close();
+            index = HashIndex.create(indexPath, log.getGeneration(), Math.max(initialCapacity, size * 2));
+            indexLog(DataLog.HEADER_SIZE);
+        } catch (IOException | RuntimeException e) {
+            closed = true;
+            log.close();
+            index.close();
+            throw e;
+        }
+    }
+
+    private void index(String key, long offset, int recordLength) throws IOException {
+        if (index.isFull()) {
+            growIndex();
+        }
+
+        long previousLocation = index.put(hashOf(key), HashIndex.locationOf(offset, recordLength));
+
+        if (previousLocation != HashIndex.NO_LOCATION) {
+            garbage += HashIndex.recordLengthOf(previousLocation);
+        }
+    }
+
+    private void growIndex() throws IOException {
+        Validate.validState(index.capacity() < HashIndex.MAX_CAPACITY, "The index of the geocode response log is full");
+
+        Path grownIndexPath = temporaryPathOf(indexPath);
+        HashIndex grownIndex = HashIndex.create(grownIndexPath, log.getGeneration(), index.capacity() * 2);
+
+        index.copyTo(grownIndex);
+        grownIndex.setCoveredLogLength(index.getCoveredLogLength());
+        grownIndex.setGarbage(garbage);
+        grownIndex.markDirty();
+        Files.move(grownIndexPath, indexPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        index.close();
+        index = grownIndex;
+    }
+
+    private boolean isExpired(long writeTime) {
+        return (timeToLiveInMilliseconds > 0) && (System.currentTimeMillis() - writeTime > timeToLiveInMilliseconds);
+    }
+
+    private static byte[] encode(String key, long writeTime, GeocodeResponse geocodeResponse) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeLong(writeTime);
+        out.writeUTF(key);
+        GeocodeResponseCodec.encode(geocodeResponse, out);
+        out.flush();
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns the key of the response of {@code geocodeRequest}. The responses of the requests with a
+     * projection other than {@link ResponseProjection#FULL} are stored under the projection-qualified request URI.
+     */
+    private static String keyFor(GoogleGeocodeRequest geocodeRequest) {
+        String requestUri = geocodeRequest.getRequestUri().toString();
+
+        return (geocodeRequest.getProjection() == ResponseProjection.FULL) ? requestUri : requestUri + "#" + geocodeRequest.getProjection().name();
+    }
+
+    private static String keyOf(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+
+        in.readLong();
+
+        return in.readUTF();
+    }
+
+    /**
+     * Returns the 64-bit FNV-1a hash of the characters of {@code key} mixed by the finalizer of MurmurHash3. Zero
+     * marks the empty slots of the index, so it is never returned.
+     */
+    static long hashOf(String key) {
+        long hash = 0xcbf29ce484222325L;
+
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+
+        return (hash != 0) ? hash : 1;
+    }
+
+    private static Path temporaryPathOf(Path path) {
+        return path.resolveSibling(path.getFileName() + TEMPORARY_FILE_SUFFIX);
+    }
+
+    /**
+     * A factory class to open a {@link DiskGeocodeResponseStore}. The method calls to define the settings can be
+     * chained.
+     */
+    public static final class Builder {
+
+        private final Path directory;
+        private int initialCapacity = DEFAULT_INITIAL_CAPACITY;
+        private long timeToLiveInMilliseconds = 0;
+        private boolean syncOnWrite = false;
+
+        private Builder(Path directory) {
+            Validate.notNull(directory, "directory is required");
+
+            this.directory = directory;
+        }
+
+        /**
+         * Opens the store with the settings defined in this builder, creating the directory and the store if they
+         * do not exist.
+         *
+         * @throws GeocodeException if the store can not be opened
+         * @return the opened store
+         */
+        public DiskGeocodeResponseStore build() {
+            try {
+                return new DiskGeocodeResponseStore(this);
+            } catch (IOException e) {
+                throw new GeocodeException("The geocode response store in " + directory + " can not be opened", e);
+            }
+        }
+
+        /**
+         * Sets the number of responses the index holds before it grows the first time.
+         *
+         * @param initialCapacity the initial capacity of the index
+         * @throws IllegalArgumentException if {@code initialCapacity} is not a positive number
+         * @return a reference to this {@code Builder}
+         */
+        public Builder setInitialCapacity(int initialCapacity) {
+            Validate.isTrue(initialCapacity > 0, "initialCapacity must be a positive number");
+
+            this.initialCapacity = initialCapacity;
+
+            return this;
+        }
+
+        /**
+         * Sets the time after which a stored response expires. The expired responses are not returned and they are
+         * removed by compaction. By default the responses do not expire.
+         *
+         * @param timeToLive the time to live of the stored responses, or {@code 0} if they do not expire
+         * @param unit the time unit of {@code timeToLive}
+         * @throws NullPointerException if {@code unit} is {@code null}
+         * @throws IllegalArgumentException if {@code timeToLive} is a negative number
+         * @return a reference to this {@code Builder}
+         */
+        public Builder setTimeToLive(long timeToLive, TimeUnit unit) {
+            Validate.isTrue(timeToLive >= 0, "timeToLive must be a non-negative number");
+            Validate.notNull(unit, "unit is required");
+
+            this.timeToLiveInMilliseconds = unit.toMillis(timeToLive);
+
+            return this;
+        }
+
+        /**
+         * Sets whether every written response is flushed to the disk before the write returns. By default the
+         * responses are left to the operating system to flush, so the responses written right before a power
+         * failure may be lost, but the store remains consistent.
+         *
+         * @param syncOnWrite {@code true} if the writes are flushed to the disk, {@code false} otherwise
+         * @return a reference to this {@code Builder}
+         */
+        public Builder setSyncOnWrite(boolean syncOnWrite) {
+            this.syncOnWrite = syncOnWrite;
+
+            return this;
+        }
+    }
+}
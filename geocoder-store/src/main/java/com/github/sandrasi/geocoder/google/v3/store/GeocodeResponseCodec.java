@@ -0,0 +1,163 @@
+package com.github.sandrasi.geocoder.google.v3.store;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import com.github.sandrasi.geocoder.GeocodeResponse;
+import com.github.sandrasi.geocoder.components.AddressComponent;
+import com.github.sandrasi.geocoder.components.AddressComponentType;
+import com.github.sandrasi.geocoder.components.GeocodeStatus;
+import com.github.sandrasi.geocoder.components.GeocodedAddress;
+import com.github.sandrasi.geocoder.components.GeographicArea;
+import com.github.sandrasi.geocoder.components.GeographicLocation;
+import com.github.sandrasi.geocoder.components.Geometry;
+import com.github.sandrasi.geocoder.components.LocationType;
+import com.github.sandrasi.geocoder.google.v3.GoogleGeocodeResponse;
+
+/**
+ * {@code GeocodeResponseCodec} encodes a {@link GeocodeResponse} into a compact binary form and decodes it into an
+ * equal {@link GoogleGeocodeResponse}. The enumerated values are encoded by their ordinals and the strings in
+ * modified UTF-8, so the encoding depends on the order of the enum constants; the format version of the data log
+ * must be increased whenever the encoding or the order of the constants changes.
+ */
+final class GeocodeResponseCodec {
+
+    private static final GeocodeStatus[] GEOCODE_STATUSES = GeocodeStatus.values();
+    private static final AddressComponentType[] ADDRESS_COMPONENT_TYPES = AddressComponentType.values();
+    private static final LocationType[] LOCATION_TYPES = LocationType.values();
+
+    private GeocodeResponseCodec() {
+    }
+
+    static void encode(GeocodeResponse geocodeResponse, DataOutput out) throws IOException {
+        out.writeUTF(geocodeResponse.getQueryString());
+        out.writeByte(geocodeResponse.getGeocodeStatus().ordinal());
+        out.writeShort(geocodeResponse.getGeocodedAddresses().size());
+
+        for (GeocodedAddress geocodedAddress : geocodeResponse.getGeocodedAddresses()) {
+            encodeGeocodedAddress(geocodedAddress, out);
+        }
+    }
+
+    static GoogleGeocodeResponse decode(DataInput in) throws IOException {
+        GoogleGeocodeResponse.Builder builder = GoogleGeocodeResponse.newBuilder(in.readUTF())
+                .setGeocodeStatus(GEOCODE_STATUSES[in.readUnsignedByte()]);
+        int geocodedAddressCount = in.readUnsignedShort();
+
+        for (int i = 0; i < geocodedAddressCount; i++) {
+            builder.addGeocodedAddress(decodeGeocodedAddress(in));
+        }
+
+        return builder.build();
+    }
+
+    private static void encodeGeocodedAddress(GeocodedAddress geocodedAddress, DataOutput out) throws IOException {
+        out.writeUTF(geocodedAddress.getFormattedAddress());
+        out.writeBoolean(geocodedAddress.isPartialMatch());
+        encodeAddressComponentTypes(toList(geocodedAddress.addressTypeIterator()), out);
+
+        List<AddressComponent> addressComponents = toList(geocodedAddress.addressComponentIterator());
+
+        out.writeShort(addressComponents.size());
+
+        for (AddressComponent addressComponent : addressComponents) {
+            encodeAddressComponentTypes(addressComponent.getAddressComponentTypes(), out);
+            out.writeUTF(addressComponent.getLongName());
+            out.writeUTF(addressComponent.getShortName());
+        }
+
+        encodeGeometry(geocodedAddress.getGeometry(), out);
+    }
+
+    private static GeocodedAddress decodeGeocodedAddress(DataInput in) throws IOException {
+        GeocodedAddress.Builder builder = GeocodedAddress.newBuilder(in.readUTF());
+
+        if (in.readBoolean()) {
+            builder.partialMatch();
+        }
+
+        builder.addAddressTypes(decodeAddressComponentTypes(in));
+
+        int addressComponentCount = in.readUnsignedShort();
+
+        for (int i = 0; i < addressComponentCount; i++) {
+            List<AddressComponentType> addressComponentTypes = decodeAddressComponentTypes(in);
+
+            builder.addAddressComponent(AddressComponent.newBuilder(addressComponentTypes.get(0))
+                    .addAddressComponentTypes(addressComponentTypes)
+                    .setLongName(in.readUTF())
+                    .setShortName(in.readUTF())
+                    .build());
+        }
+
+        return builder.setGeometry(decodeGeometry(in)).build();
+    }
+
+    private static void encodeAddressComponentTypes(Collection<AddressComponentType> addressComponentTypes, DataOutput out) throws IOException {
+        out.writeByte(addressComponentTypes.size());
+
+        for (AddressComponentType addressComponentType : addressComponentTypes) {
+            out.writeByte(addressComponentType.ordinal());
+        }
+    }
+
+    private static List<AddressComponentType> decodeAddressComponentTypes(DataInput in) throws IOException {
+        int addressComponentTypeCount = in.readUnsignedByte();
+        List<AddressComponentType> addressComponentTypes = new ArrayList<>(addressComponentTypeCount);
+
+        for (int i = 0; i < addressComponentTypeCount; i++) {
+            addressComponentTypes.add(ADDRESS_COMPONENT_TYPES[in.readUnsignedByte()]);
+        }
+
+        return addressComponentTypes;
+    }
+
+    private static void encodeGeometry(Geometry geometry, DataOutput out) throws IOException {
+        encodeGeographicLocation(geometry.getLocation(), out);
+        out.writeByte(geometry.getLocationType().ordinal());
+        encodeGeographicArea(geometry.getViewport(), out);
+        encodeGeographicArea(geometry.getBounds(), out);
+    }
+
+    private static Geometry decodeGeometry(DataInput in) throws IOException {
+        return Geometry.newBuilder(decodeGeographicLocation(in))
+                .setLocationType(LOCATION_TYPES[in.readUnsignedByte()])
+                .setViewport(decodeGeographicArea(in))
+                .setBounds(decodeGeographicArea(in))
+                .build();
+    }
+
+    private static void encodeGeographicArea(GeographicArea geographicArea, DataOutput out) throws IOException {
+        encodeGeographicLocation(geographicArea.getSouthWestCorner(), out);
+        encodeGeographicLocation(geographicArea.getNorthEastCorner(), out);
+    }
+
+    private static GeographicArea decodeGeographicArea(DataInput in) throws IOException {
+        return new GeographicArea(decodeGeographicLocation(in), decodeGeographicLocation(in));
+    }
+
+    private static void encodeGeographicLocation(GeographicLocation geographicLocation, DataOutput out) throws IOException {
+        out.writeDouble(geographicLocation.getLatitude());
+        out.writeDouble(geographicLocation.getLongitude());
+        out.writeDouble(geographicLocation.getElevation());
+    }
+
+    private static GeographicLocation decodeGeographicLocation(DataInput in) throws IOException {
+        return GeographicLocation.fromValues(in.readDouble(), in.readDouble(), in.readDouble());
+    }
+
+    private static <E> List<E> toList(Iterator<E> iterator) {
+        List<E> list = new ArrayList<>();
+
+        while (iterator.hasNext()) {
+            list.add(iterator.next());
+        }
+
+        return list;
+    }
+}
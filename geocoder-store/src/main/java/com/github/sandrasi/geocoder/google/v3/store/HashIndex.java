@@ -0,0 +1,276 @@
+package com.github.sandrasi.geocoder.google.v3.store;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@code HashIndex} is an open-addressing hash table in a memory-mapped file that maps the 64-bit hashes of the
+ * keys to the locations of their records in the {@link DataLog}. Every slot holds the hash of a key and the
+ * location of its record packed into a {@code long}: the offset in the upper 40 bits and the length of the record
+ * in the lower 24 bits. A slot with zero hash is empty. The collisions are resolved by linear probing.
+ * <p>
+ * The header of the file holds the generation of the log the index belongs to, the length of the log covered by
+ * the index, the number of bytes in the log held by superseded records and a flag telling whether the index was
+ * closed cleanly. An index that was not closed cleanly is not trusted and it is rebuilt from the log.
+ * <p>
+ * The index is not thread-safe; the reads may run concurrently with each other but not with the writes.
+ */
+final class HashIndex {
+
+    static final int MAX_RECORD_LENGTH = (1 << 24) - 1;
+    static final long MAX_LOG_LENGTH = 1L << 40;
+    static final int MAX_CAPACITY = 1 << 26;
+    static final long NO_LOCATION = -1;
+
+    private static final int MAGIC = 0x47454F49;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = 16;
+    private static final int GENERATION_POSITION = 8;
+    private static final int CAPACITY_POSITION = 16;
+    private static final int SIZE_POSITION = 20;
+    private static final int COVERED_LOG_LENGTH_POSITION = 24;
+    private static final int GARBAGE_POSITION = 32;
+    private static final int CLEAN_POSITION = 40;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int mask;
+    private int size;
+
+    private HashIndex(FileChannel channel, MappedByteBuffer buffer, int capacity, int size) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.size = size;
+    }
+
+    /**
+     * Creates a new, empty index at {@code path} for the log of the given generation, replacing the file if it
+     * exists. The capacity is rounded up to the next power of two.
+     */
+    static HashIndex create(Path path, long generation, int capacity) throws IOException {
+        int slotCount = Integer.highestOneBit(Math.max(2, Math.min(MAX_CAPACITY, capacity) * 2 - 1));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) slotCount * SLOT_SIZE);
+
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putLong(GENERATION_POSITION, generation);
+            buffer.putInt(CAPACITY_POSITION, slotCount);
+            buffer.putInt(SIZE_POSITION, 0);
+            buffer.putLong(COVERED_LOG_LENGTH_POSITION, DataLog.HEADER_SIZE);
+            buffer.putLong(GARBAGE_POSITION, 0);
+            buffer.put(CLEAN_POSITION, (byte) 0);
+
+            return new HashIndex(channel, buffer, slotCount, 0);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the index at {@code path}. Returns {@code null} if the file does not exist or it is not a valid index.
+     */
+    static HashIndex open(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            long fileSize = channel.size();
+
+            if (fileSize >= HEADER_SIZE) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+                int capacity = buffer.getInt(CAPACITY_POSITION);
+
+                if ((buffer.getInt(0) == MAGIC) && (buffer.getInt(4) == VERSION) && (capacity > 0) && (capacity <= MAX_CAPACITY)
+                        && (Integer.bitCount(capacity) == 1) && (fileSize == HEADER_SIZE + (long) capacity * SLOT_SIZE)) {
+                    return new HashIndex(channel, buffer, capacity, buffer.getInt(SIZE_POSITION));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+
+        channel.close();
+
+        return null;
+    }
+
+    long getGeneration() {
+        return buffer.getLong(GENERATION_POSITION);
+    }
+
+    boolean isClean() {
+        return buffer.get(CLEAN_POSITION) != 0;
+    }
+
+    long getCoveredLogLength() {
+        return buffer.getLong(COVERED_LOG_LENGTH_POSITION);
+    }
+
+    long getGarbage() {
+        return buffer.getLong(GARBAGE_POSITION);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Tells whether one more key would exceed the three-quarter load factor of the index.
+     */
+    boolean isFull() {
+        return (size + 1) > capacity - (capacity >>> 2);
+    }
+
+    /**
+     * Returns the location of the record of the key with the given hash, or {@link #NO_LOCATION} if the key is
+     * not indexed.
+     */
+    long get(long hash) {
+        int slot = slotOf(hash);
+
+        while (true) {
+            long slotHash = buffer.getLong(positionOf(slot));
+
+            if (slotHash == hash) {
+                return buffer.getLong(positionOf(slot) + 8);
+            } else if (slotHash == 0) {
+                return NO_LOCATION;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Maps the key with the given hash to the location of its record and returns the location of the superseded
+     * record, or {@link #NO_LOCATION} if the key was not indexed.
+     */
+    long put(long hash, long location) {
+        int slot = slotOf(hash);
+
+        while (true) {
+            int position = positionOf(slot);
+            long slotHash = buffer.getLong(position);
+
+            if (slotHash == hash) {
+                long previousLocation = buffer.getLong(position + 8);
+
+                buffer.putLong(position + 8, location);
+
+                return previousLocation;
+            } else if (slotHash == 0) {
+                buffer.putLong(position + 8, location);
+                buffer.putLong(position, hash);
+                buffer.putInt(SIZE_POSITION, ++size);
+
+                return NO_LOCATION;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Copies every indexed key to {@code index}.
+     */
+    void copyTo(HashIndex index) {
+        for (int slot = 0; slot < capacity; slot++) {
+            long slotHash = buffer.getLong(positionOf(slot));
+
+            if (slotHash != 0) {
+                index.put(slotHash, buffer.getLong(positionOf(slot) + 8));
+            }
+        }
+    }
+
+    /**
+     * Passes the location of the record of every indexed key to {@code locationConsumer}.
+     */
+    void forEachLocation(LocationConsumer locationConsumer) throws IOException {
+        for (int slot = 0; slot < capacity; slot++) {
+            long slotHash = buffer.getLong(positionOf(slot));
+
+            if (slotHash != 0) {
+                locationConsumer.accept(slotHash, buffer.getLong(positionOf(slot) + 8));
+            }
+        }
+    }
+
+    void setCoveredLogLength(long coveredLogLength) {
+        buffer.putLong(COVERED_LOG_LENGTH_POSITION, coveredLogLength);
+    }
+
+    void setGarbage(long garbage) {
+        buffer.putLong(GARBAGE_POSITION, garbage);
+    }
+
+    /**
+     * Marks the index dirty and flushes it, so the index is rebuilt if the process stops without closing it.
+     */
+    void markDirty() {
+        buffer.put(CLEAN_POSITION, (byte) 0);
+        buffer.force();
+    }
+
+    /**
+     * Flushes the index and marks it clean.
+     */
+    void markClean() {
+        buffer.force();
+        buffer.put(CLEAN_POSITION, (byte) 1);
+        buffer.force();
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+
+    static long locationOf(long offset, int recordLength) {
+        return (offset << 24) | recordLength;
+    }
+
+    static long offsetOf(long location) {
+        return location >>> 24;
+    }
+
+    static int recordLengthOf(long location) {
+        return (int) (location & MAX_RECORD_LENGTH);
+    }
+
+    private int slotOf(long hash) {
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int positionOf(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    /**
+     * Receives the indexed keys.
+     */
+    interface LocationConsumer {
+
+        void accept(long hash, long location) throws IOException;
+    }
+}
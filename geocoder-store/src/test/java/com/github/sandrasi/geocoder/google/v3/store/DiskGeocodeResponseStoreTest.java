@@ -0,0 +1,305 @@
+package com.github.sandrasi.geocoder.google.v3.store;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import com.github.sandrasi.geocoder.GeocodeException;
+import com.github.sandrasi.geocoder.GeocodeResponse;
+import com.github.sandrasi.geocoder.Geocoder;
+import com.github.sandrasi.geocoder.cache.CachingGeocoder;
+import com.github.sandrasi.geocoder.cache.StoredGeocodeResponse;
+import com.github.sandrasi.geocoder.components.GeocodedAddress;
+import com.github.sandrasi.geocoder.google.v3.GoogleGeocodeRequest;
+import com.github.sandrasi.geocoder.google.v3.GoogleGeocodeResponse;
+import com.github.sandrasi.geocoder.google.v3.GoogleGeocoder;
+import com.github.sandrasi.geocoder.google.v3.GoogleGeocoderFactory;
+import com.github.sandrasi.geocoder.google.v3.ResponseProjection;
+import org.apache.http.client.HttpClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static com.github.sandrasi.geocoder.components.GeocodeStatus.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.*;
+
+public class DiskGeocodeResponseStoreTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private GoogleGeocoder googleGeocoder;
+    private Path directory;
+    private DiskGeocodeResponseStore subject;
+
+    @Before
+    public void setUp() {
+        googleGeocoder = GoogleGeocoderFactory.createGoogleGeocoder(mock(HttpClient.class));
+        directory = temporaryFolder.getRoot().toPath().resolve("store");
+        subject = DiskGeocodeResponseStore.open(directory);
+    }
+
+    @After
+    public void tearDown() {
+        subject.close();
+    }
+
+    @Test
+    public void shouldReturnTheStoredResponse() {
+        subject.put(request("foo"), response("foo", "Foo Street"));
+
+        assertThat(subject.get(request("foo")), is((GeocodeResponse) response("foo", "Foo Street")));
+        assertThat(subject.get(request("foo")).getQueryString(), is("foo"));
+        assertThat(subject.size(), is(1));
+    }
+
+    @Test
+    public void shouldReturnTheWriteTimeOfTheStoredResponse() {
+        long before = System.currentTimeMillis();
+        subject.put(request("foo"), response("foo", "Foo Street"));
+        long after = System.currentTimeMillis();
+
+        StoredGeocodeResponse storedGeocodeResponse = subject.getStored(request("foo"));
+
+        assertThat(storedGeocodeResponse.getGeocodeResponse(), is((GeocodeResponse) response("foo", "Foo Street")));
+        assertTrue(storedGeocodeResponse.getWriteTimeInMilliseconds() >= before);
+        assertTrue(storedGeocodeResponse.getWriteTimeInMilliseconds() <= after);
+    }
+
+    @Test
+    public void shouldNotReturnResponseOfAnotherRequest() {
+        subject.put(request("foo"), response("foo", "Foo Street"));
+
+        assertNull(subject.get(request("bar")));
+        assertNull(subject.get(googleGeocoder.newGeocodeRequestBuilder("foo").inLanguage("en").build()));
+    }
+
+    @Test
+    public void shouldStoreTheResponsesOfDifferentProjectionsSeparately() {
+        GoogleGeocodeRequest locationOnlyRequest = googleGeocoder.newGeocodeRequestBuilder("foo").withProjection(ResponseProjection.LOCATION_ONLY).build();
+
+        subject.put(locationOnlyRequest, response("foo", "Foo"));
+
+        assertNull(subject.get(request("foo")));
+        assertThat(subject.get(locationOnlyRequest), is((GeocodeResponse) response("foo", "Foo")));
+    }
+
+    @Test
+    public void shouldKeepTheResponsesAfterReopening() {
+        subject.put(request("foo"), response("foo", "Foo Street"));
+        subject.close();
+
+        subject = DiskGeocodeResponseStore.open(directory);
+
+        assertThat(subject.get(request("foo")), is((GeocodeResponse) response("foo", "Foo Street")));
+    }
+
+    @Test
+    public void shouldRebuildTheIndexIfTheStoreWasNotClosedCleanly() throws Exception {
+        subject.put(request("foo"), response("foo", "Foo Street"));
+        subject.put(request("bar"), response("bar", "Bar Street"));
+        subject.close();
+        markIndexDirty();
+
+        subject = DiskGeocodeResponseStore.open(directory);
+
+        assertThat(subject.size(), is(2));
+        assertThat(subject.get(request("foo")), is((GeocodeResponse) response("foo", "Foo Street")));
+        assertThat(subject.get(request("bar")), is((GeocodeResponse) response("bar", "Bar Street")));
+    }
+
+    @Test
+    public void shouldTruncateTheDamagedTailOfTheLog() throws Exception {
+        subject.put(request("foo"), response("foo", "Foo Street"));
+        long intactLogLength = subject.getLogLengthInBytes();
+        subject.put(request("bar"), response("bar", "Bar Street"));
+        subject.close();
+        markIndexDirty();
+
+        try (RandomAccessFile log = new RandomAccessFile(new File(directory.toFile(), "geocode-responses.log"), "rw")) {
+            log.seek(log.length() - 1);
+            int lastByte = log.read();
+            log.seek(log.length() - 1);
+            log.write(lastByte ^ 0xFF);
+        }
+
+        subject = DiskGeocodeResponseStore.open(directory);
+
+        assertThat(subject.getLogLengthInBytes(), is(intactLogLength));
+        assertThat(subject.get(request("foo")), is((GeocodeResponse) response("foo", "Foo Street")));
+        assertNull(subject.get(request("bar")));
+    }
+
+    @Test
+    public void shouldTruncateAPartiallyWrittenRecord() throws Exception {
+        subject.put(request("foo"), response("foo", "Foo Street"));
+        long intactLogLength = subject.getLogLengthInBytes();
+        subject.close();
+
+        try (RandomAccessFile log = new RandomAccessFile(new File(directory.toFile(), "geocode-responses.log"), "rw")) {
+            log.seek(log.length());
+            log.writeInt(1000);
+            log.writeInt(0);
+            log.write(new byte[10]);
+        }
+
+        subject = DiskGeocodeResponseStore.open(directory);
+
+        assertThat(subject.getLogLengthInBytes(), is(intactLogLength));
+        assertThat(subject.get(request("foo")), is((GeocodeResponse) response("foo", "Foo Street")));
+    }
+
+    @Test
+    public void shouldSupersedeTheStoredResponse() {
+        subject.put(request("foo"), response("foo", "Foo Street"));
+        subject.put(request("foo"), response("foo", "Foo Avenue"));
+
+        assertThat(subject.get(request("foo")), is((GeocodeResponse) response("foo", "Foo Avenue")));
+        assertThat(subject.size(), is(1));
+        assertThat(subject.getGarbageInBytes() > 0, is(true));
+    }
+
+    @Test
+    public void shouldCompactTheSupersededResponses() {
+        subject.put(request("foo"), response("foo", "Foo Street"));
+        subject.put(request("foo"), response("foo", "Foo Avenue"));
+        subject.put(request("bar"), response("bar", "Bar Street"));
+        long logLength = subject.getLogLengthInBytes();
+
+        subject.compact();
+
+        assertThat(subject.getLogLengthInBytes() < logLength, is(true));
+        assertThat(subject.getGarbageInBytes(), is(0L));
+        assertThat(subject.get(request("foo")), is((GeocodeResponse) response("foo", "Foo Avenue")));
+        assertThat(subject.get(request("bar")), is((GeocodeResponse) response("bar", "Bar Street")));
+
+        subject.put(request("baz"), response("baz", "Baz Street"));
+        subject.close();
+        subject = DiskGeocodeResponseStore.open(directory);
+
+        assertThat(subject.size(), is(3));
+        assertThat(subject.get(request("foo")), is((GeocodeResponse) response("foo", "Foo Avenue")));
+        assertThat(subject.get(request("baz")), is((GeocodeResponse) response("baz", "Baz Street")));
+    }
+
+    @Test
+    public void shouldCloseTheStoreIfTheIndexOfTheCompactedLogCanNotBeCreated() throws Exception {
+        subject.put(request("foo"), response("foo", "Foo Street"));
+        subject.put(request("foo"), response("foo", "Foo Avenue"));
+        subject.put(request("bar"), response("bar", "Bar Street"));
+        Path indexPath = directory.resolve("geocode-responses.idx");
+        Files.delete(indexPath);
+        Files.createDirectories(indexPath.resolve("foo"));
+
+        try {
+            subject.compact();
+            fail();
+        } catch (GeocodeException e) {
+            assertThat(subject.size(), is(0));
+        }
+
+        Files.delete(indexPath.resolve("foo"));
+        Files.delete(indexPath);
+        subject = DiskGeocodeResponseStore.open(directory);
+
+        assertThat(subject.size(), is(2));
+        assertThat(subject.getGarbageInBytes(), is(0L));
+        assertThat(subject.get(request("foo")), is((GeocodeResponse) response("foo", "Foo Avenue")));
+    }
+
+    @Test
+    public void shouldGrowTheIndex() {
+        subject.close();
+        subject = DiskGeocodeResponseStore.newBuilder(directory).setInitialCapacity(2).build();
+
+        for (int i = 0; i < 100; i++) {
+            subject.put(request("foo" + i), response("foo" + i, "Foo Street " + i));
+        }
+
+        subject.close();
+        subject = DiskGeocodeResponseStore.open(directory);
+
+        assertThat(subject.size(), is(100));
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(subject.get(request("foo" + i)), is((GeocodeResponse) response("foo" + i, "Foo Street " + i)));
+        }
+    }
+
+    @Test
+    public void shouldNotReturnTheExpiredResponses() throws Exception {
+        subject.close();
+        subject = DiskGeocodeResponseStore.newBuilder(directory).setTimeToLive(1, TimeUnit.MILLISECONDS).build();
+
+        subject.put(request("foo"), response("foo", "Foo Street"));
+        Thread.sleep(10);
+
+        assertNull(subject.get(request("foo")));
+
+        subject.compact();
+
+        assertThat(subject.size(), is(0));
+    }
+
+    @Test
+    public void shouldIgnoreTheRequestsAfterClosing() {
+        subject.close();
+        subject.put(request("foo"), response("foo", "Foo Street"));
+
+        assertNull(subject.get(request("foo")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldServeAsTheSecondTierOfACachingGeocoder() {
+        Geocoder<GoogleGeocodeRequest, GoogleGeocodeRequest.Builder> geocoder = mock(Geocoder.class);
+        GoogleGeocodeResponse geocodeResponse = response("foo", "Foo Street");
+
+        given(geocoder.newGeocodeRequestBuilder(anyString())).willAnswer(invocation -> googleGeocoder.newGeocodeRequestBuilder(invocation.<String>getArgument(0)));
+        given(geocoder.geocode(request("foo"))).willReturn(geocodeResponse);
+
+        CachingGeocoder.newBuilder(geocoder).setSecondTier(subject).build().geocodeAddress("foo");
+        CachingGeocoder<GoogleGeocodeRequest, GoogleGeocodeRequest.Builder> restartedCachingGeocoder = CachingGeocoder.newBuilder(geocoder)
+                .setSecondTier(subject)
+                .build();
+
+        assertThat(restartedCachingGeocoder.geocodeAddress("foo"), is((GeocodeResponse) geocodeResponse));
+        assertThat(restartedCachingGeocoder.getStatistics().getSecondTierHitCount(), is(1L));
+        verify(geocoder, times(1)).geocode(request("foo"));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldNotOpenStoreWithoutDirectory() {
+        DiskGeocodeResponseStore.open(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptNonPositiveInitialCapacity() {
+        DiskGeocodeResponseStore.newBuilder(directory).setInitialCapacity(0);
+    }
+
+    private GoogleGeocodeRequest request(String address) {
+        return googleGeocoder.newGeocodeRequestBuilder(address).build();
+    }
+
+    private static GoogleGeocodeResponse response(String queryString, String formattedAddress) {
+        return GoogleGeocodeResponse.newBuilder(queryString)
+                .setGeocodeStatus(OK)
+                .addGeocodedAddress(GeocodedAddress.newBuilder(formattedAddress).build())
+                .build();
+    }
+
+    private void markIndexDirty() throws Exception {
+        try (RandomAccessFile index = new RandomAccessFile(new File(directory.toFile(), "geocode-responses.idx"), "rw")) {
+            index.seek(40);
+            index.write(0);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.sandrasi.geocoder.google.v3.store;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.github.sandrasi.geocoder.GeocodeResponse;
+import com.github.sandrasi.geocoder.components.AddressComponent;
+import com.github.sandrasi.geocoder.components.GeocodedAddress;
+import com.github.sandrasi.geocoder.components.GeographicArea;
+import com.github.sandrasi.geocoder.components.GeographicLocation;
+import com.github.sandrasi.geocoder.components.Geometry;
+import com.github.sandrasi.geocoder.google.v3.GoogleGeocodeResponse;
+import org.junit.Test;
+
+import static com.github.sandrasi.geocoder.components.AddressComponentType.*;
+import static com.github.sandrasi.geocoder.components.GeocodeStatus.*;
+import static com.github.sandrasi.geocoder.components.LocationType.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+public class GeocodeResponseCodecTest {
+
+    @Test
+    public void shouldDecodeTheEncodedResponse() throws Exception {
+        AddressComponent streetNumber = AddressComponent.newBuilder(STREET_NUMBER).setLongName("1600").setShortName("1600").build();
+        AddressComponent locality = AddressComponent.newBuilder(LOCALITY)
+                .addAddressComponentType(POLITICAL)
+                .setLongName("Mountain View")
+                .setShortName("Mountain View")
+                .build();
+        GeocodedAddress geocodedAddress = GeocodedAddress.newBuilder("1600 Amphitheatre Pkwy, Mountain View, CA 94043, USA")
+                .addAddressTypes(Arrays.asList(STREET_ADDRESS, POLITICAL))
+                .addAddressComponents(Arrays.asList(streetNumber, locality))
+                .setGeometry(Geometry.newBuilder(GeographicLocation.fromValues(37.4219985, -122.0839544, 12.5))
+                        .setLocationType(ROOFTOP)
+                        .setViewport(new GeographicArea(GeographicLocation.fromValues(37.4206495, -122.0853033), GeographicLocation.fromValues(37.4233474, -122.0826054)))
+                        .setBounds(new GeographicArea(GeographicLocation.fromValues(37.42, -122.09), GeographicLocation.fromValues(37.43, -122.08)))
+                        .build())
+                .partialMatch()
+                .build();
+        GoogleGeocodeResponse geocodeResponse = GoogleGeocodeResponse.newBuilder("1600 Amphitheatre Pkwy")
+                .setGeocodeStatus(OK)
+                .addGeocodedAddress(geocodedAddress)
+                .addGeocodedAddress(GeocodedAddress.newBuilder("USA").addAddressType(COUNTRY).build())
+                .build();
+
+        GeocodeResponse decodedGeocodeResponse = encodeAndDecode(geocodeResponse);
+
+        assertThat(decodedGeocodeResponse.getQueryString(), is("1600 Amphitheatre Pkwy"));
+        assertThat(decodedGeocodeResponse, is((GeocodeResponse) geocodeResponse));
+    }
+
+    @Test
+    public void shouldDecodeTheEncodedResponseWithoutResults() throws Exception {
+        GoogleGeocodeResponse geocodeResponse = GoogleGeocodeResponse.newBuilder("nowhere").setGeocodeStatus(ZERO_RESULTS).build();
+
+        GeocodeResponse decodedGeocodeResponse = encodeAndDecode(geocodeResponse);
+
+        assertThat(decodedGeocodeResponse.getQueryString(), is("nowhere"));
+        assertThat(decodedGeocodeResponse.getGeocodeStatus(), is(ZERO_RESULTS));
+        assertTrue(decodedGeocodeResponse.getGeocodedAddresses().isEmpty());
+    }
+
+    private static GeocodeResponse encodeAndDecode(GeocodeResponse geocodeResponse) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        GeocodeResponseCodec.encode(geocodeResponse, new DataOutputStream(bytes));
+
+        return GeocodeResponseCodec.decode(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+}